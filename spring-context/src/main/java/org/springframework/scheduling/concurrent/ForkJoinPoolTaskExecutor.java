@@ -0,0 +1,281 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.SchedulingTaskExecutor;
+import org.springframework.util.Assert;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+/**
+ * JavaBean that allows for configuring a {@link java.util.concurrent.ForkJoinPool}
+ * in bean style (through its "parallelism" and "asyncMode" properties) and exposing
+ * it as a Spring {@link org.springframework.core.task.TaskExecutor}.
+ *
+ * <p>In contrast to {@link ThreadPoolTaskExecutor}, where all worker threads take
+ * tasks from a single shared queue, a {@code ForkJoinPool} keeps a queue per worker
+ * thread, with idle workers stealing tasks from busy ones. This reduces contention
+ * for high rates of short-lived tasks, e.g. when fanning out messages to many
+ * subscribers. The pool runs in "asyncMode" by default, processing tasks in
+ * first-in-first-out order as appropriate for event-style tasks that are never joined.
+ *
+ * <p>Worker threads are named according to the "threadNamePrefix" and use the
+ * "threadPriority" of this executor. Since a {@code ForkJoinPool} requires
+ * {@link ForkJoinWorkerThread ForkJoinWorkerThreads}, a custom
+ * {@link #setThreadFactory ThreadFactory} or
+ * {@link #setRejectedExecutionHandler RejectedExecutionHandler} is not supported.
+ * Tasks are only rejected once the pool has been shut down, or if its capacity
+ * has been exceeded.
+ *
+ * <p>Queue wait times, execution times and rejections can be monitored through a
+ * {@link org.springframework.core.task.support.MetricsTaskDecorator}.
+ *
+ * @since 5.2
+ * @see java.util.concurrent.ForkJoinPool
+ * @see ForkJoinPoolFactoryBean
+ * @see ThreadPoolTaskExecutor
+ */
+@SuppressWarnings("serial")
+public class ForkJoinPoolTaskExecutor extends ExecutorConfigurationSupport
+		implements AsyncListenableTaskExecutor, SchedulingTaskExecutor {
+
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	private boolean asyncMode = true;
+
+	@Nullable
+	private TaskDecorator taskDecorator;
+
+	@Nullable
+	private ForkJoinPool forkJoinPool;
+
+
+	/**
+	 * Specify the parallelism level, i.e. the number of worker threads.
+	 * Default is {@link Runtime#availableProcessors()}.
+	 */
+	public void setParallelism(int parallelism) {
+		Assert.isTrue(parallelism > 0, "Parallelism must be positive");
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Return the parallelism level.
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * Specify whether to use first-in-first-out scheduling for tasks.
+	 * Default is {@code true}, which is appropriate for event-style tasks.
+	 * @see ForkJoinPoolFactoryBean#setAsyncMode
+	 */
+	public void setAsyncMode(boolean asyncMode) {
+		this.asyncMode = asyncMode;
+	}
+
+	/**
+	 * Specify a custom {@link TaskDecorator} to be applied to any {@link Runnable}
+	 * about to be executed.
+	 * <p>Note that such a decorator is not necessarily being applied to the
+	 * user-supplied {@code Runnable}/{@code Callable} but rather to the actual
+	 * execution callback (which may be a wrapper around the user-supplied task).
+	 * <p>The primary use case is to set some execution context around the task's
+	 * invocation, or to provide some monitoring/statistics for task execution.
+	 * @see org.springframework.core.task.support.MetricsTaskDecorator
+	 */
+	public void setTaskDecorator(TaskDecorator taskDecorator) {
+		this.taskDecorator = taskDecorator;
+	}
+
+
+	@Override
+	protected ExecutorService initializeExecutor(
+			ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+
+		Assert.state(threadFactory == this, "ForkJoinPoolTaskExecutor does not support a custom ThreadFactory");
+		ForkJoinPool.ForkJoinWorkerThreadFactory workerThreadFactory = pool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName(nextThreadName());
+			thread.setPriority(getThreadPriority());
+			return thread;
+		};
+		this.forkJoinPool = new ForkJoinPool(this.parallelism, workerThreadFactory, null, this.asyncMode);
+		return this.forkJoinPool;
+	}
+
+	/**
+	 * Return the underlying ForkJoinPool for native access.
+	 * @return the underlying ForkJoinPool (never {@code null})
+	 * @throws IllegalStateException if the ForkJoinPoolTaskExecutor hasn't been initialized yet
+	 */
+	public ForkJoinPool getForkJoinPool() throws IllegalStateException {
+		Assert.state(this.forkJoinPool != null, "ForkJoinPoolTaskExecutor not initialized");
+		return this.forkJoinPool;
+	}
+
+	/**
+	 * Return the current number of worker threads.
+	 * @see java.util.concurrent.ForkJoinPool#getPoolSize()
+	 */
+	public int getPoolSize() {
+		return (this.forkJoinPool != null ? this.forkJoinPool.getPoolSize() : 0);
+	}
+
+	/**
+	 * Return the estimated number of threads that are currently executing tasks.
+	 * @see java.util.concurrent.ForkJoinPool#getActiveThreadCount()
+	 */
+	public int getActiveCount() {
+		return (this.forkJoinPool != null ? this.forkJoinPool.getActiveThreadCount() : 0);
+	}
+
+	/**
+	 * Return the estimated number of tasks waiting in the queues of worker threads
+	 * and in the submission queues.
+	 * @see java.util.concurrent.ForkJoinPool#getQueuedTaskCount()
+	 * @see java.util.concurrent.ForkJoinPool#getQueuedSubmissionCount()
+	 */
+	public long getQueuedTaskCount() {
+		return (this.forkJoinPool != null ?
+				this.forkJoinPool.getQueuedTaskCount() + this.forkJoinPool.getQueuedSubmissionCount() : 0);
+	}
+
+	/**
+	 * Return the estimated number of tasks stolen from one worker's queue by another.
+	 * @see java.util.concurrent.ForkJoinPool#getStealCount()
+	 */
+	public long getStealCount() {
+		return (this.forkJoinPool != null ? this.forkJoinPool.getStealCount() : 0);
+	}
+
+
+	@Override
+	public void execute(Runnable task) {
+		ForkJoinPool pool = getForkJoinPool();
+		Runnable taskToUse = (this.taskDecorator != null ? this.taskDecorator.decorate(task) : task);
+		try {
+			pool.execute(new RunnableForkJoinTask(taskToUse, task));
+		}
+		catch (RejectedExecutionException ex) {
+			if (this.taskDecorator != null) {
+				this.taskDecorator.rejected(taskToUse);
+			}
+			throw new TaskRejectedException("Executor [" + pool + "] did not accept task: " + task, ex);
+		}
+	}
+
+	@Override
+	public void execute(Runnable task, long startTimeout) {
+		execute(task);
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		FutureTask<Object> future = new FutureTask<>(task, null);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		FutureTask<T> future = new FutureTask<>(task);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public ListenableFuture<?> submitListenable(Runnable task) {
+		ListenableFutureTask<Object> future = new ListenableFutureTask<>(task, null);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
+		ListenableFutureTask<T> future = new ListenableFutureTask<>(task);
+		execute(future);
+		return future;
+	}
+
+
+	/**
+	 * Adapter for executing a Runnable as a {@link ForkJoinTask}, passing any
+	 * exception to the uncaught exception handler of the worker thread and
+	 * cancelling a user-level Future handle when discarded on shutdown.
+	 */
+	@SuppressWarnings("serial")
+	private static final class RunnableForkJoinTask extends ForkJoinTask<Void> {
+
+		private final Runnable runnable;
+
+		private final Runnable original;
+
+		public RunnableForkJoinTask(Runnable runnable, Runnable original) {
+			this.runnable = runnable;
+			this.original = original;
+		}
+
+		@Override
+		@Nullable
+		public Void getRawResult() {
+			return null;
+		}
+
+		@Override
+		protected void setRawResult(@Nullable Void value) {
+		}
+
+		@Override
+		protected boolean exec() {
+			try {
+				this.runnable.run();
+			}
+			catch (Throwable ex) {
+				Thread thread = Thread.currentThread();
+				thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+			}
+			return true;
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			// Invoked by ForkJoinPool#shutdownNow for tasks that never commenced execution
+			if (this.original instanceof Future) {
+				((Future<?>) this.original).cancel(true);
+			}
+			return super.cancel(mayInterruptIfRunning);
+		}
+	}
+
+}
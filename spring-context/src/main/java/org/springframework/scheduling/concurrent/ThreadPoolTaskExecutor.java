@@ -235,7 +235,13 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 					if (decorated != command) {
 						decoratedTaskMap.put(decorated, command);
 					}
-					super.execute(decorated);
+					try {
+						super.execute(decorated);
+					}
+					catch (RejectedExecutionException ex) {
+						taskDecorator.rejected(decorated);
+						throw ex;
+					}
 				}
 			};
 		}
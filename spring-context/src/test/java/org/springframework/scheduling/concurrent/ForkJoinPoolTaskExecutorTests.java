@@ -0,0 +1,70 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.HistogramTaskMetricsRecorder;
+import org.springframework.core.task.support.MetricsTaskDecorator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link ForkJoinPoolTaskExecutor}.
+ */
+public class ForkJoinPoolTaskExecutorTests extends AbstractSchedulingTaskExecutorTests {
+
+	@Override
+	protected AsyncListenableTaskExecutor buildExecutor() {
+		ForkJoinPoolTaskExecutor executor = new ForkJoinPoolTaskExecutor();
+		executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+		executor.setParallelism(1);
+		executor.afterPropertiesSet();
+		return executor;
+	}
+
+	@Test
+	public void metricsTaskDecorator() throws Exception {
+		HistogramTaskMetricsRecorder recorder = new HistogramTaskMetricsRecorder();
+		ForkJoinPoolTaskExecutor executor = new ForkJoinPoolTaskExecutor();
+		executor.setTaskDecorator(new MetricsTaskDecorator(recorder));
+		executor.afterPropertiesSet();
+		for (int i = 0; i < 100; i++) {
+			executor.submit(() -> {}).get(1, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+		try {
+			executor.execute(() -> {});
+			fail("Should have thrown TaskRejectedException");
+		}
+		catch (TaskRejectedException ex) {
+			// expected
+		}
+		assertEquals(100, recorder.getQueueWaitHistogram().getCount());
+		assertEquals(100, recorder.getExecutionHistogram().getCount());
+		assertTrue(recorder.getExecutionHistogram().getPercentileNanos(50) > 0);
+		assertEquals(1, recorder.getRejectionCount());
+		assertEquals(0, recorder.getFailureCount());
+	}
+
+}
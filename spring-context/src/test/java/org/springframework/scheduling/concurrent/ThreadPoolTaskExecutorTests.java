@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,19 @@
 
 package org.springframework.scheduling.concurrent;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
 import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.HistogramTaskMetricsRecorder;
+import org.springframework.core.task.support.MetricsTaskDecorator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Juergen Hoeller
@@ -33,4 +45,41 @@ public class ThreadPoolTaskExecutorTests extends AbstractSchedulingTaskExecutorT
 		return executor;
 	}
 
+
+	@Test
+	public void rejectedTaskReportedToDecorator() throws Exception {
+		HistogramTaskMetricsRecorder recorder = new HistogramTaskMetricsRecorder();
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setTaskDecorator(new MetricsTaskDecorator(recorder));
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(1);
+		executor.setQueueCapacity(0);
+		executor.afterPropertiesSet();
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			executor.execute(() -> {
+				try {
+					latch.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			try {
+				executor.execute(() -> {});
+				fail("Should have thrown TaskRejectedException");
+			}
+			catch (TaskRejectedException ex) {
+				// expected
+			}
+			assertEquals(1, recorder.getRejectionCount());
+		}
+		finally {
+			latch.countDown();
+			executor.shutdown();
+		}
+		assertTrue(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals(1, recorder.getExecutionHistogram().getCount());
+	}
+
 }
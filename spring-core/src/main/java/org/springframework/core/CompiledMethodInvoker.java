@@ -0,0 +1,334 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Invokes a given {@link Method} through a generated accessor class that calls
+ * it directly, avoiding the overhead of reflective invocation for methods that
+ * are invoked many times, such as web and messaging handler methods.
+ *
+ * <p>An accessor is generated for public methods on public classes whose
+ * parameter types are public as well. For any other method, and for arguments
+ * that do not match the parameter types exactly (e.g. requiring a widening
+ * primitive conversion), invocation falls back to {@link Method#invoke}.
+ * Either way, {@link #invoke} has the same contract as {@code Method#invoke}.
+ *
+ * <p>Each accessor class is defined in a class loader of its own, so that it
+ * can be unloaded along with the invoker. Invokers are cached, but callers
+ * that invoke the same method repeatedly should hold on to the invoker
+ * rather than looking it up for every invocation.
+ *
+ * @since 5.2
+ * @see #forMethod(Method)
+ */
+public final class CompiledMethodInvoker {
+
+	private static final String ACCESSOR_INTERFACE = Type.getInternalName(BiFunction.class);
+
+	private static final String APPLY_DESCRIPTOR =
+			Type.getMethodDescriptor(Type.getType(Object.class), Type.getType(Object.class), Type.getType(Object.class));
+
+	private static final Object[] EMPTY_ARGS = new Object[0];
+
+	private static final Map<Method, CompiledMethodInvoker> invokerCache = new ConcurrentReferenceHashMap<>(256);
+
+	private static final AtomicInteger accessorCounter = new AtomicInteger();
+
+
+	private final Method method;
+
+	private final Class<?>[] parameterTypes;
+
+	private final boolean isStatic;
+
+	@Nullable
+	private final BiFunction<Object, Object[], Object> accessor;
+
+
+	private CompiledMethodInvoker(Method method) {
+		this.method = method;
+		this.parameterTypes = method.getParameterTypes();
+		this.isStatic = Modifier.isStatic(method.getModifiers());
+		this.accessor = (isCompilable(method) ? generateAccessor(method) : null);
+		if (this.accessor == null) {
+			ReflectionUtils.makeAccessible(method);
+		}
+	}
+
+
+	/**
+	 * Return the invoker for the given method, generating its accessor class
+	 * on first access.
+	 * @param method the method to invoke
+	 */
+	public static CompiledMethodInvoker forMethod(Method method) {
+		Assert.notNull(method, "Method must not be null");
+		CompiledMethodInvoker invoker = invokerCache.get(method);
+		if (invoker == null) {
+			invoker = new CompiledMethodInvoker(method);
+			invokerCache.put(method, invoker);
+		}
+		return invoker;
+	}
+
+
+	/**
+	 * Return the method to invoke.
+	 */
+	public Method getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Whether the method is invoked through a generated accessor class
+	 * rather than through reflection.
+	 */
+	public boolean isCompiled() {
+		return (this.accessor != null);
+	}
+
+	/**
+	 * Invoke the method on the given target with the given arguments.
+	 * @param target the target object, or {@code null} for a static method
+	 * @param args the method arguments
+	 * @return the return value of the method, or {@code null} for a void method
+	 * @throws IllegalAccessException if the method is not accessible
+	 * @throws IllegalArgumentException if the target or the arguments do not
+	 * match the declaring class and the parameter types of the method
+	 * @throws InvocationTargetException if the method throws an exception
+	 * @see Method#invoke(Object, Object...)
+	 */
+	@Nullable
+	public Object invoke(@Nullable Object target, @Nullable Object... args)
+			throws IllegalAccessException, InvocationTargetException {
+
+		if (args == null) {
+			args = EMPTY_ARGS;
+		}
+		BiFunction<Object, Object[], Object> accessor = this.accessor;
+		if (accessor == null || !isApplicable(target, args)) {
+			// Let reflection perform conversions, or raise the standard exceptions
+			return this.method.invoke(target, args);
+		}
+		// The accessor wraps exceptions thrown by the method itself in an
+		// InvocationTargetException; anything else is its own failure
+		return accessor.apply(target, args);
+	}
+
+	/**
+	 * Check the target and arguments up front, so that the generated accessor
+	 * never fails before calling the method itself.
+	 */
+	private boolean isApplicable(@Nullable Object target, Object[] args) {
+		if (!this.isStatic && !this.method.getDeclaringClass().isInstance(target)) {
+			return false;
+		}
+		if (args.length != this.parameterTypes.length) {
+			return false;
+		}
+		for (int i = 0; i < args.length; i++) {
+			Class<?> parameterType = this.parameterTypes[i];
+			Object arg = args[i];
+			if (parameterType.isPrimitive()) {
+				if (arg == null || arg.getClass() != ClassUtils.resolvePrimitiveIfNecessary(parameterType)) {
+					return false;
+				}
+			}
+			else if (arg != null && !parameterType.isInstance(arg)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Return the generated accessor class, or {@code null} if not compiled.
+	 */
+	@Nullable
+	Class<?> getAccessorClass() {
+		return (this.accessor != null ? this.accessor.getClass() : null);
+	}
+
+	@Override
+	public String toString() {
+		return "CompiledMethodInvoker for " + this.method.toGenericString();
+	}
+
+
+	/**
+	 * Whether a generated class in a child of the method's class loader can call
+	 * the method directly and cast the arguments to its parameter types.
+	 */
+	private static boolean isCompilable(Method method) {
+		Class<?> declaringClass = method.getDeclaringClass();
+		if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(declaringClass.getModifiers()) ||
+				declaringClass.getClassLoader() == null || declaringClass.getName().startsWith("java.")) {
+			return false;
+		}
+		for (Class<?> parameterType : method.getParameterTypes()) {
+			if (!isAccessible(parameterType)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isAccessible(Class<?> type) {
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+		// JDK classes are only accessible from other modules if part of a java.* package
+		return (type.isPrimitive() || (Modifier.isPublic(type.getModifiers()) &&
+				(type.getClassLoader() != null || type.getName().startsWith("java."))));
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private static BiFunction<Object, Object[], Object> generateAccessor(Method method) {
+		ClassLoader parent = method.getDeclaringClass().getClassLoader();
+		String className = method.getDeclaringClass().getName() + "$$Invoker$$" + accessorCounter.incrementAndGet();
+		try {
+			byte[] bytes = generateAccessorClass(className.replace('.', '/'), method);
+			Class<?> accessorClass = new AccessorClassLoader(parent).defineClass(className, bytes);
+			return (BiFunction<Object, Object[], Object>) accessorClass.getDeclaredConstructor().newInstance();
+		}
+		catch (LinkageError | ReflectiveOperationException | RuntimeException ex) {
+			// Fall back to reflective invocation
+			return null;
+		}
+	}
+
+	/**
+	 * Generate a {@link BiFunction} implementation whose {@code apply} method
+	 * casts the target and the arguments array elements as expected by the given
+	 * method, calls it and returns its result, boxed if necessary. Any exception
+	 * thrown by the method is rethrown as an {@link InvocationTargetException}.
+	 */
+	private static byte[] generateAccessorClass(String internalName, Method method) {
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+		cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC,
+				internalName, null, "java/lang/Object", new String[] {ACCESSOR_INTERFACE});
+
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		Class<?> declaringClass = method.getDeclaringClass();
+		String owner = Type.getInternalName(declaringClass);
+		boolean isInterface = declaringClass.isInterface();
+		boolean isStatic = Modifier.isStatic(method.getModifiers());
+
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "apply", APPLY_DESCRIPTOR, null, null);
+		mv.visitCode();
+		if (!isStatic) {
+			mv.visitVarInsn(Opcodes.ALOAD, 1);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, owner);
+		}
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			mv.visitVarInsn(Opcodes.ALOAD, 2);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, "[Ljava/lang/Object;");
+			mv.visitLdcInsn(i);
+			mv.visitInsn(Opcodes.AALOAD);
+			unboxOrCast(mv, parameterTypes[i]);
+		}
+		Label start = new Label();
+		Label end = new Label();
+		Label handler = new Label();
+		mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+		mv.visitLabel(start);
+		int opcode = (isStatic ? Opcodes.INVOKESTATIC : isInterface ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL);
+		mv.visitMethodInsn(opcode, owner, method.getName(), Type.getMethodDescriptor(method), isInterface);
+		mv.visitLabel(end);
+		box(mv, method.getReturnType());
+		mv.visitInsn(Opcodes.ARETURN);
+		mv.visitLabel(handler);
+		String exceptionType = Type.getInternalName(InvocationTargetException.class);
+		mv.visitTypeInsn(Opcodes.NEW, exceptionType);
+		mv.visitInsn(Opcodes.DUP_X1);
+		mv.visitInsn(Opcodes.SWAP);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, exceptionType, "<init>", "(Ljava/lang/Throwable;)V", false);
+		mv.visitInsn(Opcodes.ATHROW);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static void unboxOrCast(MethodVisitor mv, Class<?> type) {
+		if (type.isPrimitive()) {
+			String wrapper = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(type));
+			mv.visitTypeInsn(Opcodes.CHECKCAST, wrapper);
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapper, type.getName() + "Value",
+					"()" + Type.getDescriptor(type), false);
+		}
+		else if (type != Object.class) {
+			mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+		}
+	}
+
+	private static void box(MethodVisitor mv, Class<?> type) {
+		if (type == void.class) {
+			mv.visitInsn(Opcodes.ACONST_NULL);
+		}
+		else if (type.isPrimitive()) {
+			Class<?> wrapperType = ClassUtils.resolvePrimitiveIfNecessary(type);
+			mv.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(wrapperType), "valueOf",
+					"(" + Type.getDescriptor(type) + ")" + Type.getDescriptor(wrapperType), false);
+		}
+	}
+
+
+	/**
+	 * Class loader for a single generated accessor class, as a child of the
+	 * class loader of the declaring class of the invoked method.
+	 */
+	private static class AccessorClassLoader extends ClassLoader {
+
+		AccessorClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		Class<?> defineClass(String name, byte[] bytes) {
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+}
@@ -35,7 +35,8 @@ import org.springframework.util.MimeType;
  * <p>Sub-classes must implement {@link #decodeDataBuffer} to provide a way to
  * transform a {@code DataBuffer} to the target data type. The default
  * {@link #decode} implementation transforms each individual data buffer while
- * {@link #decodeToMono} applies "reduce" and transforms the aggregated buffer.
+ * {@link #decodeToMono} {@linkplain DataBufferUtils#compose(Publisher) composes}
+ * the input and transforms the aggregated buffer.
  *
  * <p>Sub-classes can override {@link #decode} in order to split the input stream
  * along different boundaries (e.g. on new line characters for {@code String})
@@ -65,7 +66,7 @@ public abstract class AbstractDataBufferDecoder<T> extends AbstractDecoder<T> {
 	public Mono<T> decodeToMono(Publisher<DataBuffer> input, ResolvableType elementType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
-		return DataBufferUtils.join(input)
+		return DataBufferUtils.compose(input)
 				.map(buffer -> decodeDataBuffer(buffer, elementType, mimeType, hints));
 	}
 
@@ -52,9 +52,10 @@ public class ByteBufferDecoder extends AbstractDataBufferDecoder<ByteBuffer> {
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
 		int byteCount = dataBuffer.readableByteCount();
-		ByteBuffer copy = ByteBuffer.allocate(byteCount);
-		copy.put(dataBuffer.asByteBuffer());
-		copy.flip();
+		// Read directly, as asByteBuffer() would copy a composed buffer first
+		byte[] bytes = new byte[byteCount];
+		dataBuffer.read(bytes);
+		ByteBuffer copy = ByteBuffer.wrap(bytes);
 		DataBufferUtils.release(dataBuffer);
 		if (logger.isDebugEnabled()) {
 			logger.debug(Hints.getLogPrefix(hints) + "Read " + byteCount + " bytes");
@@ -16,11 +16,13 @@
 
 package org.springframework.core.codec;
 
+import java.io.IOException;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -28,23 +30,27 @@ import java.util.concurrent.ConcurrentMap;
 
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.CompositeDataBuffer;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
-import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.core.io.buffer.PooledDataBuffer;
 import org.springframework.core.log.LogFormatUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.MimeType;
 import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StreamUtils;
 
 /**
  * Decode from a data buffer stream to a {@code String} stream. Before decoding, this decoder
  * realigns the incoming data buffers so that each buffer ends with a newline.
  * This is to make sure that multibyte characters are decoded properly, and do not cross buffer
  * boundaries. The default delimiters ({@code \n}, {@code \r\n})can be customized.
+ * The size of a single frame can be limited through {@link #setMaxInMemorySize}.
  *
  * <p>Partially inspired by Netty's {@code DelimiterBasedFrameDecoder}.
  *
@@ -57,8 +63,6 @@ import org.springframework.util.MimeTypeUtils;
  */
 public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 
-	private static final DataBuffer END_FRAME = new DefaultDataBufferFactory().wrap(new byte[0]);
-
 	/** The default charset to use, i.e. "UTF-8". */
 	public static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
 
@@ -70,7 +74,9 @@ public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 
 	private final boolean stripDelimiter;
 
-	private final ConcurrentMap<Charset, List<byte[]>> delimitersCache = new ConcurrentHashMap<>();
+	private int maxInMemorySize = -1;
+
+	private final ConcurrentMap<Charset, byte[][]> delimitersCache = new ConcurrentHashMap<>();
 
 
 	private StringDecoder(List<String> delimiters, boolean stripDelimiter, MimeType... mimeTypes) {
@@ -81,6 +87,27 @@ public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 	}
 
 
+	/**
+	 * Set the max number of bytes of a single frame, i.e. of the content up to
+	 * and including its delimiter, that can be buffered in memory. Frames
+	 * exceeding the limit result in a {@link DataBufferLimitException}.
+	 * <p>By default this is set to -1, i.e. frames are not limited.
+	 * @param byteCount the max number of bytes per frame, or -1 for unlimited
+	 * @since 5.2
+	 */
+	public void setMaxInMemorySize(int byteCount) {
+		this.maxInMemorySize = byteCount;
+	}
+
+	/**
+	 * Return the {@link #setMaxInMemorySize configured} byte count limit.
+	 * @since 5.2
+	 */
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+
 	@Override
 	public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
 		return (elementType.resolve() == String.class && super.canDecode(elementType, mimeType));
@@ -90,125 +117,53 @@ public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 	public Flux<String> decode(Publisher<DataBuffer> input, ResolvableType elementType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
-		List<byte[]> delimiterBytes = getDelimiterBytes(mimeType);
+		byte[][] delimiterBytes = getDelimiterBytes(mimeType);
 
-		Flux<DataBuffer> inputFlux = Flux.from(input)
-				.flatMapIterable(buffer -> splitOnDelimiter(buffer, delimiterBytes))
-				.bufferUntil(buffer -> buffer == END_FRAME)
-				.map(StringDecoder::joinUntilEndFrame)
-				.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
+		Flux<DataBuffer> inputFlux = Flux.defer(() -> {
+			FrameSplitter splitter = new FrameSplitter(DataBufferUtils.matcher(delimiterBytes));
+			return Flux.from(input)
+					.flatMapIterable(splitter::split)
+					.concatWith(Mono.fromSupplier(splitter::flush))
+					.doFinally(signalType -> splitter.discard())
+					.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
+		});
 
 		return super.decode(inputFlux, elementType, mimeType, hints);
 	}
 
-	private List<byte[]> getDelimiterBytes(@Nullable MimeType mimeType) {
+	private byte[][] getDelimiterBytes(@Nullable MimeType mimeType) {
 		return this.delimitersCache.computeIfAbsent(getCharset(mimeType), charset -> {
-			List<byte[]> list = new ArrayList<>();
-			for (String delimiter : this.delimiters) {
-				byte[] bytes = delimiter.getBytes(charset);
-				list.add(bytes);
+			byte[][] result = new byte[this.delimiters.size()][];
+			for (int i = 0; i < this.delimiters.size(); i++) {
+				result[i] = this.delimiters.get(i).getBytes(charset);
 			}
-			return list;
+			return result;
 		});
 	}
 
-	/**
-	 * Split the given data buffer on delimiter boundaries.
-	 * The returned Flux contains an {@link #END_FRAME} buffer after each delimiter.
-	 */
-	private List<DataBuffer> splitOnDelimiter(DataBuffer buffer, List<byte[]> delimiterBytes) {
-		List<DataBuffer> frames = new ArrayList<>();
-		try {
-			do {
-				int length = Integer.MAX_VALUE;
-				byte[] matchingDelimiter = null;
-				for (byte[] delimiter : delimiterBytes) {
-					int index = indexOf(buffer, delimiter);
-					if (index >= 0 && index < length) {
-						length = index;
-						matchingDelimiter = delimiter;
-					}
-				}
-				DataBuffer frame;
-				int readPosition = buffer.readPosition();
-				if (matchingDelimiter != null) {
-					frame = this.stripDelimiter ?
-							buffer.slice(readPosition, length) :
-							buffer.slice(readPosition, length + matchingDelimiter.length);
-					buffer.readPosition(readPosition + length + matchingDelimiter.length);
-					frames.add(DataBufferUtils.retain(frame));
-					frames.add(END_FRAME);
-				}
-				else {
-					frame = buffer.slice(readPosition, buffer.readableByteCount());
-					buffer.readPosition(readPosition + buffer.readableByteCount());
-					frames.add(DataBufferUtils.retain(frame));
-				}
-			}
-			while (buffer.readableByteCount() > 0);
-		}
-		catch (Throwable ex) {
-			for (DataBuffer frame : frames) {
-				DataBufferUtils.release(frame);
-			}
-			throw ex;
-		}
-		finally {
-			DataBufferUtils.release(buffer);
-		}
-		return frames;
-	}
-
-	/**
-	 * Find the given delimiter in the given data buffer.
-	 * @return the index of the delimiter, or -1 if not found.
-	 */
-	private static int indexOf(DataBuffer buffer, byte[] delimiter) {
-		for (int i = buffer.readPosition(); i < buffer.writePosition(); i++) {
-			int bufferPos = i;
-			int delimiterPos = 0;
-			while (delimiterPos < delimiter.length) {
-				if (buffer.getByte(bufferPos) != delimiter[delimiterPos]) {
-					break;
-				}
-				else {
-					bufferPos++;
-					boolean endOfBuffer = bufferPos == buffer.writePosition();
-					boolean endOfDelimiter = delimiterPos == delimiter.length - 1;
-					if (endOfBuffer && !endOfDelimiter) {
-						return -1;
-					}
-				}
-				delimiterPos++;
-			}
-			if (delimiterPos == delimiter.length) {
-				return i - buffer.readPosition();
-			}
-		}
-		return -1;
-	}
-
-	/**
-	 * Join the given list of buffers into a single buffer.
-	 */
-	private static DataBuffer joinUntilEndFrame(List<DataBuffer> dataBuffers) {
-		if (!dataBuffers.isEmpty()) {
-			int lastIdx = dataBuffers.size() - 1;
-			if (dataBuffers.get(lastIdx) == END_FRAME) {
-				dataBuffers.remove(lastIdx);
-			}
-		}
-		return dataBuffers.get(0).factory().join(dataBuffers);
-	}
-
 	@Override
 	public String decode(DataBuffer dataBuffer, ResolvableType elementType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
 		Charset charset = getCharset(mimeType);
-		CharBuffer charBuffer = charset.decode(dataBuffer.asByteBuffer());
-		DataBufferUtils.release(dataBuffer);
-		String value = charBuffer.toString();
+		String value;
+		if (dataBuffer instanceof CompositeDataBuffer) {
+			// Decode from the components rather than copying them into a single ByteBuffer first
+			try {
+				value = StreamUtils.copyToString(dataBuffer.asInputStream(), charset);
+			}
+			catch (IOException ex) {
+				throw new DecodingException("I/O error during decoding", ex);
+			}
+			finally {
+				DataBufferUtils.release(dataBuffer);
+			}
+		}
+		else {
+			CharBuffer charBuffer = charset.decode(dataBuffer.asByteBuffer());
+			DataBufferUtils.release(dataBuffer);
+			value = charBuffer.toString();
+		}
 		LogFormatUtils.traceDebug(logger, traceOn -> {
 			String formatted = LogFormatUtils.formatValue(value, !traceOn);
 			return Hints.getLogPrefix(hints) + "Decoded " + formatted;
@@ -283,4 +238,108 @@ public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 				new MimeType("text", "plain", DEFAULT_CHARSET), MimeTypeUtils.ALL);
 	}
 
+	/**
+	 * Splits a stream of data buffers into frames, holding on to the data
+	 * buffers of the current frame until its delimiter is found.
+	 * <p>A new instance is required per subscription. Since a cancellation may
+	 * discard the pending buffers concurrently with splitting, access to them
+	 * is synchronized, and buffers received after discarding are released.
+	 */
+	private class FrameSplitter {
+
+		private final DataBufferUtils.Matcher matcher;
+
+		private final List<DataBuffer> pending = new ArrayList<>();
+
+		private int pendingByteCount;
+
+		private boolean discarded;
+
+		FrameSplitter(DataBufferUtils.Matcher matcher) {
+			this.matcher = matcher;
+		}
+
+		/**
+		 * Return the frames completed by the given data buffer, retaining
+		 * any remaining bytes for the next frame.
+		 */
+		public synchronized List<DataBuffer> split(DataBuffer buffer) {
+			if (this.discarded) {
+				DataBufferUtils.release(buffer);
+				return Collections.emptyList();
+			}
+			List<DataBuffer> frames = new ArrayList<>();
+			try {
+				do {
+					int readPosition = buffer.readPosition();
+					int endIndex = this.matcher.match(buffer);
+					int length = (endIndex != -1 ? endIndex + 1 : buffer.writePosition()) - readPosition;
+					add(buffer.retainedSlice(readPosition, length));
+					buffer.readPosition(readPosition + length);
+					if (endIndex != -1) {
+						frames.add(completeFrame());
+					}
+				}
+				while (buffer.readableByteCount() > 0);
+			}
+			catch (Throwable ex) {
+				for (DataBuffer frame : frames) {
+					DataBufferUtils.release(frame);
+				}
+				discard();
+				throw ex;
+			}
+			finally {
+				DataBufferUtils.release(buffer);
+			}
+			return frames;
+		}
+
+		private void add(DataBuffer slice) {
+			this.pending.add(slice);
+			this.pendingByteCount += slice.readableByteCount();
+			int maxInMemorySize = getMaxInMemorySize();
+			if (maxInMemorySize >= 0 && this.pendingByteCount > maxInMemorySize) {
+				throw new DataBufferLimitException(
+						"Exceeded limit on max bytes per frame: " + maxInMemorySize);
+			}
+		}
+
+		private DataBuffer completeFrame() {
+			DataBuffer frame = DataBufferUtils.compose(this.pending);
+			this.pending.clear();
+			this.pendingByteCount = 0;
+			if (stripDelimiter) {
+				frame.writePosition(frame.writePosition() - this.matcher.delimiter().length);
+			}
+			return frame;
+		}
+
+		/**
+		 * Return the last, non-delimited frame, if any.
+		 */
+		@Nullable
+		public synchronized DataBuffer flush() {
+			if (this.pending.isEmpty()) {
+				return null;
+			}
+			DataBuffer frame = DataBufferUtils.compose(this.pending);
+			this.pending.clear();
+			this.pendingByteCount = 0;
+			return frame;
+		}
+
+		/**
+		 * Release the data buffers of an incomplete frame.
+		 */
+		public synchronized void discard() {
+			this.discarded = true;
+			for (DataBuffer dataBuffer : this.pending) {
+				DataBufferUtils.release(dataBuffer);
+			}
+			this.pending.clear();
+			this.pendingByteCount = 0;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import org.springframework.core.DecoratingProxy;
 import org.springframework.core.ResolvableType;
@@ -73,6 +76,8 @@ public class GenericConversionService implements ConfigurableConversionService {
 	 */
 	private static final GenericConverter NO_MATCH = new NoOpConverter("NO_MATCH");
 
+	private static final TypeDescriptor STRING_TYPE = TypeDescriptor.valueOf(String.class);
+
 
 	private final Converters converters = new Converters();
 
@@ -212,6 +217,117 @@ public class GenericConversionService implements ConfigurableConversionService {
 		return convert(source, TypeDescriptor.forObject(source), targetType);
 	}
 
+	/**
+	 * Resolve a converter handle for the given source/target type pair.
+	 * <p>The converter lookup is performed once, so the returned handle can be
+	 * invoked repeatedly without the per-call overhead of {@link #convert(Object, Class)}:
+	 * no {@link TypeDescriptor} is created and no {@link ConditionalGenericConverter}
+	 * matching is performed. Like {@code convert}, the handle wraps any failure in a
+	 * {@link ConversionFailedException}.
+	 * <p>Note that the handle reflects the converters registered at the time of the
+	 * call: it needs to be resolved again after the registry has been modified.
+	 * @param sourceType the source type to convert from
+	 * @param targetType the target type to convert to
+	 * @return the converter handle
+	 * @throws ConverterNotFoundException if no suitable converter could be found
+	 * @since 5.2
+	 * @see #resolveConverter(TypeDescriptor, TypeDescriptor)
+	 */
+	@SuppressWarnings("unchecked")
+	public <S, T> Converter<S, T> resolveConverter(Class<S> sourceType, Class<T> targetType) {
+		Assert.notNull(sourceType, "Source type to convert from cannot be null");
+		Assert.notNull(targetType, "Target type to convert to cannot be null");
+		return (Converter<S, T>) resolveConverter(TypeDescriptor.valueOf(sourceType), TypeDescriptor.valueOf(targetType));
+	}
+
+	/**
+	 * Resolve a converter handle for the given source/target type pair,
+	 * where the types are descriptors that provide additional conversion context.
+	 * <p>The handle is meant to be invoked with instances of the given source type;
+	 * its converter is not re-selected based on the actual type of the source object.
+	 * @param sourceType context about the source type to convert from
+	 * @param targetType context about the target type to convert to
+	 * @return the converter handle
+	 * @throws ConverterNotFoundException if no suitable converter could be found
+	 * @since 5.2
+	 * @see #resolveConverter(Class, Class)
+	 */
+	public Converter<Object, Object> resolveConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		Assert.notNull(sourceType, "Source type to convert from cannot be null");
+		Assert.notNull(targetType, "Target type to convert to cannot be null");
+		GenericConverter converter = getConverter(sourceType, targetType);
+		if (converter == null) {
+			throw new ConverterNotFoundException(sourceType, targetType);
+		}
+		return new ConverterHandle(converter, sourceType, targetType);
+	}
+
+	/**
+	 * Resolve a converter from {@code String} to a primitive {@code int}.
+	 * <p>If the default String-to-Number conversion applies, the returned function
+	 * parses the given text without boxing; otherwise it delegates to the converter
+	 * handle for {@code String} to {@code int}. An empty String is rejected with a
+	 * {@link ConversionFailedException}, as with {@link #convert(Object, Class)}.
+	 * @return the converter function
+	 * @throws ConverterNotFoundException if no suitable converter could be found
+	 * @since 5.2
+	 */
+	public ToIntFunction<String> resolveStringToIntConverter() {
+		Converter<String, Integer> handle = resolveConverter(String.class, int.class);
+		if (isDefaultNumberConverter(handle)) {
+			TypeDescriptor targetType = TypeDescriptor.valueOf(int.class);
+			return source -> {
+				try {
+					return StringToNumberConverterFactory.parseInt(assertNotEmpty(source));
+				}
+				catch (RuntimeException ex) {
+					throw new ConversionFailedException(STRING_TYPE, targetType, source, ex);
+				}
+			};
+		}
+		return source -> convertToPrimitive(handle, source);
+	}
+
+	/**
+	 * Resolve a converter from {@code String} to a primitive {@code long}.
+	 * <p>If the default String-to-Number conversion applies, the returned function
+	 * parses the given text without boxing; otherwise it delegates to the converter
+	 * handle for {@code String} to {@code long}. An empty String is rejected with a
+	 * {@link ConversionFailedException}, as with {@link #convert(Object, Class)}.
+	 * @return the converter function
+	 * @throws ConverterNotFoundException if no suitable converter could be found
+	 * @since 5.2
+	 */
+	public ToLongFunction<String> resolveStringToLongConverter() {
+		Converter<String, Long> handle = resolveConverter(String.class, long.class);
+		if (isDefaultNumberConverter(handle)) {
+			TypeDescriptor targetType = TypeDescriptor.valueOf(long.class);
+			return source -> {
+				try {
+					return StringToNumberConverterFactory.parseLong(assertNotEmpty(source));
+				}
+				catch (RuntimeException ex) {
+					throw new ConversionFailedException(STRING_TYPE, targetType, source, ex);
+				}
+			};
+		}
+		return source -> convertToPrimitive(handle, source);
+	}
+
+	/**
+	 * Resolve a converter from {@code String} to a primitive {@code boolean},
+	 * exposed as a {@link Predicate}.
+	 * <p>An empty String is rejected with a {@link ConversionFailedException},
+	 * as with {@link #convert(Object, Class)}.
+	 * @return the converter function
+	 * @throws ConverterNotFoundException if no suitable converter could be found
+	 * @since 5.2
+	 */
+	public Predicate<String> resolveStringToBooleanConverter() {
+		Converter<String, Boolean> handle = resolveConverter(String.class, boolean.class);
+		return source -> convertToPrimitive(handle, source);
+	}
+
 	@Override
 	public String toString() {
 		return this.converters.toString();
@@ -329,6 +445,29 @@ public class GenericConversionService implements ConfigurableConversionService {
 		return result;
 	}
 
+	private boolean isDefaultNumberConverter(Converter<?, ?> handle) {
+		GenericConverter converter = ((ConverterHandle) handle).converter;
+		if (converter instanceof ConverterFactoryAdapter) {
+			Object factory = ((ConverterFactoryAdapter) converter).converterFactory;
+			return (factory instanceof StringToNumberConverterFactory);
+		}
+		return false;
+	}
+
+	private static String assertNotEmpty(String source) {
+		if (source.isEmpty()) {
+			throw new IllegalArgumentException("A null value cannot be assigned to a primitive type");
+		}
+		return source;
+	}
+
+	private static <T> T convertToPrimitive(Converter<String, T> handle, String source) {
+		T result = handle.convert(source);
+		// Never null: the handle rejects null results for a primitive target type
+		Assert.state(result != null, "No result from converter handle");
+		return result;
+	}
+
 	private void assertNotPrimitiveTargetType(@Nullable TypeDescriptor sourceType, TypeDescriptor targetType) {
 		if (targetType.isPrimitive()) {
 			throw new ConversionFailedException(sourceType, targetType, null,
@@ -443,6 +582,72 @@ public class GenericConversionService implements ConfigurableConversionService {
 	}
 
 
+	/**
+	 * Converter handle for a pre-resolved source/target type pair.
+	 * Unwraps plain {@link Converter} adapters in order to invoke them directly.
+	 */
+	private final class ConverterHandle implements Converter<Object, Object> {
+
+		private final GenericConverter converter;
+
+		@Nullable
+		private final Converter<Object, Object> directConverter;
+
+		private final TypeDescriptor sourceType;
+
+		private final TypeDescriptor targetType;
+
+		public ConverterHandle(GenericConverter converter, TypeDescriptor sourceType, TypeDescriptor targetType) {
+			this.converter = converter;
+			this.directConverter = getDirectConverter(converter, targetType);
+			this.sourceType = sourceType;
+			this.targetType = targetType;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Nullable
+		private Converter<Object, Object> getDirectConverter(GenericConverter converter, TypeDescriptor targetType) {
+			if (converter instanceof ConverterAdapter) {
+				return ((ConverterAdapter) converter).converter;
+			}
+			if (converter instanceof ConverterFactoryAdapter) {
+				return (Converter<Object, Object>) ((ConverterFactoryAdapter) converter).converterFactory
+						.getConverter(targetType.getObjectType());
+			}
+			return null;
+		}
+
+		@Override
+		@Nullable
+		public Object convert(@Nullable Object source) {
+			if (source == null) {
+				return handleResult(this.sourceType, this.targetType, convertNullSource(this.sourceType, this.targetType));
+			}
+			Object result;
+			if (this.directConverter != null) {
+				try {
+					result = this.directConverter.convert(source);
+				}
+				catch (ConversionFailedException ex) {
+					throw ex;
+				}
+				catch (Throwable ex) {
+					throw new ConversionFailedException(this.sourceType, this.targetType, source, ex);
+				}
+			}
+			else {
+				result = ConversionUtils.invokeConverter(this.converter, source, this.sourceType, this.targetType);
+			}
+			return handleResult(this.sourceType, this.targetType, result);
+		}
+
+		@Override
+		public String toString() {
+			return (this.sourceType + " -> " + this.targetType + " : " + this.converter);
+		}
+	}
+
+
 	/**
 	 * Key for use with the converter cache.
 	 */
@@ -48,6 +48,13 @@ final class StringToBooleanConverter implements Converter<String, Boolean> {
 
 	@Override
 	public Boolean convert(String source) {
+		// Allocation-free check for the canonical lower-case values first
+		if (trueValues.contains(source)) {
+			return Boolean.TRUE;
+		}
+		else if (falseValues.contains(source)) {
+			return Boolean.FALSE;
+		}
 		String value = source.trim();
 		if (value.isEmpty()) {
 			return null;
@@ -19,6 +19,7 @@ package org.springframework.core.convert.support;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.ConverterFactory;
 import org.springframework.util.NumberUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * Converts from a String any JDK-standard Number implementation.
@@ -45,6 +46,62 @@ final class StringToNumberConverterFactory implements ConverterFactory<String, N
 		return new StringToNumber<>(targetType);
 	}
 
+	/**
+	 * Parse the given String into a primitive {@code int}, following the rules
+	 * of {@link NumberUtils#parseNumber(String, Class)} but without boxing the
+	 * result in the common case of a plain decimal number.
+	 * @param source the text to parse (not empty)
+	 * @return the parsed value
+	 * @throws IllegalArgumentException in case of an invalid number
+	 */
+	static int parseInt(String source) {
+		String trimmed = trimAllWhitespace(source);
+		if (isPlainDecimal(trimmed)) {
+			return Integer.parseInt(trimmed);
+		}
+		return NumberUtils.parseNumber(trimmed, Integer.class);
+	}
+
+	/**
+	 * Parse the given String into a primitive {@code long}, following the rules
+	 * of {@link NumberUtils#parseNumber(String, Class)} but without boxing the
+	 * result in the common case of a plain decimal number.
+	 * @param source the text to parse (not empty)
+	 * @return the parsed value
+	 * @throws IllegalArgumentException in case of an invalid number
+	 */
+	static long parseLong(String source) {
+		String trimmed = trimAllWhitespace(source);
+		if (isPlainDecimal(trimmed)) {
+			return Long.parseLong(trimmed);
+		}
+		return NumberUtils.parseNumber(trimmed, Long.class);
+	}
+
+	private static String trimAllWhitespace(String source) {
+		for (int i = 0; i < source.length(); i++) {
+			if (Character.isWhitespace(source.charAt(i))) {
+				return StringUtils.trimAllWhitespace(source);
+			}
+		}
+		return source;
+	}
+
+	private static boolean isPlainDecimal(String value) {
+		int length = value.length();
+		int start = (length > 1 && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0);
+		if (start == length) {
+			return false;
+		}
+		for (int i = start; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
 
 	private static final class StringToNumber<T extends Number> implements Converter<String, T> {
 
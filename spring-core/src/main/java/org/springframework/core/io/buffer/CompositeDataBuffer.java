@@ -0,0 +1,735 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.IntPredicate;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link DataBuffer} that presents a sequence of component buffers as a single
+ * buffer, without copying their content. Used by {@link DataBufferUtils#compose(List)}
+ * to aggregate {@link DefaultDataBuffer DefaultDataBuffers}.
+ *
+ * <p>Reading - through {@link #read}, {@link #getByte}, {@link #indexOf},
+ * {@link #asInputStream()} or {@link #asByteBuffers()} - works across component
+ * boundaries; {@link #writeTo(WritableByteChannel)} performs a gathering write.
+ * Only {@link #asByteBuffer()} has to copy the content of multiple components
+ * into a single {@code ByteBuffer}, so consumers should prefer the other views.
+ * Writes are appended to the last component, or to a new component obtained
+ * from the {@linkplain #factory() factory}.
+ *
+ * <p>A composite buffer owns its components: it releases them once its own
+ * reference count drops to 0. Slices share the reference count of the
+ * composite buffer they were created from.
+ *
+ * @since 5.2
+ * @see DataBufferUtils#compose(List)
+ */
+public class CompositeDataBuffer implements PooledDataBuffer {
+
+	private static final int DEFAULT_COMPONENT_CAPACITY = 256;
+
+	private static final AtomicIntegerFieldUpdater<CompositeDataBuffer> refCountUpdater =
+			AtomicIntegerFieldUpdater.newUpdater(CompositeDataBuffer.class, "refCount");
+
+
+	private final DataBufferFactory dataBufferFactory;
+
+	@Nullable
+	private final CompositeDataBuffer parent;
+
+	private final List<Component> components = new ArrayList<>();
+
+	private int lastComponentIndex;
+
+	private int readPosition;
+
+	private int writePosition;
+
+	private volatile int refCount = 1;
+
+
+	/**
+	 * Create a new, empty {@code CompositeDataBuffer}.
+	 * @param dataBufferFactory the factory to allocate components for writes with
+	 */
+	public CompositeDataBuffer(DataBufferFactory dataBufferFactory) {
+		this(dataBufferFactory, (CompositeDataBuffer) null);
+	}
+
+	/**
+	 * Create a new {@code CompositeDataBuffer} composed of the readable bytes of
+	 * the given buffers, taking over the responsibility of releasing them.
+	 * @param dataBufferFactory the factory to allocate components for writes with
+	 * @param dataBuffers the buffers to compose
+	 */
+	public CompositeDataBuffer(DataBufferFactory dataBufferFactory, List<? extends DataBuffer> dataBuffers) {
+		this(dataBufferFactory, (CompositeDataBuffer) null);
+		Assert.notNull(dataBuffers, "DataBuffer List must not be null");
+		dataBuffers.forEach(this::addComponent);
+	}
+
+	private CompositeDataBuffer(DataBufferFactory dataBufferFactory, @Nullable CompositeDataBuffer parent) {
+		Assert.notNull(dataBufferFactory, "DataBufferFactory must not be null");
+		this.dataBufferFactory = dataBufferFactory;
+		this.parent = parent;
+	}
+
+
+	/**
+	 * Append the readable bytes of the given buffer to this composite buffer,
+	 * taking over the responsibility of releasing it.
+	 * @param dataBuffer the buffer to append
+	 * @return this buffer
+	 */
+	public CompositeDataBuffer addComponent(DataBuffer dataBuffer) {
+		Assert.notNull(dataBuffer, "DataBuffer must not be null");
+		int length = dataBuffer.readableByteCount();
+		if (length == 0 && dataBuffer.writableByteCount() == 0) {
+			DataBufferUtils.release(dataBuffer);
+			return this;
+		}
+		Component tail = getTail();
+		if (tail != null && tail.length == 0) {
+			// Empty tail left over from a previous write
+			this.components.remove(this.components.size() - 1);
+			DataBufferUtils.release(tail.buffer);
+		}
+		this.components.add(new Component(dataBuffer, this.writePosition, dataBuffer.readPosition(), length));
+		this.writePosition += length;
+		return this;
+	}
+
+	/**
+	 * Return the number of components of this composite buffer.
+	 */
+	public int getComponentCount() {
+		return this.components.size();
+	}
+
+	/**
+	 * Expose the readable bytes of this buffer as one {@code ByteBuffer} per
+	 * component, without copying. Changes to the returned byte buffers' content
+	 * will be reflected in this data buffer, but changes to their position,
+	 * limit or mark are not.
+	 * @return the readable bytes, suitable for a gathering write
+	 * @see GatheringByteChannel#write(ByteBuffer[])
+	 */
+	public ByteBuffer[] asByteBuffers() {
+		List<ByteBuffer> byteBuffers = new ArrayList<>(this.components.size());
+		int index = this.readPosition;
+		while (index < this.writePosition) {
+			Component component = getComponent(index);
+			int length = component.end() - index;
+			byteBuffers.add(component.buffer.asByteBuffer(component.toComponentIndex(index), length));
+			index += length;
+		}
+		return byteBuffers.toArray(new ByteBuffer[0]);
+	}
+
+	/**
+	 * Write the readable bytes of this buffer to the given channel, using a
+	 * gathering write if supported by the channel. Does not change the
+	 * {@linkplain #readPosition() read position} of this buffer.
+	 * @param channel the channel to write to
+	 * @return the number of bytes written
+	 * @throws IOException in case of I/O errors
+	 */
+	public long writeTo(WritableByteChannel channel) throws IOException {
+		ByteBuffer[] byteBuffers = asByteBuffers();
+		long written = 0;
+		if (channel instanceof GatheringByteChannel) {
+			long remaining = readableByteCount();
+			while (written < remaining) {
+				written += ((GatheringByteChannel) channel).write(byteBuffers);
+			}
+		}
+		else {
+			for (ByteBuffer byteBuffer : byteBuffers) {
+				while (byteBuffer.hasRemaining()) {
+					written += channel.write(byteBuffer);
+				}
+			}
+		}
+		return written;
+	}
+
+
+	@Override
+	public DataBufferFactory factory() {
+		return this.dataBufferFactory;
+	}
+
+	@Override
+	public int indexOf(IntPredicate predicate, int fromIndex) {
+		Assert.notNull(predicate, "IntPredicate must not be null");
+		if (fromIndex < 0) {
+			fromIndex = 0;
+		}
+		int index = fromIndex;
+		while (index < this.writePosition) {
+			Component component = getComponent(index);
+			int end = component.end();
+			for (; index < end; index++) {
+				if (predicate.test(component.buffer.getByte(component.toComponentIndex(index)))) {
+					return index;
+				}
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(IntPredicate predicate, int fromIndex) {
+		Assert.notNull(predicate, "IntPredicate must not be null");
+		int index = Math.min(fromIndex, this.writePosition - 1);
+		while (index >= 0) {
+			Component component = getComponent(index);
+			for (; index >= component.offset; index--) {
+				if (predicate.test(component.buffer.getByte(component.toComponentIndex(index)))) {
+					return index;
+				}
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int readableByteCount() {
+		return this.writePosition - this.readPosition;
+	}
+
+	@Override
+	public int writableByteCount() {
+		Component tail = getTail();
+		return (tail != null ? tail.writableByteCount() : 0);
+	}
+
+	@Override
+	public int capacity() {
+		return this.writePosition + writableByteCount();
+	}
+
+	@Override
+	public CompositeDataBuffer capacity(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException(String.format("'newCapacity' %d must be higher than 0", capacity));
+		}
+		if (capacity > capacity()) {
+			ensureCapacity(capacity - this.writePosition);
+		}
+		else if (capacity < this.writePosition) {
+			if (this.readPosition > capacity) {
+				this.readPosition = capacity;
+			}
+			writePosition(capacity);
+		}
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer ensureCapacity(int length) {
+		if (length > writableByteCount()) {
+			Assert.state(this.parent == null, "Cannot write to a slice of a composite buffer");
+			Component tail = getTail();
+			if (tail != null && tail.length == 0) {
+				this.components.remove(this.components.size() - 1);
+				DataBufferUtils.release(tail.buffer);
+			}
+			DataBuffer buffer = this.dataBufferFactory.allocateBuffer(Math.max(length, DEFAULT_COMPONENT_CAPACITY));
+			this.components.add(new Component(buffer, this.writePosition, buffer.writePosition(), 0));
+		}
+		return this;
+	}
+
+	@Override
+	public int readPosition() {
+		return this.readPosition;
+	}
+
+	@Override
+	public CompositeDataBuffer readPosition(int readPosition) {
+		assertIndex(readPosition >= 0, "'readPosition' %d must be >= 0", readPosition);
+		assertIndex(readPosition <= this.writePosition, "'readPosition' %d must be <= %d",
+				readPosition, this.writePosition);
+		this.readPosition = readPosition;
+		return this;
+	}
+
+	@Override
+	public int writePosition() {
+		return this.writePosition;
+	}
+
+	@Override
+	public CompositeDataBuffer writePosition(int writePosition) {
+		assertIndex(writePosition >= this.readPosition, "'writePosition' %d must be >= %d",
+				writePosition, this.readPosition);
+		int capacity = capacity();
+		assertIndex(writePosition <= capacity, "'writePosition' %d must be <= %d", writePosition, capacity);
+		if (writePosition > this.writePosition) {
+			Component tail = getTail();
+			Assert.state(tail != null, "No component to write to");
+			tail.grow(writePosition - this.writePosition);
+		}
+		else if (writePosition < this.writePosition) {
+			truncate(writePosition);
+		}
+		this.writePosition = writePosition;
+		return this;
+	}
+
+	private void truncate(int writePosition) {
+		int last = this.components.size() - 1;
+		while (last > 0 && this.components.get(last).offset >= writePosition) {
+			Component removed = this.components.remove(last--);
+			if (this.parent == null) {
+				DataBufferUtils.release(removed.buffer);
+			}
+		}
+		this.lastComponentIndex = 0;
+		if (last >= 0) {
+			Component tail = this.components.get(last);
+			tail.length = writePosition - tail.offset;
+			if (this.parent == null) {
+				tail.buffer.writePosition(tail.base + tail.length);
+			}
+		}
+	}
+
+	@Override
+	public byte getByte(int index) {
+		assertIndex(index >= 0, "index %d must be >= 0", index);
+		assertIndex(index <= this.writePosition - 1, "index %d must be <= %d", index, this.writePosition - 1);
+		Component component = getComponent(index);
+		return component.buffer.getByte(component.toComponentIndex(index));
+	}
+
+	@Override
+	public byte read() {
+		assertIndex(this.readPosition <= this.writePosition - 1, "readPosition %d must be <= %d",
+				this.readPosition, this.writePosition - 1);
+		byte b = getByte(this.readPosition);
+		this.readPosition++;
+		return b;
+	}
+
+	@Override
+	public CompositeDataBuffer read(byte[] destination) {
+		Assert.notNull(destination, "Byte array must not be null");
+		return read(destination, 0, destination.length);
+	}
+
+	@Override
+	public CompositeDataBuffer read(byte[] destination, int offset, int length) {
+		Assert.notNull(destination, "Byte array must not be null");
+		assertIndex(this.readPosition <= this.writePosition - length,
+				"readPosition %d and length %d should be smaller than writePosition %d",
+				this.readPosition, length, this.writePosition);
+		while (length > 0) {
+			Component component = getComponent(this.readPosition);
+			int chunk = Math.min(length, component.end() - this.readPosition);
+			component.buffer.asByteBuffer(component.toComponentIndex(this.readPosition), chunk)
+					.get(destination, offset, chunk);
+			this.readPosition += chunk;
+			offset += chunk;
+			length -= chunk;
+		}
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(byte b) {
+		ensureCapacity(1);
+		getRequiredTail().buffer.write(b);
+		advanceWritePosition(1);
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(byte[] source) {
+		Assert.notNull(source, "Byte array must not be null");
+		return write(source, 0, source.length);
+	}
+
+	@Override
+	public CompositeDataBuffer write(byte[] source, int offset, int length) {
+		Assert.notNull(source, "Byte array must not be null");
+		ensureCapacity(length);
+		getRequiredTail().buffer.write(source, offset, length);
+		advanceWritePosition(length);
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>Note that the content of the given buffers is copied.
+	 * Use {@link #addComponent} to append a buffer without copying.
+	 */
+	@Override
+	public CompositeDataBuffer write(DataBuffer... buffers) {
+		for (DataBuffer buffer : buffers) {
+			if (buffer instanceof CompositeDataBuffer) {
+				write(((CompositeDataBuffer) buffer).asByteBuffers());
+			}
+			else {
+				write(buffer.asByteBuffer());
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(ByteBuffer... buffers) {
+		int length = 0;
+		for (ByteBuffer buffer : buffers) {
+			length += buffer.remaining();
+		}
+		if (length > 0) {
+			ensureCapacity(length);
+			getRequiredTail().buffer.write(buffers);
+			advanceWritePosition(length);
+		}
+		return this;
+	}
+
+	private void advanceWritePosition(int length) {
+		getRequiredTail().length += length;
+		this.writePosition += length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>The returned slice is a composite buffer itself, sharing the reference
+	 * count of this buffer, even if the given range lies within a single
+	 * component: retaining or releasing the slice retains or releases this
+	 * buffer, which in turn owns the components.
+	 */
+	@Override
+	public DataBuffer slice(int index, int length) {
+		checkIndex(index, length);
+		CompositeDataBuffer slice = new CompositeDataBuffer(this.dataBufferFactory, getRoot());
+		int position = index;
+		while (position < index + length) {
+			Component component = getComponent(position);
+			int chunk = Math.min(index + length - position, component.end() - position);
+			slice.addSliceComponent(component.buffer.slice(component.toComponentIndex(position), chunk));
+			position += chunk;
+		}
+		return slice;
+	}
+
+	private CompositeDataBuffer addSliceComponent(DataBuffer slice) {
+		int length = slice.readableByteCount();
+		this.components.add(new Component(slice, this.writePosition, slice.readPosition(), length));
+		this.writePosition += length;
+		return this;
+	}
+
+	private CompositeDataBuffer getRoot() {
+		return (this.parent != null ? this.parent : this);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>In case of multiple components, this method copies their content
+	 * into a new {@code ByteBuffer}, which is therefore not shared with
+	 * this data buffer. Consider {@link #asByteBuffers()} instead.
+	 */
+	@Override
+	public ByteBuffer asByteBuffer() {
+		return asByteBuffer(this.readPosition, readableByteCount());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>If the given range spans multiple components, this method copies
+	 * their content into a new {@code ByteBuffer}, which is therefore not
+	 * shared with this data buffer.
+	 */
+	@Override
+	public ByteBuffer asByteBuffer(int index, int length) {
+		checkIndex(index, length);
+		if (length > 0) {
+			Component component = getComponent(index);
+			if (index + length <= component.end()) {
+				return component.buffer.asByteBuffer(component.toComponentIndex(index), length);
+			}
+		}
+		ByteBuffer result = ByteBuffer.allocate(length);
+		int position = index;
+		while (position < index + length) {
+			Component component = getComponent(position);
+			int chunk = Math.min(index + length - position, component.end() - position);
+			result.put(component.buffer.asByteBuffer(component.toComponentIndex(position), chunk));
+			position += chunk;
+		}
+		result.flip();
+		return result;
+	}
+
+	@Override
+	public InputStream asInputStream() {
+		return new CompositeDataBufferInputStream(false);
+	}
+
+	@Override
+	public InputStream asInputStream(boolean releaseOnClose) {
+		return new CompositeDataBufferInputStream(releaseOnClose);
+	}
+
+	@Override
+	public OutputStream asOutputStream() {
+		return new CompositeDataBufferOutputStream();
+	}
+
+
+	// PooledDataBuffer implementation
+
+	@Override
+	public boolean isAllocated() {
+		return (getRoot().refCount > 0);
+	}
+
+	@Override
+	public CompositeDataBuffer retain() {
+		CompositeDataBuffer root = getRoot();
+		while (true) {
+			int refCount = root.refCount;
+			if (refCount <= 0) {
+				throw new IllegalStateException("Cannot retain released buffer: " + this);
+			}
+			if (refCountUpdater.compareAndSet(root, refCount, refCount + 1)) {
+				return this;
+			}
+		}
+	}
+
+	@Override
+	public boolean release() {
+		CompositeDataBuffer root = getRoot();
+		while (true) {
+			int refCount = root.refCount;
+			if (refCount <= 0) {
+				throw new IllegalStateException("Cannot release already released buffer: " + this);
+			}
+			if (refCountUpdater.compareAndSet(root, refCount, refCount - 1)) {
+				if (refCount == 1) {
+					root.deallocate();
+					return true;
+				}
+				return false;
+			}
+		}
+	}
+
+	private void deallocate() {
+		for (Component component : this.components) {
+			DataBufferUtils.release(component.buffer);
+		}
+		this.components.clear();
+		this.lastComponentIndex = 0;
+		this.readPosition = 0;
+		this.writePosition = 0;
+	}
+
+
+	@Nullable
+	private Component getTail() {
+		int size = this.components.size();
+		return (size > 0 ? this.components.get(size - 1) : null);
+	}
+
+	private Component getRequiredTail() {
+		Component tail = getTail();
+		Assert.state(tail != null, "No component to write to");
+		return tail;
+	}
+
+	/**
+	 * Return the component containing the given index, which must be
+	 * smaller than the write position.
+	 */
+	private Component getComponent(int index) {
+		// Sequential access typically stays within the same component
+		Component component;
+		if (this.lastComponentIndex < this.components.size()) {
+			component = this.components.get(this.lastComponentIndex);
+			if (index >= component.offset && index < component.end()) {
+				return component;
+			}
+		}
+		int low = 0;
+		int high = this.components.size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			component = this.components.get(mid);
+			if (index < component.offset) {
+				high = mid - 1;
+			}
+			else if (index >= component.end()) {
+				low = mid + 1;
+			}
+			else {
+				this.lastComponentIndex = mid;
+				return component;
+			}
+		}
+		throw new IndexOutOfBoundsException(String.format("index %d must be < %d", index, this.writePosition));
+	}
+
+	private void checkIndex(int index, int length) {
+		assertIndex(index >= 0, "index %d must be >= 0", index);
+		assertIndex(length >= 0, "length %d must be >= 0", length);
+		assertIndex(index + length <= this.writePosition, "index %d + length %d must be <= %d",
+				index, length, this.writePosition);
+	}
+
+	private void assertIndex(boolean expression, String format, Object... args) {
+		if (!expression) {
+			String message = String.format(format, args);
+			throw new IndexOutOfBoundsException(message);
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		return String.format("CompositeDataBuffer (r: %d, w: %d, c: %d, components: %d)",
+				this.readPosition, this.writePosition, capacity(), this.components.size());
+	}
+
+
+	/**
+	 * A component buffer, contributing its bytes from {@code base}
+	 * (inclusive) to {@code base + length} (exclusive), which are exposed
+	 * from {@code offset} on in the composite buffer.
+	 */
+	private static final class Component {
+
+		final DataBuffer buffer;
+
+		final int offset;
+
+		final int base;
+
+		int length;
+
+		Component(DataBuffer buffer, int offset, int base, int length) {
+			this.buffer = buffer;
+			this.offset = offset;
+			this.base = base;
+			this.length = length;
+		}
+
+		int end() {
+			return this.offset + this.length;
+		}
+
+		int toComponentIndex(int index) {
+			return this.base + index - this.offset;
+		}
+
+		int writableByteCount() {
+			// Only writable if nobody else has written to the component buffer in the meantime
+			return (this.buffer.writePosition() == this.base + this.length ? this.buffer.writableByteCount() : 0);
+		}
+
+		void grow(int length) {
+			this.buffer.writePosition(this.buffer.writePosition() + length);
+			this.length += length;
+		}
+	}
+
+
+	private class CompositeDataBufferInputStream extends InputStream {
+
+		private final boolean releaseOnClose;
+
+		private boolean closed;
+
+		CompositeDataBufferInputStream(boolean releaseOnClose) {
+			this.releaseOnClose = releaseOnClose;
+		}
+
+		@Override
+		public int available() {
+			return readableByteCount();
+		}
+
+		@Override
+		public int read() {
+			return (available() > 0 ? CompositeDataBuffer.this.read() & 0xFF : -1);
+		}
+
+		@Override
+		public int read(byte[] bytes, int off, int len) {
+			int available = available();
+			if (available > 0) {
+				len = Math.min(len, available);
+				CompositeDataBuffer.this.read(bytes, off, len);
+				return len;
+			}
+			else {
+				return (len > 0 ? -1 : 0);
+			}
+		}
+
+		@Override
+		public long skip(long n) {
+			int skipped = (int) Math.min(Math.max(n, 0), available());
+			readPosition(readPosition() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public void close() {
+			if (!this.closed) {
+				this.closed = true;
+				if (this.releaseOnClose) {
+					DataBufferUtils.release(CompositeDataBuffer.this);
+				}
+			}
+		}
+	}
+
+
+	private class CompositeDataBufferOutputStream extends OutputStream {
+
+		@Override
+		public void write(int b) {
+			CompositeDataBuffer.this.write((byte) b);
+		}
+
+		@Override
+		public void write(byte[] bytes, int off, int len) {
+			CompositeDataBuffer.this.write(bytes, off, len);
+		}
+	}
+
+}
@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.Channel;
 import java.nio.channels.Channels;
@@ -442,6 +443,7 @@ public abstract class DataBufferUtils {
 	 * @param dataBuffers the data buffers that are to be composed
 	 * @return a buffer that is composed from the {@code dataBuffers} argument
 	 * @since 5.0.3
+	 * @see #compose(Publisher)
 	 */
 	public static Mono<DataBuffer> join(Publisher<DataBuffer> dataBuffers) {
 		Assert.notNull(dataBuffers, "'dataBuffers' must not be null");
@@ -457,6 +459,56 @@ public abstract class DataBufferUtils {
 				.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
 	}
 
+	/**
+	 * Variant of {@link #join(Publisher)} that composes the given buffers via
+	 * {@link #compose(List)}, i.e. that returns a {@link CompositeDataBuffer}
+	 * rather than copying buffers of a {@link DefaultDataBufferFactory}.
+	 * <p>Note that the returned composite is a {@link PooledDataBuffer}, and
+	 * has to be {@linkplain #release(DataBuffer) released}.
+	 * @param dataBuffers the data buffers that are to be composed
+	 * @return a buffer that is composed from the {@code dataBuffers} argument
+	 * @since 5.2
+	 */
+	public static Mono<DataBuffer> compose(Publisher<DataBuffer> dataBuffers) {
+		Assert.notNull(dataBuffers, "'dataBuffers' must not be null");
+
+		if (dataBuffers instanceof Mono) {
+			return (Mono<DataBuffer>) dataBuffers;
+		}
+
+		return Flux.from(dataBuffers)
+				.collectList()
+				.filter(list -> !list.isEmpty())
+				.map(DataBufferUtils::compose)
+				.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
+	}
+
+	/**
+	 * Return a {@code DataBuffer} composed from the given {@code dataBuffers}.
+	 * <p>Buffers of a non-pooled {@link DefaultDataBufferFactory} are composed
+	 * into a {@link CompositeDataBuffer} without copying their content; for
+	 * other factories, this method delegates to {@link DataBufferFactory#join}.
+	 * A single buffer is returned as-is.
+	 * <p>Note that the given data buffers do <strong>not</strong> have to be
+	 * released. They will be released as part of the returned buffer.
+	 * @param dataBuffers the data buffers to be composed
+	 * @return a buffer that is composed from the {@code dataBuffers} argument
+	 * @since 5.2
+	 * @see #compose(Publisher)
+	 */
+	public static DataBuffer compose(List<? extends DataBuffer> dataBuffers) {
+		Assert.notEmpty(dataBuffers, "DataBuffer List must not be empty");
+		if (dataBuffers.size() == 1) {
+			return dataBuffers.get(0);
+		}
+		DataBufferFactory bufferFactory = dataBuffers.get(0).factory();
+		if (bufferFactory instanceof DefaultDataBufferFactory &&
+				!(bufferFactory instanceof PooledDefaultDataBufferFactory)) {
+			return new CompositeDataBuffer(bufferFactory, dataBuffers);
+		}
+		return bufferFactory.join(dataBuffers);
+	}
+
 	/**
 	 * Return a {@link Matcher} for the given delimiters. The matcher can be used to find the
 	 * delimiters in data buffers.
@@ -469,6 +521,23 @@ public abstract class DataBufferUtils {
 		return new KnuthMorrisPrattMatcher(delimiter);
 	}
 
+	/**
+	 * Return a {@link Matcher} for the given delimiters. The matcher finds the first
+	 * position at which any of the delimiters ends; in case multiple delimiters end
+	 * at the same position, the longest one is matched, and exposed through
+	 * {@link Matcher#delimiter()}. Delimiters that span multiple data buffers are
+	 * matched as well, as long as the same matcher is used for subsequent buffers.
+	 * <p>While no delimiter is partially matched, the returned matcher scans the
+	 * buffer for the first bytes of all delimiters at once, one word at a time.
+	 * @param delimiters the delimiters to find
+	 * @return the matcher
+	 * @since 5.2
+	 */
+	public static Matcher matcher(byte[]... delimiters) {
+		Assert.notEmpty(delimiters, "Delimiters must not be empty");
+		return new CompositeMatcher(delimiters);
+	}
+
 	/**
 	 * Splits the given stream of data buffers around the given delimiter.
 	 * The returned flux contains data buffers that are terminated by the given delimiter,
@@ -703,9 +772,14 @@ public abstract class DataBufferUtils {
 		@Override
 		protected void hookOnNext(DataBuffer dataBuffer) {
 			try {
-				ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
-				while (byteBuffer.hasRemaining()) {
-					this.channel.write(byteBuffer);
+				if (dataBuffer instanceof CompositeDataBuffer) {
+					((CompositeDataBuffer) dataBuffer).writeTo(this.channel);
+				}
+				else {
+					ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+					while (byteBuffer.hasRemaining()) {
+						this.channel.write(byteBuffer);
+					}
 				}
 				this.sink.next(dataBuffer);
 				request(1);
@@ -856,26 +930,195 @@ public abstract class DataBufferUtils {
 		@Override
 		public int match(DataBuffer dataBuffer) {
 			for (int i = dataBuffer.readPosition(); i < dataBuffer.writePosition(); i++) {
-				byte b = dataBuffer.getByte(i);
+				if (match(dataBuffer.getByte(i))) {
+					return i;
+				}
+			}
+			return -1;
+		}
 
-				while (this.matches > 0 && b != this.delimiter[this.matches]) {
-					this.matches = this.table[this.matches - 1];
+		/**
+		 * Match the given byte, returning {@code true} if it is the final byte
+		 * of the delimiter.
+		 */
+		boolean match(byte b) {
+			while (this.matches > 0 && b != this.delimiter[this.matches]) {
+				this.matches = this.table[this.matches - 1];
+			}
+
+			if (b == this.delimiter[this.matches]) {
+				this.matches++;
+				if (this.matches == this.delimiter.length) {
+					this.matches = 0;
+					return true;
 				}
+			}
+			return false;
+		}
+
+		@Override
+		public byte[] delimiter() {
+			return Arrays.copyOf(this.delimiter, this.delimiter.length);
+		}
+	}
+
 
-				if (b == this.delimiter[this.matches]) {
-					this.matches++;
-					if (this.matches == this.delimiter.length) {
-						this.matches = 0;
-						return i;
+	/**
+	 * Implementation of {@link Matcher} that matches any of multiple delimiters,
+	 * using a {@link KnuthMorrisPrattMatcher} for each of them.
+	 * <p>As long as none of the delimiters is partially matched, buffers backed by a
+	 * single {@code ByteBuffer} are scanned for the first bytes of the delimiters
+	 * eight bytes at a time, using the SWAR ("SIMD within a register") technique
+	 * to test all bytes of a word at once.
+	 */
+	private static class CompositeMatcher implements Matcher {
+
+		private static final long LOW_BITS = 0x0101010101010101L;
+
+		private static final long HIGH_BITS = 0x8080808080808080L;
+
+
+		private final KnuthMorrisPrattMatcher[] matchers;
+
+		private final byte[] firstBytes;
+
+		private final long[] firstBytePatterns;
+
+		private int matchedIndex;
+
+		/** The buffer that {@link #words} was last obtained for. */
+		@Nullable
+		private DataBuffer wordBuffer;
+
+		@Nullable
+		private ByteBuffer words;
+
+
+		public CompositeMatcher(byte[][] delimiters) {
+			this.matchers = new KnuthMorrisPrattMatcher[delimiters.length];
+			byte[] firstBytes = new byte[delimiters.length];
+			int count = 0;
+			for (int i = 0; i < delimiters.length; i++) {
+				Assert.isTrue(delimiters[i].length > 0, "Delimiter must not be empty");
+				this.matchers[i] = new KnuthMorrisPrattMatcher(delimiters[i]);
+				byte firstByte = delimiters[i][0];
+				if (indexOf(firstBytes, count, firstByte) == -1) {
+					firstBytes[count++] = firstByte;
+				}
+			}
+			this.firstBytes = Arrays.copyOf(firstBytes, count);
+			this.firstBytePatterns = new long[count];
+			for (int i = 0; i < count; i++) {
+				this.firstBytePatterns[i] = (this.firstBytes[i] & 0xFFL) * LOW_BITS;
+			}
+		}
+
+		private static int indexOf(byte[] bytes, int length, byte b) {
+			for (int i = 0; i < length; i++) {
+				if (bytes[i] == b) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public int match(DataBuffer dataBuffer) {
+			int end = dataBuffer.writePosition();
+			ByteBuffer words = wordView(dataBuffer);
+			for (int i = dataBuffer.readPosition(); i < end; i++) {
+				if (words != null && !isPartiallyMatched()) {
+					i = indexOfFirstByte(words, i, end);
+					if (i == end) {
+						break;
+					}
+				}
+				byte b = dataBuffer.getByte(i);
+				int matched = -1;
+				for (int j = 0; j < this.matchers.length; j++) {
+					if (this.matchers[j].match(b) && (matched == -1 ||
+							this.matchers[j].delimiter.length > this.matchers[matched].delimiter.length)) {
+						matched = j;
+					}
+				}
+				if (matched != -1) {
+					for (KnuthMorrisPrattMatcher matcher : this.matchers) {
+						matcher.matches = 0;
 					}
+					this.matchedIndex = matched;
+					return i;
 				}
 			}
+			// Buffer fully consumed: no need to keep it for further matches
+			this.wordBuffer = null;
+			this.words = null;
 			return -1;
 		}
 
+		/**
+		 * Return a view on the given buffer that allows for reading words, with
+		 * indexes aligned to those of the data buffer, or {@code null} if the
+		 * buffer does not provide such a view without copying.
+		 * <p>The view is kept for subsequent matches against the same buffer,
+		 * as long as it covers the buffer's readable bytes, since obtaining a
+		 * view of a pooled buffer registers it with that buffer.
+		 */
+		@Nullable
+		private ByteBuffer wordView(DataBuffer dataBuffer) {
+			if (!(dataBuffer instanceof DefaultDataBuffer) || dataBuffer.readableByteCount() < 8) {
+				return null;
+			}
+			ByteBuffer words = this.words;
+			if (this.wordBuffer != dataBuffer || words == null || words.limit() < dataBuffer.writePosition()) {
+				words = dataBuffer.asByteBuffer(0, dataBuffer.writePosition()).order(ByteOrder.LITTLE_ENDIAN);
+				this.wordBuffer = dataBuffer;
+				this.words = words;
+			}
+			return words;
+		}
+
+		private boolean isPartiallyMatched() {
+			for (KnuthMorrisPrattMatcher matcher : this.matchers) {
+				if (matcher.matches > 0) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Find the first index of any of the delimiters' first bytes, or {@code end}
+		 * if not found. In a little-endian word, a zero byte found through
+		 * {@code (x - 0x01..) & ~x & 0x80..} is only followed by false positives in
+		 * more significant bytes, so the lowest flag always marks an actual match.
+		 */
+		private int indexOfFirstByte(ByteBuffer words, int start, int end) {
+			int i = start;
+			for (; i <= end - 8; i += 8) {
+				long word = words.getLong(i);
+				long found = 0;
+				for (long pattern : this.firstBytePatterns) {
+					long x = word ^ pattern;
+					found |= (x - LOW_BITS) & ~x & HIGH_BITS;
+				}
+				if (found != 0) {
+					return i + (Long.numberOfTrailingZeros(found) >>> 3);
+				}
+			}
+			for (; i < end; i++) {
+				if (indexOf(this.firstBytes, this.firstBytes.length, words.get(i)) != -1) {
+					return i;
+				}
+			}
+			return end;
+		}
+
+		/**
+		 * Return the delimiter matched last, or the first delimiter if none matched yet.
+		 */
 		@Override
 		public byte[] delimiter() {
-			return Arrays.copyOf(this.delimiter, this.delimiter.length);
+			return this.matchers[this.matchedIndex].delimiter();
 		}
 	}
 
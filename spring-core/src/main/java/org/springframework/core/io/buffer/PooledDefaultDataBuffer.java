@@ -0,0 +1,306 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Reference counted {@link DefaultDataBuffer} whose memory is obtained from,
+ * and returned to, a {@link PooledDefaultDataBufferFactory}.
+ *
+ * <p>Once released, the buffer no longer exposes the pooled memory: its capacity
+ * drops to 0 and any further access fails rather than reading memory that may
+ * already be used by another buffer. The same applies to {@linkplain #slice slices}
+ * of the buffer, while {@code ByteBuffer} views obtained through
+ * {@link #asByteBuffer(int, int)} are left with a limit of 0 and must not be
+ * used after the buffer has been released.
+ *
+ * @since 5.2
+ * @see PooledDefaultDataBufferFactory
+ */
+public class PooledDefaultDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+	private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
+	private static final AtomicIntegerFieldUpdater<PooledDefaultDataBuffer> refCountUpdater =
+			AtomicIntegerFieldUpdater.newUpdater(PooledDefaultDataBuffer.class, "refCount");
+
+
+	private final PooledDefaultDataBufferFactory dataBufferFactory;
+
+	private ByteBuffer pooledBuffer;
+
+	private int requestedCapacity;
+
+	private volatile int refCount = 1;
+
+	/** Slices and ByteBuffer views sharing the pooled memory, guarded by {@code this}. */
+	@Nullable
+	private List<Object> views;
+
+
+	PooledDefaultDataBuffer(PooledDefaultDataBufferFactory dataBufferFactory, ByteBuffer byteBuffer, int capacity) {
+		super(dataBufferFactory, view(byteBuffer, capacity));
+		this.dataBufferFactory = dataBufferFactory;
+		this.pooledBuffer = byteBuffer;
+		this.requestedCapacity = capacity;
+	}
+
+	/**
+	 * Expose the first {@code capacity} bytes of a pooled buffer only,
+	 * since its size class may be larger than requested.
+	 */
+	private static ByteBuffer view(ByteBuffer byteBuffer, int capacity) {
+		if (byteBuffer.capacity() == capacity) {
+			return byteBuffer;
+		}
+		ByteBuffer duplicate = byteBuffer.duplicate();
+		// Explicit access via Buffer base type for compatibility
+		// with covariant return type on JDK 9's ByteBuffer...
+		((Buffer) duplicate).clear().limit(capacity);
+		return duplicate.slice();
+	}
+
+
+	@Override
+	public PooledDefaultDataBufferFactory factory() {
+		return this.dataBufferFactory;
+	}
+
+	@Override
+	public boolean isAllocated() {
+		return (this.refCount > 0);
+	}
+
+	@Override
+	public PooledDefaultDataBuffer retain() {
+		while (true) {
+			int refCount = this.refCount;
+			if (refCount <= 0) {
+				throw new IllegalStateException("Cannot retain released buffer: " + this);
+			}
+			if (refCountUpdater.compareAndSet(this, refCount, refCount + 1)) {
+				return this;
+			}
+		}
+	}
+
+	@Override
+	public boolean release() {
+		while (true) {
+			int refCount = this.refCount;
+			if (refCount <= 0) {
+				throw new IllegalStateException("Cannot release already released buffer: " + this);
+			}
+			if (refCountUpdater.compareAndSet(this, refCount, refCount - 1)) {
+				if (refCount == 1) {
+					deallocate();
+					return true;
+				}
+				return false;
+			}
+		}
+	}
+
+	private void deallocate() {
+		invalidateViews();
+		readPosition(0);
+		writePosition(0);
+		setNativeBuffer(EMPTY_BUFFER);
+		this.dataBufferFactory.deallocated(this);
+	}
+
+	/**
+	 * Keep track of the given slice or {@code ByteBuffer} view, so that it
+	 * can be invalidated before the memory it shares is reused.
+	 */
+	synchronized <T> T registerView(T view) {
+		if (!isAllocated()) {
+			throw new IllegalStateException("Cannot access released buffer: " + this);
+		}
+		if (this.views == null) {
+			this.views = new ArrayList<>(4);
+		}
+		this.views.add(view);
+		return view;
+	}
+
+	private synchronized boolean hasViews() {
+		return (this.views != null);
+	}
+
+	private synchronized void invalidateViews() {
+		if (this.views != null) {
+			for (Object view : this.views) {
+				if (view instanceof SlicedPooledDefaultDataBuffer) {
+					((SlicedPooledDefaultDataBuffer) view).invalidate();
+				}
+				else {
+					// Explicit access via Buffer base type for compatibility
+					// with covariant return type on JDK 9's ByteBuffer...
+					((Buffer) view).position(0).limit(0);
+				}
+			}
+			this.views = null;
+		}
+	}
+
+	@Override
+	ByteBuffer allocate(int capacity, boolean direct) {
+		if (!isAllocated()) {
+			throw new IllegalStateException("Cannot change capacity of released buffer: " + this);
+		}
+		this.requestedCapacity = capacity;
+		return this.dataBufferFactory.acquire(capacity);
+	}
+
+	@Override
+	void setNativeBuffer(ByteBuffer byteBuffer) {
+		ByteBuffer oldBuffer = this.pooledBuffer;
+		this.pooledBuffer = byteBuffer;
+		super.setNativeBuffer(view(byteBuffer, Math.min(this.requestedCapacity, byteBuffer.capacity())));
+		if (!hasViews()) {
+			// Memory still shared by slices or views is left to the garbage collector
+			this.dataBufferFactory.release(oldBuffer);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>The returned slice shares the reference count of this buffer, and
+	 * is invalidated along with it once the count drops to 0.
+	 */
+	@Override
+	public DefaultDataBuffer slice(int index, int length) {
+		return registerView(new SlicedPooledDefaultDataBuffer(this, super.asByteBuffer(index, length), length));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>The returned {@code ByteBuffer} shares the pooled memory of this buffer,
+	 * and is left with a limit of 0 once the reference count drops to 0.
+	 */
+	@Override
+	public ByteBuffer asByteBuffer(int index, int length) {
+		return registerView(super.asByteBuffer(index, length));
+	}
+
+	@Override
+	public InputStream asInputStream(boolean releaseOnClose) {
+		InputStream inputStream = super.asInputStream(releaseOnClose);
+		return (releaseOnClose ? new ReleasingInputStream(inputStream, this) : inputStream);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("PooledDefaultDataBuffer (r: %d, w: %d, c: %d, refCount: %d)",
+				readPosition(), writePosition(), capacity(), this.refCount);
+	}
+
+
+	/**
+	 * Slice of a {@link PooledDefaultDataBuffer}, sharing its reference count.
+	 */
+	private static class SlicedPooledDefaultDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+		private final PooledDefaultDataBuffer parent;
+
+		SlicedPooledDefaultDataBuffer(PooledDefaultDataBuffer parent, ByteBuffer byteBuffer, int length) {
+			super(parent.factory(), byteBuffer);
+			this.parent = parent;
+			writePosition(length);
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return this.parent.isAllocated();
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			this.parent.retain();
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			return this.parent.release();
+		}
+
+		@Override
+		public DefaultDataBuffer capacity(int newCapacity) {
+			throw new UnsupportedOperationException("Changing the capacity of a sliced buffer is not supported");
+		}
+
+		@Override
+		public DefaultDataBuffer slice(int index, int length) {
+			return this.parent.registerView(
+					new SlicedPooledDefaultDataBuffer(this.parent, super.asByteBuffer(index, length), length));
+		}
+
+		@Override
+		public ByteBuffer asByteBuffer(int index, int length) {
+			return this.parent.registerView(super.asByteBuffer(index, length));
+		}
+
+		@Override
+		public InputStream asInputStream(boolean releaseOnClose) {
+			InputStream inputStream = super.asInputStream(releaseOnClose);
+			return (releaseOnClose ? new ReleasingInputStream(inputStream, this) : inputStream);
+		}
+
+		void invalidate() {
+			readPosition(0);
+			writePosition(0);
+			setNativeBuffer(EMPTY_BUFFER);
+		}
+	}
+
+
+	/**
+	 * {@code InputStream} that releases the underlying buffer once closed.
+	 */
+	private static class ReleasingInputStream extends FilterInputStream {
+
+		private final PooledDataBuffer dataBuffer;
+
+		private boolean closed;
+
+		ReleasingInputStream(InputStream inputStream, PooledDataBuffer dataBuffer) {
+			super(inputStream);
+			this.dataBuffer = dataBuffer;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!this.closed) {
+				this.closed = true;
+				this.dataBuffer.release();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,521 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Pooling variant of {@link DefaultDataBufferFactory}, for runtimes without
+ * Netty (i.e. Servlet, Undertow, Jetty) where allocating a fresh
+ * {@link ByteBuffer} for every buffer puts a lot of pressure on the garbage
+ * collector.
+ *
+ * <p>Buffers allocated by this factory implement {@link PooledDataBuffer}: they
+ * start with a reference count of 1 and return their memory to the pool once
+ * the count drops to 0, e.g. through {@link DataBufferUtils#release}. Slices share
+ * the reference count of the buffer they were created from, just like with Netty.
+ * Buffers obtained through {@link #wrap} are not pooled.
+ *
+ * <p>Memory is organized in power-of-two size classes, from
+ * {@link #MIN_POOLED_CAPACITY} up to the configured maximum pooled capacity.
+ * Requested capacities are served from the smallest size class that fits,
+ * while the buffer only exposes the requested
+ * {@linkplain DataBuffer#capacity() capacity}. Larger buffers are allocated
+ * and dropped as usual.
+ * Released memory is kept in a small cache for the releasing thread first,
+ * and otherwise handed back to one of several shared arenas. The number of
+ * arenas and the amount of memory retained per size class are configurable;
+ * thread caches that have not been used for a while are trimmed, handing
+ * their memory back to the arenas.
+ *
+ * <p>Leak detection can be enabled through {@link #setLeakDetection}, typically
+ * in tests: the factory then keeps track of all buffers that have not been
+ * released, along with the place where they were allocated, and reports them
+ * in {@link #checkForLeaks()}.
+ *
+ * @since 5.2
+ * @see PooledDataBuffer
+ */
+public class PooledDefaultDataBufferFactory extends DefaultDataBufferFactory {
+
+	/**
+	 * The smallest size class: smaller requests are rounded up to 256 bytes.
+	 */
+	public static final int MIN_POOLED_CAPACITY = 256;
+
+	/**
+	 * The default maximum capacity of pooled buffers: 64 KB.
+	 */
+	public static final int DEFAULT_MAX_POOLED_CAPACITY = 64 * 1024;
+
+	/**
+	 * The default maximum number of bytes retained per size class and arena: 1 MB.
+	 */
+	public static final int DEFAULT_MAX_ARENA_CAPACITY = 1024 * 1024;
+
+	/**
+	 * The default maximum number of bytes retained per size class and thread: 64 KB.
+	 */
+	public static final int DEFAULT_MAX_THREAD_CACHE_CAPACITY = 64 * 1024;
+
+	/**
+	 * The default time after which an unused thread cache is trimmed: 10 seconds.
+	 */
+	public static final long DEFAULT_THREAD_CACHE_IDLE_TIMEOUT = 10 * 1000;
+
+	private static final int MAX_THREAD_CACHE_BUFFERS_PER_SIZE_CLASS = 64;
+
+	private static final int MAX_ARENA_BUFFERS_PER_SIZE_CLASS = 1024;
+
+
+	private final boolean preferDirect;
+
+	private final int sizeClassCount;
+
+	private volatile Arena[] arenas;
+
+	private volatile int maxArenaCapacity = DEFAULT_MAX_ARENA_CAPACITY;
+
+	private volatile int maxThreadCacheCapacity = DEFAULT_MAX_THREAD_CACHE_CAPACITY;
+
+	private volatile long threadCacheIdleTimeout = DEFAULT_THREAD_CACHE_IDLE_TIMEOUT;
+
+	private volatile long lastTrimTime = System.currentTimeMillis();
+
+	private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(this::createThreadCache);
+
+	/** Thread caches by thread, for trimming the caches of idle threads. */
+	private final Map<Thread, ThreadCache> threadCaches = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private volatile boolean leakDetection;
+
+	private final Map<DataBuffer, Throwable> unreleasedBuffers = Collections.synchronizedMap(new IdentityHashMap<>());
+
+
+	/**
+	 * Create a new {@code PooledDefaultDataBufferFactory} with default settings.
+	 */
+	public PooledDefaultDataBufferFactory() {
+		this(false);
+	}
+
+	/**
+	 * Create a new {@code PooledDefaultDataBufferFactory}, indicating whether
+	 * direct buffers should be pooled rather than heap buffers.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 */
+	public PooledDefaultDataBufferFactory(boolean preferDirect) {
+		this(preferDirect, DEFAULT_INITIAL_CAPACITY, DEFAULT_MAX_POOLED_CAPACITY);
+	}
+
+	/**
+	 * Create a new {@code PooledDefaultDataBufferFactory}, indicating whether
+	 * direct buffers should be pooled rather than heap buffers, what the capacity
+	 * is to be used for {@link #allocateBuffer()}, and up to which capacity buffers
+	 * are to be pooled.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 * @param defaultInitialCapacity the capacity for {@link #allocateBuffer()}
+	 * @param maxPooledCapacity the maximum capacity of pooled buffers,
+	 * rounded up to a power of two
+	 */
+	public PooledDefaultDataBufferFactory(boolean preferDirect, int defaultInitialCapacity, int maxPooledCapacity) {
+		super(preferDirect, defaultInitialCapacity);
+		Assert.isTrue(maxPooledCapacity >= MIN_POOLED_CAPACITY,
+				"'maxPooledCapacity' should be at least " + MIN_POOLED_CAPACITY);
+		Assert.isTrue(maxPooledCapacity <= (1 << 30), "'maxPooledCapacity' should be at most 1 GB");
+		this.preferDirect = preferDirect;
+		this.sizeClassCount = sizeClassIndex(maxPooledCapacity) + 1;
+		this.arenas = createArenas(Math.min(Runtime.getRuntime().availableProcessors(), 8));
+	}
+
+
+	/**
+	 * Set the number of shared arenas that released memory is handed back to.
+	 * Pooled memory held by the current arenas is dropped.
+	 * <p>Default is the number of available processors, up to 8.
+	 */
+	public void setArenaCount(int arenaCount) {
+		Assert.isTrue(arenaCount > 0, "'arenaCount' must be greater than 0");
+		this.arenas = createArenas(arenaCount);
+	}
+
+	/**
+	 * Return the number of shared arenas.
+	 */
+	public int getArenaCount() {
+		return this.arenas.length;
+	}
+
+	/**
+	 * Set the maximum number of bytes that each arena retains per size class.
+	 * <p>Default is {@link #DEFAULT_MAX_ARENA_CAPACITY}. At least one buffer
+	 * is retained per size class unless this is set to 0.
+	 */
+	public void setMaxArenaCapacity(int maxArenaCapacity) {
+		Assert.isTrue(maxArenaCapacity >= 0, "'maxArenaCapacity' must not be negative");
+		this.maxArenaCapacity = maxArenaCapacity;
+	}
+
+	/**
+	 * Return the maximum number of bytes that each arena retains per size class.
+	 */
+	public int getMaxArenaCapacity() {
+		return this.maxArenaCapacity;
+	}
+
+	/**
+	 * Set the maximum number of bytes that each thread cache retains per size class.
+	 * <p>Default is {@link #DEFAULT_MAX_THREAD_CACHE_CAPACITY}. At least one buffer
+	 * is retained per size class unless this is set to 0, which disables thread caches.
+	 */
+	public void setMaxThreadCacheCapacity(int maxThreadCacheCapacity) {
+		Assert.isTrue(maxThreadCacheCapacity >= 0, "'maxThreadCacheCapacity' must not be negative");
+		this.maxThreadCacheCapacity = maxThreadCacheCapacity;
+	}
+
+	/**
+	 * Return the maximum number of bytes that each thread cache retains per size class.
+	 */
+	public int getMaxThreadCacheCapacity() {
+		return this.maxThreadCacheCapacity;
+	}
+
+	/**
+	 * Set the time in milliseconds after which the cache of a thread that has
+	 * not allocated or released any buffers is trimmed, handing its memory
+	 * back to the arenas.
+	 * <p>Default is {@link #DEFAULT_THREAD_CACHE_IDLE_TIMEOUT}.
+	 * @see #trimThreadCaches()
+	 */
+	public void setThreadCacheIdleTimeout(long threadCacheIdleTimeout) {
+		Assert.isTrue(threadCacheIdleTimeout >= 0, "'threadCacheIdleTimeout' must not be negative");
+		this.threadCacheIdleTimeout = threadCacheIdleTimeout;
+	}
+
+	/**
+	 * Return the time in milliseconds after which an unused thread cache is trimmed.
+	 */
+	public long getThreadCacheIdleTimeout() {
+		return this.threadCacheIdleTimeout;
+	}
+
+
+	/**
+	 * Enable or disable tracking of unreleased buffers.
+	 * <p>Default is "false". When enabled, every allocation records its stack
+	 * trace until the buffer is released, which is useful in tests but too
+	 * expensive for production use.
+	 * @see #checkForLeaks()
+	 */
+	public void setLeakDetection(boolean leakDetection) {
+		this.leakDetection = leakDetection;
+		if (!leakDetection) {
+			this.unreleasedBuffers.clear();
+		}
+	}
+
+	/**
+	 * Return whether tracking of unreleased buffers is enabled.
+	 */
+	public boolean isLeakDetection() {
+		return this.leakDetection;
+	}
+
+	/**
+	 * Return the number of buffers allocated since leak detection was enabled
+	 * that have not been released yet.
+	 * @see #setLeakDetection
+	 */
+	public int getUnreleasedBufferCount() {
+		return this.unreleasedBuffers.size();
+	}
+
+	/**
+	 * Check whether all of the buffers allocated by this factory since leak
+	 * detection was enabled have been released.
+	 * @throws IllegalStateException if leak detection is not enabled, or in case
+	 * of unreleased buffers, with the allocation stack traces as suppressed exceptions
+	 * @see #setLeakDetection
+	 */
+	public void checkForLeaks() {
+		Assert.state(this.leakDetection, "Leak detection is not enabled");
+		List<Throwable> allocations;
+		synchronized (this.unreleasedBuffers) {
+			allocations = new ArrayList<>(this.unreleasedBuffers.values());
+		}
+		if (!allocations.isEmpty()) {
+			IllegalStateException ex = new IllegalStateException(allocations.size() + " buffer leaks detected");
+			allocations.forEach(ex::addSuppressed);
+			throw ex;
+		}
+	}
+
+
+	@Override
+	public PooledDefaultDataBuffer allocateBuffer() {
+		return (PooledDefaultDataBuffer) super.allocateBuffer();
+	}
+
+	@Override
+	public PooledDefaultDataBuffer allocateBuffer(int initialCapacity) {
+		PooledDefaultDataBuffer dataBuffer = new PooledDefaultDataBuffer(this, acquire(initialCapacity), initialCapacity);
+		if (this.leakDetection) {
+			this.unreleasedBuffers.put(dataBuffer, new Throwable("Buffer allocated by " + this));
+		}
+		return dataBuffer;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation creates a single pooled buffer to contain the data
+	 * in {@code dataBuffers}.
+	 */
+	@Override
+	public PooledDefaultDataBuffer join(List<? extends DataBuffer> dataBuffers) {
+		return (PooledDefaultDataBuffer) super.join(dataBuffers);
+	}
+
+
+	/**
+	 * Hand the memory of all thread caches that have not been used within the
+	 * {@linkplain #setThreadCacheIdleTimeout idle timeout} back to the arenas.
+	 * <p>This happens automatically, at most once per idle timeout, when
+	 * a buffer cannot be served from the cache of the allocating thread.
+	 */
+	public void trimThreadCaches() {
+		long now = System.currentTimeMillis();
+		this.lastTrimTime = now;
+		List<ThreadCache> threadCaches;
+		synchronized (this.threadCaches) {
+			threadCaches = new ArrayList<>(this.threadCaches.values());
+		}
+		for (ThreadCache threadCache : threadCaches) {
+			if (now - threadCache.lastAccessTime >= this.threadCacheIdleTimeout) {
+				threadCache.trim();
+			}
+		}
+	}
+
+
+	/**
+	 * Obtain a cleared {@code ByteBuffer} of at least the given capacity,
+	 * from the thread cache or an arena if possible.
+	 */
+	ByteBuffer acquire(int capacity) {
+		int index = sizeClassIndex(capacity);
+		if (index >= this.sizeClassCount) {
+			return allocate(capacity);
+		}
+		ByteBuffer byteBuffer = this.threadCache.get().poll(index);
+		if (byteBuffer == null) {
+			if (System.currentTimeMillis() - this.lastTrimTime >= this.threadCacheIdleTimeout) {
+				trimThreadCaches();
+			}
+			byteBuffer = getArena().poll(index);
+		}
+		if (byteBuffer == null) {
+			byteBuffer = allocate(MIN_POOLED_CAPACITY << index);
+		}
+		return byteBuffer;
+	}
+
+	/**
+	 * Hand the given {@code ByteBuffer} back to the pool, unless it is
+	 * not pooled in the first place.
+	 */
+	void release(ByteBuffer byteBuffer) {
+		int capacity = byteBuffer.capacity();
+		int index = sizeClassIndex(capacity);
+		if (index >= this.sizeClassCount || (MIN_POOLED_CAPACITY << index) != capacity ||
+				byteBuffer.isDirect() != this.preferDirect) {
+			return;
+		}
+		byteBuffer.clear();
+		if (!this.threadCache.get().offer(index, byteBuffer)) {
+			getArena().offer(index, byteBuffer);
+		}
+	}
+
+	/**
+	 * Called by pooled buffers once their reference count has dropped to 0.
+	 */
+	void deallocated(PooledDefaultDataBuffer dataBuffer) {
+		if (this.leakDetection) {
+			this.unreleasedBuffers.remove(dataBuffer);
+		}
+	}
+
+	private ThreadCache createThreadCache() {
+		Thread thread = Thread.currentThread();
+		ThreadCache threadCache = new ThreadCache(thread.getId());
+		this.threadCaches.put(thread, threadCache);
+		return threadCache;
+	}
+
+	private Arena[] createArenas(int arenaCount) {
+		Arena[] arenas = new Arena[arenaCount];
+		for (int i = 0; i < arenas.length; i++) {
+			arenas[i] = new Arena(this.sizeClassCount);
+		}
+		return arenas;
+	}
+
+	private ByteBuffer allocate(int capacity) {
+		return (this.preferDirect ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+	}
+
+	private Arena getArena() {
+		return getArena(Thread.currentThread().getId());
+	}
+
+	private Arena getArena(long threadId) {
+		Arena[] arenas = this.arenas;
+		return arenas[(int) (threadId % arenas.length)];
+	}
+
+	private static int sizeClassIndex(int capacity) {
+		if (capacity <= MIN_POOLED_CAPACITY) {
+			return 0;
+		}
+		// Number of doublings of MIN_POOLED_CAPACITY needed to hold the capacity
+		return (32 - Integer.numberOfLeadingZeros(capacity - 1)) - 8;
+	}
+
+	private static int maxBuffers(int index, int maxBytes, int maxBuffers) {
+		if (maxBytes == 0) {
+			return 0;
+		}
+		return Math.max(1, Math.min(maxBuffers, maxBytes / (MIN_POOLED_CAPACITY << index)));
+	}
+
+
+	@Override
+	public String toString() {
+		return "PooledDefaultDataBufferFactory (preferDirect=" + this.preferDirect +
+				", maxPooledCapacity=" + (MIN_POOLED_CAPACITY << (this.sizeClassCount - 1)) + ")";
+	}
+
+
+	/**
+	 * Per-thread cache of released buffers, used by its owning thread,
+	 * and trimmed by any thread once idle.
+	 */
+	private final class ThreadCache {
+
+		private final long threadId;
+
+		private final ArrayDeque<ByteBuffer>[] buffers;
+
+		volatile long lastAccessTime = System.currentTimeMillis();
+
+		@SuppressWarnings("unchecked")
+		ThreadCache(long threadId) {
+			this.threadId = threadId;
+			this.buffers = new ArrayDeque[sizeClassCount];
+		}
+
+		@Nullable
+		synchronized ByteBuffer poll(int index) {
+			this.lastAccessTime = System.currentTimeMillis();
+			ArrayDeque<ByteBuffer> queue = this.buffers[index];
+			return (queue != null ? queue.pollLast() : null);
+		}
+
+		synchronized boolean offer(int index, ByteBuffer byteBuffer) {
+			this.lastAccessTime = System.currentTimeMillis();
+			ArrayDeque<ByteBuffer> queue = this.buffers[index];
+			if (queue == null) {
+				queue = new ArrayDeque<>();
+				this.buffers[index] = queue;
+			}
+			if (queue.size() >= maxBuffers(index, maxThreadCacheCapacity, MAX_THREAD_CACHE_BUFFERS_PER_SIZE_CLASS)) {
+				return false;
+			}
+			queue.addLast(byteBuffer);
+			return true;
+		}
+
+		synchronized void trim() {
+			Arena arena = getArena(this.threadId);
+			for (int i = 0; i < this.buffers.length; i++) {
+				ArrayDeque<ByteBuffer> queue = this.buffers[i];
+				if (queue != null) {
+					for (ByteBuffer byteBuffer : queue) {
+						arena.offer(i, byteBuffer);
+					}
+					this.buffers[i] = null;
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Shared pool of released buffers, bounded per size class.
+	 */
+	private final class Arena {
+
+		private final Queue<ByteBuffer>[] buffers;
+
+		private final AtomicInteger[] counts;
+
+		@SuppressWarnings("unchecked")
+		Arena(int sizeClassCount) {
+			this.buffers = new Queue[sizeClassCount];
+			this.counts = new AtomicInteger[sizeClassCount];
+			for (int i = 0; i < sizeClassCount; i++) {
+				this.buffers[i] = new ConcurrentLinkedQueue<>();
+				this.counts[i] = new AtomicInteger();
+			}
+		}
+
+		@Nullable
+		ByteBuffer poll(int index) {
+			ByteBuffer byteBuffer = this.buffers[index].poll();
+			if (byteBuffer != null) {
+				this.counts[index].decrementAndGet();
+			}
+			return byteBuffer;
+		}
+
+		void offer(int index, ByteBuffer byteBuffer) {
+			AtomicInteger count = this.counts[index];
+			if (count.incrementAndGet() > maxBuffers(index, maxArenaCapacity, MAX_ARENA_BUFFERS_PER_SIZE_CLASS)) {
+				// Arena full: leave the buffer to the garbage collector
+				count.decrementAndGet();
+				return;
+			}
+			this.buffers[index].offer(byteBuffer);
+		}
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * A {@link Deserializer} implementation that reads an object written by a
+ * {@link BinarySerializer}, caching resolved classes across invocations.
+ *
+ * <p>Instances are thread-safe, while {@link BinaryObjectInput} may be used
+ * directly for reading a sequence of objects from the same stream.
+ *
+ * @since 5.2
+ * @see BinarySerializer
+ * @see BinaryObjectInput
+ */
+public class BinaryDeserializer implements Deserializer<Object> {
+
+	@Nullable
+	private final ClassLoader classLoader;
+
+	private final Map<String, Class<?>> classCache = new ConcurrentReferenceHashMap<>(64);
+
+
+	/**
+	 * Create a {@code BinaryDeserializer}, using the "latest user-defined ClassLoader".
+	 */
+	public BinaryDeserializer() {
+		this.classLoader = null;
+	}
+
+	/**
+	 * Create a {@code BinaryDeserializer} that resolves classes
+	 * with the given {@code ClassLoader}.
+	 */
+	public BinaryDeserializer(@Nullable ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+
+	/**
+	 * Read from the supplied {@code InputStream} and deserialize the contents
+	 * into an object.
+	 * @see BinaryObjectInput#readObject()
+	 */
+	@Override
+	@Nullable
+	public Object deserialize(InputStream inputStream) throws IOException {
+		BinaryObjectInput input = createInput(inputStream);
+		try {
+			return input.readObject();
+		}
+		finally {
+			input.release();
+		}
+	}
+
+	/**
+	 * Deserialize the given byte array into an object.
+	 * @param serialized the byte array as written by a {@link BinarySerializer}
+	 * @return the deserialized object
+	 * @throws IOException in case of deserialization failure
+	 */
+	@Nullable
+	public Object deserializeFromByteArray(byte[] serialized) throws IOException {
+		return deserialize(new ByteArrayInputStream(serialized));
+	}
+
+	/**
+	 * Create a {@link BinaryObjectInput} for reading a sequence of objects
+	 * from the given stream, sharing the class cache of this deserializer.
+	 * @param inputStream the stream to read from
+	 */
+	public BinaryObjectInput createInput(InputStream inputStream) {
+		return new BinaryObjectInput(inputStream, this.classLoader, this.classCache);
+	}
+
+}
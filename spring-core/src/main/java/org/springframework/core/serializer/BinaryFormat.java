@@ -0,0 +1,428 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.serializer;
+
+import java.io.Externalizable;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.lang.Nullable;
+import org.springframework.objenesis.SpringObjenesis;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Constants and shared infrastructure for the binary serialization format
+ * written by {@link BinaryObjectOutput} and read by {@link BinaryObjectInput}:
+ * value tags, the cache of {@link ClassDescriptor ClassDescriptors} and a
+ * pool of reusable byte buffers.
+ *
+ * @since 5.2
+ */
+final class BinaryFormat {
+
+	/** Bytes at the start of every binary stream: a magic number and the format version. */
+	static final byte[] HEADER = {(byte) 0xB5, (byte) 0xF1, 2};
+
+	// Value tags
+
+	static final byte NULL = 0;
+
+	static final byte REFERENCE = 1;
+
+	static final byte TRUE = 2;
+
+	static final byte FALSE = 3;
+
+	static final byte BYTE = 4;
+
+	static final byte SHORT = 5;
+
+	static final byte CHAR = 6;
+
+	static final byte INT = 7;
+
+	static final byte LONG = 8;
+
+	static final byte FLOAT = 9;
+
+	static final byte DOUBLE = 10;
+
+	static final byte STRING = 11;
+
+	static final byte BIG_INTEGER = 12;
+
+	static final byte BIG_DECIMAL = 13;
+
+	static final byte PRIMITIVE_ARRAY = 14;
+
+	static final byte OBJECT_ARRAY = 15;
+
+	static final byte ENUM = 16;
+
+	static final byte COLLECTION = 17;
+
+	static final byte MAP = 18;
+
+	static final byte OBJECT = 19;
+
+	static final byte JAVA_SERIALIZED = 20;
+
+	// Class tags
+
+	static final byte NEW_CLASS = 0;
+
+	static final byte CLASS_REFERENCE = 1;
+
+
+	/** The initial size of pooled buffers. */
+	static final int DEFAULT_BUFFER_SIZE = 4096;
+
+	/** Buffers that have grown beyond this size are not returned to the pool. */
+	static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+
+	private static final int MAX_POOLED_BUFFERS = 32;
+
+	private static final Queue<byte[]> bufferPool = new ConcurrentLinkedQueue<>();
+
+	private static final AtomicInteger pooledBufferCount = new AtomicInteger();
+
+	private static final Map<Class<?>, ClassDescriptor> descriptorCache = new ConcurrentReferenceHashMap<>(256);
+
+	private static final Map<Class<?>, Class<?>> collectionTypes = new HashMap<>(8);
+
+	private static final Map<Class<?>, Class<?>> mapTypes = new HashMap<>(4);
+
+	private static final SpringObjenesis objenesis = new SpringObjenesis();
+
+	static {
+		for (Class<?> type : Arrays.asList(ArrayList.class, LinkedList.class, ArrayDeque.class,
+				HashSet.class, LinkedHashSet.class)) {
+			collectionTypes.put(type, type);
+		}
+		for (Class<?> type : Arrays.asList(HashMap.class, LinkedHashMap.class, ConcurrentHashMap.class)) {
+			mapTypes.put(type, type);
+		}
+	}
+
+
+	private BinaryFormat() {
+	}
+
+
+	/**
+	 * Obtain a buffer of at least {@link #DEFAULT_BUFFER_SIZE} bytes from the pool,
+	 * or allocate a new one if the pool is empty.
+	 */
+	static byte[] acquireBuffer() {
+		byte[] buffer = bufferPool.poll();
+		if (buffer != null) {
+			pooledBufferCount.decrementAndGet();
+			return buffer;
+		}
+		return new byte[DEFAULT_BUFFER_SIZE];
+	}
+
+	/**
+	 * Return the given buffer to the pool, unless it has grown too large
+	 * or the pool is full.
+	 */
+	static void releaseBuffer(byte[] buffer) {
+		if (buffer.length <= MAX_POOLED_BUFFER_SIZE) {
+			if (pooledBufferCount.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+				bufferPool.offer(buffer);
+			}
+			else {
+				pooledBufferCount.decrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Return the cached descriptor for the given class, introspecting it on first access.
+	 */
+	static ClassDescriptor getDescriptor(Class<?> type) {
+		ClassDescriptor descriptor = descriptorCache.get(type);
+		if (descriptor == null) {
+			descriptor = new ClassDescriptor(type);
+			descriptorCache.put(type, descriptor);
+		}
+		return descriptor;
+	}
+
+
+	/**
+	 * The way in which instances of a class are written.
+	 */
+	enum Kind {
+
+		/** An enum type: written as the name of the constant. */
+		ENUM,
+
+		/** A well-known collection type: written as its size and elements. */
+		COLLECTION,
+
+		/** A well-known map type: written as its size and entries. */
+		MAP,
+
+		/** A serializable class without custom serialization: written field by field. */
+		OBJECT,
+
+		/** A serializable class with custom serialization logic: written with Java serialization. */
+		JAVA_SERIALIZED,
+
+		/** A class that does not implement {@link Serializable}. */
+		NOT_SERIALIZABLE
+	}
+
+
+	/**
+	 * Cached introspection result for a class, determining its {@link Kind} and,
+	 * for classes written field by field, its persistent fields in a stable order:
+	 * from the topmost superclass down, sorted by name within each class.
+	 */
+	static final class ClassDescriptor {
+
+		private static final Field[] NO_FIELDS = new Field[0];
+
+		final Class<?> type;
+
+		final Kind kind;
+
+		@Nullable
+		private final Constructor<?> constructor;
+
+		final Field[] fields;
+
+		/** The primitive type of each field, or {@code 'L'} for reference types. */
+		final char[] fieldTypes;
+
+		/**
+		 * A hash of the declaring class, name and type of each field, written
+		 * along with the class name so that a reader can reject a stream written
+		 * against a different version of the class; {@code 0} for classes that
+		 * are not written field by field.
+		 */
+		final long fingerprint;
+
+		ClassDescriptor(Class<?> type) {
+			this.type = type;
+			Constructor<?> constructor = null;
+			Field[] fields = NO_FIELDS;
+			Kind kind;
+			if (type.isEnum()) {
+				kind = Kind.ENUM;
+			}
+			else if (collectionTypes.containsKey(type) || mapTypes.containsKey(type)) {
+				kind = (collectionTypes.containsKey(type) ? Kind.COLLECTION : Kind.MAP);
+				try {
+					constructor = type.getConstructor();
+				}
+				catch (NoSuchMethodException ex) {
+					throw new IllegalStateException("No default constructor on " + type, ex);
+				}
+			}
+			else if (!Serializable.class.isAssignableFrom(type)) {
+				kind = Kind.NOT_SERIALIZABLE;
+			}
+			else if (requiresJavaSerialization(type)) {
+				kind = Kind.JAVA_SERIALIZED;
+			}
+			else {
+				try {
+					fields = introspectFields(type);
+					kind = Kind.OBJECT;
+				}
+				catch (RuntimeException ex) {
+					// Fields not accessible, e.g. due to module restrictions
+					fields = NO_FIELDS;
+					kind = Kind.JAVA_SERIALIZED;
+				}
+			}
+			this.kind = kind;
+			this.constructor = constructor;
+			this.fields = fields;
+			this.fieldTypes = new char[fields.length];
+			for (int i = 0; i < fields.length; i++) {
+				Class<?> fieldType = fields[i].getType();
+				this.fieldTypes[i] = (fieldType.isPrimitive() ? primitiveCode(fieldType) : 'L');
+			}
+			this.fingerprint = (kind == Kind.OBJECT ? fingerprint(fields) : 0);
+		}
+
+		/**
+		 * Create a new, empty instance of the described class: through its
+		 * default constructor for collections and maps, and without invoking
+		 * any constructor for classes written field by field.
+		 */
+		Object newInstance() {
+			if (this.constructor != null) {
+				try {
+					return this.constructor.newInstance();
+				}
+				catch (ReflectiveOperationException ex) {
+					throw new IllegalStateException("Failed to instantiate " + this.type, ex);
+				}
+			}
+			return objenesis.newInstance(this.type);
+		}
+
+		private static long fingerprint(Field[] fields) {
+			StringBuilder schema = new StringBuilder();
+			for (Field field : fields) {
+				schema.append(field.getDeclaringClass().getName()).append('.').append(field.getName())
+						.append(':').append(field.getType().getName()).append(';');
+			}
+			// 64-bit FNV-1a
+			long hash = 0xcbf29ce484222325L;
+			for (int i = 0; i < schema.length(); i++) {
+				char ch = schema.charAt(i);
+				hash = (hash ^ (ch & 0xFF)) * 0x100000001b3L;
+				hash = (hash ^ (ch >>> 8)) * 0x100000001b3L;
+			}
+			return (hash != 0 ? hash : 1);
+		}
+
+		private static boolean requiresJavaSerialization(Class<?> type) {
+			String name = type.getName();
+			if (name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.") ||
+					name.startsWith("jdk.") || Externalizable.class.isAssignableFrom(type) ||
+					Proxy.isProxyClass(type) || type.isAnonymousClass() || type.isSynthetic()) {
+				return true;
+			}
+			if (ReflectionUtils.findMethod(type, "writeReplace") != null ||
+					ReflectionUtils.findMethod(type, "readResolve") != null) {
+				return true;
+			}
+			for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+				if (!Serializable.class.isAssignableFrom(current) || current.getName().equals("java.lang.Record")) {
+					// Java serialization would invoke the default constructor of a
+					// non-serializable superclass, and the canonical constructor of a record
+					return true;
+				}
+				if (declaresMethod(current, "writeObject", ObjectOutputStream.class) ||
+						declaresMethod(current, "readObject", ObjectInputStream.class) ||
+						declaresMethod(current, "readObjectNoData") ||
+						ReflectionUtils.findField(current, "serialPersistentFields") != null) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static boolean declaresMethod(Class<?> type, String name, Class<?>... paramTypes) {
+			try {
+				type.getDeclaredMethod(name, paramTypes);
+				return true;
+			}
+			catch (NoSuchMethodException ex) {
+				return false;
+			}
+		}
+
+		private static Field[] introspectFields(Class<?> type) {
+			List<Class<?>> hierarchy = new ArrayList<>();
+			for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+				hierarchy.add(0, current);
+			}
+			List<Field> fields = new ArrayList<>();
+			for (Class<?> current : hierarchy) {
+				Field[] declaredFields = current.getDeclaredFields();
+				Arrays.sort(declaredFields, Comparator.comparing(Field::getName));
+				for (Field field : declaredFields) {
+					int modifiers = field.getModifiers();
+					if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+						field.setAccessible(true);
+						fields.add(field);
+					}
+				}
+			}
+			return fields.toArray(NO_FIELDS);
+		}
+	}
+
+
+	/**
+	 * Return the JVM descriptor character for the given primitive type.
+	 */
+	static char primitiveCode(Class<?> type) {
+		if (type == int.class) {
+			return 'I';
+		}
+		else if (type == long.class) {
+			return 'J';
+		}
+		else if (type == boolean.class) {
+			return 'Z';
+		}
+		else if (type == byte.class) {
+			return 'B';
+		}
+		else if (type == short.class) {
+			return 'S';
+		}
+		else if (type == char.class) {
+			return 'C';
+		}
+		else if (type == float.class) {
+			return 'F';
+		}
+		else if (type == double.class) {
+			return 'D';
+		}
+		throw new IllegalArgumentException("Not a primitive type: " + type);
+	}
+
+	/**
+	 * Return the primitive type for the given JVM descriptor character.
+	 */
+	@Nullable
+	static Class<?> primitiveType(char code) {
+		switch (code) {
+			case 'I': return int.class;
+			case 'J': return long.class;
+			case 'Z': return boolean.class;
+			case 'B': return byte.class;
+			case 'S': return short.class;
+			case 'C': return char.class;
+			case 'F': return float.class;
+			case 'D': return double.class;
+			default: return null;
+		}
+	}
+
+}
@@ -0,0 +1,590 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.core.NestedIOException;
+import org.springframework.core.serializer.BinaryFormat.ClassDescriptor;
+import org.springframework.core.serializer.BinaryFormat.Kind;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Reads object graphs written by a {@link BinaryObjectOutput} from an
+ * {@link InputStream}.
+ *
+ * <p>Only the bytes of each frame are consumed from the stream, so other
+ * content may follow. Classes are resolved against the given
+ * {@code ClassLoader} once per stream; field-by-field decoding only applies
+ * to classes implementing {@link java.io.Serializable}, which are instantiated
+ * without invoking a constructor, as with Java serialization. Such classes
+ * must have the same fields as when they were written, as verified against the
+ * fingerprint that accompanies each class name.
+ *
+ * <p>Instances are not thread-safe.
+ *
+ * @since 5.2
+ * @see BinaryObjectOutput
+ * @see BinaryDeserializer
+ */
+public class BinaryObjectInput implements Closeable {
+
+	private final InputStream inputStream;
+
+	@Nullable
+	private final ClassLoader classLoader;
+
+	@Nullable
+	private final Map<String, Class<?>> classCache;
+
+	private byte[] buffer;
+
+	private int position;
+
+	private int limit;
+
+	private boolean headerRead;
+
+	private final List<ClassDescriptor> classHandles = new ArrayList<>();
+
+	private final List<Object> objectHandles = new ArrayList<>();
+
+
+	/**
+	 * Create a new {@code BinaryObjectInput} for the given stream,
+	 * using the "latest user-defined ClassLoader".
+	 * @param inputStream the stream to read from
+	 */
+	public BinaryObjectInput(InputStream inputStream) {
+		this(inputStream, null, null);
+	}
+
+	/**
+	 * Create a new {@code BinaryObjectInput} for the given stream.
+	 * @param inputStream the stream to read from
+	 * @param classLoader the ClassLoader to resolve classes with
+	 * ({@code null} for the "latest user-defined ClassLoader")
+	 */
+	public BinaryObjectInput(InputStream inputStream, @Nullable ClassLoader classLoader) {
+		this(inputStream, classLoader, null);
+	}
+
+	/**
+	 * Create a new {@code BinaryObjectInput} that shares resolved classes
+	 * with other streams through the given cache.
+	 */
+	BinaryObjectInput(InputStream inputStream, @Nullable ClassLoader classLoader,
+			@Nullable Map<String, Class<?>> classCache) {
+
+		Assert.notNull(inputStream, "InputStream must not be null");
+		this.inputStream = inputStream;
+		this.classLoader = classLoader;
+		this.classCache = classCache;
+		this.buffer = BinaryFormat.acquireBuffer();
+	}
+
+
+	/**
+	 * Read the next object graph from the stream.
+	 * @return the object read (may be {@code null})
+	 * @throws EOFException if the end of the stream has been reached
+	 * @throws IOException in case of errors reading from the stream
+	 * or of corrupted content
+	 */
+	@Nullable
+	public Object readObject() throws IOException {
+		Assert.state(this.buffer.length > 0, "BinaryObjectInput has been closed");
+		if (!this.headerRead) {
+			for (byte expected : BinaryFormat.HEADER) {
+				int actual = this.inputStream.read();
+				if (actual == -1) {
+					throw new EOFException();
+				}
+				if ((byte) actual != expected) {
+					throw new StreamCorruptedException("Invalid binary stream header");
+				}
+			}
+			this.headerRead = true;
+		}
+		int length = readFrameLength();
+		byte[] buffer = this.buffer;
+		int offset = 0;
+		while (offset < length) {
+			if (offset == buffer.length) {
+				// Grow as content arrives rather than trusting the declared length up front
+				buffer = Arrays.copyOf(buffer, (int) Math.min(length, buffer.length * 2L));
+				this.buffer = buffer;
+			}
+			int count = this.inputStream.read(buffer, offset, Math.min(length, buffer.length) - offset);
+			if (count == -1) {
+				throw new EOFException("Unexpected end of binary stream");
+			}
+			offset += count;
+		}
+		this.position = 0;
+		this.limit = length;
+		try {
+			Object result = readValue();
+			if (this.position != this.limit) {
+				throw new StreamCorruptedException("Unread bytes at end of frame");
+			}
+			return result;
+		}
+		catch (ArrayIndexOutOfBoundsException | ClassCastException ex) {
+			throw new StreamCorruptedException("Invalid binary frame: " + ex);
+		}
+		finally {
+			this.objectHandles.clear();
+		}
+	}
+
+	/**
+	 * Return the buffer to the pool and close the underlying stream.
+	 */
+	@Override
+	public void close() throws IOException {
+		release();
+		this.inputStream.close();
+	}
+
+	/**
+	 * Return the buffer to the pool, leaving the underlying stream open.
+	 */
+	void release() {
+		if (this.buffer.length > 0) {
+			BinaryFormat.releaseBuffer(this.buffer);
+			this.buffer = new byte[0];
+		}
+	}
+
+
+	private int readFrameLength() throws IOException {
+		int result = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = this.inputStream.read();
+			if (b == -1) {
+				if (shift == 0) {
+					throw new EOFException();
+				}
+				throw new EOFException("Unexpected end of binary stream");
+			}
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				if (result < 0) {
+					break;
+				}
+				return result;
+			}
+		}
+		throw new StreamCorruptedException("Invalid frame length");
+	}
+
+	@Nullable
+	private Object readValue() throws IOException {
+		byte tag = readByte();
+		switch (tag) {
+			case BinaryFormat.NULL:
+				return null;
+			case BinaryFormat.REFERENCE:
+				int handle = readUnsignedVarInt();
+				if (handle >= this.objectHandles.size()) {
+					throw new StreamCorruptedException("Invalid object reference: " + handle);
+				}
+				return this.objectHandles.get(handle);
+			case BinaryFormat.TRUE:
+				return Boolean.TRUE;
+			case BinaryFormat.FALSE:
+				return Boolean.FALSE;
+			case BinaryFormat.BYTE:
+				return readByte();
+			case BinaryFormat.SHORT:
+				return (short) readVarInt();
+			case BinaryFormat.CHAR:
+				return (char) readUnsignedVarInt();
+			case BinaryFormat.INT:
+				return readVarInt();
+			case BinaryFormat.LONG:
+				return readVarLong();
+			case BinaryFormat.FLOAT:
+				return Float.intBitsToFloat(readFixedInt());
+			case BinaryFormat.DOUBLE:
+				return Double.longBitsToDouble(readFixedLong());
+			case BinaryFormat.STRING:
+				return readString();
+			case BinaryFormat.BIG_INTEGER:
+				return new BigInteger(readBytes());
+			case BinaryFormat.BIG_DECIMAL:
+				return new BigDecimal(new BigInteger(readBytes()), readVarInt());
+			case BinaryFormat.PRIMITIVE_ARRAY:
+				return readPrimitiveArray();
+			case BinaryFormat.OBJECT_ARRAY:
+				return readObjectArray();
+			case BinaryFormat.ENUM:
+				return readEnum();
+			case BinaryFormat.COLLECTION:
+				return readCollection();
+			case BinaryFormat.MAP:
+				return readMap();
+			case BinaryFormat.OBJECT:
+				return readInstance();
+			case BinaryFormat.JAVA_SERIALIZED:
+				return readJavaSerialized();
+			default:
+				throw new StreamCorruptedException("Invalid value tag: " + tag);
+		}
+	}
+
+	private Object readPrimitiveArray() throws IOException {
+		char code = (char) readByte();
+		Class<?> componentType = BinaryFormat.primitiveType(code);
+		if (componentType == null) {
+			throw new StreamCorruptedException("Invalid primitive type: " + code);
+		}
+		int length = readLength();
+		Object array = Array.newInstance(componentType, length);
+		this.objectHandles.add(array);
+		switch (code) {
+			case 'B':
+				System.arraycopy(this.buffer, this.position, array, 0, length);
+				this.position += length;
+				break;
+			case 'I':
+				int[] ints = (int[]) array;
+				for (int i = 0; i < length; i++) {
+					ints[i] = readVarInt();
+				}
+				break;
+			case 'J':
+				long[] longs = (long[]) array;
+				for (int i = 0; i < length; i++) {
+					longs[i] = readVarLong();
+				}
+				break;
+			case 'Z':
+				boolean[] booleans = (boolean[]) array;
+				for (int i = 0; i < length; i++) {
+					booleans[i] = (readByte() != 0);
+				}
+				break;
+			case 'S':
+				short[] shorts = (short[]) array;
+				for (int i = 0; i < length; i++) {
+					shorts[i] = (short) readVarInt();
+				}
+				break;
+			case 'C':
+				char[] chars = (char[]) array;
+				for (int i = 0; i < length; i++) {
+					chars[i] = (char) readUnsignedVarInt();
+				}
+				break;
+			case 'F':
+				float[] floats = (float[]) array;
+				for (int i = 0; i < length; i++) {
+					floats[i] = Float.intBitsToFloat(readFixedInt());
+				}
+				break;
+			case 'D':
+				double[] doubles = (double[]) array;
+				for (int i = 0; i < length; i++) {
+					doubles[i] = Double.longBitsToDouble(readFixedLong());
+				}
+				break;
+		}
+		return array;
+	}
+
+	private Object readObjectArray() throws IOException {
+		Class<?> componentType = readClass().type;
+		int length = readLength();
+		Object[] array = (Object[]) Array.newInstance(componentType, length);
+		this.objectHandles.add(array);
+		for (int i = 0; i < length; i++) {
+			Object element = readValue();
+			if (element != null && !componentType.isInstance(element)) {
+				throw new InvalidClassException(componentType.getName(),
+						"Incompatible array element of type " + element.getClass().getName());
+			}
+			array[i] = element;
+		}
+		return array;
+	}
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private Object readEnum() throws IOException {
+		ClassDescriptor descriptor = readClass();
+		checkKind(descriptor, Kind.ENUM);
+		String name = readString();
+		try {
+			return Enum.valueOf((Class) descriptor.type, name);
+		}
+		catch (IllegalArgumentException ex) {
+			throw new InvalidClassException(descriptor.type.getName(), "No enum constant " + name);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object readCollection() throws IOException {
+		ClassDescriptor descriptor = readClass();
+		checkKind(descriptor, Kind.COLLECTION);
+		int size = readLength();
+		Collection<Object> collection = (Collection<Object>) descriptor.newInstance();
+		this.objectHandles.add(collection);
+		for (int i = 0; i < size; i++) {
+			collection.add(readValue());
+		}
+		return collection;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object readMap() throws IOException {
+		ClassDescriptor descriptor = readClass();
+		checkKind(descriptor, Kind.MAP);
+		int size = readLength();
+		Map<Object, Object> map = (Map<Object, Object>) descriptor.newInstance();
+		this.objectHandles.add(map);
+		for (int i = 0; i < size; i++) {
+			Object key = readValue();
+			map.put(key, readValue());
+		}
+		return map;
+	}
+
+	private Object readInstance() throws IOException {
+		ClassDescriptor descriptor = readClass();
+		checkKind(descriptor, Kind.OBJECT);
+		Object instance = descriptor.newInstance();
+		this.objectHandles.add(instance);
+		Field[] fields = descriptor.fields;
+		char[] fieldTypes = descriptor.fieldTypes;
+		try {
+			for (int i = 0; i < fields.length; i++) {
+				Field field = fields[i];
+				switch (fieldTypes[i]) {
+					case 'I':
+						field.setInt(instance, readVarInt());
+						break;
+					case 'J':
+						field.setLong(instance, readVarLong());
+						break;
+					case 'Z':
+						field.setBoolean(instance, readByte() != 0);
+						break;
+					case 'B':
+						field.setByte(instance, readByte());
+						break;
+					case 'S':
+						field.setShort(instance, (short) readVarInt());
+						break;
+					case 'C':
+						field.setChar(instance, (char) readUnsignedVarInt());
+						break;
+					case 'F':
+						field.setFloat(instance, Float.intBitsToFloat(readFixedInt()));
+						break;
+					case 'D':
+						field.setDouble(instance, Double.longBitsToDouble(readFixedLong()));
+						break;
+					default:
+						Object value = readValue();
+						if (value != null && !field.getType().isInstance(value)) {
+							throw new InvalidClassException(descriptor.type.getName(), "Incompatible value of type " +
+									value.getClass().getName() + " for field '" + field.getName() + "'");
+						}
+						field.set(instance, value);
+				}
+			}
+		}
+		catch (IllegalAccessException ex) {
+			throw new IllegalStateException("Failed to populate fields of " + descriptor.type, ex);
+		}
+		return instance;
+	}
+
+	@Nullable
+	private Object readJavaSerialized() throws IOException {
+		int handle = this.objectHandles.size();
+		this.objectHandles.add(null);
+		int length = readLength();
+		ObjectInputStream ois = new ConfigurableObjectInputStream(
+				new ByteArrayInputStream(this.buffer, this.position, length), this.classLoader);
+		this.position += length;
+		try {
+			Object result = ois.readObject();
+			this.objectHandles.set(handle, result);
+			return result;
+		}
+		catch (ClassNotFoundException ex) {
+			throw new NestedIOException("Failed to deserialize object type", ex);
+		}
+	}
+
+	private void checkKind(ClassDescriptor descriptor, Kind expected) throws InvalidClassException {
+		if (descriptor.kind != expected) {
+			throw new InvalidClassException(descriptor.type.getName(),
+					"Expected " + expected + " but class is " + descriptor.kind);
+		}
+	}
+
+	private ClassDescriptor readClass() throws IOException {
+		byte tag = readByte();
+		if (tag == BinaryFormat.CLASS_REFERENCE) {
+			int handle = readUnsignedVarInt();
+			if (handle >= this.classHandles.size()) {
+				throw new StreamCorruptedException("Invalid class reference: " + handle);
+			}
+			return this.classHandles.get(handle);
+		}
+		if (tag != BinaryFormat.NEW_CLASS) {
+			throw new StreamCorruptedException("Invalid class tag: " + tag);
+		}
+		String name = readString();
+		Class<?> type = (this.classCache != null ? this.classCache.get(name) : null);
+		if (type == null) {
+			try {
+				type = ClassUtils.forName(name, this.classLoader);
+			}
+			catch (ClassNotFoundException | LinkageError ex) {
+				throw new NestedIOException("Failed to deserialize object type", ex);
+			}
+			if (this.classCache != null) {
+				this.classCache.put(name, type);
+			}
+		}
+		ClassDescriptor descriptor = BinaryFormat.getDescriptor(type);
+		if (readVarLong() != descriptor.fingerprint) {
+			throw new InvalidClassException(name, "Local class fields do not match the fields in the stream");
+		}
+		this.classHandles.add(descriptor);
+		return descriptor;
+	}
+
+	private String readString() throws IOException {
+		int header = readUnsignedVarInt();
+		int length = header >>> 1;
+		checkRemaining(length);
+		String result;
+		if ((header & 1) == 0) {
+			char[] chars = new char[length];
+			byte[] buffer = this.buffer;
+			int position = this.position;
+			for (int i = 0; i < length; i++) {
+				chars[i] = (char) (buffer[position + i] & 0xFF);
+			}
+			result = new String(chars);
+		}
+		else {
+			result = new String(this.buffer, this.position, length, StandardCharsets.UTF_8);
+		}
+		this.position += length;
+		return result;
+	}
+
+	private byte[] readBytes() throws IOException {
+		int length = readLength();
+		byte[] bytes = new byte[length];
+		System.arraycopy(this.buffer, this.position, bytes, 0, length);
+		this.position += length;
+		return bytes;
+	}
+
+	/**
+	 * Read a length, validating it against the remaining bytes of the frame,
+	 * given that every element takes up at least one byte.
+	 */
+	private int readLength() throws IOException {
+		int length = readUnsignedVarInt();
+		checkRemaining(length);
+		return length;
+	}
+
+	private void checkRemaining(int length) throws StreamCorruptedException {
+		if (length < 0 || length > this.limit - this.position) {
+			throw new StreamCorruptedException("Invalid length: " + length);
+		}
+	}
+
+	private byte readByte() throws StreamCorruptedException {
+		if (this.position >= this.limit) {
+			throw new StreamCorruptedException("Unexpected end of frame");
+		}
+		return this.buffer[this.position++];
+	}
+
+	private int readVarInt() throws StreamCorruptedException {
+		int value = readUnsignedVarInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private int readUnsignedVarInt() throws StreamCorruptedException {
+		int result = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			byte b = readByte();
+			result |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return result;
+			}
+		}
+		throw new StreamCorruptedException("Invalid variable-length int");
+	}
+
+	private long readVarLong() throws StreamCorruptedException {
+		long result = 0;
+		for (int shift = 0; shift < 70; shift += 7) {
+			byte b = readByte();
+			result |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				return (result >>> 1) ^ -(result & 1);
+			}
+		}
+		throw new StreamCorruptedException("Invalid variable-length long");
+	}
+
+	private int readFixedInt() throws StreamCorruptedException {
+		checkRemaining(4);
+		byte[] buffer = this.buffer;
+		int position = this.position;
+		this.position = position + 4;
+		return ((buffer[position] & 0xFF) << 24) | ((buffer[position + 1] & 0xFF) << 16) |
+				((buffer[position + 2] & 0xFF) << 8) | (buffer[position + 3] & 0xFF);
+	}
+
+	private long readFixedLong() throws StreamCorruptedException {
+		return ((long) readFixedInt() << 32) | (readFixedInt() & 0xFFFFFFFFL);
+	}
+
+}
@@ -0,0 +1,485 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.springframework.core.serializer.BinaryFormat.ClassDescriptor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Writes object graphs to an {@link OutputStream} in a compact binary format,
+ * to be read back by a {@link BinaryObjectInput}.
+ *
+ * <p>Strings, primitive wrappers, {@code BigInteger}/{@code BigDecimal}, arrays,
+ * enums and common {@code java.util} collections and maps are encoded natively.
+ * Other {@link java.io.Serializable} classes are written field by field, based on
+ * a cached descriptor of their non-static, non-transient fields, unless they
+ * customize their serialization (e.g. through {@code writeObject} or
+ * {@code writeReplace}) in which case they are embedded in Java serialization
+ * format. Class names are written once per stream and referenced by index
+ * afterwards, and object identity (including cycles) is preserved within each
+ * object graph.
+ *
+ * <p>Fields are written by position, so each class name is accompanied by a
+ * fingerprint of the field names and types it was written with, and a reader
+ * rejects a class whose local fields differ with an
+ * {@link java.io.InvalidClassException}. Objects embedded in Java serialization
+ * format form a self-contained Java serialization stream: references to such an
+ * object are shared, but the objects it refers to are copies, not shared with
+ * the rest of the graph, and vice versa.
+ *
+ * <p>Each call to {@link #writeObject} writes a length-prefixed frame, so that
+ * a reader never consumes more bytes than belong to the objects it reads.
+ * Frames are assembled in a pooled buffer before being written to the stream.
+ * Instances are not thread-safe.
+ *
+ * @since 5.2
+ * @see BinaryObjectInput
+ * @see BinarySerializer
+ */
+public class BinaryObjectOutput implements Flushable, Closeable {
+
+	private final OutputStream outputStream;
+
+	private byte[] buffer;
+
+	private int position;
+
+	private boolean headerWritten;
+
+	private final Map<Class<?>, Integer> classHandles = new HashMap<>();
+
+	private final Map<Object, Integer> objectHandles = new IdentityHashMap<>();
+
+	private final byte[] lengthBuffer = new byte[5];
+
+
+	/**
+	 * Create a new {@code BinaryObjectOutput} for the given stream.
+	 * @param outputStream the stream to write to
+	 */
+	public BinaryObjectOutput(OutputStream outputStream) {
+		Assert.notNull(outputStream, "OutputStream must not be null");
+		this.outputStream = outputStream;
+		this.buffer = BinaryFormat.acquireBuffer();
+	}
+
+
+	/**
+	 * Write the given object graph as a single frame.
+	 * @param object the object to write (may be {@code null})
+	 * @throws NotSerializableException if the graph contains an object that
+	 * does not implement {@link java.io.Serializable}
+	 * @throws IOException in case of errors writing to the stream
+	 */
+	public void writeObject(@Nullable Object object) throws IOException {
+		Assert.state(this.buffer.length > 0, "BinaryObjectOutput has been closed");
+		if (!this.headerWritten) {
+			this.outputStream.write(BinaryFormat.HEADER);
+			this.headerWritten = true;
+		}
+		this.position = 0;
+		int classCount = this.classHandles.size();
+		boolean written = false;
+		try {
+			writeValue(object);
+			int lengthSize = 0;
+			int length = this.position;
+			while ((length & ~0x7F) != 0) {
+				this.lengthBuffer[lengthSize++] = (byte) ((length & 0x7F) | 0x80);
+				length >>>= 7;
+			}
+			this.lengthBuffer[lengthSize++] = (byte) length;
+			this.outputStream.write(this.lengthBuffer, 0, lengthSize);
+			this.outputStream.write(this.buffer, 0, this.position);
+			written = true;
+		}
+		finally {
+			this.objectHandles.clear();
+			if (!written) {
+				// Classes introduced by an incomplete frame are unknown to the reader
+				this.classHandles.values().removeIf(handle -> handle >= classCount);
+			}
+		}
+	}
+
+	/**
+	 * Flush the underlying stream.
+	 */
+	@Override
+	public void flush() throws IOException {
+		this.outputStream.flush();
+	}
+
+	/**
+	 * Return the buffer to the pool and close the underlying stream.
+	 */
+	@Override
+	public void close() throws IOException {
+		release();
+		this.outputStream.close();
+	}
+
+	/**
+	 * Return the buffer to the pool, leaving the underlying stream open.
+	 */
+	void release() {
+		if (this.buffer.length > 0) {
+			BinaryFormat.releaseBuffer(this.buffer);
+			this.buffer = new byte[0];
+		}
+	}
+
+
+	private void writeValue(@Nullable Object value) throws IOException {
+		if (value == null) {
+			writeByte(BinaryFormat.NULL);
+			return;
+		}
+		Class<?> type = value.getClass();
+		if (type == String.class) {
+			writeByte(BinaryFormat.STRING);
+			writeString((String) value);
+		}
+		else if (type == Integer.class) {
+			writeByte(BinaryFormat.INT);
+			writeVarInt((Integer) value);
+		}
+		else if (type == Long.class) {
+			writeByte(BinaryFormat.LONG);
+			writeVarLong((Long) value);
+		}
+		else if (type == Boolean.class) {
+			writeByte((Boolean) value ? BinaryFormat.TRUE : BinaryFormat.FALSE);
+		}
+		else if (type == Double.class) {
+			writeByte(BinaryFormat.DOUBLE);
+			writeFixedLong(Double.doubleToRawLongBits((Double) value));
+		}
+		else if (type == Float.class) {
+			writeByte(BinaryFormat.FLOAT);
+			writeFixedInt(Float.floatToRawIntBits((Float) value));
+		}
+		else if (type == Byte.class) {
+			writeByte(BinaryFormat.BYTE);
+			writeByte((Byte) value);
+		}
+		else if (type == Short.class) {
+			writeByte(BinaryFormat.SHORT);
+			writeVarInt((Short) value);
+		}
+		else if (type == Character.class) {
+			writeByte(BinaryFormat.CHAR);
+			writeUnsignedVarInt((Character) value);
+		}
+		else if (type == BigInteger.class) {
+			writeByte(BinaryFormat.BIG_INTEGER);
+			writeBytes(((BigInteger) value).toByteArray());
+		}
+		else if (type == BigDecimal.class) {
+			writeByte(BinaryFormat.BIG_DECIMAL);
+			writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+			writeVarInt(((BigDecimal) value).scale());
+		}
+		else if (value instanceof Enum) {
+			writeByte(BinaryFormat.ENUM);
+			writeClass(((Enum<?>) value).getDeclaringClass());
+			writeString(((Enum<?>) value).name());
+		}
+		else {
+			Integer handle = this.objectHandles.get(value);
+			if (handle != null) {
+				writeByte(BinaryFormat.REFERENCE);
+				writeUnsignedVarInt(handle);
+			}
+			else if (type.isArray()) {
+				this.objectHandles.put(value, this.objectHandles.size());
+				writeArray(value, type.getComponentType());
+			}
+			else {
+				writeInstance(value, BinaryFormat.getDescriptor(type));
+			}
+		}
+	}
+
+	private void writeArray(Object array, Class<?> componentType) throws IOException {
+		int length = Array.getLength(array);
+		if (componentType.isPrimitive()) {
+			char code = BinaryFormat.primitiveCode(componentType);
+			writeByte(BinaryFormat.PRIMITIVE_ARRAY);
+			writeByte((byte) code);
+			writeUnsignedVarInt(length);
+			writePrimitiveArray(array, code, length);
+		}
+		else {
+			writeByte(BinaryFormat.OBJECT_ARRAY);
+			writeClass(componentType);
+			writeUnsignedVarInt(length);
+			Object[] elements = (Object[]) array;
+			for (Object element : elements) {
+				writeValue(element);
+			}
+		}
+	}
+
+	private void writePrimitiveArray(Object array, char code, int length) {
+		switch (code) {
+			case 'B':
+				ensureCapacity(length);
+				System.arraycopy(array, 0, this.buffer, this.position, length);
+				this.position += length;
+				break;
+			case 'I':
+				for (int element : (int[]) array) {
+					writeVarInt(element);
+				}
+				break;
+			case 'J':
+				for (long element : (long[]) array) {
+					writeVarLong(element);
+				}
+				break;
+			case 'Z':
+				for (boolean element : (boolean[]) array) {
+					writeByte(element ? (byte) 1 : 0);
+				}
+				break;
+			case 'S':
+				for (short element : (short[]) array) {
+					writeVarInt(element);
+				}
+				break;
+			case 'C':
+				for (char element : (char[]) array) {
+					writeUnsignedVarInt(element);
+				}
+				break;
+			case 'F':
+				for (float element : (float[]) array) {
+					writeFixedInt(Float.floatToRawIntBits(element));
+				}
+				break;
+			case 'D':
+				for (double element : (double[]) array) {
+					writeFixedLong(Double.doubleToRawLongBits(element));
+				}
+				break;
+		}
+	}
+
+	private void writeInstance(Object value, ClassDescriptor descriptor) throws IOException {
+		switch (descriptor.kind) {
+			case COLLECTION:
+				this.objectHandles.put(value, this.objectHandles.size());
+				Collection<?> collection = (Collection<?>) value;
+				writeByte(BinaryFormat.COLLECTION);
+				writeClass(descriptor.type);
+				writeUnsignedVarInt(collection.size());
+				for (Object element : collection) {
+					writeValue(element);
+				}
+				break;
+			case MAP:
+				this.objectHandles.put(value, this.objectHandles.size());
+				Map<?, ?> map = (Map<?, ?>) value;
+				writeByte(BinaryFormat.MAP);
+				writeClass(descriptor.type);
+				writeUnsignedVarInt(map.size());
+				for (Map.Entry<?, ?> entry : map.entrySet()) {
+					writeValue(entry.getKey());
+					writeValue(entry.getValue());
+				}
+				break;
+			case OBJECT:
+				this.objectHandles.put(value, this.objectHandles.size());
+				writeByte(BinaryFormat.OBJECT);
+				writeClass(descriptor.type);
+				writeFields(value, descriptor);
+				break;
+			case JAVA_SERIALIZED:
+				this.objectHandles.put(value, this.objectHandles.size());
+				ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+				ObjectOutputStream oos = new ObjectOutputStream(bos);
+				oos.writeObject(value);
+				oos.flush();
+				writeByte(BinaryFormat.JAVA_SERIALIZED);
+				writeBytes(bos.toByteArray());
+				break;
+			default:
+				throw new NotSerializableException(descriptor.type.getName());
+		}
+	}
+
+	private void writeFields(Object value, ClassDescriptor descriptor) throws IOException {
+		Field[] fields = descriptor.fields;
+		char[] fieldTypes = descriptor.fieldTypes;
+		try {
+			for (int i = 0; i < fields.length; i++) {
+				Field field = fields[i];
+				switch (fieldTypes[i]) {
+					case 'I':
+						writeVarInt(field.getInt(value));
+						break;
+					case 'J':
+						writeVarLong(field.getLong(value));
+						break;
+					case 'Z':
+						writeByte(field.getBoolean(value) ? (byte) 1 : 0);
+						break;
+					case 'B':
+						writeByte(field.getByte(value));
+						break;
+					case 'S':
+						writeVarInt(field.getShort(value));
+						break;
+					case 'C':
+						writeUnsignedVarInt(field.getChar(value));
+						break;
+					case 'F':
+						writeFixedInt(Float.floatToRawIntBits(field.getFloat(value)));
+						break;
+					case 'D':
+						writeFixedLong(Double.doubleToRawLongBits(field.getDouble(value)));
+						break;
+					default:
+						writeValue(field.get(value));
+				}
+			}
+		}
+		catch (IllegalAccessException ex) {
+			throw new IllegalStateException("Failed to read fields of " + descriptor.type, ex);
+		}
+	}
+
+	private void writeClass(Class<?> type) {
+		Integer handle = this.classHandles.get(type);
+		if (handle != null) {
+			writeByte(BinaryFormat.CLASS_REFERENCE);
+			writeUnsignedVarInt(handle);
+		}
+		else {
+			this.classHandles.put(type, this.classHandles.size());
+			writeByte(BinaryFormat.NEW_CLASS);
+			writeString(type.getName());
+			writeVarLong(BinaryFormat.getDescriptor(type).fingerprint);
+		}
+	}
+
+	private void writeString(String value) {
+		int length = value.length();
+		ensureCapacity(length + 5);
+		int start = this.position;
+		// Low bit of the length header distinguishes ASCII characters from UTF-8 bytes
+		writeUnsignedVarInt(length << 1);
+		byte[] buffer = this.buffer;
+		int position = this.position;
+		for (int i = 0; i < length; i++) {
+			char ch = value.charAt(i);
+			if (ch >= 0x80) {
+				// Not ASCII: rewrite as UTF-8 byte length and bytes
+				this.position = start;
+				byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+				writeUnsignedVarInt((bytes.length << 1) | 1);
+				ensureCapacity(bytes.length);
+				System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+				this.position += bytes.length;
+				return;
+			}
+			buffer[position++] = (byte) ch;
+		}
+		this.position = position;
+	}
+
+	private void writeBytes(byte[] bytes) {
+		writeUnsignedVarInt(bytes.length);
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+		this.position += bytes.length;
+	}
+
+	private void writeByte(byte value) {
+		ensureCapacity(1);
+		this.buffer[this.position++] = value;
+	}
+
+	private void writeVarInt(int value) {
+		writeUnsignedVarInt((value << 1) ^ (value >> 31));
+	}
+
+	private void writeUnsignedVarInt(int value) {
+		ensureCapacity(5);
+		while ((value & ~0x7F) != 0) {
+			this.buffer[this.position++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		this.buffer[this.position++] = (byte) value;
+	}
+
+	private void writeVarLong(long value) {
+		ensureCapacity(10);
+		long zigZag = (value << 1) ^ (value >> 63);
+		while ((zigZag & ~0x7FL) != 0) {
+			this.buffer[this.position++] = (byte) ((zigZag & 0x7F) | 0x80);
+			zigZag >>>= 7;
+		}
+		this.buffer[this.position++] = (byte) zigZag;
+	}
+
+	private void writeFixedInt(int value) {
+		ensureCapacity(4);
+		byte[] buffer = this.buffer;
+		int position = this.position;
+		buffer[position] = (byte) (value >>> 24);
+		buffer[position + 1] = (byte) (value >>> 16);
+		buffer[position + 2] = (byte) (value >>> 8);
+		buffer[position + 3] = (byte) value;
+		this.position = position + 4;
+	}
+
+	private void writeFixedLong(long value) {
+		writeFixedInt((int) (value >>> 32));
+		writeFixedInt((int) value);
+	}
+
+	private void ensureCapacity(int additional) {
+		int required = this.position + additional;
+		if (required > this.buffer.length) {
+			int newLength = Math.max(this.buffer.length * 2, required);
+			byte[] newBuffer = new byte[newLength];
+			System.arraycopy(this.buffer, 0, newBuffer, 0, this.position);
+			this.buffer = newBuffer;
+		}
+	}
+
+}
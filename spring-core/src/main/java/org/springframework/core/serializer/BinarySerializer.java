@@ -0,0 +1,68 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A {@link Serializer} implementation that writes an object in a compact binary
+ * format, as a more efficient alternative to {@link DefaultSerializer} for
+ * {@link java.io.Serializable} object graphs.
+ *
+ * <p>The format is schema-less: no class metadata beyond class names is written,
+ * so the deserializing side needs to have the same version of each class
+ * available. Instances are thread-safe, while {@link BinaryObjectOutput} may be
+ * used directly for writing a sequence of objects to the same stream.
+ *
+ * @since 5.2
+ * @see BinaryDeserializer
+ * @see BinaryObjectOutput
+ */
+public class BinarySerializer implements Serializer<Object> {
+
+	/**
+	 * Write the given object to the supplied {@code OutputStream}
+	 * in the binary format.
+	 * @see BinaryObjectOutput#writeObject(Object)
+	 */
+	@Override
+	public void serialize(Object object, OutputStream outputStream) throws IOException {
+		BinaryObjectOutput output = new BinaryObjectOutput(outputStream);
+		try {
+			output.writeObject(object);
+			output.flush();
+		}
+		finally {
+			output.release();
+		}
+	}
+
+	/**
+	 * Serialize the given object into a byte array.
+	 * @param object the object to serialize
+	 * @return the resulting byte array
+	 * @throws IOException in case of serialization failure
+	 */
+	public byte[] serializeToByteArray(Object object) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+		serialize(object, out);
+		return out.toByteArray();
+	}
+
+}
@@ -26,11 +26,14 @@ package org.springframework.core.task;
  *
  * <p>The primary use case is to set some execution context around the task's
  * invocation, or to provide some monitoring/statistics for task execution.
+ * For the latter, executors also notify the decorator of tasks that they
+ * did not accept for execution, through {@link #rejected(Runnable)}.
  *
  * @author Juergen Hoeller
  * @since 4.3
  * @see TaskExecutor#execute(Runnable)
  * @see SimpleAsyncTaskExecutor#setTaskDecorator
+ * @see org.springframework.core.task.support.MetricsTaskDecorator
  */
 @FunctionalInterface
 public interface TaskDecorator {
@@ -43,4 +46,14 @@ public interface TaskDecorator {
 	 */
 	Runnable decorate(Runnable runnable);
 
+	/**
+	 * Callback for a decorated {@code Runnable} that has not been accepted
+	 * for execution, e.g. due to the executor being saturated or shut down.
+	 * <p>The default implementation is empty.
+	 * @param runnable the decorated {@code Runnable}, as returned from {@link #decorate}
+	 * @since 5.2
+	 */
+	default void rejected(Runnable runnable) {
+	}
+
 }
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CustomizableThreadCreator;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+/**
+ * {@link TaskExecutor} implementation that runs each task on a new lightweight
+ * thread: a virtual thread when running on a JVM that supports them, or a
+ * daemon platform thread otherwise.
+ *
+ * <p>Since virtual threads are cheap to create and to block, there is no thread
+ * pool to size. Instead, the number of concurrently running tasks can be limited
+ * through the "concurrencyLimit" bean property, backed by a {@link Semaphore}.
+ * By default, the number of concurrent tasks is unlimited.
+ *
+ * <p>As an {@link AsyncListenableTaskExecutor}, this executor can be used for
+ * {@code @Async} methods through {@code AsyncExecutionInterceptor}, for
+ * asynchronous request processing with {@code Callable} and {@code DeferredResult}
+ * return values in Spring MVC, and as the executor of an
+ * {@code ExecutorSubscribableChannel} in Spring Messaging.
+ *
+ * @since 5.2
+ * @see #isVirtualThreadSupportAvailable()
+ * @see #setConcurrencyLimit
+ * @see SimpleAsyncTaskExecutor
+ */
+public class VirtualThreadTaskExecutor implements AsyncListenableTaskExecutor {
+
+	/**
+	 * Permit any number of concurrent tasks: that is, don't throttle concurrency.
+	 */
+	public static final int UNBOUNDED_CONCURRENCY = -1;
+
+	@Nullable
+	private static final Method ofVirtualMethod = getOfVirtualMethod();
+
+
+	private final ThreadFactory threadFactory;
+
+	private volatile int concurrencyLimit = UNBOUNDED_CONCURRENCY;
+
+	@Nullable
+	private volatile Semaphore permits;
+
+	@Nullable
+	private TaskDecorator taskDecorator;
+
+
+	/**
+	 * Create a new VirtualThreadTaskExecutor with unnamed virtual threads,
+	 * or daemon platform threads with default names if virtual threads are
+	 * not supported.
+	 */
+	public VirtualThreadTaskExecutor() {
+		this.threadFactory = createThreadFactory(null);
+	}
+
+	/**
+	 * Create a new VirtualThreadTaskExecutor with the given thread name prefix.
+	 * @param threadNamePrefix the prefix to use for the names of newly created threads
+	 */
+	public VirtualThreadTaskExecutor(String threadNamePrefix) {
+		Assert.notNull(threadNamePrefix, "Thread name prefix must not be null");
+		this.threadFactory = createThreadFactory(threadNamePrefix);
+	}
+
+
+	/**
+	 * Return whether the current JVM supports virtual threads,
+	 * i.e. whether this executor is going to create virtual threads.
+	 */
+	public static boolean isVirtualThreadSupportAvailable() {
+		return (ofVirtualMethod != null);
+	}
+
+	/**
+	 * Return the factory used for creating new Threads.
+	 */
+	public final ThreadFactory getThreadFactory() {
+		return this.threadFactory;
+	}
+
+	/**
+	 * Specify a custom {@link TaskDecorator} to be applied to any {@link Runnable}
+	 * about to be executed.
+	 * <p>Note that such a decorator is not necessarily being applied to the
+	 * user-supplied {@code Runnable}/{@code Callable} but rather to the actual
+	 * execution callback (which may be a wrapper around the user-supplied task).
+	 * <p>The primary use case is to set some execution context around the task's
+	 * invocation, or to provide some monitoring/statistics for task execution.
+	 */
+	public final void setTaskDecorator(TaskDecorator taskDecorator) {
+		this.taskDecorator = taskDecorator;
+	}
+
+	/**
+	 * Set the maximum number of tasks to run concurrently, with further tasks
+	 * waiting for a permit before they are started. -1 indicates no concurrency
+	 * limit at all.
+	 * <p>In principle, this limit can be changed at runtime, although it is
+	 * generally designed as a config time setting. Tasks that are already running
+	 * return their permits to the limit they were started with.
+	 * @see #UNBOUNDED_CONCURRENCY
+	 */
+	public void setConcurrencyLimit(int concurrencyLimit) {
+		Assert.isTrue(concurrencyLimit > 0 || concurrencyLimit == UNBOUNDED_CONCURRENCY,
+				"Concurrency limit must be positive or -1 for no limit");
+		this.concurrencyLimit = concurrencyLimit;
+		this.permits = (concurrencyLimit != UNBOUNDED_CONCURRENCY ? new Semaphore(concurrencyLimit) : null);
+	}
+
+	/**
+	 * Return the maximum number of tasks to run concurrently.
+	 */
+	public final int getConcurrencyLimit() {
+		return this.concurrencyLimit;
+	}
+
+	/**
+	 * Return whether the concurrency limit is currently active.
+	 * @see #setConcurrencyLimit
+	 */
+	public final boolean isThrottleActive() {
+		return (this.permits != null);
+	}
+
+
+	/**
+	 * Executes the given task, within the concurrency limit if configured.
+	 * @see #doExecute(Runnable)
+	 */
+	@Override
+	public void execute(Runnable task) {
+		execute(task, TIMEOUT_INDEFINITE);
+	}
+
+	/**
+	 * Executes the given task, within the concurrency limit if configured.
+	 * <p>Executes urgent tasks (with 'immediate' timeout) directly, bypassing
+	 * the concurrency limit (if active). All other tasks wait for a permit,
+	 * up to the given timeout.
+	 * @throws TaskTimeoutException if no permit became available within the timeout
+	 * @see #TIMEOUT_IMMEDIATE
+	 * @see #doExecute(Runnable)
+	 */
+	@Override
+	public void execute(Runnable task, long startTimeout) {
+		Assert.notNull(task, "Runnable must not be null");
+		Runnable taskToUse = (this.taskDecorator != null ? this.taskDecorator.decorate(task) : task);
+		Semaphore permits = this.permits;
+		if (permits == null || startTimeout <= TIMEOUT_IMMEDIATE) {
+			doExecute(taskToUse);
+			return;
+		}
+		try {
+			acquirePermit(permits, startTimeout);
+		}
+		catch (TaskRejectedException ex) {
+			if (this.taskDecorator != null) {
+				this.taskDecorator.rejected(taskToUse);
+			}
+			throw ex;
+		}
+		try {
+			doExecute(new PermitReleasingRunnable(taskToUse, permits));
+		}
+		catch (Throwable ex) {
+			permits.release();
+			throw ex;
+		}
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		FutureTask<Object> future = new FutureTask<>(task, null);
+		execute(future, TIMEOUT_INDEFINITE);
+		return future;
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		FutureTask<T> future = new FutureTask<>(task);
+		execute(future, TIMEOUT_INDEFINITE);
+		return future;
+	}
+
+	@Override
+	public ListenableFuture<?> submitListenable(Runnable task) {
+		ListenableFutureTask<Object> future = new ListenableFutureTask<>(task, null);
+		execute(future, TIMEOUT_INDEFINITE);
+		return future;
+	}
+
+	@Override
+	public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
+		ListenableFutureTask<T> future = new ListenableFutureTask<>(task);
+		execute(future, TIMEOUT_INDEFINITE);
+		return future;
+	}
+
+	/**
+	 * Template method for the actual execution of a task.
+	 * <p>The default implementation creates a new Thread and starts it.
+	 * @param task the Runnable to execute
+	 * @see #getThreadFactory()
+	 * @see java.lang.Thread#start()
+	 */
+	protected void doExecute(Runnable task) {
+		this.threadFactory.newThread(task).start();
+	}
+
+	private void acquirePermit(Semaphore permits, long startTimeout) {
+		try {
+			if (startTimeout == TIMEOUT_INDEFINITE) {
+				permits.acquire();
+			}
+			else if (!permits.tryAcquire(startTimeout, TimeUnit.MILLISECONDS)) {
+				throw new TaskTimeoutException("No permit available within " + startTimeout +
+						" ms for concurrency limit of " + this.concurrencyLimit);
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new TaskRejectedException("Interrupted while waiting for a concurrency permit", ex);
+		}
+	}
+
+
+	@Nullable
+	private static Method getOfVirtualMethod() {
+		Method method = ClassUtils.getMethodIfAvailable(Thread.class, "ofVirtual");
+		if (method != null) {
+			try {
+				method.invoke(null);
+			}
+			catch (Exception ex) {
+				// Preview feature not enabled on JDK 19/20
+				return null;
+			}
+		}
+		return method;
+	}
+
+	/**
+	 * Create a factory for virtual threads if supported by the current JVM,
+	 * falling back to daemon platform threads otherwise.
+	 */
+	private static ThreadFactory createThreadFactory(@Nullable String threadNamePrefix) {
+		if (ofVirtualMethod != null) {
+			try {
+				Class<?> builderClass = ClassUtils.forName(
+						"java.lang.Thread$Builder", VirtualThreadTaskExecutor.class.getClassLoader());
+				Object builder = ReflectionUtils.invokeMethod(ofVirtualMethod, null);
+				if (threadNamePrefix != null) {
+					Method nameMethod = builderClass.getMethod("name", String.class, long.class);
+					builder = ReflectionUtils.invokeMethod(nameMethod, builder, threadNamePrefix, 0L);
+				}
+				Object threadFactory = ReflectionUtils.invokeMethod(builderClass.getMethod("factory"), builder);
+				Assert.state(threadFactory instanceof ThreadFactory, "No virtual ThreadFactory");
+				return (ThreadFactory) threadFactory;
+			}
+			catch (ClassNotFoundException | NoSuchMethodException ex) {
+				throw new IllegalStateException("Failed to create virtual thread factory", ex);
+			}
+		}
+		CustomizableThreadCreator threadCreator = (threadNamePrefix != null ?
+				new CustomizableThreadCreator(threadNamePrefix) : new CustomizableThreadCreator());
+		threadCreator.setDaemon(true);
+		return threadCreator::createThread;
+	}
+
+
+	/**
+	 * This Runnable releases its concurrency permit after the
+	 * target Runnable has finished its execution.
+	 */
+	private static class PermitReleasingRunnable implements Runnable {
+
+		private final Runnable target;
+
+		private final Semaphore permits;
+
+		public PermitReleasingRunnable(Runnable target, Semaphore permits) {
+			this.target = target;
+			this.permits = permits;
+		}
+
+		@Override
+		public void run() {
+			try {
+				this.target.run();
+			}
+			finally {
+				this.permits.release();
+			}
+		}
+	}
+
+}
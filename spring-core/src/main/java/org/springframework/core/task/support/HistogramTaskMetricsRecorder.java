@@ -0,0 +1,220 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task.support;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link TaskMetricsRecorder} that keeps in-memory histograms of queue wait
+ * times and execution times, along with failure and rejection counts.
+ *
+ * <p>Histograms use power-of-two nanosecond buckets, so percentiles are
+ * reported as the upper bound of the bucket they fall into: accurate within
+ * a factor of two, at the cost of a few uncontended additions per task.
+ *
+ * @since 5.2
+ * @see MetricsTaskDecorator
+ */
+public class HistogramTaskMetricsRecorder implements TaskMetricsRecorder {
+
+	private final Histogram queueWaitHistogram = new Histogram();
+
+	private final Histogram executionHistogram = new Histogram();
+
+	private final LongAdder failureCount = new LongAdder();
+
+	private final LongAdder rejectionCount = new LongAdder();
+
+
+	@Override
+	public void recordQueueWait(long nanos) {
+		this.queueWaitHistogram.record(nanos);
+	}
+
+	@Override
+	public void recordExecution(long nanos, boolean successful) {
+		this.executionHistogram.record(nanos);
+		if (!successful) {
+			this.failureCount.increment();
+		}
+	}
+
+	@Override
+	public void recordRejection() {
+		this.rejectionCount.increment();
+	}
+
+	/**
+	 * Return the histogram of queue wait times.
+	 */
+	public Histogram getQueueWaitHistogram() {
+		return this.queueWaitHistogram;
+	}
+
+	/**
+	 * Return the histogram of execution times.
+	 */
+	public Histogram getExecutionHistogram() {
+		return this.executionHistogram;
+	}
+
+	/**
+	 * Return the number of tasks that completed with an exception.
+	 */
+	public long getFailureCount() {
+		return this.failureCount.sum();
+	}
+
+	/**
+	 * Return the number of tasks that have been rejected.
+	 */
+	public long getRejectionCount() {
+		return this.rejectionCount.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "HistogramTaskMetricsRecorder: queue wait [" + this.queueWaitHistogram +
+				"], execution [" + this.executionHistogram + "], failures = " + getFailureCount() +
+				", rejections = " + getRejectionCount();
+	}
+
+
+	/**
+	 * Histogram of durations in nanoseconds, with bucket {@code i} counting
+	 * durations up to {@code 2^i} nanoseconds that do not fall into bucket {@code i - 1}.
+	 */
+	public static final class Histogram {
+
+		/** The number of buckets, covering all positive {@code long} values. */
+		public static final int BUCKET_COUNT = 64;
+
+		private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder totalNanos = new LongAdder();
+
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+		Histogram() {
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				this.buckets[i] = new LongAdder();
+			}
+		}
+
+		void record(long nanos) {
+			long value = Math.max(nanos, 0);
+			this.buckets[bucketIndex(value)].increment();
+			this.count.increment();
+			this.totalNanos.add(value);
+			this.maxNanos.accumulate(value);
+		}
+
+		private static int bucketIndex(long value) {
+			return (value <= 1 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(value - 1));
+		}
+
+		/**
+		 * Return the upper bound of the given bucket in nanoseconds (inclusive).
+		 * @param index the index of the bucket
+		 */
+		public static long getBucketUpperBound(int index) {
+			Assert.isTrue(index >= 0 && index < BUCKET_COUNT, "Invalid bucket index");
+			return (index < BUCKET_COUNT - 1 ? 1L << index : Long.MAX_VALUE);
+		}
+
+		/**
+		 * Return a snapshot of the number of durations in each bucket.
+		 * @see #getBucketUpperBound(int)
+		 */
+		public long[] getBucketCounts() {
+			long[] counts = new long[BUCKET_COUNT];
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				counts[i] = this.buckets[i].sum();
+			}
+			return counts;
+		}
+
+		/**
+		 * Return the number of recorded durations.
+		 */
+		public long getCount() {
+			return this.count.sum();
+		}
+
+		/**
+		 * Return the sum of all recorded durations in nanoseconds.
+		 */
+		public long getTotalNanos() {
+			return this.totalNanos.sum();
+		}
+
+		/**
+		 * Return the maximum recorded duration in nanoseconds.
+		 */
+		public long getMaxNanos() {
+			return this.maxNanos.get();
+		}
+
+		/**
+		 * Return the mean recorded duration in nanoseconds.
+		 */
+		public double getMeanNanos() {
+			long count = getCount();
+			return (count > 0 ? (double) getTotalNanos() / count : 0);
+		}
+
+		/**
+		 * Return an upper bound for the given percentile of recorded durations,
+		 * in nanoseconds, based on the bucket that the percentile falls into.
+		 * @param percentile the percentile, between 0 and 100
+		 * @return the upper bound, or 0 if no durations have been recorded
+		 */
+		public long getPercentileNanos(double percentile) {
+			Assert.isTrue(percentile >= 0 && percentile <= 100, "Percentile must be between 0 and 100");
+			long[] counts = getBucketCounts();
+			long total = 0;
+			for (long count : counts) {
+				total += count;
+			}
+			if (total == 0) {
+				return 0;
+			}
+			long rank = Math.max((long) Math.ceil(total * percentile / 100), 1);
+			long cumulative = 0;
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				cumulative += counts[i];
+				if (cumulative >= rank) {
+					return Math.min(getBucketUpperBound(i), getMaxNanos());
+				}
+			}
+			return getMaxNanos();
+		}
+
+		@Override
+		public String toString() {
+			return "count = " + getCount() + ", mean = " + (long) getMeanNanos() + " ns, p50 <= " +
+					getPercentileNanos(50) + " ns, p99 <= " + getPercentileNanos(99) + " ns, max = " +
+					getMaxNanos() + " ns";
+		}
+	}
+
+}
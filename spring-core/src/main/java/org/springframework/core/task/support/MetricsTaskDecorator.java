@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task.support;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link TaskDecorator} that measures the queue wait time and execution time
+ * of each task as well as rejected tasks, reporting them to a pluggable
+ * {@link TaskMetricsRecorder}.
+ *
+ * <p>The queue wait time is measured from the decoration of the task, which
+ * executors perform on submission, until its execution starts. Another
+ * decorator may be specified as a delegate, e.g. for setting up an execution
+ * context, in which case its execution is included in the execution time.
+ *
+ * @since 5.2
+ * @see TaskMetricsRecorder
+ * @see HistogramTaskMetricsRecorder
+ */
+public class MetricsTaskDecorator implements TaskDecorator {
+
+	private final TaskMetricsRecorder recorder;
+
+	@Nullable
+	private final TaskDecorator delegate;
+
+
+	/**
+	 * Create a new {@code MetricsTaskDecorator} for the given recorder.
+	 * @param recorder the recorder to report metrics to
+	 */
+	public MetricsTaskDecorator(TaskMetricsRecorder recorder) {
+		this(recorder, null);
+	}
+
+	/**
+	 * Create a new {@code MetricsTaskDecorator} for the given recorder,
+	 * applying the given decorator to each task as well.
+	 * @param recorder the recorder to report metrics to
+	 * @param delegate a decorator to apply to each task, if any
+	 */
+	public MetricsTaskDecorator(TaskMetricsRecorder recorder, @Nullable TaskDecorator delegate) {
+		Assert.notNull(recorder, "TaskMetricsRecorder must not be null");
+		this.recorder = recorder;
+		this.delegate = delegate;
+	}
+
+
+	/**
+	 * Return the recorder that metrics are reported to.
+	 */
+	public final TaskMetricsRecorder getRecorder() {
+		return this.recorder;
+	}
+
+
+	@Override
+	public Runnable decorate(Runnable runnable) {
+		Runnable target = (this.delegate != null ? this.delegate.decorate(runnable) : runnable);
+		return new MeteredRunnable(target, System.nanoTime());
+	}
+
+	@Override
+	public void rejected(Runnable runnable) {
+		if (this.delegate != null && runnable instanceof MeteredRunnable) {
+			this.delegate.rejected(((MeteredRunnable) runnable).target);
+		}
+		this.recorder.recordRejection();
+	}
+
+
+	/**
+	 * Runnable that reports the metrics for the execution of the target Runnable.
+	 */
+	private class MeteredRunnable implements Runnable {
+
+		private final Runnable target;
+
+		private final long submitTime;
+
+		public MeteredRunnable(Runnable target, long submitTime) {
+			this.target = target;
+			this.submitTime = submitTime;
+		}
+
+		@Override
+		public void run() {
+			long startTime = System.nanoTime();
+			recorder.recordQueueWait(startTime - this.submitTime);
+			boolean successful = false;
+			try {
+				this.target.run();
+				successful = true;
+			}
+			finally {
+				recorder.recordExecution(System.nanoTime() - startTime, successful);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return this.target.toString();
+		}
+	}
+
+}
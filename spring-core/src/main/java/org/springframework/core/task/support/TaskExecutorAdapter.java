@@ -172,7 +172,18 @@ public class TaskExecutorAdapter implements AsyncListenableTaskExecutor {
 	protected void doExecute(Executor concurrentExecutor, @Nullable TaskDecorator taskDecorator, Runnable runnable)
 			throws RejectedExecutionException{
 
-		concurrentExecutor.execute(taskDecorator != null ? taskDecorator.decorate(runnable) : runnable);
+		if (taskDecorator == null) {
+			concurrentExecutor.execute(runnable);
+			return;
+		}
+		Runnable decorated = taskDecorator.decorate(runnable);
+		try {
+			concurrentExecutor.execute(decorated);
+		}
+		catch (RejectedExecutionException ex) {
+			taskDecorator.rejected(decorated);
+			throw ex;
+		}
 	}
 
 }
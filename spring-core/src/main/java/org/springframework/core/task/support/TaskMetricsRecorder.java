@@ -0,0 +1,54 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task.support;
+
+/**
+ * Callback interface for recording task execution metrics, as measured by
+ * a {@link MetricsTaskDecorator}. Implementations are invoked concurrently
+ * from submitting threads and worker threads and therefore need to be
+ * thread-safe, ideally without blocking.
+ *
+ * <p>Implementations may bridge to a metrics library of choice, or keep
+ * in-memory statistics such as {@link HistogramTaskMetricsRecorder}.
+ *
+ * @since 5.2
+ * @see MetricsTaskDecorator
+ */
+public interface TaskMetricsRecorder {
+
+	/**
+	 * Record the time that a task has been waiting for execution,
+	 * from its submission until a thread started executing it.
+	 * @param nanos the wait time in nanoseconds
+	 */
+	void recordQueueWait(long nanos);
+
+	/**
+	 * Record the execution time of a task.
+	 * @param nanos the execution time in nanoseconds
+	 * @param successful whether the task completed without throwing an exception
+	 * (note that tasks submitted for a {@code Future} capture their exceptions
+	 * in the {@code Future}, so are considered successful here)
+	 */
+	void recordExecution(long nanos, boolean successful);
+
+	/**
+	 * Record a task that the executor did not accept for execution.
+	 */
+	void recordRejection();
+
+}
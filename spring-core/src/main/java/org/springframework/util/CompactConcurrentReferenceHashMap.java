@@ -0,0 +1,927 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
+
+/**
+ * A variant of {@link ConcurrentReferenceHashMap} with a lower per-entry overhead,
+ * intended for metadata caches that are read far more often than they are written.
+ *
+ * <p>Each segment stores its entries in an open-addressed table with linear probing,
+ * rather than in chains of reference objects. Reads are lock-free and never poll the
+ * {@link ReferenceQueue}: entries that have been garbage collected are simply skipped.
+ * The queue is drained in batches as part of write operations, and the table slots
+ * of collected entries are reclaimed when a segment is next rehashed or through an
+ * explicit call to {@link #purgeUnreferencedEntries()}.
+ *
+ * <p>In addition to {@linkplain ReferenceType#SOFT soft} and
+ * {@linkplain ReferenceType#WEAK weak} references, this map supports
+ * {@linkplain ReferenceType#STRONG strong} references, storing each entry as a single
+ * object. This is appropriate for bounded sets of metadata which should not be
+ * released under memory pressure.
+ *
+ * <p>As with {@link ConcurrentReferenceHashMap}, {@code null} values and {@code null}
+ * keys are supported, and the use of soft or weak references means that there is no
+ * guarantee that items placed into the map will be subsequently available.
+ *
+ * @since 5.2
+ * @param <K> the key type
+ * @param <V> the value type
+ * @see #getLiveEntryCount()
+ * @see #estimateMemoryUsage()
+ */
+public class CompactConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+	private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+	private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+	private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+	private static final ReferenceType DEFAULT_REFERENCE_TYPE = ReferenceType.SOFT;
+
+	private static final int MAXIMUM_CONCURRENCY_LEVEL = 1 << 16;
+
+	private static final int MAXIMUM_SEGMENT_SIZE = 1 << 30;
+
+	/** Marker for a table slot whose entry has been removed. */
+	private static final Object TOMBSTONE = new Object();
+
+	// Approximate sizes in bytes, assuming a 64-bit JVM with compressed oops
+
+	private static final int SEGMENT_OVERHEAD = 96;
+
+	private static final int TABLE_OVERHEAD = 32;
+
+	private static final int SLOT_SIZE = 4;
+
+	private static final int NODE_SIZE = 24;
+
+	private static final int SOFT_REFERENCE_SIZE = 48;
+
+	private static final int WEAK_REFERENCE_SIZE = 40;
+
+
+	/**
+	 * Array of segments indexed using the high order bits from the hash.
+	 */
+	private final Segment[] segments;
+
+	/**
+	 * When the proportion of used slots in a table exceeds this value, it will be rehashed.
+	 */
+	private final float loadFactor;
+
+	/**
+	 * The reference type: SOFT, WEAK or STRONG.
+	 */
+	private final ReferenceType referenceType;
+
+	/**
+	 * The shift value used to calculate the size of the segments array and an index from the hash.
+	 */
+	private final int shift;
+
+	/**
+	 * Late binding entry set.
+	 */
+	@Nullable
+	private volatile Set<Map.Entry<K, V>> entrySet;
+
+
+	/**
+	 * Create a new {@code CompactConcurrentReferenceHashMap} instance.
+	 */
+	public CompactConcurrentReferenceHashMap() {
+		this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL, DEFAULT_REFERENCE_TYPE);
+	}
+
+	/**
+	 * Create a new {@code CompactConcurrentReferenceHashMap} instance.
+	 * @param initialCapacity the initial capacity of the map
+	 */
+	public CompactConcurrentReferenceHashMap(int initialCapacity) {
+		this(initialCapacity, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL, DEFAULT_REFERENCE_TYPE);
+	}
+
+	/**
+	 * Create a new {@code CompactConcurrentReferenceHashMap} instance.
+	 * @param initialCapacity the initial capacity of the map
+	 * @param referenceType the reference type used for entries (soft, weak or strong)
+	 */
+	public CompactConcurrentReferenceHashMap(int initialCapacity, ReferenceType referenceType) {
+		this(initialCapacity, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL, referenceType);
+	}
+
+	/**
+	 * Create a new {@code CompactConcurrentReferenceHashMap} instance.
+	 * @param initialCapacity the initial capacity of the map
+	 * @param loadFactor the load factor, between 0 and 1. When the proportion of used
+	 * slots in a segment table exceeds this value, the table will be rehashed.
+	 * @param concurrencyLevel the expected number of threads that will concurrently
+	 * write to the map
+	 * @param referenceType the reference type used for entries (soft, weak or strong)
+	 */
+	@SuppressWarnings("unchecked")
+	public CompactConcurrentReferenceHashMap(
+			int initialCapacity, float loadFactor, int concurrencyLevel, ReferenceType referenceType) {
+
+		Assert.isTrue(initialCapacity >= 0, "Initial capacity must not be negative");
+		Assert.isTrue(loadFactor > 0f && loadFactor < 1f, "Load factor must be between 0 and 1");
+		Assert.isTrue(concurrencyLevel > 0, "Concurrency level must be positive");
+		Assert.notNull(referenceType, "Reference type must not be null");
+		this.loadFactor = loadFactor;
+		this.referenceType = referenceType;
+		this.shift = ConcurrentReferenceHashMap.calculateShift(concurrencyLevel, MAXIMUM_CONCURRENCY_LEVEL);
+		int size = 1 << this.shift;
+		int roundedUpSegmentCapacity = (int) ((initialCapacity / loadFactor + size - 1) / size);
+		int initialSize = 1 << ConcurrentReferenceHashMap.calculateShift(
+				Math.max(roundedUpSegmentCapacity, 2), MAXIMUM_SEGMENT_SIZE);
+		Segment[] segments = new CompactConcurrentReferenceHashMap.Segment[size];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = new Segment(initialSize);
+		}
+		this.segments = segments;
+	}
+
+
+	/**
+	 * Return the reference type used for entries.
+	 */
+	public final ReferenceType getReferenceType() {
+		return this.referenceType;
+	}
+
+	/**
+	 * Get the hash for a given object, apply an additional hash function to reduce
+	 * collisions. This implementation uses the same Wang/Jenkins algorithm as
+	 * {@link ConcurrentReferenceHashMap}. Subclasses can override to provide
+	 * alternative hashing.
+	 * @param o the object to hash (may be null)
+	 * @return the resulting hash code
+	 */
+	protected int getHash(@Nullable Object o) {
+		int hash = (o != null ? o.hashCode() : 0);
+		hash += (hash << 15) ^ 0xffffcd7d;
+		hash ^= (hash >>> 10);
+		hash += (hash << 3);
+		hash ^= (hash >>> 6);
+		hash += (hash << 2) + (hash << 14);
+		hash ^= (hash >>> 16);
+		return hash;
+	}
+
+	@Override
+	@Nullable
+	public V get(@Nullable Object key) {
+		Node<K, V> node = getNode(key);
+		return (node != null ? node.value : null);
+	}
+
+	@Override
+	@Nullable
+	public V getOrDefault(@Nullable Object key, @Nullable V defaultValue) {
+		Node<K, V> node = getNode(key);
+		return (node != null ? node.value : defaultValue);
+	}
+
+	@Override
+	public boolean containsKey(@Nullable Object key) {
+		return (getNode(key) != null);
+	}
+
+	@Nullable
+	private Node<K, V> getNode(@Nullable Object key) {
+		int hash = getHash(key);
+		return getSegmentForHash(hash).getNode(key, hash);
+	}
+
+	@Override
+	@Nullable
+	public V put(@Nullable K key, @Nullable V value) {
+		int hash = getHash(key);
+		return getSegmentForHash(hash).put(key, hash, value, true);
+	}
+
+	@Override
+	@Nullable
+	public V putIfAbsent(@Nullable K key, @Nullable V value) {
+		int hash = getHash(key);
+		return getSegmentForHash(hash).put(key, hash, value, false);
+	}
+
+	@Override
+	@Nullable
+	public V remove(Object key) {
+		int hash = getHash(key);
+		Node<K, V> removed = getSegmentForHash(hash).remove(key, hash, null, false);
+		return (removed != null ? removed.value : null);
+	}
+
+	@Override
+	public boolean remove(Object key, Object value) {
+		int hash = getHash(key);
+		return (getSegmentForHash(hash).remove(key, hash, value, true) != null);
+	}
+
+	@Override
+	public boolean replace(K key, V oldValue, V newValue) {
+		int hash = getHash(key);
+		Segment segment = getSegmentForHash(hash);
+		segment.lock();
+		try {
+			Node<K, V> node = segment.getNode(key, hash);
+			if (node != null && ObjectUtils.nullSafeEquals(node.value, oldValue)) {
+				node.value = newValue;
+				return true;
+			}
+			return false;
+		}
+		finally {
+			segment.unlock();
+		}
+	}
+
+	@Override
+	@Nullable
+	public V replace(K key, V value) {
+		int hash = getHash(key);
+		Segment segment = getSegmentForHash(hash);
+		segment.lock();
+		try {
+			Node<K, V> node = segment.getNode(key, hash);
+			if (node != null) {
+				V oldValue = node.value;
+				node.value = value;
+				return oldValue;
+			}
+			return null;
+		}
+		finally {
+			segment.unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		for (Segment segment : this.segments) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * Remove any entries that have been garbage collected and are no longer referenced,
+	 * reclaiming their table slots. Under normal circumstances this happens in batches
+	 * as items are added to the Map. This method can be used to force a purge, and is
+	 * useful when the Map is read frequently but updated less often.
+	 */
+	public void purgeUnreferencedEntries() {
+		for (Segment segment : this.segments) {
+			segment.purge();
+		}
+	}
+
+	/**
+	 * Return the number of entries in this map, which may include entries that
+	 * have been garbage collected recently but not been purged yet.
+	 * @see #getLiveEntryCount()
+	 */
+	@Override
+	public int size() {
+		int size = 0;
+		for (Segment segment : this.segments) {
+			size += segment.count;
+		}
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		for (Segment segment : this.segments) {
+			if (segment.count > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Return the number of entries that are still referenced, checking each entry
+	 * individually. In contrast to {@link #size()}, this does not include entries
+	 * that have been garbage collected but not been purged yet.
+	 * @see #size()
+	 */
+	public int getLiveEntryCount() {
+		int count = 0;
+		for (Segment segment : this.segments) {
+			count += segment.getLiveEntryCount();
+		}
+		return count;
+	}
+
+	/**
+	 * Return an estimate of the memory used by the internal structures of this map,
+	 * in bytes, excluding the keys and values themselves. The estimate assumes a
+	 * 64-bit JVM with compressed object pointers.
+	 */
+	public long estimateMemoryUsage() {
+		long size = 0;
+		for (Segment segment : this.segments) {
+			size += segment.estimateMemoryUsage();
+		}
+		return size;
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		Set<Map.Entry<K, V>> entrySet = this.entrySet;
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+			this.entrySet = entrySet;
+		}
+		return entrySet;
+	}
+
+	private Segment getSegmentForHash(int hash) {
+		return this.segments[(hash >>> (32 - this.shift)) & (this.segments.length - 1)];
+	}
+
+	/**
+	 * Return the entry for the given table slot, or {@code null} if the slot is
+	 * empty, has been removed, or references an entry that has been garbage collected.
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private static <K, V> Node<K, V> nodeForSlot(@Nullable Object slot) {
+		if (slot instanceof Node) {
+			return (Node<K, V>) slot;
+		}
+		if (slot instanceof NodeReference) {
+			return ((NodeReference<K, V>) slot).get();
+		}
+		return null;
+	}
+
+
+	/**
+	 * A single segment used to divide the map to allow better concurrent performance.
+	 */
+	@SuppressWarnings("serial")
+	private final class Segment extends ReentrantLock {
+
+		private final int initialSize;
+
+		/**
+		 * Open-addressed table of slots, each being {@code null}, a {@link Node}
+		 * for strong references, a {@link NodeReference} otherwise, or a tombstone.
+		 * Only replaced with the lock held.
+		 */
+		private volatile AtomicReferenceArray<Object> slots;
+
+		/**
+		 * The number of entries in this segment, including garbage collected
+		 * entries that have not been drained from the queue yet.
+		 */
+		private volatile int count;
+
+		/**
+		 * The number of non-empty slots, including tombstones and slots holding
+		 * garbage collected entries. Guarded by the lock.
+		 */
+		private int usedSlots;
+
+		/**
+		 * The threshold of used slots at which the table will be rehashed.
+		 * Guarded by the lock.
+		 */
+		private int resizeThreshold;
+
+		/**
+		 * The queue for garbage collected entries, or {@code null} for strong references.
+		 * Guarded by the lock.
+		 */
+		@Nullable
+		private ReferenceQueue<Node<K, V>> queue;
+
+		public Segment(int initialSize) {
+			this.initialSize = initialSize;
+			this.slots = new AtomicReferenceArray<>(initialSize);
+			this.resizeThreshold = calculateResizeThreshold(initialSize);
+			this.queue = createQueue();
+		}
+
+		@Nullable
+		public Node<K, V> getNode(@Nullable Object key, int hash) {
+			if (this.count == 0) {
+				return null;
+			}
+			// Use a local copy to protect against other threads rehashing
+			AtomicReferenceArray<Object> slots = this.slots;
+			int index = indexOf(slots, key, hash);
+			return (index != -1 ? nodeForSlot(slots.get(index)) : null);
+		}
+
+		@Nullable
+		public V put(@Nullable K key, int hash, @Nullable V value, boolean overwriteExisting) {
+			lock();
+			try {
+				drainQueue();
+				if (this.usedSlots >= this.resizeThreshold) {
+					rehash(true);
+				}
+				AtomicReferenceArray<Object> slots = this.slots;
+				int mask = slots.length() - 1;
+				int index = hash & mask;
+				int reusableIndex = -1;
+				Object slot;
+				while ((slot = slots.get(index)) != null) {
+					Node<K, V> node = nodeForSlot(slot);
+					if (node == null) {
+						if (reusableIndex == -1) {
+							reusableIndex = index;
+						}
+					}
+					else if (node.hash == hash && ObjectUtils.nullSafeEquals(node.key, key)) {
+						V oldValue = node.value;
+						if (overwriteExisting) {
+							node.value = value;
+						}
+						return oldValue;
+					}
+					index = (index + 1) & mask;
+				}
+				if (reusableIndex != -1) {
+					index = reusableIndex;
+					release(slots.get(index));
+				}
+				else {
+					this.usedSlots++;
+				}
+				slots.set(index, createSlot(new Node<>(hash, key, value)));
+				this.count++;
+				return null;
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		@Nullable
+		public Node<K, V> remove(@Nullable Object key, int hash, @Nullable Object value, boolean matchValue) {
+			lock();
+			try {
+				drainQueue();
+				if (this.count == 0) {
+					return null;
+				}
+				AtomicReferenceArray<Object> slots = this.slots;
+				int index = indexOf(slots, key, hash);
+				if (index == -1) {
+					return null;
+				}
+				Object slot = slots.get(index);
+				Node<K, V> node = nodeForSlot(slot);
+				if (node == null || (matchValue && !ObjectUtils.nullSafeEquals(node.value, value))) {
+					return null;
+				}
+				slots.set(index, TOMBSTONE);
+				if (slot instanceof NodeReference) {
+					NodeReference<?, ?> reference = (NodeReference<?, ?>) slot;
+					reference.clear();
+					reference.setPurged();
+				}
+				this.count--;
+				return node;
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		public void clear() {
+			if (this.count == 0) {
+				return;
+			}
+			lock();
+			try {
+				this.slots = new AtomicReferenceArray<>(this.initialSize);
+				this.resizeThreshold = calculateResizeThreshold(this.initialSize);
+				this.usedSlots = 0;
+				this.count = 0;
+				// References of discarded entries are enqueued on the old queue
+				this.queue = createQueue();
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		public void purge() {
+			lock();
+			try {
+				drainQueue();
+				if (this.usedSlots > this.count) {
+					rehash(false);
+				}
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		public int getLiveEntryCount() {
+			AtomicReferenceArray<Object> slots = this.slots;
+			int count = 0;
+			for (int i = 0; i < slots.length(); i++) {
+				if (nodeForSlot(slots.get(i)) != null) {
+					count++;
+				}
+			}
+			return count;
+		}
+
+		public long estimateMemoryUsage() {
+			AtomicReferenceArray<Object> slots = this.slots;
+			long size = SEGMENT_OVERHEAD + TABLE_OVERHEAD + (long) slots.length() * SLOT_SIZE;
+			for (int i = 0; i < slots.length(); i++) {
+				Object slot = slots.get(i);
+				if (slot instanceof Node) {
+					size += NODE_SIZE;
+				}
+				else if (slot instanceof NodeReference) {
+					size += (slot instanceof SoftReference ? SOFT_REFERENCE_SIZE : WEAK_REFERENCE_SIZE);
+					if (((NodeReference<?, ?>) slot).get() != null) {
+						size += NODE_SIZE;
+					}
+				}
+			}
+			return size;
+		}
+
+		private int indexOf(AtomicReferenceArray<Object> slots, @Nullable Object key, int hash) {
+			int mask = slots.length() - 1;
+			int index = hash & mask;
+			for (int probes = 0; probes <= mask; probes++) {
+				Object slot = slots.get(index);
+				if (slot == null) {
+					return -1;
+				}
+				Node<K, V> node = nodeForSlot(slot);
+				if (node != null && node.hash == hash && ObjectUtils.nullSafeEquals(node.key, key)) {
+					return index;
+				}
+				index = (index + 1) & mask;
+			}
+			return -1;
+		}
+
+		/**
+		 * Rebuild the table without removed and garbage collected entries,
+		 * doubling its size if it would still be too full otherwise.
+		 * @param allowResize if resizing is permitted
+		 */
+		private void rehash(boolean allowResize) {
+			AtomicReferenceArray<Object> slots = this.slots;
+			int liveCount = getLiveEntryCount();
+			int size = slots.length();
+			if (allowResize && liveCount >= this.resizeThreshold / 2 && size < MAXIMUM_SEGMENT_SIZE) {
+				size <<= 1;
+			}
+			AtomicReferenceArray<Object> rehashed = new AtomicReferenceArray<>(size);
+			int mask = size - 1;
+			int count = 0;
+			for (int i = 0; i < slots.length(); i++) {
+				Object slot = slots.get(i);
+				Node<K, V> node = nodeForSlot(slot);
+				if (node == null) {
+					release(slot);
+					continue;
+				}
+				int index = node.hash & mask;
+				while (rehashed.get(index) != null) {
+					index = (index + 1) & mask;
+				}
+				// Published through the volatile write of the slots field below
+				rehashed.lazySet(index, slot);
+				count++;
+			}
+			this.slots = rehashed;
+			this.resizeThreshold = calculateResizeThreshold(size);
+			this.usedSlots = count;
+			this.count = count;
+		}
+
+		/**
+		 * Account for all garbage collected entries, leaving their slots
+		 * in place until the next rehash.
+		 */
+		private void drainQueue() {
+			if (this.queue != null) {
+				Reference<? extends Node<K, V>> reference;
+				while ((reference = this.queue.poll()) != null) {
+					release(reference);
+				}
+			}
+		}
+
+		/**
+		 * Account for the given slot no longer being used, if it holds a garbage
+		 * collected entry that has not been accounted for yet.
+		 */
+		private void release(@Nullable Object slot) {
+			if (slot instanceof NodeReference) {
+				NodeReference<?, ?> reference = (NodeReference<?, ?>) slot;
+				if (!reference.isPurged()) {
+					reference.setPurged();
+					this.count--;
+				}
+			}
+		}
+
+		private Object createSlot(Node<K, V> node) {
+			switch (CompactConcurrentReferenceHashMap.this.referenceType) {
+				case WEAK:
+					return new WeakNodeReference<>(node, this.queue);
+				case SOFT:
+					return new SoftNodeReference<>(node, this.queue);
+				default:
+					return node;
+			}
+		}
+
+		@Nullable
+		private ReferenceQueue<Node<K, V>> createQueue() {
+			return (CompactConcurrentReferenceHashMap.this.referenceType != ReferenceType.STRONG ?
+					new ReferenceQueue<>() : null);
+		}
+
+		private int calculateResizeThreshold(int size) {
+			// Always keep an empty slot in order to terminate probing
+			return Math.min((int) (size * CompactConcurrentReferenceHashMap.this.loadFactor), size - 1);
+		}
+	}
+
+
+	/**
+	 * A single map entry, referenced directly from a table slot for strong references
+	 * or through a {@link NodeReference} otherwise.
+	 * @param <K> the key type
+	 * @param <V> the value type
+	 */
+	private static final class Node<K, V> implements Map.Entry<K, V> {
+
+		private final int hash;
+
+		@Nullable
+		private final K key;
+
+		@Nullable
+		private volatile V value;
+
+		public Node(int hash, @Nullable K key, @Nullable V value) {
+			this.hash = hash;
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		@Nullable
+		public K getKey() {
+			return this.key;
+		}
+
+		@Override
+		@Nullable
+		public V getValue() {
+			return this.value;
+		}
+
+		@Override
+		@Nullable
+		public V setValue(@Nullable V value) {
+			V previous = this.value;
+			this.value = value;
+			return previous;
+		}
+
+		@Override
+		public String toString() {
+			return (this.key + "=" + this.value);
+		}
+
+		@Override
+		@SuppressWarnings("rawtypes")
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry otherEntry = (Map.Entry) other;
+			return (ObjectUtils.nullSafeEquals(getKey(), otherEntry.getKey()) &&
+					ObjectUtils.nullSafeEquals(getValue(), otherEntry.getValue()));
+		}
+
+		@Override
+		public int hashCode() {
+			return (ObjectUtils.nullSafeHashCode(this.key) ^ ObjectUtils.nullSafeHashCode(this.value));
+		}
+	}
+
+
+	/**
+	 * A soft or weak reference to a {@link Node}, tracking whether it has been
+	 * accounted for in the entry count of its segment.
+	 * @param <K> the key type
+	 * @param <V> the value type
+	 */
+	private interface NodeReference<K, V> {
+
+		@Nullable
+		Node<K, V> get();
+
+		void clear();
+
+		boolean isPurged();
+
+		void setPurged();
+	}
+
+
+	/**
+	 * Internal {@link NodeReference} implementation for {@link SoftReference SoftReferences}.
+	 */
+	private static final class SoftNodeReference<K, V> extends SoftReference<Node<K, V>> implements NodeReference<K, V> {
+
+		private boolean purged;
+
+		public SoftNodeReference(Node<K, V> node, @Nullable ReferenceQueue<Node<K, V>> queue) {
+			super(node, queue);
+		}
+
+		@Override
+		public boolean isPurged() {
+			return this.purged;
+		}
+
+		@Override
+		public void setPurged() {
+			this.purged = true;
+		}
+	}
+
+
+	/**
+	 * Internal {@link NodeReference} implementation for {@link WeakReference WeakReferences}.
+	 */
+	private static final class WeakNodeReference<K, V> extends WeakReference<Node<K, V>> implements NodeReference<K, V> {
+
+		private boolean purged;
+
+		public WeakNodeReference(Node<K, V> node, @Nullable ReferenceQueue<Node<K, V>> queue) {
+			super(node, queue);
+		}
+
+		@Override
+		public boolean isPurged() {
+			return this.purged;
+		}
+
+		@Override
+		public void setPurged() {
+			this.purged = true;
+		}
+	}
+
+
+	/**
+	 * Internal entry-set implementation.
+	 */
+	private class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+		@Override
+		public Iterator<Map.Entry<K, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public boolean contains(@Nullable Object o) {
+			if (o instanceof Map.Entry<?, ?>) {
+				Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+				Node<K, V> node = CompactConcurrentReferenceHashMap.this.getNode(entry.getKey());
+				return (node != null && ObjectUtils.nullSafeEquals(node.value, entry.getValue()));
+			}
+			return false;
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			if (o instanceof Map.Entry<?, ?>) {
+				Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+				return CompactConcurrentReferenceHashMap.this.remove(entry.getKey(), entry.getValue());
+			}
+			return false;
+		}
+
+		@Override
+		public int size() {
+			return CompactConcurrentReferenceHashMap.this.size();
+		}
+
+		@Override
+		public void clear() {
+			CompactConcurrentReferenceHashMap.this.clear();
+		}
+	}
+
+
+	/**
+	 * Internal entry iterator implementation, iterating over a snapshot of each segment table.
+	 */
+	private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+		private int segmentIndex;
+
+		private int slotIndex;
+
+		@Nullable
+		private AtomicReferenceArray<Object> slots;
+
+		@Nullable
+		private Node<K, V> next;
+
+		@Nullable
+		private Node<K, V> last;
+
+		@Override
+		public boolean hasNext() {
+			getNextIfNecessary();
+			return (this.next != null);
+		}
+
+		@Override
+		public Map.Entry<K, V> next() {
+			getNextIfNecessary();
+			if (this.next == null) {
+				throw new NoSuchElementException();
+			}
+			this.last = this.next;
+			this.next = null;
+			return this.last;
+		}
+
+		private void getNextIfNecessary() {
+			Segment[] segments = CompactConcurrentReferenceHashMap.this.segments;
+			while (this.next == null) {
+				if (this.slots == null || this.slotIndex >= this.slots.length()) {
+					if (this.segmentIndex >= segments.length) {
+						return;
+					}
+					this.slots = segments[this.segmentIndex++].slots;
+					this.slotIndex = 0;
+				}
+				else {
+					this.next = nodeForSlot(this.slots.get(this.slotIndex++));
+				}
+			}
+		}
+
+		@Override
+		public void remove() {
+			Assert.state(this.last != null, "No element to remove");
+			CompactConcurrentReferenceHashMap.this.remove(this.last.getKey());
+		}
+	}
+
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Simple bounded cache that computes missing values through a generator function,
+ * evicting the approximately least recently used entry once the size limit is reached.
+ *
+ * <p>Cache hits do not lock: they amount to a {@code ConcurrentHashMap} lookup
+ * plus recording the access time of the entry. Cache misses generate the value
+ * and add the new entry with the lock of the segment for the key held, so that
+ * the generator runs once per cached key. Larger caches are divided into segments
+ * by key hash, each with its own lock and share of the size limit, so that
+ * concurrent misses for different keys rarely contend.
+ * Instead of maintaining an exact recency order, eviction samples a few random
+ * entries of a segment and evicts the one that has been accessed least recently,
+ * which keeps hits cheap and the cache effective even for a high cardinality
+ * of keys.
+ *
+ * <p>Hit, miss and eviction counts are exposed for monitoring purposes.
+ *
+ * @since 5.2
+ * @param <K> the type of the key used for caching
+ * @param <V> the type of the cached values
+ */
+public class ConcurrentLruCache<K, V> {
+
+	/** The number of entries sampled for each eviction. */
+	private static final int SAMPLE_SIZE = 8;
+
+	/** The maximum number of segments. */
+	private static final int MAX_SEGMENTS = 16;
+
+	/** The minimum size limit of each segment, for sampling to remain effective. */
+	private static final int MIN_SEGMENT_SIZE = 32;
+
+
+	private final int sizeLimit;
+
+	private final Function<K, V> generator;
+
+	private final ConcurrentHashMap<K, Node<K, V>> cache;
+
+	private final Segment<K, V>[] segments;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+
+	/**
+	 * Create a new cache instance with the given limit and generator function.
+	 * @param sizeLimit the maximum number of entries in the cache
+	 * (0 indicates no caching, always generating a new value)
+	 * @param generator a function to generate a new value for a given key
+	 */
+	@SuppressWarnings("unchecked")
+	public ConcurrentLruCache(int sizeLimit, Function<K, V> generator) {
+		Assert.isTrue(sizeLimit >= 0, "Cache size limit must not be negative");
+		Assert.notNull(generator, "Generator function must not be null");
+		this.sizeLimit = sizeLimit;
+		this.generator = generator;
+		this.cache = new ConcurrentHashMap<>(Math.min(sizeLimit, 256));
+		int segmentCount = 1;
+		while (segmentCount < MAX_SEGMENTS && segmentCount * 2L * MIN_SEGMENT_SIZE <= sizeLimit) {
+			segmentCount *= 2;
+		}
+		this.segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			int segmentLimit = sizeLimit / segmentCount + (i < sizeLimit % segmentCount ? 1 : 0);
+			this.segments[i] = new Segment<>(segmentLimit);
+		}
+	}
+
+
+	/**
+	 * Retrieve an entry from the cache, potentially triggering generation
+	 * of the value.
+	 * <p>The generator function runs at most once per key for as long as the
+	 * entry stays in the cache: concurrent misses for the same key wait for
+	 * the value generated by the first of them.
+	 * @param key the key to retrieve the entry for
+	 * @return the cached or newly generated value
+	 */
+	public V get(K key) {
+		Node<K, V> node = this.cache.get(key);
+		if (node != null) {
+			this.hitCount.increment();
+			// Accessed after the most recently added entry of its segment
+			node.recordAccess(node.segment.clock + 1);
+			return node.value;
+		}
+		if (this.sizeLimit == 0) {
+			this.missCount.increment();
+			return this.generator.apply(key);
+		}
+		Segment<K, V> segment = segmentFor(key);
+		segment.lock.lock();
+		try {
+			Node<K, V> existing = this.cache.get(key);
+			if (existing != null) {
+				// Generated by another thread while waiting for the lock
+				this.hitCount.increment();
+				existing.recordAccess(segment.clock + 1);
+				return existing.value;
+			}
+			this.missCount.increment();
+			V value = this.generator.apply(key);
+			// The generator may have added entries to this segment itself
+			existing = this.cache.get(key);
+			if (existing != null) {
+				return existing.value;
+			}
+			put(segment, key, value);
+			return value;
+		}
+		finally {
+			segment.lock.unlock();
+		}
+	}
+
+	private void put(Segment<K, V> segment, K key, V value) {
+		long clock = segment.clock + 1;
+		segment.clock = clock;
+		Node<K, V> node = new Node<>(key, value, segment, clock);
+		if (segment.nodeCount == segment.sizeLimit) {
+			Node<K, V> victim = segment.sampleLeastRecentlyUsed();
+			this.cache.remove(victim.key);
+			node.index = victim.index;
+			this.evictionCount.increment();
+		}
+		else {
+			segment.ensureCapacity();
+			node.index = segment.nodeCount++;
+		}
+		segment.nodes[node.index] = node;
+		this.cache.put(key, node);
+	}
+
+	private Segment<K, V> segmentFor(Object key) {
+		int hash = key.hashCode();
+		hash ^= (hash >>> 16);
+		return this.segments[hash & (this.segments.length - 1)];
+	}
+
+	/**
+	 * Determine whether the given key is present in this cache.
+	 * @param key the key to check for
+	 * @return {@code true} if the key is present, {@code false} if there was no matching key
+	 */
+	public boolean contains(K key) {
+		return this.cache.containsKey(key);
+	}
+
+	/**
+	 * Immediately remove the given key and any associated value.
+	 * @param key the key to evict the entry for
+	 * @return {@code true} if the key was present before,
+	 * {@code false} if there was no matching key
+	 */
+	public boolean remove(K key) {
+		Segment<K, V> segment = segmentFor(key);
+		segment.lock.lock();
+		try {
+			Node<K, V> node = this.cache.remove(key);
+			if (node == null) {
+				return false;
+			}
+			Node<K, V> last = segment.nodes[--segment.nodeCount];
+			last.index = node.index;
+			segment.nodes[node.index] = last;
+			segment.nodes[segment.nodeCount] = null;
+			return true;
+		}
+		finally {
+			segment.lock.unlock();
+		}
+	}
+
+	/**
+	 * Immediately remove all entries from this cache.
+	 * <p>The statistics are not reset.
+	 */
+	public void clear() {
+		for (Segment<K, V> segment : this.segments) {
+			segment.lock.lock();
+			try {
+				for (int i = 0; i < segment.nodeCount; i++) {
+					this.cache.remove(segment.nodes[i].key);
+					segment.nodes[i] = null;
+				}
+				segment.nodeCount = 0;
+			}
+			finally {
+				segment.lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Perform the given action for each value currently in the cache,
+	 * without recording an access for its entry.
+	 * @param action the action to perform for each value
+	 */
+	public void forEachValue(Consumer<? super V> action) {
+		Assert.notNull(action, "Action must not be null");
+		for (Node<K, V> node : this.cache.values()) {
+			action.accept(node.value);
+		}
+	}
+
+	/**
+	 * Return the current size of the cache.
+	 * @see #sizeLimit()
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Return the maximum number of entries in the cache
+	 * (0 indicates no caching, always generating a new value).
+	 * @see #size()
+	 */
+	public int sizeLimit() {
+		return this.sizeLimit;
+	}
+
+	/**
+	 * Return the number of lookups that were served from the cache.
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of lookups that required the generation of a value.
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of entries that were evicted to make room for new entries.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "ConcurrentLruCache: size = " + size() + ", size limit = " + this.sizeLimit +
+				", hits = " + getHitCount() + ", misses = " + getMissCount() +
+				", evictions = " + getEvictionCount();
+	}
+
+
+	/**
+	 * A share of the cache entries, with its own lock and logical clock.
+	 */
+	private static final class Segment<K, V> {
+
+		final ReentrantLock lock = new ReentrantLock();
+
+		final int sizeLimit;
+
+		/** The entries of this segment, indexed for sampling. Guarded by {@link #lock}. */
+		Node<K, V>[] nodes;
+
+		int nodeCount;
+
+		/** Logical clock, advanced on each cache miss. Written under {@link #lock}. */
+		volatile long clock;
+
+		@SuppressWarnings("unchecked")
+		Segment(int sizeLimit) {
+			this.sizeLimit = sizeLimit;
+			this.nodes = new Node[Math.min(sizeLimit, 16)];
+		}
+
+		void ensureCapacity() {
+			if (this.nodeCount == this.nodes.length) {
+				int newLength = (int) Math.min(this.sizeLimit, Math.max(this.nodes.length * 2L, 1));
+				this.nodes = Arrays.copyOf(this.nodes, newLength);
+			}
+		}
+
+		Node<K, V> sampleLeastRecentlyUsed() {
+			Node<K, V> victim = null;
+			if (this.nodeCount <= SAMPLE_SIZE) {
+				for (int i = 0; i < this.nodeCount; i++) {
+					victim = leastRecentlyUsed(victim, this.nodes[i]);
+				}
+			}
+			else {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int i = 0; i < SAMPLE_SIZE; i++) {
+					victim = leastRecentlyUsed(victim, this.nodes[random.nextInt(this.nodeCount)]);
+				}
+			}
+			Assert.state(victim != null, "No entry to evict");
+			return victim;
+		}
+
+		private static <K, V> Node<K, V> leastRecentlyUsed(@Nullable Node<K, V> current, Node<K, V> candidate) {
+			return (current == null || candidate.lastAccess < current.lastAccess ? candidate : current);
+		}
+	}
+
+
+	private static final class Node<K, V> {
+
+		final K key;
+
+		final V value;
+
+		final Segment<K, V> segment;
+
+		volatile long lastAccess;
+
+		/** The index in the sampling array of the segment, guarded by the segment lock. */
+		int index;
+
+		Node(K key, V value, Segment<K, V> segment, long lastAccess) {
+			this.key = key;
+			this.value = value;
+			this.segment = segment;
+			this.lastAccess = lastAccess;
+		}
+
+		void recordAccess(long clock) {
+			// Avoid writing to a shared cache line for hot entries
+			if (this.lastAccess != clock) {
+				this.lastAccess = clock;
+			}
+		}
+	}
+
+}
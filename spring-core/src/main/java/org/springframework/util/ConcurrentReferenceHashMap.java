@@ -86,7 +86,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	private final float loadFactor;
 
 	/**
-	 * The reference type: SOFT or WEAK.
+	 * The reference type: SOFT, WEAK or STRONG.
 	 */
 	private final ReferenceType referenceType;
 
@@ -140,7 +140,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	/**
 	 * Create a new {@code ConcurrentReferenceHashMap} instance.
 	 * @param initialCapacity the initial capacity of the map
-	 * @param referenceType the reference type used for entries (soft or weak)
+	 * @param referenceType the reference type used for entries (soft, weak or strong)
 	 */
 	public ConcurrentReferenceHashMap(int initialCapacity, ReferenceType referenceType) {
 		this(initialCapacity, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL, referenceType);
@@ -165,7 +165,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	 * table exceeds this value, resize will be attempted.
 	 * @param concurrencyLevel the expected number of threads that will concurrently
 	 * write to the map
-	 * @param referenceType the reference type used for entries (soft or weak)
+	 * @param referenceType the reference type used for entries (soft, weak or strong)
 	 */
 	@SuppressWarnings("unchecked")
 	public ConcurrentReferenceHashMap(
@@ -450,7 +450,13 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		SOFT,
 
 		/** Use {@link WeakReference WeakReferences}. */
-		WEAK
+		WEAK,
+
+		/**
+		 * Use strong references, only releasing entries when removed explicitly.
+		 * @since 5.2
+		 */
+		STRONG
 	}
 
 
@@ -998,6 +1004,9 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 			if (ConcurrentReferenceHashMap.this.referenceType == ReferenceType.WEAK) {
 				return new WeakEntryReference<>(entry, hash, next, this.queue);
 			}
+			if (ConcurrentReferenceHashMap.this.referenceType == ReferenceType.STRONG) {
+				return new StrongEntryReference<>(entry, hash, next, this.queue);
+			}
 			return new SoftEntryReference<>(entry, hash, next, this.queue);
 		}
 
@@ -1089,4 +1098,54 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		}
 	}
 
+
+	/**
+	 * Internal {@link Reference} implementation for strong references. The entry is
+	 * held strongly, with {@link WeakReference} only being used as a means to enqueue
+	 * the reference for purging once released.
+	 */
+	private static final class StrongEntryReference<K, V> extends WeakReference<Entry<K, V>> implements Reference<K, V> {
+
+		@Nullable
+		private volatile Entry<K, V> entry;
+
+		private final int hash;
+
+		@Nullable
+		private final Reference<K, V> nextReference;
+
+		public StrongEntryReference(Entry<K, V> entry, int hash, @Nullable Reference<K, V> next,
+				ReferenceQueue<Entry<K, V>> queue) {
+
+			super(entry, queue);
+			this.entry = entry;
+			this.hash = hash;
+			this.nextReference = next;
+		}
+
+		@Override
+		@Nullable
+		public Entry<K, V> get() {
+			return this.entry;
+		}
+
+		@Override
+		public int getHash() {
+			return this.hash;
+		}
+
+		@Override
+		@Nullable
+		public Reference<K, V> getNext() {
+			return this.nextReference;
+		}
+
+		@Override
+		public void release() {
+			this.entry = null;
+			enqueue();
+			clear();
+		}
+	}
+
 }
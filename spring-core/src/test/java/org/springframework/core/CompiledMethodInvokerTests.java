@@ -0,0 +1,216 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link CompiledMethodInvoker}.
+ */
+public class CompiledMethodInvokerTests {
+
+	private final Handler handler = new Handler();
+
+
+	@Test
+	public void invokeWithReferenceArguments() throws Exception {
+		CompiledMethodInvoker invoker = getInvoker("concat", String.class, List.class);
+		assertTrue(invoker.isCompiled());
+		assertEquals("a[b, c]", invoker.invoke(this.handler, "a", Arrays.asList("b", "c")));
+		assertEquals("nullnull", invoker.invoke(this.handler, null, null));
+	}
+
+	@Test
+	public void invokeWithPrimitiveArguments() throws Exception {
+		CompiledMethodInvoker invoker = getInvoker("add", int.class, long.class, double.class);
+		assertTrue(invoker.isCompiled());
+		assertEquals(6.5d, invoker.invoke(this.handler, 1, 2L, 3.5d));
+		// Widening conversion through reflection
+		assertEquals(6.5d, invoker.invoke(this.handler, 1, 2, 3.5d));
+	}
+
+	@Test
+	public void invokeWithArrayArgument() throws Exception {
+		CompiledMethodInvoker invoker = getInvoker("reverse", int[].class);
+		assertTrue(invoker.isCompiled());
+		assertArrayEquals(new int[] {3, 2, 1}, (int[]) invoker.invoke(this.handler, new int[] {1, 2, 3}));
+	}
+
+	@Test
+	public void invokeVoidMethod() throws Exception {
+		CompiledMethodInvoker invoker = getInvoker("record", String.class);
+		assertTrue(invoker.isCompiled());
+		assertNull(invoker.invoke(this.handler, "value"));
+		assertEquals("value", this.handler.recorded);
+	}
+
+	@Test
+	public void invokeStaticMethod() throws Exception {
+		CompiledMethodInvoker invoker = getInvoker("negate", boolean.class);
+		assertTrue(invoker.isCompiled());
+		assertEquals(Boolean.FALSE, invoker.invoke(null, true));
+	}
+
+	@Test
+	public void invokeInterfaceMethod() throws Exception {
+		CompiledMethodInvoker invoker = CompiledMethodInvoker.forMethod(Greeter.class.getMethod("greet", String.class));
+		assertTrue(invoker.isCompiled());
+		assertEquals("Hello Spring", invoker.invoke(this.handler, "Spring"));
+	}
+
+	@Test
+	public void invokeNonPublicMethod() throws Exception {
+		Method method = Handler.class.getDeclaredMethod("secret");
+		CompiledMethodInvoker invoker = CompiledMethodInvoker.forMethod(method);
+		assertFalse(invoker.isCompiled());
+		assertEquals("secret", invoker.invoke(this.handler));
+	}
+
+	@Test
+	public void exceptionWrapped() throws Exception {
+		CompiledMethodInvoker invoker = getInvoker("fail");
+		try {
+			invoker.invoke(this.handler);
+			fail("Expected InvocationTargetException");
+		}
+		catch (InvocationTargetException ex) {
+			assertTrue(ex.getTargetException() instanceof IOException);
+		}
+	}
+
+	@Test
+	public void uncheckedExceptionWrapped() throws Exception {
+		CompiledMethodInvoker invoker = getInvoker("failUnchecked");
+		assertTrue(invoker.isCompiled());
+		try {
+			invoker.invoke(this.handler);
+			fail("Expected InvocationTargetException");
+		}
+		catch (InvocationTargetException ex) {
+			assertTrue(ex.getTargetException() instanceof IllegalStateException);
+		}
+	}
+
+	@Test
+	public void accessorsDefinedInSeparateClassLoaders() throws Exception {
+		CompiledMethodInvoker concat = getInvoker("concat", String.class, List.class);
+		CompiledMethodInvoker record = getInvoker("record", String.class);
+		ClassLoader concatClassLoader = concat.getAccessorClass().getClassLoader();
+		assertNotSame(concatClassLoader, record.getAccessorClass().getClassLoader());
+		assertSame(Handler.class.getClassLoader(), concatClassLoader.getParent());
+	}
+
+	@Test
+	public void illegalArguments() throws Exception {
+		CompiledMethodInvoker invoker = getInvoker("add", int.class, long.class, double.class);
+		assertIllegalArgument(invoker, this.handler, 1, 2L);
+		assertIllegalArgument(invoker, this.handler, 1, null, 3d);
+		assertIllegalArgument(invoker, this.handler, "1", 2L, 3d);
+		assertIllegalArgument(invoker, new Object(), 1, 2L, 3d);
+	}
+
+	@Test
+	public void invokerCached() throws Exception {
+		assertSame(getInvoker("fail"), getInvoker("fail"));
+	}
+
+
+	private static CompiledMethodInvoker getInvoker(String name, Class<?>... parameterTypes) throws Exception {
+		return CompiledMethodInvoker.forMethod(Handler.class.getMethod(name, parameterTypes));
+	}
+
+	private static void assertIllegalArgument(CompiledMethodInvoker invoker, Object target, Object... args)
+			throws Exception {
+
+		try {
+			invoker.invoke(target, args);
+			fail("Expected IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+
+
+	public interface Greeter {
+
+		String greet(String name);
+	}
+
+
+	public static class Handler implements Greeter {
+
+		String recorded;
+
+		public String concat(String value, List<String> values) {
+			return value + values;
+		}
+
+		public double add(int a, long b, double c) {
+			return a + b + c;
+		}
+
+		public int[] reverse(int[] values) {
+			int[] result = new int[values.length];
+			for (int i = 0; i < values.length; i++) {
+				result[i] = values[values.length - i - 1];
+			}
+			return result;
+		}
+
+		public void record(String value) {
+			this.recorded = value;
+		}
+
+		public static boolean negate(boolean value) {
+			return !value;
+		}
+
+		@Override
+		public String greet(String name) {
+			return "Hello " + name;
+		}
+
+		public void fail() throws IOException {
+			throw new IOException("Failure");
+		}
+
+		public void failUnchecked() {
+			throw new IllegalStateException("Failure");
+		}
+
+		String secret() {
+			return "secret";
+		}
+	}
+
+}
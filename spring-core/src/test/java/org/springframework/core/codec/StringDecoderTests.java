@@ -29,6 +29,7 @@ import reactor.test.StepVerifier;
 
 import org.springframework.core.ResolvableType;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.util.MimeType;
 import org.springframework.util.MimeTypeUtils;
 
@@ -155,6 +156,46 @@ public class StringDecoderTests extends AbstractDecoderTestCase<StringDecoder> {
 				.verify());
 	}
 
+	@Test
+	public void decodeDelimiterAcrossBuffers() {
+		Flux<DataBuffer> input = Flux.just(
+				stringBuffer("abc\r"),
+				stringBuffer("\ndef\r"),
+				stringBuffer("\n"));
+
+		testDecode(input, String.class, step -> step
+				.expectNext("abc")
+				.expectNext("def")
+				.expectComplete()
+				.verify());
+	}
+
+	@Test
+	public void decodeLongLines() {
+		this.decoder.setMaxInMemorySize(8);
+
+		Flux<DataBuffer> input = Flux.just(
+				stringBuffer("abcdef\nghi"),
+				stringBuffer("jkl\nmnopq"),
+				stringBuffer("rstuvw\n"));
+
+		testDecode(input, String.class, step -> step
+				.expectNext("abcdef")
+				.expectNext("ghijkl")
+				.verifyError(DataBufferLimitException.class));
+	}
+
+	@Test
+	public void decodeLongLinesUnlimitedByDefault() {
+		String line = String.join("", Collections.nCopies(300 * 1024, "a"));
+		Flux<DataBuffer> input = Flux.just(stringBuffer(line), stringBuffer(line + "\n"));
+
+		testDecode(input, String.class, step -> step
+				.expectNext(line + line)
+				.expectComplete()
+				.verify());
+	}
+
 	@Test
 	public void decodeEmptyFlux() {
 		Flux<DataBuffer> input = Flux.empty();
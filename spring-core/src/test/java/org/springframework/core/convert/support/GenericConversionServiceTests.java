@@ -648,6 +648,114 @@ public class GenericConversionServiceTests {
 	}
 
 
+	@Test
+	public void resolveConverter() {
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		Converter<String, Integer> converter = conversionService.resolveConverter(String.class, Integer.class);
+		assertEquals(Integer.valueOf(3), converter.convert("3"));
+		assertEquals(Integer.valueOf(16), converter.convert("0x10"));
+		assertNull(converter.convert(""));
+	}
+
+	@Test
+	public void resolveConverterWithConversionFailure() {
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		Converter<String, Integer> converter = conversionService.resolveConverter(String.class, Integer.class);
+		try {
+			converter.convert("abc");
+			fail("Should have thrown ConversionFailedException");
+		}
+		catch (ConversionFailedException ex) {
+			assertEquals(TypeDescriptor.valueOf(Integer.class), ex.getTargetType());
+			assertEquals("abc", ex.getValue());
+		}
+	}
+
+	@Test
+	public void resolveConverterToPrimitiveWithNullResult() {
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		Converter<String, Integer> converter = conversionService.resolveConverter(String.class, int.class);
+		assertEquals(Integer.valueOf(3), converter.convert("3"));
+		try {
+			converter.convert("");
+			fail("Should have thrown ConversionFailedException");
+		}
+		catch (ConversionFailedException ex) {
+			assertTrue(ex.getCause() instanceof IllegalArgumentException);
+		}
+	}
+
+	@Test
+	public void resolveConverterForGenericConverter() {
+		conversionService.addConverter(new ObjectToArrayConverter(conversionService));
+		Converter<String, String[]> converter = conversionService.resolveConverter(String.class, String[].class);
+		assertArrayEquals(new String[] {"abc"}, converter.convert("abc"));
+	}
+
+	@Test
+	public void resolveConverterForAssignableTypes() {
+		Converter<Integer, Number> converter = conversionService.resolveConverter(Integer.class, Number.class);
+		Integer value = 3;
+		assertSame(value, converter.convert(value));
+	}
+
+	@Test(expected = ConverterNotFoundException.class)
+	public void resolveConverterNotFound() {
+		conversionService.resolveConverter(String.class, Integer.class);
+	}
+
+	@Test
+	public void resolveConverterForEnum() {
+		conversionService.addConverterFactory(new StringToEnumConverterFactory());
+		Converter<String, MyEnum> converter = conversionService.resolveConverter(String.class, MyEnum.class);
+		assertEquals(MyEnum.B, converter.convert(" B "));
+		assertNull(converter.convert(""));
+	}
+
+	@Test
+	public void resolveStringToPrimitiveConverters() {
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		conversionService.addConverter(new StringToBooleanConverter());
+		assertEquals(42, conversionService.resolveStringToIntConverter().applyAsInt(" 42 "));
+		assertEquals(-42, conversionService.resolveStringToIntConverter().applyAsInt("-42"));
+		assertEquals(255, conversionService.resolveStringToIntConverter().applyAsInt("0xFF"));
+		assertEquals(Long.MAX_VALUE, conversionService.resolveStringToLongConverter().applyAsLong(String.valueOf(Long.MAX_VALUE)));
+		assertEquals(-16L, conversionService.resolveStringToLongConverter().applyAsLong("-#10"));
+		assertTrue(conversionService.resolveStringToBooleanConverter().test("true"));
+		assertTrue(conversionService.resolveStringToBooleanConverter().test(" Yes"));
+		assertFalse(conversionService.resolveStringToBooleanConverter().test("off"));
+	}
+
+	@Test
+	public void resolveStringToPrimitiveConvertersWithConversionFailure() {
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		conversionService.addConverter(new StringToBooleanConverter());
+		for (String value : new String[] {"", "+", "abc", "2147483648"}) {
+			try {
+				conversionService.resolveStringToIntConverter().applyAsInt(value);
+				fail("Should have thrown ConversionFailedException for '" + value + "'");
+			}
+			catch (ConversionFailedException ex) {
+				assertEquals(TypeDescriptor.valueOf(int.class), ex.getTargetType());
+			}
+		}
+		try {
+			conversionService.resolveStringToBooleanConverter().test("");
+			fail("Should have thrown ConversionFailedException");
+		}
+		catch (ConversionFailedException ex) {
+			assertEquals(TypeDescriptor.valueOf(boolean.class), ex.getTargetType());
+		}
+	}
+
+	@Test
+	public void resolveStringToIntConverterWithCustomConverter() {
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		conversionService.addConverter(String.class, Integer.class, source -> source.length());
+		assertEquals(3, conversionService.resolveStringToIntConverter().applyAsInt("abc"));
+	}
+
+
 	@ExampleAnnotation(active = true)
 	public String annotatedString;
 
@@ -60,11 +60,17 @@ public abstract class AbstractDataBufferAllocatingTestCase {
 				{new NettyDataBufferFactory(new PooledByteBufAllocator(true, 1, 1, 8192, 11, 0, 0, 0, true))},
 				{new NettyDataBufferFactory(new PooledByteBufAllocator(false, 1, 1, 8192, 11, 0, 0, 0, true))},
 				{new DefaultDataBufferFactory(true)},
-				{new DefaultDataBufferFactory(false)}
-
+				{new DefaultDataBufferFactory(false)},
+				{leakDetecting(new PooledDefaultDataBufferFactory(true))},
+				{leakDetecting(new PooledDefaultDataBufferFactory(false))}
 		};
 	}
 
+	private static PooledDefaultDataBufferFactory leakDetecting(PooledDefaultDataBufferFactory bufferFactory) {
+		bufferFactory.setLeakDetection(true);
+		return bufferFactory;
+	}
+
 	@Rule
 	public final Verifier leakDetector = new LeakDetector();
 
@@ -143,6 +149,10 @@ public abstract class AbstractDataBufferAllocatingTestCase {
 				}
 			}
 		}
+		else if (this.bufferFactory instanceof PooledDefaultDataBufferFactory) {
+			int total = ((PooledDefaultDataBufferFactory) this.bufferFactory).getUnreleasedBufferCount();
+			assertEquals("DataBuffer Leak: " + total + " unreleased allocations", 0, total);
+		}
 	}
 
 	private static long getAllocations(List<PoolArenaMetric> metrics) {
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.util.StreamUtils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link CompositeDataBuffer}.
+ */
+public class CompositeDataBufferTests {
+
+	private final PooledDefaultDataBufferFactory bufferFactory = new PooledDefaultDataBufferFactory();
+
+
+	@Before
+	public void enableLeakDetection() {
+		this.bufferFactory.setLeakDetection(true);
+	}
+
+	@After
+	public void checkForLeaks() {
+		this.bufferFactory.checkForLeaks();
+	}
+
+
+	@Test
+	public void readAcrossComponents() {
+		CompositeDataBuffer composite = composite("ab", "cde", "f");
+		assertEquals(3, composite.getComponentCount());
+		assertEquals(6, composite.readableByteCount());
+		assertEquals('c', composite.getByte(2));
+
+		byte[] result = new byte[4];
+		composite.read();
+		composite.read(result);
+		assertArrayEquals("bcde".getBytes(StandardCharsets.UTF_8), result);
+		assertEquals('f', composite.read());
+		assertEquals(0, composite.readableByteCount());
+		assertTrue(composite.release());
+	}
+
+	@Test
+	public void indexOf() {
+		CompositeDataBuffer composite = composite("ab", "c,d", ",e");
+		assertEquals(3, composite.indexOf(b -> b == ',', 0));
+		assertEquals(5, composite.indexOf(b -> b == ',', 4));
+		assertEquals(-1, composite.indexOf(b -> b == 'x', 0));
+		assertEquals(5, composite.lastIndexOf(b -> b == ',', 6));
+		assertEquals(3, composite.lastIndexOf(b -> b == ',', 4));
+		composite.release();
+	}
+
+	@Test
+	public void writeAppendsComponent() {
+		CompositeDataBuffer composite = composite("ab");
+		composite.write("cd".getBytes(StandardCharsets.UTF_8));
+		assertEquals(2, composite.getComponentCount());
+		assertEquals("abcd", toString(composite));
+
+		composite.write((byte) 'e');
+		assertEquals(2, composite.getComponentCount());
+		assertEquals("abcde", toString(composite));
+		composite.release();
+	}
+
+	@Test
+	public void writePositionTruncates() {
+		CompositeDataBuffer composite = composite("ab", "cd", "ef");
+		composite.writePosition(3);
+		assertEquals(2, composite.getComponentCount());
+		assertEquals("abc", toString(composite));
+		composite.release();
+	}
+
+	@Test
+	public void sliceWithinComponent() {
+		CompositeDataBuffer composite = composite("ab", "cde");
+		DataBuffer slice = composite.slice(3, 2);
+		assertEquals("de", toString(slice));
+		composite.release();
+	}
+
+	@Test
+	public void sliceWithinComponentSharesReferenceCount() {
+		CompositeDataBuffer composite = composite("ab", "cde");
+		DataBuffer slice = composite.slice(3, 2);
+
+		DataBufferUtils.retain(slice);
+		assertFalse(composite.release());
+		assertTrue(composite.isAllocated());
+		assertEquals("de", toString(slice));
+		assertTrue(DataBufferUtils.release(slice));
+		assertFalse(composite.isAllocated());
+	}
+
+	@Test
+	public void sliceAcrossComponentsSharesReferenceCount() {
+		CompositeDataBuffer composite = composite("ab", "cd", "ef");
+		DataBuffer slice = composite.slice(1, 4);
+		assertEquals("bcde", toString(slice));
+
+		DataBufferUtils.retain(slice);
+		assertFalse(composite.release());
+		assertTrue(composite.isAllocated());
+		assertEquals('b', slice.getByte(0));
+		assertTrue(DataBufferUtils.release(slice));
+		assertFalse(composite.isAllocated());
+	}
+
+	@Test
+	public void asByteBuffers() {
+		CompositeDataBuffer composite = composite("ab", "cd");
+		composite.read();
+		ByteBuffer[] byteBuffers = composite.asByteBuffers();
+		assertEquals(2, byteBuffers.length);
+		assertEquals(1, byteBuffers[0].remaining());
+		assertEquals(2, byteBuffers[1].remaining());
+		assertEquals(ByteBuffer.wrap("bcd".getBytes(StandardCharsets.UTF_8)), composite.asByteBuffer());
+		composite.release();
+	}
+
+	@Test
+	public void writeTo() throws Exception {
+		CompositeDataBuffer composite = composite("ab", "cd", "ef");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertEquals(6, composite.writeTo(Channels.newChannel(out)));
+		assertEquals("abcdef", out.toString("UTF-8"));
+		assertEquals(6, composite.readableByteCount());
+		composite.release();
+	}
+
+	@Test
+	public void asInputStream() throws Exception {
+		CompositeDataBuffer composite = composite("ab", "cd", "ef");
+		InputStream inputStream = composite.asInputStream(true);
+		assertEquals('a', inputStream.read());
+		assertEquals(2, inputStream.skip(2));
+		assertEquals("def", StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8));
+		inputStream.close();
+		assertFalse(composite.isAllocated());
+	}
+
+
+	private CompositeDataBuffer composite(String... values) {
+		CompositeDataBuffer composite = new CompositeDataBuffer(this.bufferFactory);
+		Arrays.stream(values).forEach(value -> {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			composite.addComponent(this.bufferFactory.allocateBuffer(bytes.length).write(bytes));
+		});
+		return composite;
+	}
+
+	private static String toString(DataBuffer dataBuffer) {
+		return StandardCharsets.UTF_8.decode(dataBuffer.asByteBuffer()).toString();
+	}
+
+}
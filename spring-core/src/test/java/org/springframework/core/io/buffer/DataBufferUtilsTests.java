@@ -48,6 +48,7 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.buffer.support.DataBufferTestUtils;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -726,6 +727,25 @@ public class DataBufferUtilsTests extends AbstractDataBufferAllocatingTestCase {
 				.verifyComplete();
 	}
 
+	@Test
+	public void compose() {
+		DataBuffer foo = stringBuffer("foo");
+		DataBuffer bar = stringBuffer("bar");
+		DataBuffer baz = stringBuffer("baz");
+		Flux<DataBuffer> flux = Flux.just(foo, bar, baz);
+		Mono<DataBuffer> result = DataBufferUtils.compose(flux);
+
+		StepVerifier.create(result)
+				.consumeNextWith(dataBuffer -> {
+					assertEquals("foobarbaz",
+							DataBufferTestUtils.dumpString(dataBuffer, StandardCharsets.UTF_8));
+					assertEquals(this.bufferFactory.getClass() == DefaultDataBufferFactory.class,
+							dataBuffer instanceof CompositeDataBuffer);
+					release(dataBuffer);
+				})
+				.verifyComplete();
+	}
+
 	@Test
 	public void joinErrors() {
 		DataBuffer foo = stringBuffer("foo");
@@ -786,6 +806,25 @@ public class DataBufferUtilsTests extends AbstractDataBufferAllocatingTestCase {
 		release(foo);
 	}
 
+	@Test
+	public void matcherMultipleDelimiters() {
+		DataBuffer foo = stringBuffer("foo bar\r");
+		DataBuffer bar = stringBuffer("\nbaz\nqux");
+
+		byte[][] delims = {"\r\n".getBytes(StandardCharsets.UTF_8), "\n".getBytes(StandardCharsets.UTF_8)};
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(delims);
+		assertEquals(-1, matcher.match(foo));
+		assertEquals(0, matcher.match(bar));
+		assertArrayEquals(delims[0], matcher.delimiter());
+		bar.readPosition(1);
+		assertEquals(4, matcher.match(bar));
+		assertArrayEquals(delims[1], matcher.delimiter());
+		bar.readPosition(5);
+		assertEquals(-1, matcher.match(bar));
+
+		release(foo, bar);
+	}
+
 	@Test
 	public void split() {
 		Mono<DataBuffer> source =
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link PooledDefaultDataBufferFactory}.
+ */
+public class PooledDefaultDataBufferFactoryTests {
+
+	private final PooledDefaultDataBufferFactory bufferFactory = new PooledDefaultDataBufferFactory();
+
+
+	@Test
+	public void allocateWithRequestedCapacity() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		assertEquals(100, buffer.capacity());
+		assertTrue(buffer.isAllocated());
+		assertSame(this.bufferFactory, buffer.factory());
+		assertEquals(PooledDefaultDataBufferFactory.DEFAULT_INITIAL_CAPACITY,
+				this.bufferFactory.allocateBuffer().capacity());
+		assertTrue(buffer.release());
+		assertFalse(buffer.isAllocated());
+	}
+
+	@Test
+	public void memoryReusedAfterRelease() {
+		PooledDefaultDataBuffer buffer1 = this.bufferFactory.allocateBuffer(100);
+		buffer1.write("abc".getBytes(StandardCharsets.UTF_8));
+		byte[] memory = buffer1.getNativeBuffer().array();
+		buffer1.release();
+
+		PooledDefaultDataBuffer buffer2 = this.bufferFactory.allocateBuffer(200);
+		assertSame(memory, buffer2.getNativeBuffer().array());
+		assertEquals(0, buffer2.readableByteCount());
+		assertEquals(200, buffer2.capacity());
+
+		PooledDefaultDataBuffer buffer3 = this.bufferFactory.allocateBuffer(200);
+		assertNotSame(memory, buffer3.getNativeBuffer().array());
+		buffer2.release();
+		buffer3.release();
+	}
+
+	@Test
+	public void largeBuffersNotPooled() {
+		int capacity = PooledDefaultDataBufferFactory.DEFAULT_MAX_POOLED_CAPACITY + 1;
+		PooledDefaultDataBuffer buffer1 = this.bufferFactory.allocateBuffer(capacity);
+		byte[] memory = buffer1.getNativeBuffer().array();
+		assertEquals(capacity, memory.length);
+		buffer1.release();
+
+		PooledDefaultDataBuffer buffer2 = this.bufferFactory.allocateBuffer(capacity);
+		assertNotSame(memory, buffer2.getNativeBuffer().array());
+		buffer2.release();
+	}
+
+	@Test
+	public void retainAndRelease() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(1);
+		buffer.write((byte) 'a');
+
+		buffer.retain();
+		assertFalse(buffer.release());
+		assertTrue(buffer.isAllocated());
+		assertTrue(buffer.release());
+		assertFalse(buffer.isAllocated());
+		assertEquals(0, buffer.capacity());
+		assertEquals(0, buffer.readableByteCount());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void tooManyReleases() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(1);
+		buffer.release();
+		buffer.release();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void writeAfterRelease() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(1);
+		buffer.release();
+		buffer.write((byte) 'a');
+	}
+
+	@Test
+	public void expand() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(1);
+		buffer.write((byte) 'a');
+		assertEquals(1, buffer.capacity());
+		byte[] bytes = new byte[1000];
+		Arrays.fill(bytes, (byte) 'b');
+		buffer.write(bytes);
+		assertTrue(buffer.capacity() > 1000);
+		assertEquals('a', buffer.read());
+		assertEquals('b', buffer.getByte(1000));
+
+		buffer.capacity(2);
+		assertEquals(2, buffer.capacity());
+		assertEquals('b', buffer.read());
+		assertTrue(buffer.release());
+	}
+
+	@Test
+	public void sliceSharesReferenceCount() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(4);
+		buffer.write(new byte[] {'a', 'b', 'c', 'd'});
+
+		DataBuffer slice = buffer.slice(1, 2);
+		assertTrue(slice instanceof PooledDataBuffer);
+		DataBufferUtils.retain(slice);
+		assertFalse(buffer.release());
+		assertTrue(((PooledDataBuffer) slice).isAllocated());
+
+		byte[] result = new byte[2];
+		slice.read(result);
+		assertArrayEquals(new byte[] {'b', 'c'}, result);
+
+		DataBuffer nestedSlice = slice.slice(1, 1);
+		assertEquals('c', nestedSlice.read());
+		assertTrue(DataBufferUtils.release(nestedSlice));
+		assertFalse(buffer.isAllocated());
+	}
+
+	@Test
+	public void sliceAfterRelease() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(4);
+		buffer.write(new byte[] {'a', 'b', 'c', 'd'});
+		DataBuffer slice = buffer.slice(1, 2);
+		DataBuffer nestedSlice = slice.slice(0, 1);
+		assertTrue(buffer.release());
+
+		PooledDefaultDataBuffer other = this.bufferFactory.allocateBuffer(4);
+		other.write(new byte[] {'w', 'x', 'y', 'z'});
+		assertEquals(0, slice.capacity());
+		assertEquals(0, slice.readableByteCount());
+		assertEquals(0, nestedSlice.capacity());
+		try {
+			slice.getByte(0);
+			fail("Should have thrown IndexOutOfBoundsException");
+		}
+		catch (IndexOutOfBoundsException ex) {
+			// expected
+		}
+		try {
+			slice.write((byte) 'e');
+			fail("Should have thrown UnsupportedOperationException");
+		}
+		catch (UnsupportedOperationException ex) {
+			// expected
+		}
+		assertEquals('w', other.read());
+		other.release();
+	}
+
+	@Test
+	public void byteBufferViewAfterRelease() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(4);
+		buffer.write(new byte[] {'a', 'b', 'c', 'd'});
+		ByteBuffer view = buffer.asByteBuffer();
+		assertEquals(4, view.remaining());
+		assertTrue(buffer.release());
+		assertEquals(0, view.remaining());
+		assertEquals(0, view.limit());
+	}
+
+	@Test
+	public void matcherOnPooledBuffer() {
+		byte[][] delims = {"\r\n".getBytes(StandardCharsets.UTF_8), "\n".getBytes(StandardCharsets.UTF_8)};
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(delims);
+
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(64);
+		buffer.write("foo\r\nbar-baz-qux\nfoo-bar-baz\r\n".getBytes(StandardCharsets.UTF_8));
+		assertEquals(4, matcher.match(buffer));
+		buffer.readPosition(5);
+		assertEquals(16, matcher.match(buffer));
+		buffer.readPosition(17);
+		buffer.write("abcdefgh\n".getBytes(StandardCharsets.UTF_8));
+		assertEquals(29, matcher.match(buffer));
+		assertArrayEquals(delims[0], matcher.delimiter());
+		buffer.readPosition(30);
+		assertEquals(38, matcher.match(buffer));
+		assertArrayEquals(delims[1], matcher.delimiter());
+		buffer.readPosition(39);
+		assertEquals(-1, matcher.match(buffer));
+		byte[] memory = buffer.getNativeBuffer().array();
+		buffer.release();
+
+		PooledDefaultDataBuffer other = this.bufferFactory.allocateBuffer(64);
+		other.write("abcdefghijk\nlmn".getBytes(StandardCharsets.UTF_8));
+		assertEquals(11, matcher.match(other));
+		assertSame(memory, other.getNativeBuffer().array());
+		other.release();
+	}
+
+	@Test
+	public void memorySharedBySliceNotReusedOnExpand() {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(1);
+		buffer.write((byte) 'a');
+		byte[] memory = buffer.getNativeBuffer().array();
+		DataBuffer slice = buffer.slice(0, 1);
+		buffer.write(new byte[1000]);
+
+		PooledDefaultDataBuffer other = this.bufferFactory.allocateBuffer(1);
+		assertNotSame(memory, other.getNativeBuffer().array());
+		assertEquals('a', slice.getByte(0));
+		other.release();
+		buffer.release();
+	}
+
+	@Test
+	public void noMemoryRetained() {
+		this.bufferFactory.setMaxThreadCacheCapacity(0);
+		this.bufferFactory.setMaxArenaCapacity(0);
+		PooledDefaultDataBuffer buffer1 = this.bufferFactory.allocateBuffer(100);
+		byte[] memory = buffer1.getNativeBuffer().array();
+		buffer1.release();
+
+		PooledDefaultDataBuffer buffer2 = this.bufferFactory.allocateBuffer(100);
+		assertNotSame(memory, buffer2.getNativeBuffer().array());
+		buffer2.release();
+	}
+
+	@Test
+	public void trimIdleThreadCaches() throws Exception {
+		this.bufferFactory.setArenaCount(1);
+		this.bufferFactory.setThreadCacheIdleTimeout(0);
+		PooledDefaultDataBuffer buffer1 = this.bufferFactory.allocateBuffer(100);
+		byte[] memory = buffer1.getNativeBuffer().array();
+		Thread thread = new Thread(buffer1::release);
+		thread.start();
+		thread.join();
+
+		// Released into the cache of the other thread, then trimmed into the arena
+		this.bufferFactory.trimThreadCaches();
+		PooledDefaultDataBuffer buffer2 = this.bufferFactory.allocateBuffer(100);
+		assertSame(memory, buffer2.getNativeBuffer().array());
+		buffer2.release();
+	}
+
+	@Test
+	public void join() {
+		PooledDefaultDataBuffer buffer1 = this.bufferFactory.allocateBuffer(1);
+		buffer1.write((byte) 'a');
+		PooledDefaultDataBuffer buffer2 = this.bufferFactory.allocateBuffer(1);
+		buffer2.write((byte) 'b');
+
+		PooledDefaultDataBuffer result = this.bufferFactory.join(Arrays.asList(buffer1, buffer2));
+		assertFalse(buffer1.isAllocated());
+		assertFalse(buffer2.isAllocated());
+		assertEquals(2, result.readableByteCount());
+		assertEquals('a', result.read());
+		assertEquals('b', result.read());
+		assertTrue(result.release());
+	}
+
+	@Test
+	public void releaseOnOtherThread() throws Exception {
+		PooledDefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(1);
+		Thread thread = new Thread(buffer::release);
+		thread.start();
+		thread.join();
+		assertFalse(buffer.isAllocated());
+	}
+
+	@Test
+	public void leakDetection() {
+		this.bufferFactory.setLeakDetection(true);
+		PooledDefaultDataBuffer buffer1 = this.bufferFactory.allocateBuffer(1);
+		PooledDefaultDataBuffer buffer2 = this.bufferFactory.allocateBuffer(1);
+		buffer1.release();
+		assertEquals(1, this.bufferFactory.getUnreleasedBufferCount());
+		try {
+			this.bufferFactory.checkForLeaks();
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			assertEquals(1, ex.getSuppressed().length);
+		}
+		buffer2.release();
+		this.bufferFactory.checkForLeaks();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void checkForLeaksWithoutLeakDetection() {
+		this.bufferFactory.checkForLeaks();
+	}
+
+	@Test
+	public void directBuffers() {
+		PooledDefaultDataBufferFactory directFactory = new PooledDefaultDataBufferFactory(true);
+		PooledDefaultDataBuffer buffer = directFactory.allocateBuffer(10);
+		assertTrue(buffer.getNativeBuffer().isDirect());
+		buffer.write("abc".getBytes(StandardCharsets.UTF_8));
+		assertEquals("abc", StandardCharsets.UTF_8.decode(buffer.asByteBuffer()).toString());
+		assertTrue(buffer.release());
+	}
+
+}
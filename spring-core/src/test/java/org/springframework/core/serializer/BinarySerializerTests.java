@@ -0,0 +1,248 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link BinarySerializer} and {@link BinaryDeserializer}.
+ */
+public class BinarySerializerTests {
+
+	private final BinarySerializer serializer = new BinarySerializer();
+
+	private final BinaryDeserializer deserializer = new BinaryDeserializer();
+
+
+	@Test
+	public void simpleValues() throws Exception {
+		for (Object value : Arrays.asList("text", "téxt ☃", "", 42, -7L, Long.MIN_VALUE, true, false,
+				(byte) 3, (short) -300, 'x', 1.5f, Math.PI, new BigInteger("123456789012345678901234567890"),
+				new BigDecimal("-3.14159"), TimeUnit.SECONDS)) {
+			assertEquals(value, roundTrip(value));
+		}
+		assertNull(roundTrip(null));
+	}
+
+	@Test
+	public void arrays() throws Exception {
+		assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) roundTrip(new byte[] {1, 2, 3}));
+		assertArrayEquals(new int[] {0, -1, Integer.MAX_VALUE}, (int[]) roundTrip(new int[] {0, -1, Integer.MAX_VALUE}));
+		assertArrayEquals(new long[] {1L, Long.MIN_VALUE}, (long[]) roundTrip(new long[] {1L, Long.MIN_VALUE}));
+		String[][] matrix = {{"a", "b"}, {"c"}};
+		assertArrayEquals(matrix, (String[][]) roundTrip(matrix));
+	}
+
+	@Test
+	public void collectionsAndMaps() throws Exception {
+		List<Object> list = new ArrayList<>(Arrays.asList("a", 1, null));
+		Set<String> set = new LinkedHashSet<>(Arrays.asList("x", "y"));
+		Map<String, Object> map = new HashMap<>();
+		map.put("list", list);
+		map.put("set", set);
+		assertEquals(map, roundTrip(map));
+	}
+
+	@Test
+	public void serializableObjectGraph() throws Exception {
+		Person parent = new Person("Jane", 42);
+		Person child = new Person("John", 7);
+		child.parent = parent;
+		parent.children.add(child);
+		parent.birthDate = new Date(0);
+		parent.cache = "transient";
+
+		Person result = (Person) roundTrip(parent);
+		assertEquals("Jane", result.name);
+		assertEquals(42, result.age);
+		assertEquals(new Date(0), result.birthDate);
+		assertNull(result.cache);
+		assertEquals(1, result.children.size());
+		assertSame(result, result.children.get(0).parent);
+	}
+
+	@Test
+	public void sharedReferencesArePreserved() throws Exception {
+		Person person = new Person("Jane", 42);
+		Object[] result = (Object[]) roundTrip(new Object[] {person, person});
+		assertSame(result[0], result[1]);
+	}
+
+	@Test
+	public void customSerializationIsRespected() throws Exception {
+		Token result = (Token) roundTrip(new Token("secret"));
+		assertEquals("terces", result.value);
+	}
+
+	@Test(expected = NotSerializableException.class)
+	public void nonSerializableObject() throws Exception {
+		this.serializer.serializeToByteArray(new Object());
+	}
+
+	@Test
+	public void streamOfObjects() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BinaryObjectOutput output = new BinaryObjectOutput(out);
+		output.writeObject(new Person("Jane", 42));
+		output.writeObject(new Person("John", 7));
+		output.close();
+
+		BinaryObjectInput input = this.deserializer.createInput(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals("Jane", ((Person) input.readObject()).name);
+		assertEquals("John", ((Person) input.readObject()).name);
+		try {
+			input.readObject();
+			fail("Should have thrown EOFException");
+		}
+		catch (EOFException ex) {
+			// expected
+		}
+		input.close();
+	}
+
+	@Test
+	public void readsOnlyOwnBytes() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		this.serializer.serialize("first", out);
+		out.write(99);
+		ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+		assertEquals("first", this.deserializer.deserialize(in));
+		assertEquals(99, in.read());
+	}
+
+	@Test(expected = InvalidClassException.class)
+	public void classWithDifferentFieldsIsRejected() throws Exception {
+		byte[] bytes = this.serializer.serializeToByteArray(new Person("Jane", 42));
+		byte[] name = Person.class.getName().getBytes(StandardCharsets.US_ASCII);
+		int index = indexOf(bytes, name);
+		assertTrue(index > 0);
+		// Corrupt the fingerprint that follows the class name
+		bytes[index + name.length] ^= 0x02;
+		this.deserializer.deserializeFromByteArray(bytes);
+	}
+
+	@Test
+	public void frameLengthIsNotTrusted() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(BinaryFormat.HEADER);
+		out.write(new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07});
+		out.write(new byte[] {BinaryFormat.NULL});
+		try {
+			this.deserializer.deserialize(new ByteArrayInputStream(out.toByteArray()));
+			fail("Should have thrown EOFException");
+		}
+		catch (EOFException ex) {
+			// expected, without allocating a buffer of the declared length
+		}
+	}
+
+	@Test
+	public void smallerThanJavaSerialization() throws Exception {
+		Person person = new Person("Jane", 42);
+		person.children.add(new Person("John", 7));
+		byte[] binary = this.serializer.serializeToByteArray(person);
+		ByteArrayOutputStream java = new ByteArrayOutputStream();
+		new DefaultSerializer().serialize(person, java);
+		assertTrue(binary.length < java.size() / 2);
+	}
+
+
+	private Object roundTrip(Object value) throws Exception {
+		return this.deserializer.deserializeFromByteArray(this.serializer.serializeToByteArray(value));
+	}
+
+	private static int indexOf(byte[] bytes, byte[] target) {
+		outer:
+		for (int i = 0; i <= bytes.length - target.length; i++) {
+			for (int j = 0; j < target.length; j++) {
+				if (bytes[i + j] != target[j]) {
+					continue outer;
+				}
+			}
+			return i;
+		}
+		return -1;
+	}
+
+
+	@SuppressWarnings("serial")
+	static class Person implements Serializable {
+
+		String name;
+
+		int age;
+
+		Date birthDate;
+
+		Person parent;
+
+		final List<Person> children = new ArrayList<>();
+
+		transient String cache;
+
+		Person(String name, int age) {
+			this.name = name;
+			this.age = age;
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	static class Token implements Serializable {
+
+		String value;
+
+		Token(String value) {
+			this.value = value;
+		}
+
+		private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+			out.writeUTF(new StringBuilder(this.value).reverse().toString());
+		}
+
+		private void readObject(java.io.ObjectInputStream in) throws java.io.IOException {
+			this.value = in.readUTF();
+		}
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link VirtualThreadTaskExecutor}.
+ */
+public class VirtualThreadTaskExecutorTests {
+
+	@Test
+	public void threadNameGetsSetCorrectly() throws Exception {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("custom-");
+		Future<String> future = executor.submit(() -> Thread.currentThread().getName());
+		assertTrue(future.get(5, TimeUnit.SECONDS).startsWith("custom-"));
+	}
+
+	@Test
+	public void throttleIsNotActiveByDefault() {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		assertFalse(executor.isThrottleActive());
+		assertEquals(VirtualThreadTaskExecutor.UNBOUNDED_CONCURRENCY, executor.getConcurrencyLimit());
+	}
+
+	@Test
+	public void concurrencyLimitIsRespected() throws Exception {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		executor.setConcurrencyLimit(2);
+		assertTrue(executor.isThrottleActive());
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			futures.add(executor.submit(() -> {
+				maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(5);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				active.decrementAndGet();
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get(5, TimeUnit.SECONDS);
+		}
+		assertTrue(maxActive.get() <= 2);
+	}
+
+	@Test(expected = TaskTimeoutException.class)
+	public void startTimeoutWithoutPermit() throws Exception {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		executor.setConcurrencyLimit(1);
+		CountDownLatch latch = new CountDownLatch(1);
+		executor.execute(() -> {
+			try {
+				latch.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		try {
+			executor.execute(() -> {}, 10);
+		}
+		finally {
+			latch.countDown();
+		}
+	}
+
+	@Test
+	public void immediateTaskBypassesConcurrencyLimit() throws Exception {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor();
+		executor.setConcurrencyLimit(1);
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch urgent = new CountDownLatch(1);
+		executor.execute(() -> {
+			try {
+				blocked.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		executor.execute(urgent::countDown, AsyncTaskExecutor.TIMEOUT_IMMEDIATE);
+		assertTrue(urgent.await(5, TimeUnit.SECONDS));
+		blocked.countDown();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void concurrencyLimitMustBePositive() {
+		new VirtualThreadTaskExecutor().setConcurrencyLimit(0);
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task.support;
+
+import org.junit.Test;
+
+import org.springframework.core.task.support.HistogramTaskMetricsRecorder.Histogram;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link HistogramTaskMetricsRecorder}.
+ */
+public class HistogramTaskMetricsRecorderTests {
+
+	private final HistogramTaskMetricsRecorder recorder = new HistogramTaskMetricsRecorder();
+
+
+	@Test
+	public void bucketUpperBounds() {
+		assertEquals(1, Histogram.getBucketUpperBound(0));
+		assertEquals(2, Histogram.getBucketUpperBound(1));
+		assertEquals(1024, Histogram.getBucketUpperBound(10));
+		assertEquals(Long.MAX_VALUE, Histogram.getBucketUpperBound(Histogram.BUCKET_COUNT - 1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void bucketUpperBoundWithInvalidIndex() {
+		Histogram.getBucketUpperBound(Histogram.BUCKET_COUNT);
+	}
+
+	@Test
+	public void bucketCounts() {
+		long[] durations = {-5, 0, 1, 2, 3, 4, 5, 1024, 1025, Long.MAX_VALUE};
+		for (long duration : durations) {
+			this.recorder.recordQueueWait(duration);
+		}
+		long[] counts = this.recorder.getQueueWaitHistogram().getBucketCounts();
+		assertEquals(Histogram.BUCKET_COUNT, counts.length);
+		assertEquals(3, counts[0]);  // -5 (as 0), 0, 1
+		assertEquals(1, counts[1]);  // 2
+		assertEquals(2, counts[2]);  // 3, 4
+		assertEquals(1, counts[3]);  // 5
+		assertEquals(1, counts[10]);  // 1024
+		assertEquals(1, counts[11]);  // 1025
+		assertEquals(1, counts[Histogram.BUCKET_COUNT - 1]);  // Long.MAX_VALUE
+		long total = 0;
+		for (long count : counts) {
+			total += count;
+		}
+		assertEquals(durations.length, total);
+		assertEquals(durations.length, this.recorder.getQueueWaitHistogram().getCount());
+		assertEquals(0, this.recorder.getExecutionHistogram().getCount());
+	}
+
+	@Test
+	public void statistics() {
+		for (int i = 1; i <= 100; i++) {
+			this.recorder.recordExecution(i * 10, i % 10 != 0);
+		}
+		Histogram histogram = this.recorder.getExecutionHistogram();
+		assertEquals(100, histogram.getCount());
+		assertEquals(50500, histogram.getTotalNanos());
+		assertEquals(505.0, histogram.getMeanNanos(), 0.0);
+		assertEquals(1000, histogram.getMaxNanos());
+		assertEquals(10, this.recorder.getFailureCount());
+	}
+
+	@Test
+	public void percentiles() {
+		Histogram histogram = this.recorder.getExecutionHistogram();
+		assertEquals(0, histogram.getPercentileNanos(50));
+		for (int i = 0; i < 90; i++) {
+			this.recorder.recordExecution(100, true);
+		}
+		for (int i = 0; i < 10; i++) {
+			this.recorder.recordExecution(5000, true);
+		}
+		assertEquals(128, histogram.getPercentileNanos(0));
+		assertEquals(128, histogram.getPercentileNanos(50));
+		assertEquals(128, histogram.getPercentileNanos(90));
+		// Capped at the maximum rather than the bucket bound of 8192
+		assertEquals(5000, histogram.getPercentileNanos(91));
+		assertEquals(5000, histogram.getPercentileNanos(100));
+	}
+
+	@Test
+	public void rejections() {
+		this.recorder.recordRejection();
+		this.recorder.recordRejection();
+		assertEquals(2, this.recorder.getRejectionCount());
+		assertEquals(0, this.recorder.getFailureCount());
+	}
+
+}
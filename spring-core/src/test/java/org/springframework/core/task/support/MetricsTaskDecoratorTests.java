@@ -0,0 +1,132 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link MetricsTaskDecorator}.
+ */
+public class MetricsTaskDecoratorTests {
+
+	private final HistogramTaskMetricsRecorder recorder = new HistogramTaskMetricsRecorder();
+
+	private final MetricsTaskDecorator decorator = new MetricsTaskDecorator(this.recorder);
+
+
+	@Test
+	public void recordsQueueWaitAndExecutionTime() throws Exception {
+		Runnable decorated = this.decorator.decorate(() -> sleep(20));
+		sleep(30);
+		decorated.run();
+
+		HistogramTaskMetricsRecorder.Histogram queueWait = this.recorder.getQueueWaitHistogram();
+		assertEquals(1, queueWait.getCount());
+		assertTrue(queueWait.getMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(30));
+		HistogramTaskMetricsRecorder.Histogram execution = this.recorder.getExecutionHistogram();
+		assertEquals(1, execution.getCount());
+		assertTrue(execution.getMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+		assertEquals(0, this.recorder.getFailureCount());
+	}
+
+	@Test
+	public void recordsFailedExecution() {
+		IllegalStateException failure = new IllegalStateException("failure");
+		Runnable decorated = this.decorator.decorate(() -> {
+			throw failure;
+		});
+		try {
+			decorated.run();
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			assertSame(failure, ex);
+		}
+		assertEquals(1, this.recorder.getExecutionHistogram().getCount());
+		assertEquals(1, this.recorder.getFailureCount());
+	}
+
+	@Test
+	public void delegateDecoratorIncluded() {
+		List<String> events = new ArrayList<>();
+		TaskDecorator delegate = new TaskDecorator() {
+			@Override
+			public Runnable decorate(Runnable runnable) {
+				return () -> {
+					events.add("before");
+					runnable.run();
+				};
+			}
+			@Override
+			public void rejected(Runnable runnable) {
+				events.add("rejected");
+			}
+		};
+		MetricsTaskDecorator decorator = new MetricsTaskDecorator(this.recorder, delegate);
+
+		decorator.decorate(() -> events.add("run")).run();
+		decorator.rejected(decorator.decorate(() -> events.add("run")));
+
+		assertEquals(3, events.size());
+		assertEquals("before", events.get(0));
+		assertEquals("run", events.get(1));
+		assertEquals("rejected", events.get(2));
+		assertEquals(1, this.recorder.getExecutionHistogram().getCount());
+		assertEquals(1, this.recorder.getRejectionCount());
+	}
+
+	@Test
+	public void rejectedByTaskExecutorAdapter() {
+		TaskExecutorAdapter executor = new TaskExecutorAdapter(task -> {
+			throw new RejectedExecutionException("rejected");
+		});
+		executor.setTaskDecorator(this.decorator);
+		try {
+			executor.execute(() -> {});
+			fail("Should have thrown TaskRejectedException");
+		}
+		catch (TaskRejectedException ex) {
+			assertTrue(ex.getCause() instanceof RejectedExecutionException);
+		}
+		assertEquals(1, this.recorder.getRejectionCount());
+		assertEquals(0, this.recorder.getQueueWaitHistogram().getCount());
+	}
+
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
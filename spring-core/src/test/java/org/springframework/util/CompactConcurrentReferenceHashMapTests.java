@@ -0,0 +1,267 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.lang.ref.Reference;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link CompactConcurrentReferenceHashMap}.
+ */
+public class CompactConcurrentReferenceHashMapTests {
+
+	private final CompactConcurrentReferenceHashMap<Integer, String> map =
+			new CompactConcurrentReferenceHashMap<>(16, ReferenceType.STRONG);
+
+
+	@Test
+	public void putAndGet() {
+		assertEquals(0, this.map.size());
+		assertNull(this.map.put(123, "123"));
+		assertEquals("123", this.map.get(123));
+		assertEquals(1, this.map.size());
+		assertEquals("123", this.map.put(123, "123b"));
+		assertEquals("123b", this.map.get(123));
+		assertEquals(1, this.map.size());
+	}
+
+	@Test
+	public void nullKeyAndValue() {
+		assertNull(this.map.get(null));
+		assertEquals("456", this.map.getOrDefault(null, "456"));
+		this.map.put(null, "123");
+		assertEquals("123", this.map.get(null));
+		this.map.put(1, null);
+		assertTrue(this.map.containsKey(1));
+		assertNull(this.map.get(1));
+		assertNull(this.map.putIfAbsent(1, "1"));
+		assertEquals(2, this.map.size());
+	}
+
+	@Test
+	public void putIfAbsentRemoveAndReplace() {
+		assertNull(this.map.putIfAbsent(1, "1"));
+		assertEquals("1", this.map.putIfAbsent(1, "2"));
+		assertFalse(this.map.replace(1, "2", "3"));
+		assertTrue(this.map.replace(1, "1", "3"));
+		assertEquals("3", this.map.replace(1, "4"));
+		assertNull(this.map.replace(2, "4"));
+		assertFalse(this.map.remove(1, "3"));
+		assertTrue(this.map.remove(1, "4"));
+		assertFalse(this.map.containsKey(1));
+		assertNull(this.map.remove(1));
+		assertEquals(0, this.map.size());
+	}
+
+	@Test
+	public void resizeAndRemoveMatchesHashMap() {
+		Map<Integer, String> expected = new HashMap<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 100_000; i++) {
+			Integer key = random.nextInt(2000);
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(key), this.map.remove(key));
+			}
+			else {
+				assertEquals(expected.put(key, "v" + i), this.map.put(key, "v" + i));
+			}
+		}
+		assertEquals(expected.size(), this.map.size());
+		assertEquals(expected.size(), this.map.getLiveEntryCount());
+		assertEquals(expected, new HashMap<>(this.map));
+		this.map.purgeUnreferencedEntries();
+		assertEquals(expected, new HashMap<>(this.map));
+	}
+
+	@Test
+	public void iterateAndRemove() {
+		IntStream.range(0, 100).forEach(i -> this.map.put(i, String.valueOf(i)));
+		Iterator<Map.Entry<Integer, String>> iterator = this.map.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Integer, String> entry = iterator.next();
+			if (entry.getKey() % 2 == 0) {
+				iterator.remove();
+			}
+			else {
+				entry.setValue("odd");
+			}
+		}
+		assertEquals(50, this.map.size());
+		assertEquals("odd", this.map.get(1));
+		assertFalse(this.map.containsKey(2));
+		assertTrue(this.map.entrySet().contains(new HashMap.SimpleEntry<>(3, "odd")));
+		assertFalse(this.map.entrySet().contains(new HashMap.SimpleEntry<>(3, "3")));
+	}
+
+	@Test
+	public void clear() {
+		IntStream.range(0, 100).forEach(i -> this.map.put(i, String.valueOf(i)));
+		this.map.clear();
+		assertTrue(this.map.isEmpty());
+		assertNull(this.map.get(1));
+		this.map.put(1, "1");
+		assertEquals(1, this.map.size());
+	}
+
+	@Test
+	public void softAndWeakReferences() {
+		for (ReferenceType referenceType : ReferenceType.values()) {
+			CompactConcurrentReferenceHashMap<Integer, String> map =
+					new CompactConcurrentReferenceHashMap<>(16, referenceType);
+			IntStream.range(0, 1000).forEach(i -> map.put(i, String.valueOf(i)));
+			IntStream.range(0, 500).forEach(map::remove);
+			map.purgeUnreferencedEntries();
+			assertTrue(map.getLiveEntryCount() <= map.size());
+			assertTrue(map.size() <= 500);
+			if (referenceType == ReferenceType.STRONG) {
+				assertEquals(500, map.size());
+				assertEquals("999", map.get(999));
+			}
+		}
+	}
+
+	@Test
+	public void softReferencesCollected() {
+		CompactConcurrentReferenceHashMap<Integer, String> map = new CompactConcurrentReferenceHashMap<>();
+		IntStream.range(0, 1000).forEach(i -> map.put(i, String.valueOf(i)));
+		collect(map, key -> key % 2 == 0);
+		assertNull(map.get(0));
+		assertFalse(map.containsKey(998));
+		assertEquals("999", map.get(999));
+		assertEquals(500, map.getLiveEntryCount());
+
+		// Collected entries are accounted for on the next write to their segment
+		map.put(1000, "1000");
+		assertTrue(map.size() > 501);
+		long usedMemory = map.estimateMemoryUsage();
+		map.purgeUnreferencedEntries();
+		assertEquals(501, map.size());
+		assertEquals(501, map.getLiveEntryCount());
+		assertTrue(map.estimateMemoryUsage() < usedMemory);
+
+		// Slots of collected entries may be reused
+		assertNull(map.put(0, "0"));
+		assertEquals("0", map.get(0));
+		assertEquals(502, map.size());
+	}
+
+	@Test
+	public void softReferencesCollectedDuringConcurrentAccess() throws Exception {
+		CompactConcurrentReferenceHashMap<Integer, String> map = new CompactConcurrentReferenceHashMap<>(16);
+		AtomicBoolean done = new AtomicBoolean();
+		Thread collector = new Thread(() -> {
+			while (!done.get()) {
+				collect(map, key -> key % 3 == 0);
+				map.purgeUnreferencedEntries();
+			}
+		});
+		collector.start();
+		try {
+			IntStream.range(0, 200_000).parallel().forEach(i -> {
+				Integer key = i % 2000;
+				String value = String.valueOf(key);
+				map.putIfAbsent(key, value);
+				String current = map.get(key);
+				assertTrue(current == null || current.equals(value));
+				map.replace(key, value, value);
+				if (i % 7 == 0) {
+					map.remove(key, value);
+				}
+			});
+		}
+		finally {
+			done.set(true);
+			collector.join();
+		}
+
+		map.purgeUnreferencedEntries();
+		int size = map.size();
+		assertEquals(size, map.getLiveEntryCount());
+		assertEquals(size, new HashMap<>(map).size());
+		for (Map.Entry<Integer, String> entry : map.entrySet()) {
+			assertEquals(String.valueOf(entry.getKey()), entry.getValue());
+			assertEquals(entry.getValue(), map.get(entry.getKey()));
+		}
+	}
+
+	@Test
+	public void estimateMemoryUsage() {
+		CompactConcurrentReferenceHashMap<Integer, String> softMap = new CompactConcurrentReferenceHashMap<>();
+		long emptySize = this.map.estimateMemoryUsage();
+		assertTrue(emptySize > 0);
+		IntStream.range(0, 1000).forEach(i -> {
+			this.map.put(i, String.valueOf(i));
+			softMap.put(i, String.valueOf(i));
+		});
+		assertTrue(this.map.estimateMemoryUsage() > emptySize);
+		assertTrue(softMap.estimateMemoryUsage() > this.map.estimateMemoryUsage());
+	}
+
+	@Test
+	public void concurrentAccess() {
+		IntStream.range(0, 100_000).parallel().forEach(i -> {
+			int key = i % 1000;
+			this.map.putIfAbsent(key, String.valueOf(key));
+			assertEquals(String.valueOf(key), this.map.get(key));
+		});
+		assertEquals(1000, this.map.size());
+	}
+
+
+	/**
+	 * Clear and enqueue the references of all entries whose key matches the given
+	 * predicate, as the garbage collector would under memory pressure.
+	 */
+	private static void collect(CompactConcurrentReferenceHashMap<Integer, ?> map, IntPredicate keys) {
+		Field segmentsField = ReflectionUtils.findField(CompactConcurrentReferenceHashMap.class, "segments");
+		ReflectionUtils.makeAccessible(segmentsField);
+		for (Object segment : (Object[]) ReflectionUtils.getField(segmentsField, map)) {
+			Field slotsField = ReflectionUtils.findField(segment.getClass(), "slots");
+			ReflectionUtils.makeAccessible(slotsField);
+			AtomicReferenceArray<?> slots = (AtomicReferenceArray<?>) ReflectionUtils.getField(slotsField, segment);
+			for (int i = 0; i < slots.length(); i++) {
+				Object slot = slots.get(i);
+				if (slot instanceof Reference) {
+					Reference<?> reference = (Reference<?>) slot;
+					Map.Entry<?, ?> entry = (Map.Entry<?, ?>) reference.get();
+					if (entry != null && keys.test((Integer) entry.getKey())) {
+						reference.clear();
+						reference.enqueue();
+					}
+				}
+			}
+		}
+	}
+
+}
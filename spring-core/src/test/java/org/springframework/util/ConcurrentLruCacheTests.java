@@ -0,0 +1,161 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link ConcurrentLruCache}.
+ */
+public class ConcurrentLruCacheTests {
+
+	private final ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(2, key -> key + "value");
+
+
+	@Test
+	public void getAndSize() {
+		assertEquals(2, this.cache.sizeLimit());
+		assertEquals(0, this.cache.size());
+		assertEquals("k1value", this.cache.get("k1"));
+		assertEquals(1, this.cache.size());
+		assertTrue(this.cache.contains("k1"));
+		assertEquals("k2value", this.cache.get("k2"));
+		assertEquals(2, this.cache.size());
+		assertTrue(this.cache.contains("k1"));
+		assertTrue(this.cache.contains("k2"));
+		assertEquals("k3value", this.cache.get("k3"));
+		assertEquals(2, this.cache.size());
+		assertTrue(this.cache.contains("k3"));
+		assertEquals(1, this.cache.getEvictionCount());
+	}
+
+	@Test
+	public void leastRecentlyUsedEvicted() {
+		this.cache.get("k1");
+		this.cache.get("k2");
+		this.cache.get("k1");
+		this.cache.get("k3");
+		assertTrue(this.cache.contains("k1"));
+		assertFalse(this.cache.contains("k2"));
+		assertTrue(this.cache.contains("k3"));
+	}
+
+	@Test
+	public void cachedValueReturned() {
+		AtomicInteger counter = new AtomicInteger();
+		ConcurrentLruCache<String, Object> cache = new ConcurrentLruCache<>(10, key -> {
+			counter.incrementAndGet();
+			return new Object();
+		});
+		Object value = cache.get("k1");
+		assertSame(value, cache.get("k1"));
+		assertEquals(1, counter.get());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void zeroSizeLimit() {
+		ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(0, key -> key + "value");
+		assertEquals("k1value", cache.get("k1"));
+		assertEquals(0, cache.size());
+		assertFalse(cache.contains("k1"));
+	}
+
+	@Test
+	public void removeAndClear() {
+		this.cache.get("k1");
+		this.cache.get("k2");
+		assertTrue(this.cache.remove("k1"));
+		assertFalse(this.cache.remove("k1"));
+		assertEquals(1, this.cache.size());
+		this.cache.get("k3");
+		assertEquals(2, this.cache.size());
+		assertEquals(0, this.cache.getEvictionCount());
+
+		this.cache.clear();
+		assertEquals(0, this.cache.size());
+		assertFalse(this.cache.contains("k2"));
+		assertEquals("k2value", this.cache.get("k2"));
+	}
+
+	@Test
+	public void boundedUnderConcurrentAccess() {
+		ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<>(100, String::valueOf);
+		IntStream.range(0, 100_000).parallel().forEach(i -> assertEquals(String.valueOf(i % 1000), cache.get(i % 1000)));
+		assertEquals(100, cache.size());
+		assertEquals(100_000, cache.getHitCount() + cache.getMissCount());
+	}
+
+	@Test
+	public void segmentedCacheBoundedUnderConcurrentAccess() {
+		ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<>(1000, String::valueOf);
+		IntStream.range(0, 200_000).parallel().forEach(i -> assertEquals(String.valueOf(i % 10_000), cache.get(i % 10_000)));
+		assertEquals(1000, cache.size());
+		assertEquals(200_000, cache.getHitCount() + cache.getMissCount());
+		assertEquals(cache.getMissCount() - 1000, cache.getEvictionCount());
+	}
+
+	@Test
+	public void generatorInvokedOncePerKeyUnderConcurrentMisses() {
+		AtomicInteger counter = new AtomicInteger();
+		ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<>(1000, key -> {
+			counter.incrementAndGet();
+			return String.valueOf(key);
+		});
+		IntStream.range(0, 100_000).parallel().forEach(i -> assertEquals(String.valueOf(i % 500), cache.get(i % 500)));
+		assertEquals(500, counter.get());
+		assertEquals(500, cache.getMissCount());
+		assertEquals(100_000 - 500, cache.getHitCount());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void generatorAccessingCache() {
+		ConcurrentLruCache<Integer, String>[] holder = new ConcurrentLruCache[1];
+		holder[0] = new ConcurrentLruCache<>(10, key -> (key > 0 ? holder[0].get(key - 1) + key : "0"));
+		assertEquals("0123", holder[0].get(3));
+		assertEquals(4, holder[0].size());
+		assertEquals(4, holder[0].getMissCount());
+	}
+
+	@Test
+	public void segmentedCacheKeepsRecentlyUsedEntries() {
+		ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<>(1000, String::valueOf);
+		for (int i = 0; i < 10_000; i++) {
+			cache.get(-1);
+			cache.get(i);
+		}
+		assertTrue(cache.contains(-1));
+		assertTrue(cache.contains(9_999));
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertFalse(cache.contains(-1));
+		assertEquals("-1", cache.get(-1));
+		assertEquals(1, cache.size());
+	}
+
+}
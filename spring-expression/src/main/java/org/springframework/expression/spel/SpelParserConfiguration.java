@@ -18,6 +18,7 @@ package org.springframework.expression.spel;
 
 import org.springframework.core.SpringProperties;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
 
 /**
  * Configuration object for the SpEL expression parser.
@@ -142,4 +143,31 @@ public class SpelParserConfiguration {
 		return this.maximumAutoGrowSize;
 	}
 
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof SpelParserConfiguration)) {
+			return false;
+		}
+		SpelParserConfiguration otherConfig = (SpelParserConfiguration) other;
+		return (this.compilerMode == otherConfig.compilerMode &&
+				this.compilerClassLoader == otherConfig.compilerClassLoader &&
+				this.autoGrowNullReferences == otherConfig.autoGrowNullReferences &&
+				this.autoGrowCollections == otherConfig.autoGrowCollections &&
+				this.maximumAutoGrowSize == otherConfig.maximumAutoGrowSize);
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = this.compilerMode.hashCode();
+		hashCode = 31 * hashCode + ObjectUtils.nullSafeHashCode(this.compilerClassLoader);
+		hashCode = 31 * hashCode + (this.autoGrowNullReferences ? 1 : 0);
+		hashCode = 31 * hashCode + (this.autoGrowCollections ? 1 : 0);
+		hashCode = 31 * hashCode + this.maximumAutoGrowSize;
+		return hashCode;
+	}
+
 }
@@ -46,21 +46,11 @@ public class OpEQ extends Operator {
 		return BooleanTypedValue.forValue(equalityCheck(state.getEvaluationContext(), left, right));
 	}
 
-	// This check is different to the one in the other numeric operators (OpLt/etc)
-	// because it allows for simple object comparison
+	// Operands of any type, including numbers of different types, are compared
+	// through equalityCheck(), as in interpreted mode
 	@Override
 	public boolean isCompilable() {
-		SpelNodeImpl left = getLeftOperand();
-		SpelNodeImpl right = getRightOperand();
-		if (!left.isCompilable() || !right.isCompilable()) {
-			return false;
-		}
-
-		String leftDesc = left.exitTypeDescriptor;
-		String rightDesc = right.exitTypeDescriptor;
-		DescriptorComparison dc = DescriptorComparison.checkNumericCompatibility(leftDesc,
-				rightDesc, this.leftActualDescriptor, this.rightActualDescriptor);
-		return (!dc.areNumbers || dc.areCompatible);
+		return (getLeftOperand().isCompilable() && getRightOperand().isCompilable());
 	}
 
 	@Override
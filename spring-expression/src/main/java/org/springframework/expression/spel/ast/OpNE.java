@@ -47,21 +47,11 @@ public class OpNE extends Operator {
 		return BooleanTypedValue.forValue(!equalityCheck(state.getEvaluationContext(), leftValue, rightValue));
 	}
 
-	// This check is different to the one in the other numeric operators (OpLt/etc)
-	// because we allow simple object comparison
+	// Operands of any type, including numbers of different types, are compared
+	// through equalityCheck(), as in interpreted mode
 	@Override
 	public boolean isCompilable() {
-		SpelNodeImpl left = getLeftOperand();
-		SpelNodeImpl right = getRightOperand();
-		if (!left.isCompilable() || !right.isCompilable()) {
-			return false;
-		}
-
-		String leftDesc = left.exitTypeDescriptor;
-		String rightDesc = right.exitTypeDescriptor;
-		DescriptorComparison dc = DescriptorComparison.checkNumericCompatibility(leftDesc,
-				rightDesc, this.leftActualDescriptor, this.rightActualDescriptor);
-		return (!dc.areNumbers || dc.areCompatible);
+		return (getLeftOperand().isCompilable() && getRightOperand().isCompilable());
 	}
 
 	@Override
@@ -22,11 +22,14 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
 import org.springframework.expression.spel.support.BooleanTypedValue;
+import org.springframework.lang.Nullable;
 
 /**
  * Implements the matches operator. Matches takes two operands:
@@ -47,6 +50,7 @@ public class OperatorMatches extends Operator {
 
 	public OperatorMatches(int startPos, int endPos, SpelNodeImpl... operands) {
 		super("matches", startPos, endPos, operands);
+		this.exitTypeDescriptor = "Z";
 	}
 
 
@@ -95,6 +99,81 @@ public class OperatorMatches extends Operator {
 	}
 
 
+	/**
+	 * Compilation is supported for a {@code String} first operand and a literal
+	 * regex as second operand, which allows for precompiling the pattern once
+	 * into a static field of the generated class. The regex must have been
+	 * compiled successfully during interpreted evaluation, so that an invalid
+	 * regex never makes it into the static initializer of the generated class.
+	 */
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl left = getLeftOperand();
+		SpelNodeImpl right = getRightOperand();
+		return (left.isCompilable() && "Ljava/lang/String".equals(left.exitTypeDescriptor) &&
+				right instanceof StringLiteral &&
+				this.patternCache.containsKey(((StringLiteral) right).getLiteralValue().getValue()));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		final String patternFieldName = "pattern$" + cf.nextFieldId();
+		final String className = cf.getClassName();
+		final Object regex = ((StringLiteral) getRightOperand()).getLiteralValue().getValue();
+
+		cf.registerNewField((cw, codeflow) ->
+				cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, patternFieldName, "Ljava/util/regex/Pattern;", null, null));
+
+		cf.registerNewClinit((mVisitor, codeflow) -> {
+			mVisitor.visitLdcInsn(regex);
+			mVisitor.visitMethodInsn(INVOKESTATIC, "java/util/regex/Pattern", "compile",
+					"(Ljava/lang/String;)Ljava/util/regex/Pattern;", false);
+			mVisitor.visitFieldInsn(PUTSTATIC, className, patternFieldName, "Ljava/util/regex/Pattern;");
+		});
+
+		mv.visitFieldInsn(GETSTATIC, className, patternFieldName, "Ljava/util/regex/Pattern;");
+		cf.enterCompilationScope();
+		getLeftOperand().generateCode(mv, cf);
+		cf.exitCompilationScope();
+		CodeFlow.insertOptimalLoad(mv, getLeftOperand().getStartPosition());
+		CodeFlow.insertOptimalLoad(mv, getRightOperand().getStartPosition());
+		String operatorClassName = OperatorMatches.class.getName().replace('.', '/');
+		mv.visitMethodInsn(INVOKESTATIC, operatorClassName, "matchesCheck",
+				"(Ljava/util/regex/Pattern;Ljava/lang/String;II)Z", false);
+		cf.pushDescriptor("Z");
+	}
+
+	/**
+	 * Perform a match of the given input against the given pattern, applying the
+	 * same pattern access threshold as interpreted evaluation.
+	 * <p>This is used by compiled expressions and therefore needs to be
+	 * declared as {@code public static} here.
+	 * @param pattern the precompiled regex
+	 * @param input the first operand (may be {@code null})
+	 * @param inputPosition the position of the first operand in the expression
+	 * @param patternPosition the position of the regex in the expression
+	 * @return {@code true} if the input matches the pattern
+	 * @throws SpelEvaluationException if the input is {@code null}
+	 * or the pattern access threshold has been exceeded
+	 * @since 5.2
+	 */
+	public static boolean matchesCheck(Pattern pattern, @Nullable String input,
+			int inputPosition, int patternPosition) {
+
+		if (input == null) {
+			throw new SpelEvaluationException(inputPosition,
+					SpelMessage.INVALID_FIRST_OPERAND_FOR_MATCHES_OPERATOR, (Object) null);
+		}
+		try {
+			return pattern.matcher(new MatcherInput(input, new AccessCount())).matches();
+		}
+		catch (IllegalStateException ex) {
+			throw new SpelEvaluationException(
+					patternPosition, ex, SpelMessage.FLAWED_PATTERN, pattern.pattern());
+		}
+	}
+
+
 	private static class AccessCount {
 
 		private int count;
@@ -58,7 +58,7 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 	private String originalPrimitiveExitTypeDescriptor;
 
 	@Nullable
-	private volatile PropertyAccessor cachedReadAccessor;
+	private volatile CachedReadAccessor cachedReadAccessor;
 
 	@Nullable
 	private volatile PropertyAccessor cachedWriteAccessor;
@@ -90,7 +90,7 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 	public TypedValue getValueInternal(ExpressionState state) throws EvaluationException {
 		TypedValue tv = getValueInternal(state.getActiveContextObject(), state.getEvaluationContext(),
 				state.getConfiguration().isAutoGrowNullReferences());
-		PropertyAccessor accessorToUse = this.cachedReadAccessor;
+		PropertyAccessor accessorToUse = getCachedReadAccessor();
 		if (accessorToUse instanceof CompilablePropertyAccessor) {
 			CompilablePropertyAccessor accessor = (CompilablePropertyAccessor) accessorToUse;
 			setExitTypeDescriptor(CodeFlow.toDescriptor(accessor.getPropertyType()));
@@ -174,11 +174,22 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 			return TypedValue.NULL;
 		}
 
-		PropertyAccessor accessorToUse = this.cachedReadAccessor;
-		if (accessorToUse != null) {
-			if (evalContext.getPropertyAccessors().contains(accessorToUse)) {
+		CachedReadAccessor cachedAccessor = this.cachedReadAccessor;
+		if (cachedAccessor != null) {
+			if (cachedAccessor.isSuitable(targetObject, evalContext)) {
+				PropertyAccessor accessorToUse = cachedAccessor.get();
+				if (cachedAccessor.isTypeSpecific()) {
+					// Bound to the exact target type: not stale, so propagate any failure
+					try {
+						return accessorToUse.read(evalContext, targetObject, name);
+					}
+					catch (AccessException ex) {
+						throw new SpelEvaluationException(
+								ex, SpelMessage.EXCEPTION_DURING_PROPERTY_READ, name, ex.getMessage());
+					}
+				}
 				try {
-					return accessorToUse.read(evalContext, contextObject.getValue(), name);
+					return accessorToUse.read(evalContext, targetObject, name);
 				}
 				catch (Exception ex) {
 					// This is OK - it may have gone stale due to a class change,
@@ -197,10 +208,14 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 			for (PropertyAccessor accessor : accessorsToTry) {
 				if (accessor.canRead(evalContext, contextObject.getValue(), name)) {
 					if (accessor instanceof ReflectivePropertyAccessor) {
-						accessor = ((ReflectivePropertyAccessor) accessor).createOptimalAccessor(
+						PropertyAccessor optimalAccessor = ((ReflectivePropertyAccessor) accessor).createOptimalAccessor(
 								evalContext, contextObject.getValue(), name);
+						this.cachedReadAccessor = new CachedReadAccessor(optimalAccessor, accessor, targetObject);
+						accessor = optimalAccessor;
+					}
+					else {
+						this.cachedReadAccessor = new CachedReadAccessor(accessor, null, null);
 					}
-					this.cachedReadAccessor = accessor;
 					return accessor.read(evalContext, contextObject.getValue(), name);
 				}
 			}
@@ -218,6 +233,12 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 	}
 
+	@Nullable
+	private PropertyAccessor getCachedReadAccessor() {
+		CachedReadAccessor cachedAccessor = this.cachedReadAccessor;
+		return (cachedAccessor != null ? cachedAccessor.get() : null);
+	}
+
 	private void writeProperty(
 			TypedValue contextObject, EvaluationContext evalContext, String name, @Nullable Object newValue)
 			throws EvaluationException {
@@ -330,14 +351,14 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 
 	@Override
 	public boolean isCompilable() {
-		PropertyAccessor accessorToUse = this.cachedReadAccessor;
+		PropertyAccessor accessorToUse = getCachedReadAccessor();
 		return (accessorToUse instanceof CompilablePropertyAccessor &&
 				((CompilablePropertyAccessor) accessorToUse).isCompilable());
 	}
 
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
-		PropertyAccessor accessorToUse = this.cachedReadAccessor;
+		PropertyAccessor accessorToUse = getCachedReadAccessor();
 		if (!(accessorToUse instanceof CompilablePropertyAccessor)) {
 			throw new IllegalStateException("Property accessor is not compilable: " + accessorToUse);
 		}
@@ -381,6 +402,56 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 	}
 
 
+	/**
+	 * A read accessor cached by this node. An optimal reflective accessor is
+	 * bound to a specific member, so it is only reused for the exact target type
+	 * (or static target class) that it has been created for, as long as its
+	 * originating accessor is still registered. This turns repeated reads at a
+	 * monomorphic site into a direct member access, without going through the
+	 * {@code canRead} resolution again.
+	 */
+	private static class CachedReadAccessor {
+
+		private final PropertyAccessor accessor;
+
+		@Nullable
+		private final PropertyAccessor origin;
+
+		@Nullable
+		private final Class<?> targetType;
+
+		private final boolean staticTarget;
+
+		public CachedReadAccessor(PropertyAccessor accessor, @Nullable PropertyAccessor origin,
+				@Nullable Object target) {
+
+			this.accessor = accessor;
+			this.origin = origin;
+			this.staticTarget = (target instanceof Class);
+			this.targetType = (target == null ? null : this.staticTarget ? (Class<?>) target : target.getClass());
+		}
+
+		public boolean isTypeSpecific() {
+			return (this.origin != null);
+		}
+
+		public boolean isSuitable(@Nullable Object target, EvaluationContext evalContext) {
+			if (this.origin == null) {
+				return evalContext.getPropertyAccessors().contains(this.accessor);
+			}
+			if (target == null || this.targetType == null || (target instanceof Class) != this.staticTarget ||
+					(this.staticTarget ? target : target.getClass()) != this.targetType) {
+				return false;
+			}
+			return evalContext.getPropertyAccessors().contains(this.origin);
+		}
+
+		public PropertyAccessor get() {
+			return this.accessor;
+		}
+	}
+
+
 	private static class AccessorLValue implements ValueRef {
 
 		private final PropertyOrFieldReference ref;
@@ -404,7 +475,7 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		public TypedValue getValue() {
 			TypedValue value =
 					this.ref.getValueInternal(this.contextObject, this.evalContext, this.autoGrowNullReferences);
-			PropertyAccessor accessorToUse = this.ref.cachedReadAccessor;
+			PropertyAccessor accessorToUse = this.ref.getCachedReadAccessor();
 			if (accessorToUse instanceof CompilablePropertyAccessor) {
 				this.ref.setExitTypeDescriptor(CodeFlow.toDescriptor(((CompilablePropertyAccessor) accessorToUse).getPropertyType()));
 			}
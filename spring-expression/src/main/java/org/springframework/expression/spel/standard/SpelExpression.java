@@ -16,7 +16,15 @@
 
 package org.springframework.expression.spel.standard;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.EvaluationContext;
@@ -124,15 +132,7 @@ public class SpelExpression implements Expression {
 				return this.compiledAst.getValue(context.getRootObject().getValue(), context);
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
-				}
+				handleCompiledFailure(ex);
 			}
 		}
 
@@ -159,15 +159,7 @@ public class SpelExpression implements Expression {
 				}
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
-				}
+				handleCompiledFailure(ex);
 			}
 		}
 
@@ -186,15 +178,7 @@ public class SpelExpression implements Expression {
 				return this.compiledAst.getValue(rootObject, getEvaluationContext());
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
-				}
+				handleCompiledFailure(ex);
 			}
 		}
 
@@ -221,15 +205,7 @@ public class SpelExpression implements Expression {
 				}
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
-				}
+				handleCompiledFailure(ex);
 			}
 		}
 
@@ -251,15 +227,7 @@ public class SpelExpression implements Expression {
 				return this.compiledAst.getValue(context.getRootObject().getValue(), context);
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
-				}
+				handleCompiledFailure(ex);
 			}
 		}
 
@@ -286,15 +254,7 @@ public class SpelExpression implements Expression {
 				}
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
-				}
+				handleCompiledFailure(ex);
 			}
 		}
 
@@ -314,15 +274,7 @@ public class SpelExpression implements Expression {
 				return this.compiledAst.getValue(rootObject, context);
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
-				}
+				handleCompiledFailure(ex);
 			}
 		}
 
@@ -351,21 +303,176 @@ public class SpelExpression implements Expression {
 				}
 			}
 			catch (Throwable ex) {
-				// If running in mixed mode, revert to interpreted
-				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.interpretedCount.set(0);
-					this.compiledAst = null;
-				}
-				else {
-					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
-					throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
+				handleCompiledFailure(ex);
+			}
+		}
+
+		ExpressionState expressionState = new ExpressionState(context, toTypedValue(rootObject), this.configuration);
+		TypedValue typedResultValue = this.ast.getTypedValue(expressionState);
+		checkCompile(expressionState);
+		return ExpressionUtils.convertTypedValue(context, typedResultValue, expectedResultType);
+	}
+
+	/**
+	 * Evaluate this expression against each of the given root objects in turn,
+	 * using the same evaluation context for all of them.
+	 * <p>This is a bulk variant of {@link #getValue(EvaluationContext, Object, Class)}
+	 * with the same per-element cost: interpreted evaluation uses a fresh
+	 * {@code ExpressionState} for each root object, and compiled evaluation returns
+	 * boxed results. Results which are already of the expected type are returned
+	 * as-is rather than going through the context's type converter.
+	 * @param context the context in which to evaluate the expression
+	 * @param rootObjects the root objects to evaluate the expression against
+	 * @param expectedResultType the class the results should be (may be {@code null})
+	 * @return the evaluation results, in iteration order of the given root objects
+	 * @throws EvaluationException if there is a problem during evaluation
+	 * @since 5.2
+	 */
+	public <T> List<T> getValues(EvaluationContext context, Iterable<?> rootObjects,
+			@Nullable Class<T> expectedResultType) throws EvaluationException {
+
+		Assert.notNull(context, "EvaluationContext is required");
+		Assert.notNull(rootObjects, "Root objects must not be null");
+		List<T> results = (rootObjects instanceof Collection ?
+				new ArrayList<>(((Collection<?>) rootObjects).size()) : new ArrayList<>());
+		for (Object rootObject : rootObjects) {
+			results.add(getValueForRoot(context, rootObject, expectedResultType));
+		}
+		return results;
+	}
+
+	/**
+	 * Evaluate this boolean expression against each of the given root objects in turn,
+	 * returning the root objects that it evaluates to {@code true} for.
+	 * @param context the context in which to evaluate the expression
+	 * @param rootObjects the root objects to evaluate the expression against
+	 * @return the selected root objects, in iteration order
+	 * @throws EvaluationException if there is a problem during evaluation or if
+	 * the expression does not evaluate to a boolean for some root object
+	 * @since 5.2
+	 * @see #asPredicate(EvaluationContext)
+	 */
+	public <T> List<T> select(EvaluationContext context, Iterable<T> rootObjects) throws EvaluationException {
+		Assert.notNull(context, "EvaluationContext is required");
+		Assert.notNull(rootObjects, "Root objects must not be null");
+		List<T> results = new ArrayList<>();
+		for (T rootObject : rootObjects) {
+			if (getBooleanValueForRoot(context, rootObject)) {
+				results.add(rootObject);
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Return a {@link Predicate} view of this boolean expression, evaluating it against
+	 * the given object as root object on each test.
+	 * <p>The returned predicate is as thread-safe as the given context, which makes it
+	 * suitable for filtering (parallel) streams of root objects with a shared, read-only
+	 * context: e.g. {@code rows.parallelStream().filter(expression.asPredicate(context))}.
+	 * @param context the context in which to evaluate the expression
+	 * @since 5.2
+	 */
+	public <T> Predicate<T> asPredicate(EvaluationContext context) {
+		Assert.notNull(context, "EvaluationContext is required");
+		return rootObject -> getBooleanValueForRoot(context, rootObject);
+	}
+
+	/**
+	 * Return a {@link Function} view of this expression, evaluating it against
+	 * the given object as root object on each application.
+	 * @param context the context in which to evaluate the expression
+	 * @param expectedResultType the class the results should be (may be {@code null})
+	 * @since 5.2
+	 * @see #asPredicate(EvaluationContext)
+	 */
+	public <S, T> Function<S, T> asFunction(EvaluationContext context, @Nullable Class<T> expectedResultType) {
+		Assert.notNull(context, "EvaluationContext is required");
+		return rootObject -> getValueForRoot(context, rootObject, expectedResultType);
+	}
+
+	/**
+	 * Return a {@link ToIntFunction} view of this numeric expression, for use with
+	 * primitive streams: e.g. {@code rows.stream().mapToInt(expression.asIntFunction(context))}.
+	 * <p>Each result is obtained like {@code getValue(context, rootObject, Integer.class)}
+	 * and then unboxed: results of other types are converted through the context's type
+	 * converter, which rejects values that do not fit rather than silently narrowing them.
+	 * @param context the context in which to evaluate the expression
+	 * @since 5.2
+	 */
+	public <T> ToIntFunction<T> asIntFunction(EvaluationContext context) {
+		Assert.notNull(context, "EvaluationContext is required");
+		return rootObject -> getNumberValueForRoot(context, rootObject, Integer.class).intValue();
+	}
+
+	/**
+	 * Return a {@link ToLongFunction} view of this numeric expression, for use with
+	 * primitive streams.
+	 * @param context the context in which to evaluate the expression
+	 * @since 5.2
+	 * @see #asIntFunction(EvaluationContext)
+	 */
+	public <T> ToLongFunction<T> asLongFunction(EvaluationContext context) {
+		Assert.notNull(context, "EvaluationContext is required");
+		return rootObject -> getNumberValueForRoot(context, rootObject, Long.class).longValue();
+	}
+
+	/**
+	 * Return a {@link ToDoubleFunction} view of this numeric expression, for use with
+	 * primitive streams.
+	 * @param context the context in which to evaluate the expression
+	 * @since 5.2
+	 * @see #asIntFunction(EvaluationContext)
+	 */
+	public <T> ToDoubleFunction<T> asDoubleFunction(EvaluationContext context) {
+		Assert.notNull(context, "EvaluationContext is required");
+		return rootObject -> getNumberValueForRoot(context, rootObject, Double.class).doubleValue();
+	}
+
+	private boolean getBooleanValueForRoot(EvaluationContext context, @Nullable Object rootObject) {
+		Boolean result = getValueForRoot(context, rootObject, Boolean.class);
+		if (result == null) {
+			throw new SpelEvaluationException(SpelMessage.RESULT_OF_SELECTION_CRITERIA_IS_NOT_BOOLEAN);
+		}
+		return result;
+	}
+
+	private <N extends Number> N getNumberValueForRoot(
+			EvaluationContext context, @Nullable Object rootObject, Class<N> targetType) {
+
+		N result = getValueForRoot(context, rootObject, targetType);
+		if (result == null) {
+			throw new SpelEvaluationException(SpelMessage.TYPE_CONVERSION_ERROR, "null", targetType.getName());
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private <T> T getValueForRoot(EvaluationContext context, @Nullable Object rootObject,
+			@Nullable Class<T> expectedResultType) throws EvaluationException {
+
+		CompiledExpression compiledAst = this.compiledAst;
+		if (compiledAst != null) {
+			try {
+				Object result = compiledAst.getValue(rootObject, context);
+				if (expectedResultType == null || expectedResultType.isInstance(result)) {
+					return (T) result;
 				}
+				return ExpressionUtils.convertTypedValue(context, new TypedValue(result), expectedResultType);
+			}
+			catch (Throwable ex) {
+				handleCompiledFailure(ex);
 			}
 		}
 
 		ExpressionState expressionState = new ExpressionState(context, toTypedValue(rootObject), this.configuration);
 		TypedValue typedResultValue = this.ast.getTypedValue(expressionState);
 		checkCompile(expressionState);
+		Object result = typedResultValue.getValue();
+		if (expectedResultType == null || expectedResultType.isInstance(result)) {
+			return (T) result;
+		}
 		return ExpressionUtils.convertTypedValue(context, typedResultValue, expectedResultType);
 	}
 
@@ -492,6 +599,23 @@ public class SpelExpression implements Expression {
 		}
 	}
 
+	/**
+	 * Handle a failure of the compiled expression: revert to interpreted mode if
+	 * running in mixed mode, or propagate the failure to the caller otherwise.
+	 * @param ex the failure of the compiled expression
+	 */
+	private void handleCompiledFailure(Throwable ex) {
+		// If running in mixed mode, revert to interpreted
+		if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
+			this.interpretedCount.set(0);
+			this.compiledAst = null;
+		}
+		else {
+			// Running in SpelCompilerMode.immediate mode - propagate exception to caller
+			throw new SpelEvaluationException(ex, SpelMessage.EXCEPTION_RUNNING_COMPILED_EXPRESSION);
+		}
+	}
+
 
 	/**
 	 * Perform expression compilation. This will only succeed once exit descriptors for all nodes have
@@ -519,6 +643,15 @@ public class SpelExpression implements Expression {
 		return (this.compiledAst != null);
 	}
 
+	/**
+	 * Return whether this expression is currently evaluated through its compiled form.
+	 * @since 5.2
+	 * @see #compileExpression()
+	 */
+	public boolean isCompiled() {
+		return (this.compiledAst != null);
+	}
+
 	/**
 	 * Cause an expression to revert to being interpreted if it has been using a compiled
 	 * form. It also resets the compilation attempt failure count (an expression is normally no
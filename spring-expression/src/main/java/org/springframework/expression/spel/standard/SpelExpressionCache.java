@@ -0,0 +1,235 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Bounded, thread-safe cache of parsed expressions, keyed by expression string,
+ * {@link ParserContext} and {@link SpelParserConfiguration}.
+ *
+ * <p>A {@link SpelExpressionParser} configured with such a cache returns the same
+ * {@link Expression} instance for identical input, so the expression is tokenized
+ * only once and - in case of a compiler-enabled configuration - only compiled once,
+ * no matter how many components parse it. As a consequence, cached expressions are
+ * shared: callers are expected to pass an {@link org.springframework.expression.EvaluationContext}
+ * on each evaluation rather than calling {@link SpelExpression#setEvaluationContext}.
+ *
+ * <p>Once the cache limit is reached, each newly parsed expression replaces the
+ * approximately least recently used one, as determined by {@link ConcurrentLruCache}.
+ *
+ * <p>A shared instance is available through {@link #getSharedInstance()}.
+ * Parsers only use a cache when explicitly configured with one.
+ *
+ * @since 5.2
+ * @see SpelExpressionParser#SpelExpressionParser(SpelParserConfiguration, SpelExpressionCache)
+ */
+public class SpelExpressionCache {
+
+	/** Default maximum number of entries for a cache instance: 1024. */
+	public static final int DEFAULT_CACHE_LIMIT = 1024;
+
+	private static final SpelExpressionCache sharedInstance = new SpelExpressionCache(DEFAULT_CACHE_LIMIT);
+
+
+	private final ConcurrentLruCache<ExpressionKey, Expression> cache;
+
+	private final LongAdder lookupCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+
+	/**
+	 * Create a new {@code SpelExpressionCache} with the default cache limit.
+	 */
+	public SpelExpressionCache() {
+		this(DEFAULT_CACHE_LIMIT);
+	}
+
+	/**
+	 * Create a new {@code SpelExpressionCache} with the given cache limit.
+	 * @param cacheLimit the maximum number of entries to keep
+	 */
+	public SpelExpressionCache(int cacheLimit) {
+		Assert.isTrue(cacheLimit > 0, "Cache limit must be positive");
+		this.cache = new ConcurrentLruCache<>(cacheLimit, this::parse);
+	}
+
+
+	/**
+	 * Return the shared {@code SpelExpressionCache} instance for this ClassLoader.
+	 */
+	public static SpelExpressionCache getSharedInstance() {
+		return sharedInstance;
+	}
+
+
+	/**
+	 * Return the cached expression for the given input, parsing it through
+	 * the given callback in case of a cache miss.
+	 * @param expressionString the raw expression string
+	 * @param context the parser context, if any
+	 * @param configuration the configuration of the parser
+	 * @param parser the callback to use for parsing in case of a cache miss
+	 * @return the cached or newly parsed expression
+	 * @throws ParseException if parsing failed (the failure is not cached)
+	 */
+	public Expression getExpression(String expressionString, @Nullable ParserContext context,
+			SpelParserConfiguration configuration, Supplier<Expression> parser) throws ParseException {
+
+		this.lookupCount.increment();
+		return this.cache.get(new ExpressionKey(expressionString, context, configuration, parser));
+	}
+
+	private Expression parse(ExpressionKey key) {
+		this.missCount.increment();
+		return key.parse();
+	}
+
+	/**
+	 * Return the maximum number of entries kept in this cache.
+	 */
+	public int getCacheLimit() {
+		return this.cache.sizeLimit();
+	}
+
+	/**
+	 * Return the current number of cached expressions.
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Return the number of lookups that were served from the cache.
+	 */
+	public long getHitCount() {
+		return Math.max(this.lookupCount.sum() - this.missCount.sum(), 0);
+	}
+
+	/**
+	 * Return the number of lookups that required parsing.
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of cached expressions currently running in compiled form.
+	 * @see SpelExpression#isCompiled()
+	 */
+	public int getCompiledCount() {
+		AtomicInteger count = new AtomicInteger();
+		this.cache.forEachValue(expression -> {
+			if (expression instanceof SpelExpression && ((SpelExpression) expression).isCompiled()) {
+				count.incrementAndGet();
+			}
+		});
+		return count.get();
+	}
+
+	/**
+	 * Remove all cached expressions and reset the statistics.
+	 */
+	public void clear() {
+		this.cache.clear();
+		this.lookupCount.reset();
+		this.missCount.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "SpelExpressionCache: size = " + size() + ", hits = " + getHitCount() +
+				", misses = " + getMissCount() + ", compiled = " + getCompiledCount();
+	}
+
+
+	private static final class ExpressionKey {
+
+		private final String expressionString;
+
+		private final boolean template;
+
+		@Nullable
+		private final String prefix;
+
+		@Nullable
+		private final String suffix;
+
+		private final SpelParserConfiguration configuration;
+
+		/** The callback for parsing on a cache miss, released once used. */
+		@Nullable
+		private Supplier<Expression> parser;
+
+		public ExpressionKey(String expressionString, @Nullable ParserContext context,
+				SpelParserConfiguration configuration, Supplier<Expression> parser) {
+
+			this.expressionString = expressionString;
+			this.template = (context != null && context.isTemplate());
+			this.prefix = (this.template ? context.getExpressionPrefix() : null);
+			this.suffix = (this.template ? context.getExpressionSuffix() : null);
+			this.configuration = configuration;
+			this.parser = parser;
+		}
+
+		public Expression parse() {
+			Supplier<Expression> parser = this.parser;
+			Assert.state(parser != null, "Expression already parsed");
+			// Do not retain the calling parser for as long as the key is cached
+			this.parser = null;
+			return parser.get();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ExpressionKey)) {
+				return false;
+			}
+			ExpressionKey otherKey = (ExpressionKey) other;
+			return (this.expressionString.equals(otherKey.expressionString) &&
+					this.template == otherKey.template &&
+					ObjectUtils.nullSafeEquals(this.prefix, otherKey.prefix) &&
+					ObjectUtils.nullSafeEquals(this.suffix, otherKey.suffix) &&
+					this.configuration.equals(otherKey.configuration));
+		}
+
+		@Override
+		public int hashCode() {
+			int hashCode = this.expressionString.hashCode();
+			hashCode = 31 * hashCode + ObjectUtils.nullSafeHashCode(this.prefix);
+			hashCode = 31 * hashCode + ObjectUtils.nullSafeHashCode(this.suffix);
+			hashCode = 31 * hashCode + this.configuration.hashCode();
+			return hashCode;
+		}
+	}
+
+}
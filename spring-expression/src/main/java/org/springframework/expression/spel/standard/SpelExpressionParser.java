@@ -16,6 +16,7 @@
 
 package org.springframework.expression.spel.standard;
 
+import org.springframework.expression.Expression;
 import org.springframework.expression.ParseException;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.common.TemplateAwareExpressionParser;
@@ -34,12 +35,16 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 
 	private final SpelParserConfiguration configuration;
 
+	@Nullable
+	private final SpelExpressionCache expressionCache;
+
 
 	/**
 	 * Create a parser with default settings.
 	 */
 	public SpelExpressionParser() {
 		this.configuration = new SpelParserConfiguration();
+		this.expressionCache = null;
 	}
 
 	/**
@@ -49,10 +54,39 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 	public SpelExpressionParser(SpelParserConfiguration configuration) {
 		Assert.notNull(configuration, "SpelParserConfiguration must not be null");
 		this.configuration = configuration;
+		this.expressionCache = null;
 	}
 
+	/**
+	 * Create a parser with the specified configuration, returning shared
+	 * expression instances from the given cache for repeated input.
+	 * @param configuration custom configuration options
+	 * @param expressionCache the cache to keep parsed expressions in
+	 * (e.g. {@link SpelExpressionCache#getSharedInstance()})
+	 * @since 5.2
+	 */
+	public SpelExpressionParser(SpelParserConfiguration configuration, SpelExpressionCache expressionCache) {
+		Assert.notNull(configuration, "SpelParserConfiguration must not be null");
+		Assert.notNull(expressionCache, "SpelExpressionCache must not be null");
+		this.configuration = configuration;
+		this.expressionCache = expressionCache;
+	}
+
+
+	@Override
+	public Expression parseExpression(String expressionString, @Nullable ParserContext context) throws ParseException {
+		if (this.expressionCache != null) {
+			return this.expressionCache.getExpression(expressionString, context, this.configuration,
+					() -> super.parseExpression(expressionString, context));
+		}
+		return super.parseExpression(expressionString, context);
+	}
 
 	public SpelExpression parseRaw(String expressionString) throws ParseException {
+		if (this.expressionCache != null) {
+			return (SpelExpression) this.expressionCache.getExpression(expressionString, null, this.configuration,
+					() -> doParseExpression(expressionString, null));
+		}
 		return doParseExpression(expressionString, null);
 	}
 
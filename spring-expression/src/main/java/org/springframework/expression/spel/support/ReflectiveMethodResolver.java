@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.core.MethodParameter;
@@ -60,6 +61,8 @@ public class ReflectiveMethodResolver implements MethodResolver {
 	@Nullable
 	private Map<Class<?>, MethodFilter> filters;
 
+	private final Map<MethodCacheKey, Method[]> candidateMethodsCache = new ConcurrentHashMap<>(64);
+
 
 	public ReflectiveMethodResolver() {
 		this.useDistance = true;
@@ -106,6 +109,8 @@ public class ReflectiveMethodResolver implements MethodResolver {
 	 * <li>a match where we are able to convert the arguments into those expected by the constructor,
 	 * according to the registered type converter
 	 * </ol>
+	 * <p>As of 5.2, the candidate methods with the given name are cached per target type,
+	 * unless a {@link MethodFilter} has been registered for the type.
 	 */
 	@Override
 	@Nullable
@@ -115,92 +120,68 @@ public class ReflectiveMethodResolver implements MethodResolver {
 		try {
 			TypeConverter typeConverter = context.getTypeConverter();
 			Class<?> type = (targetObject instanceof Class ? (Class<?>) targetObject : targetObject.getClass());
-			ArrayList<Method> methods = new ArrayList<>(getMethods(type, targetObject));
 
-			// If a filter is registered for this type, call it
+			// If a filter is registered for this type, it needs to see all methods
 			MethodFilter filter = (this.filters != null ? this.filters.get(type) : null);
+			Method[] methodsToIterate;
 			if (filter != null) {
-				List<Method> filtered = filter.filter(methods);
-				methods = (filtered instanceof ArrayList ? (ArrayList<Method>) filtered : new ArrayList<>(filtered));
-			}
-
-			// Sort methods into a sensible order
-			if (methods.size() > 1) {
-				methods.sort((m1, m2) -> {
-					int m1pl = m1.getParameterCount();
-					int m2pl = m2.getParameterCount();
-					// vararg methods go last
-					if (m1pl == m2pl) {
-						if (!m1.isVarArgs() && m2.isVarArgs()) {
-							return -1;
-						}
-						else if (m1.isVarArgs() && !m2.isVarArgs()) {
-							return 1;
-						}
-						else {
-							return 0;
-						}
-					}
-					return Integer.compare(m1pl, m2pl);
-				});
+				methodsToIterate = getCandidateMethods(type, targetObject, filter, name);
 			}
-
-			// Resolve any bridge methods
-			for (int i = 0; i < methods.size(); i++) {
-				methods.set(i, BridgeMethodResolver.findBridgedMethod(methods.get(i)));
+			else {
+				MethodCacheKey cacheKey = new MethodCacheKey(type, name, targetObject instanceof Class);
+				methodsToIterate = this.candidateMethodsCache.get(cacheKey);
+				if (methodsToIterate == null) {
+					methodsToIterate = getCandidateMethods(type, targetObject, null, name);
+					this.candidateMethodsCache.put(cacheKey, methodsToIterate);
+				}
 			}
 
-			// Remove duplicate methods (possible due to resolved bridge methods)
-			Set<Method> methodsToIterate = new LinkedHashSet<>(methods);
-
 			Method closeMatch = null;
 			int closeMatchDistance = Integer.MAX_VALUE;
 			Method matchRequiringConversion = null;
 			boolean multipleOptions = false;
 
 			for (Method method : methodsToIterate) {
-				if (method.getName().equals(name)) {
-					Class<?>[] paramTypes = method.getParameterTypes();
-					List<TypeDescriptor> paramDescriptors = new ArrayList<>(paramTypes.length);
-					for (int i = 0; i < paramTypes.length; i++) {
-						paramDescriptors.add(new TypeDescriptor(new MethodParameter(method, i)));
-					}
-					ReflectionHelper.ArgumentsMatchInfo matchInfo = null;
-					if (method.isVarArgs() && argumentTypes.size() >= (paramTypes.length - 1)) {
-						// *sigh* complicated
-						matchInfo = ReflectionHelper.compareArgumentsVarargs(paramDescriptors, argumentTypes, typeConverter);
-					}
-					else if (paramTypes.length == argumentTypes.size()) {
-						// Name and parameter number match, check the arguments
-						matchInfo = ReflectionHelper.compareArguments(paramDescriptors, argumentTypes, typeConverter);
+				Class<?>[] paramTypes = method.getParameterTypes();
+				List<TypeDescriptor> paramDescriptors = new ArrayList<>(paramTypes.length);
+				for (int i = 0; i < paramTypes.length; i++) {
+					paramDescriptors.add(new TypeDescriptor(new MethodParameter(method, i)));
+				}
+				ReflectionHelper.ArgumentsMatchInfo matchInfo = null;
+				if (method.isVarArgs() && argumentTypes.size() >= (paramTypes.length - 1)) {
+					// *sigh* complicated
+					matchInfo = ReflectionHelper.compareArgumentsVarargs(paramDescriptors, argumentTypes, typeConverter);
+				}
+				else if (paramTypes.length == argumentTypes.size()) {
+					// Name and parameter number match, check the arguments
+					matchInfo = ReflectionHelper.compareArguments(paramDescriptors, argumentTypes, typeConverter);
+				}
+				if (matchInfo != null) {
+					if (matchInfo.isExactMatch()) {
+						return new ReflectiveMethodExecutor(method);
 					}
-					if (matchInfo != null) {
-						if (matchInfo.isExactMatch()) {
-							return new ReflectiveMethodExecutor(method);
-						}
-						else if (matchInfo.isCloseMatch()) {
-							if (this.useDistance) {
-								int matchDistance = ReflectionHelper.getTypeDifferenceWeight(paramDescriptors, argumentTypes);
-								if (closeMatch == null || matchDistance < closeMatchDistance) {
-									// This is a better match...
-									closeMatch = method;
-									closeMatchDistance = matchDistance;
-								}
-							}
-							else {
-								// Take this as a close match if there isn't one already
-								if (closeMatch == null) {
-									closeMatch = method;
-								}
+					else if (matchInfo.isCloseMatch()) {
+						if (this.useDistance) {
+							int matchDistance = ReflectionHelper.getTypeDifferenceWeight(paramDescriptors, argumentTypes);
+							if (closeMatch == null || matchDistance < closeMatchDistance) {
+								// This is a better match...
+								closeMatch = method;
+								closeMatchDistance = matchDistance;
 							}
 						}
-						else if (matchInfo.isMatchRequiringConversion()) {
-							if (matchRequiringConversion != null) {
-								multipleOptions = true;
+						else {
+							// Take this as a close match if there isn't one already
+							if (closeMatch == null) {
+								closeMatch = method;
 							}
-							matchRequiringConversion = method;
 						}
 					}
+					else if (matchInfo.isMatchRequiringConversion()) {
+						if (matchRequiringConversion != null) {
+							multipleOptions = true;
+						}
+						matchRequiringConversion = method;
+					}
 				}
 			}
 			if (closeMatch != null) {
@@ -221,6 +202,52 @@ public class ReflectiveMethodResolver implements MethodResolver {
 		}
 	}
 
+	/**
+	 * Determine the methods with the given name that are candidates for invocation
+	 * on the given target, in the order in which to check their arguments.
+	 */
+	private Method[] getCandidateMethods(
+			Class<?> type, Object targetObject, @Nullable MethodFilter filter, String name) {
+
+		ArrayList<Method> methods = new ArrayList<>(getMethods(type, targetObject));
+
+		// If a filter is registered for this type, call it
+		if (filter != null) {
+			List<Method> filtered = filter.filter(methods);
+			methods = (filtered instanceof ArrayList ? (ArrayList<Method>) filtered : new ArrayList<>(filtered));
+		}
+
+		// Sort methods into a sensible order
+		if (methods.size() > 1) {
+			methods.sort((m1, m2) -> {
+				int m1pl = m1.getParameterCount();
+				int m2pl = m2.getParameterCount();
+				// vararg methods go last
+				if (m1pl == m2pl) {
+					if (!m1.isVarArgs() && m2.isVarArgs()) {
+						return -1;
+					}
+					else if (m1.isVarArgs() && !m2.isVarArgs()) {
+						return 1;
+					}
+					else {
+						return 0;
+					}
+				}
+				return Integer.compare(m1pl, m2pl);
+			});
+		}
+
+		// Resolve any bridge methods and remove duplicates (possible due to resolved bridge methods)
+		Set<Method> candidates = new LinkedHashSet<>();
+		for (Method method : methods) {
+			if (method.getName().equals(name)) {
+				candidates.add(BridgeMethodResolver.findBridgedMethod(method));
+			}
+		}
+		return candidates.toArray(new Method[0]);
+	}
+
 	private Set<Method> getMethods(Class<?> type, Object targetObject) {
 		if (targetObject instanceof Class) {
 			Set<Method> result = new LinkedHashSet<>();
@@ -285,4 +312,38 @@ public class ReflectiveMethodResolver implements MethodResolver {
 		return true;
 	}
 
+
+	private static final class MethodCacheKey {
+
+		private final Class<?> clazz;
+
+		private final String name;
+
+		private final boolean targetIsClass;
+
+		public MethodCacheKey(Class<?> clazz, String name, boolean targetIsClass) {
+			this.clazz = clazz;
+			this.name = name;
+			this.targetIsClass = targetIsClass;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof MethodCacheKey)) {
+				return false;
+			}
+			MethodCacheKey otherKey = (MethodCacheKey) other;
+			return (this.clazz == otherKey.clazz && this.name.equals(otherKey.name) &&
+					this.targetIsClass == otherKey.targetIsClass);
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.clazz.hashCode() * 29 + this.name.hashCode());
+		}
+	}
+
 }
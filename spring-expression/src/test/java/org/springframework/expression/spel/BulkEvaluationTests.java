@@ -0,0 +1,160 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.spel.testresources.Person;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the bulk evaluation variants on {@link SpelExpression}.
+ */
+public class BulkEvaluationTests {
+
+	private final EvaluationContext context = new StandardEvaluationContext();
+
+
+	@Test
+	public void getValues() {
+		SpelExpression expression = parse("name.length()", SpelCompilerMode.OFF);
+		List<Integer> lengths = expression.getValues(this.context, persons("a", "bb", "ccc"), Integer.class);
+		assertEquals(Arrays.asList(1, 2, 3), lengths);
+	}
+
+	@Test
+	public void getValuesWithConversion() {
+		SpelExpression expression = parse("name.length()", SpelCompilerMode.OFF);
+		List<String> lengths = expression.getValues(this.context, persons("a", "bb"), String.class);
+		assertEquals(Arrays.asList("1", "2"), lengths);
+	}
+
+	@Test
+	public void getValuesCompiledAfterFirstElements() {
+		SpelExpression expression = parse("name.length() * 2", SpelCompilerMode.IMMEDIATE);
+		List<Integer> lengths = expression.getValues(this.context, persons("a", "bb", "ccc", "dddd"), Integer.class);
+		assertEquals(Arrays.asList(2, 4, 6, 8), lengths);
+		assertTrue(expression.isCompiled());
+	}
+
+	@Test
+	public void select() {
+		SpelExpression expression = parse("name.startsWith('a')", SpelCompilerMode.IMMEDIATE);
+		List<Person> selected = expression.select(this.context, persons("ab", "b", "ac", "c", "ad"));
+		assertEquals(Arrays.asList("ab", "ac", "ad"), names(selected));
+		assertTrue(expression.isCompiled());
+	}
+
+	@Test
+	public void selectWithNonBooleanResult() {
+		SpelExpression expression = parse("null", SpelCompilerMode.OFF);
+		try {
+			expression.select(this.context, persons("a"));
+			fail("Should have thrown SpelEvaluationException");
+		}
+		catch (SpelEvaluationException ex) {
+			assertEquals(SpelMessage.RESULT_OF_SELECTION_CRITERIA_IS_NOT_BOOLEAN, ex.getMessageCode());
+		}
+	}
+
+	@Test
+	public void asPredicateOnParallelStream() {
+		SpelExpression expression = parse("name.length() % 2 == 0", SpelCompilerMode.MIXED);
+		List<Person> persons = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			persons.add(new Person(String.valueOf(i)));
+		}
+		long count = persons.parallelStream().filter(expression.asPredicate(this.context)).count();
+		assertEquals(90, count);
+	}
+
+	@Test
+	public void asFunction() {
+		SpelExpression expression = parse("name.toUpperCase()", SpelCompilerMode.OFF);
+		List<String> names = persons("a", "b").stream()
+				.map(expression.<Person, String>asFunction(this.context, String.class))
+				.collect(Collectors.toList());
+		assertEquals(Arrays.asList("A", "B"), names);
+	}
+
+	@Test
+	public void asPrimitiveFunctions() {
+		SpelExpression expression = parse("name.length()", SpelCompilerMode.IMMEDIATE);
+		List<Person> persons = persons("a", "bb", "ccc");
+		assertEquals(6, persons.stream().mapToInt(expression.asIntFunction(this.context)).sum());
+		assertEquals(6L, persons.stream().mapToLong(expression.asLongFunction(this.context)).sum());
+		assertEquals(6.0d, persons.stream().mapToDouble(expression.asDoubleFunction(this.context)).sum(), 0.0d);
+		assertTrue(expression.isCompiled());
+
+		SpelExpression stringExpression = parse("'4' + name.length()", SpelCompilerMode.OFF);
+		assertEquals(41, persons.stream().mapToInt(stringExpression.asIntFunction(this.context)).min().getAsInt());
+	}
+
+
+	@Test
+	public void asIntFunctionConvertsLikeGetValue() {
+		SpelExpression expression = parse("name.length() * 10000000000L", SpelCompilerMode.OFF);
+		List<Person> persons = persons("a");
+		try {
+			persons.stream().mapToInt(expression.asIntFunction(this.context)).sum();
+			fail("Should have thrown SpelEvaluationException");
+		}
+		catch (SpelEvaluationException ex) {
+			assertEquals(SpelMessage.TYPE_CONVERSION_ERROR, ex.getMessageCode());
+		}
+		assertEquals(10000000000L, persons.stream().mapToLong(expression.asLongFunction(this.context)).sum());
+	}
+
+	@Test
+	public void asIntFunctionWithNullResult() {
+		SpelExpression expression = parse("null", SpelCompilerMode.OFF);
+		try {
+			persons("a").stream().mapToInt(expression.asIntFunction(this.context)).sum();
+			fail("Should have thrown SpelEvaluationException");
+		}
+		catch (SpelEvaluationException ex) {
+			assertEquals(SpelMessage.TYPE_CONVERSION_ERROR, ex.getMessageCode());
+		}
+	}
+
+
+	private static SpelExpression parse(String expression, SpelCompilerMode compilerMode) {
+		SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(compilerMode, null));
+		return parser.parseRaw(expression);
+	}
+
+	private static List<Person> persons(String... names) {
+		return Arrays.stream(names).map(Person::new).collect(Collectors.toList());
+	}
+
+	private static List<String> names(List<Person> persons) {
+		return persons.stream().map(Person::getName).collect(Collectors.toList());
+	}
+
+}
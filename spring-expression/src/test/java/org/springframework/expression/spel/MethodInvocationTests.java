@@ -21,6 +21,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
@@ -36,6 +37,7 @@ import org.springframework.expression.MethodFilter;
 import org.springframework.expression.MethodResolver;
 import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectiveMethodResolver;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.expression.spel.testresources.PlaceOfBirth;
 
@@ -243,6 +245,23 @@ public class MethodInvocationTests extends AbstractExpressionTests {
 		assertFalse(filter.filterCalled);
 	}
 
+	@Test
+	public void candidateMethodsCachedPerTargetType() {
+		CountingMethodResolver methodResolver = new CountingMethodResolver();
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setMethodResolvers(Collections.singletonList(methodResolver));
+
+		assertEquals("a", parser.parseExpression("charAt(0)").getValue(context, "abc", String.class));
+		assertEquals("y", parser.parseExpression("charAt(1)").getValue(context, "xyz", String.class));
+		assertEquals(1, methodResolver.getMethodsCount);
+
+		// Static methods on the type itself are candidates for a different set of methods
+		assertEquals("1", parser.parseExpression("valueOf(1)").getValue(context, String.class, String.class));
+		assertEquals(3, methodResolver.getMethodsCount);
+		assertEquals("2", parser.parseExpression("valueOf(2)").getValue(context, String.class, String.class));
+		assertEquals(3, methodResolver.getMethodsCount);
+	}
+
 	@Test
 	public void testAddingMethodResolvers() {
 		StandardEvaluationContext ctx = new StandardEvaluationContext();
@@ -321,6 +340,18 @@ public class MethodInvocationTests extends AbstractExpressionTests {
 	}
 
 
+	static class CountingMethodResolver extends ReflectiveMethodResolver {
+
+		int getMethodsCount;
+
+		@Override
+		protected Method[] getMethods(Class<?> type) {
+			this.getMethodsCount++;
+			return super.getMethods(type);
+		}
+	}
+
+
 	// Simple filter
 	static class LocalFilter implements MethodFilter {
 
@@ -32,6 +32,7 @@ import org.springframework.expression.PropertyAccessor;
 import org.springframework.expression.TypedValue;
 import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
 import org.springframework.expression.spel.support.SimpleEvaluationContext;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.expression.spel.testresources.Person;
@@ -290,6 +291,92 @@ public class PropertyAccessTests extends AbstractExpressionTests {
 		assertSame(Object.class, context.getRootObject().getTypeDescriptor().getType());
 	}
 
+	@Test
+	public void optimalReflectiveAccessorReusedForSameTargetType() {
+		CountingReflectivePropertyAccessor accessor = new CountingReflectivePropertyAccessor();
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setPropertyAccessors(Collections.singletonList(accessor));
+		Expression expression = parser.parseExpression("name");
+
+		assertEquals("p1", expression.getValue(context, new Person("p1")));
+		assertEquals("p2", expression.getValue(context, new Person("p2")));
+		assertEquals("p3", expression.getValue(context, new Person("p3")));
+		assertEquals(1, accessor.canReadCount);
+
+		// Different target type: resolve again
+		assertEquals("java.lang.String", expression.getValue(context, (Object) String.class));
+		assertEquals(2, accessor.canReadCount);
+		assertEquals("p4", expression.getValue(context, new Person("p4")));
+		assertEquals(3, accessor.canReadCount);
+
+		// Originating accessor not registered anymore: resolve again
+		CountingReflectivePropertyAccessor otherAccessor = new CountingReflectivePropertyAccessor();
+		context.setPropertyAccessors(Collections.singletonList(otherAccessor));
+		assertEquals("p5", expression.getValue(context, new Person("p5")));
+		assertEquals(1, otherAccessor.canReadCount);
+	}
+
+
+	@Test
+	public void optimalReflectiveAccessorNotReusedForClassTarget() {
+		CountingReflectivePropertyAccessor accessor = new CountingReflectivePropertyAccessor();
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setPropertyAccessors(Collections.singletonList(accessor));
+		Expression expression = parser.parseExpression("name");
+
+		assertEquals("p1", expression.getValue(context, new Person("p1")));
+		assertEquals(Person.class.getName(), expression.getValue(context, (Object) Person.class));
+		assertEquals(2, accessor.canReadCount);
+		assertEquals("p2", expression.getValue(context, new Person("p2")));
+		assertEquals(3, accessor.canReadCount);
+	}
+
+	@Test
+	public void optimalReflectiveAccessorPropagatesReadFailure() {
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		Expression expression = parser.parseExpression("value");
+		FailingGetter target = new FailingGetter();
+
+		assertEquals("ok", expression.getValue(context, target));
+		target.fail = true;
+		try {
+			expression.getValue(context, target);
+			fail("Should have thrown SpelEvaluationException");
+		}
+		catch (SpelEvaluationException ex) {
+			assertEquals(SpelMessage.EXCEPTION_DURING_PROPERTY_READ, ex.getMessageCode());
+		}
+		assertEquals(2, target.count);
+	}
+
+
+	private static class CountingReflectivePropertyAccessor extends ReflectivePropertyAccessor {
+
+		int canReadCount;
+
+		@Override
+		public boolean canRead(EvaluationContext context, Object target, String name) throws AccessException {
+			this.canReadCount++;
+			return super.canRead(context, target, name);
+		}
+	}
+
+
+	public static class FailingGetter {
+
+		boolean fail;
+
+		int count;
+
+		public String getValue() {
+			this.count++;
+			if (this.fail) {
+				throw new IllegalStateException("getter failure");
+			}
+			return "ok";
+		}
+	}
+
 
 	// This can resolve the property 'flibbles' on any String (very useful...)
 	private static class StringyPropertyAccessor implements PropertyAccessor {
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -109,6 +110,10 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * FunctionReference
 	 * InlineList
 	 * OpModulus
+	 * OpMatches
+	 * OpPower
+	 * Projection (over an Iterable)
+	 * Selection (over an Iterable)
 	 *
 	 * Not yet compiled (some may never need to be):
 	 * Assign
@@ -116,12 +121,10 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * Identifier
 	 * OpDec
 	 * OpBetween
-	 * OpMatches
-	 * OpPower
 	 * OpInc
-	 * Projection
+	 * Projection (over an array or a Map)
 	 * QualifiedId
-	 * Selection
+	 * Selection (over an array or a Map)
 	 */
 
 
@@ -1028,7 +1031,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 
 		expression = parser.parseExpression("#negate(#ints.?[#this<2][0])");
 		assertEquals("-1", expression.getValue(context, Integer.class).toString());
-		// Selection isn't compilable.
+		// Selection over an array isn't compilable.
 		assertFalse(((SpelNodeImpl)((SpelExpression) expression).getAST()).isCompilable());
 	}
 
@@ -1559,7 +1562,11 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 
 		// number types are not the same
 		expression = parse("1 == 3.0d");
-		assertCantCompile(expression);
+		assertCanCompile(expression);
+		assertFalse((Boolean) expression.getValue());
+		expression = parse("3 == 3.0d");
+		assertCanCompile(expression);
+		assertTrue((Boolean) expression.getValue());
 
 		Double d = 3.0d;
 		expression = parse("#root==3.0d");
@@ -1702,9 +1709,13 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertCanCompile(expression);
 		assertTrue((Boolean) expression.getValue());
 
-		// not compatible number types
+		// number types are not the same
 		expression = parse("1 != 3.0d");
-		assertCantCompile(expression);
+		assertCanCompile(expression);
+		assertTrue((Boolean) expression.getValue());
+		expression = parse("3L != 3.0f");
+		assertCanCompile(expression);
+		assertFalse((Boolean) expression.getValue());
 
 		expression = parse("T(Integer).valueOf(3) != 4");
 		assertTrue((Boolean) expression.getValue());
@@ -3229,6 +3240,189 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertEquals(1.0f, expression.getValue());
 	}
 
+	@Test
+	public void opPower() throws Exception {
+		expression = parse("2.0d^3.0d");
+		assertEquals(8.0d, expression.getValue());
+		assertCanCompile(expression);
+		assertEquals(8.0d, expression.getValue());
+
+		expression = parse("2.0f^3");
+		assertEquals(8.0d, expression.getValue());
+		assertCanCompile(expression);
+		assertEquals(8.0d, expression.getValue());
+
+		expression = parse("T(Double).valueOf(4.0d)^0.5d");
+		assertEquals(2.0d, expression.getValue());
+		assertCanCompile(expression);
+		assertEquals(2.0d, expression.getValue());
+
+		// Integral result type depends on the magnitude of the result
+		expression = parse("2^3");
+		assertEquals(8, expression.getValue());
+		assertCantCompile(expression);
+
+		expression = parse("2L^3");
+		assertEquals(8L, expression.getValue());
+		assertCantCompile(expression);
+
+		// Exit type descriptor reflects the operands of the latest evaluation
+		expression = parse("#root^2");
+		SpelNodeImpl ast = (SpelNodeImpl) ((SpelExpression) expression).getAST();
+		assertEquals(4.0d, expression.getValue(2.0d));
+		assertEquals("D", ast.getExitDescriptor());
+		assertEquals(4, expression.getValue(2));
+		assertNull(ast.getExitDescriptor());
+	}
+
+	@Test
+	public void opMatches() throws Exception {
+		expression = parse("'abc' matches 'a.c'");
+		assertTrue(expression.getValue(Boolean.class));
+		assertCanCompile(expression);
+		assertTrue(expression.getValue(Boolean.class));
+
+		expression = parse("'abd' matches 'a.c'");
+		assertFalse(expression.getValue(Boolean.class));
+		assertCanCompile(expression);
+		assertFalse(expression.getValue(Boolean.class));
+
+		expression = parse("#root matches '[0-9]+' and #root matches '.*5'");
+		assertTrue(expression.getValue("12345", Boolean.class));
+		assertCanCompile(expression);
+		assertTrue(expression.getValue("12345", Boolean.class));
+		assertFalse(expression.getValue("12346", Boolean.class));
+		assertFalse(expression.getValue("abc", Boolean.class));
+
+		// Non-literal regex
+		expression = parse("'abc' matches #root");
+		assertTrue(expression.getValue("a.c", Boolean.class));
+		assertCantCompile(expression);
+
+		// Non-String first operand
+		expression = parse("123 matches '[0-9]+'");
+		assertTrue(expression.getValue(Boolean.class));
+		assertCantCompile(expression);
+
+		// Invalid regex
+		expression = parse("'abc' matches '[a'");
+		try {
+			expression.getValue(Boolean.class);
+			fail("Should have failed with an invalid regex");
+		}
+		catch (SpelEvaluationException ex) {
+			assertEquals(SpelMessage.INVALID_PATTERN, ex.getMessageCode());
+		}
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void opMatchesFailureReportsPosition() throws Exception {
+		expression = parse("true and #root matches 'a.c'");
+		assertTrue(expression.getValue("abc", Boolean.class));
+		assertCanCompile(expression);
+		try {
+			expression.getValue((Object) null, Boolean.class);
+			fail("Should have failed with a null first operand");
+		}
+		catch (SpelEvaluationException ex) {
+			assertTrue(ex.getCause() instanceof SpelEvaluationException);
+			SpelEvaluationException cause = (SpelEvaluationException) ex.getCause();
+			assertEquals(SpelMessage.INVALID_FIRST_OPERAND_FOR_MATCHES_OPERATOR, cause.getMessageCode());
+			assertEquals(9, cause.getPosition());
+		}
+	}
+
+	@Test
+	public void selection() throws Exception {
+		List<Integer> numbers = new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5));
+
+		expression = parse("?[#this > 2]");
+		assertEquals(Arrays.asList(3, 4, 5), expression.getValue(numbers));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList(3, 4, 5), expression.getValue(numbers));
+		assertEquals(Collections.emptyList(), expression.getValue(Arrays.asList(1, 2)));
+
+		expression = parse("^[#this > 2]");
+		assertEquals(3, expression.getValue(numbers));
+		assertCanCompile(expression);
+		assertEquals(3, expression.getValue(numbers));
+		assertNull(expression.getValue(Arrays.asList(1, 2)));
+
+		expression = parse("$[#this > 2]");
+		assertEquals(5, expression.getValue(numbers));
+		assertCanCompile(expression);
+		assertEquals(5, expression.getValue(numbers));
+		assertNull(expression.getValue(Arrays.asList(1, 2)));
+
+		expression = parse("{'a','bb','ccc'}.?[length() > 1].size()");
+		assertEquals(2, expression.getValue());
+		assertCanCompile(expression);
+		assertEquals(2, expression.getValue());
+
+		expression = parse("?[#this >= #root.size()]");
+		assertEquals(Collections.singletonList(5), expression.getValue(numbers));
+		assertCanCompile(expression);
+		assertEquals(Collections.singletonList(5), expression.getValue(numbers));
+
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("numbers", numbers);
+		expression = parse("#numbers?.?[#this > 4]");
+		assertEquals(Collections.singletonList(5), expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(Collections.singletonList(5), expression.getValue(context));
+		context.setVariable("numbers", null);
+		assertNull(expression.getValue(context));
+
+		expression = parse("?[#this]");
+		assertEquals(Collections.singletonList(true), expression.getValue(Arrays.asList(true, false)));
+		assertCanCompile(expression);
+		assertEquals(Collections.singletonList(true), expression.getValue(Arrays.asList(true, false)));
+
+		expression = parse("new int[] {1,2,3}.?[#this > 2]");
+		assertEquals(3, ((Integer[]) expression.getValue())[0].intValue());
+		assertCantCompile(expression);
+	}
+
+	@Test
+	public void projection() throws Exception {
+		List<Integer> numbers = Arrays.asList(1, 2, 3);
+
+		expression = parse("![#this * 2]");
+		assertEquals(Arrays.asList(2, 4, 6), expression.getValue(numbers));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList(2, 4, 6), expression.getValue(numbers));
+		assertEquals(Collections.emptyList(), expression.getValue(Collections.emptyList()));
+
+		expression = parse("{'a','bb','ccc'}.![length()]");
+		assertEquals(Arrays.asList(1, 2, 3), expression.getValue());
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList(1, 2, 3), expression.getValue());
+
+		expression = parse("{{1,2},{3}}.![#this.![#this + 1]]");
+		assertEquals(Arrays.asList(Arrays.asList(2, 3), Collections.singletonList(4)), expression.getValue());
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList(Arrays.asList(2, 3), Collections.singletonList(4)), expression.getValue());
+
+		expression = parse("?[#this > 1].![#this * 10]");
+		assertEquals(Arrays.asList(20, 30), expression.getValue(numbers));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList(20, 30), expression.getValue(numbers));
+
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("numbers", numbers);
+		expression = parse("#numbers?.![#this * 2]");
+		assertEquals(Arrays.asList(2, 4, 6), expression.getValue(context));
+		assertCanCompile(expression);
+		assertEquals(Arrays.asList(2, 4, 6), expression.getValue(context));
+		context.setVariable("numbers", null);
+		assertNull(expression.getValue(context));
+
+		expression = parse("new int[] {1,2,3}.![#this * 2]");
+		assertEquals(6, ((Integer[]) expression.getValue())[2].intValue());
+		assertCantCompile(expression);
+	}
+
 	@Test
 	public void compilationOfBasicNullSafeMethodReference() {
 		SpelExpressionParser parser = new SpelExpressionParser(
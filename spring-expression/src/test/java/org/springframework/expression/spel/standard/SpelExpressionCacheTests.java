@@ -0,0 +1,147 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import org.junit.Test;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link SpelExpressionCache}.
+ */
+public class SpelExpressionCacheTests {
+
+	private final SpelExpressionCache cache = new SpelExpressionCache(16);
+
+
+	@Test
+	public void sameExpressionInstanceForSameInput() {
+		SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(), this.cache);
+		Expression expression = parser.parseExpression("'abc'.length()");
+		assertSame(expression, parser.parseExpression("'abc'.length()"));
+		assertSame(expression, parser.parseRaw("'abc'.length()"));
+		assertEquals(3, expression.getValue());
+
+		assertEquals(1, this.cache.size());
+		assertEquals(2, this.cache.getHitCount());
+		assertEquals(1, this.cache.getMissCount());
+	}
+
+	@Test
+	public void sharedAcrossParsersWithEqualConfiguration() {
+		SpelExpressionParser parser1 = new SpelExpressionParser(new SpelParserConfiguration(), this.cache);
+		SpelExpressionParser parser2 = new SpelExpressionParser(new SpelParserConfiguration(), this.cache);
+		assertSame(parser1.parseExpression("1 + 2"), parser2.parseExpression("1 + 2"));
+	}
+
+	@Test
+	public void separateEntriesForDifferentConfiguration() {
+		SpelExpressionParser parser1 = new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.OFF, null), this.cache);
+		SpelExpressionParser parser2 = new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null), this.cache);
+		assertNotSame(parser1.parseExpression("1 + 2"), parser2.parseExpression("1 + 2"));
+		assertEquals(2, this.cache.size());
+	}
+
+	@Test
+	public void separateEntriesForTemplates() {
+		SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(), this.cache);
+		Expression raw = parser.parseExpression("'abc'");
+		Expression template = parser.parseExpression("'abc'", new TemplateParserContext());
+		assertNotSame(raw, template);
+		assertEquals("abc", raw.getValue());
+		assertEquals("'abc'", template.getValue());
+		assertSame(template, parser.parseExpression("'abc'", new TemplateParserContext()));
+	}
+
+	@Test
+	public void parseFailureNotCached() {
+		SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(), this.cache);
+		for (int i = 0; i < 2; i++) {
+			try {
+				parser.parseExpression("1 +");
+				fail("Should have thrown ParseException");
+			}
+			catch (ParseException ex) {
+				// expected
+			}
+		}
+		assertEquals(0, this.cache.size());
+		assertEquals(2, this.cache.getMissCount());
+	}
+
+	@Test
+	public void boundedSize() {
+		SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(), this.cache);
+		for (int i = 0; i < 100; i++) {
+			Expression expression = parser.parseExpression(i + " * 2");
+			assertEquals(i * 2, expression.getValue());
+			assertTrue(this.cache.size() <= 16);
+		}
+	}
+
+	@Test
+	public void recentlyUsedExpressionRetained() {
+		SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(), this.cache);
+		Expression expression = parser.parseExpression("'abc'.length()");
+		for (int i = 0; i < 100; i++) {
+			parser.parseExpression(i + " * 2");
+			assertSame(expression, parser.parseExpression("'abc'.length()"));
+		}
+		assertEquals(16, this.cache.size());
+		assertEquals(101, this.cache.getMissCount());
+		assertEquals(100, this.cache.getHitCount());
+	}
+
+	@Test
+	public void compiledOnceForAllParsers() {
+		SpelParserConfiguration configuration = new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null);
+		SpelExpressionParser parser = new SpelExpressionParser(configuration, this.cache);
+		SpelExpression expression = parser.parseRaw("'abc'.length()");
+		assertEquals(3, expression.getValue());
+		assertEquals(3, expression.getValue());
+		assertTrue(expression.isCompiled());
+		assertEquals(1, this.cache.getCompiledCount());
+
+		SpelExpression other = new SpelExpressionParser(configuration, this.cache).parseRaw("'abc'.length()");
+		assertSame(expression, other);
+		assertTrue(other.isCompiled());
+	}
+
+	@Test
+	public void clear() {
+		SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(), this.cache);
+		parser.parseExpression("1");
+		parser.parseExpression("1");
+		this.cache.clear();
+		assertEquals(0, this.cache.size());
+		assertEquals(0, this.cache.getHitCount());
+		assertEquals(0, this.cache.getMissCount());
+	}
+
+}
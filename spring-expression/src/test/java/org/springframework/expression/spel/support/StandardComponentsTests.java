@@ -31,6 +31,9 @@ import org.springframework.expression.TypeLocator;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 public class StandardComponentsTests {
 
@@ -48,6 +51,30 @@ public class StandardComponentsTests {
 		assertEquals(tl, context.getTypeLocator());
 	}
 
+	@Test
+	public void testApplyDelegatesTo() {
+		StandardEvaluationContext original = new StandardEvaluationContext();
+		original.setVariable("foo", "bar");
+		StandardEvaluationContext context = new StandardEvaluationContext("root");
+		original.applyDelegatesTo(context);
+
+		assertEquals(original.getPropertyAccessors(), context.getPropertyAccessors());
+		assertNotSame(original.getPropertyAccessors(), context.getPropertyAccessors());
+		assertSame(original.getPropertyAccessors().get(0), context.getPropertyAccessors().get(0));
+		assertEquals(original.getMethodResolvers(), context.getMethodResolvers());
+		assertEquals(original.getConstructorResolvers(), context.getConstructorResolvers());
+		assertSame(original.getTypeLocator(), context.getTypeLocator());
+		assertSame(original.getTypeConverter(), context.getTypeConverter());
+		assertSame(original.getTypeComparator(), context.getTypeComparator());
+		assertSame(original.getOperatorOverloader(), context.getOperatorOverloader());
+
+		assertEquals("root", context.getRootObject().getValue());
+		assertNull(context.lookupVariable("foo"));
+
+		context.addPropertyAccessor(new ReflectivePropertyAccessor());
+		assertEquals(1, original.getPropertyAccessors().size());
+	}
+
 	@Test(expected = EvaluationException.class)
 	public void testStandardOperatorOverloader() throws EvaluationException {
 		OperatorOverloader oo = new StandardOperatorOverloader();
@@ -26,6 +26,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.CompiledMethodInvoker;
 import org.springframework.core.GenericTypeResolver;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.annotation.AnnotatedElementUtils;
@@ -69,6 +70,8 @@ public class HandlerMethod {
 
 	private final Method bridgedMethod;
 
+	private final CompiledMethodInvoker methodInvoker;
+
 	private final MethodParameter[] parameters;
 
 	@Nullable
@@ -88,6 +91,7 @@ public class HandlerMethod {
 		this.beanType = ClassUtils.getUserClass(bean);
 		this.method = method;
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
+		this.methodInvoker = CompiledMethodInvoker.forMethod(this.bridgedMethod);
 		this.parameters = initMethodParameters();
 	}
 
@@ -103,6 +107,7 @@ public class HandlerMethod {
 		this.beanType = ClassUtils.getUserClass(bean);
 		this.method = bean.getClass().getMethod(methodName, parameterTypes);
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(this.method);
+		this.methodInvoker = CompiledMethodInvoker.forMethod(this.bridgedMethod);
 		this.parameters = initMethodParameters();
 	}
 
@@ -124,6 +129,7 @@ public class HandlerMethod {
 		this.beanType = ClassUtils.getUserClass(beanType);
 		this.method = method;
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
+		this.methodInvoker = CompiledMethodInvoker.forMethod(this.bridgedMethod);
 		this.parameters = initMethodParameters();
 	}
 
@@ -137,6 +143,7 @@ public class HandlerMethod {
 		this.beanType = handlerMethod.beanType;
 		this.method = handlerMethod.method;
 		this.bridgedMethod = handlerMethod.bridgedMethod;
+		this.methodInvoker = handlerMethod.methodInvoker;
 		this.parameters = handlerMethod.parameters;
 		this.resolvedFromHandlerMethod = handlerMethod.resolvedFromHandlerMethod;
 	}
@@ -152,6 +159,7 @@ public class HandlerMethod {
 		this.beanType = handlerMethod.beanType;
 		this.method = handlerMethod.method;
 		this.bridgedMethod = handlerMethod.bridgedMethod;
+		this.methodInvoker = handlerMethod.methodInvoker;
 		this.parameters = handlerMethod.parameters;
 		this.resolvedFromHandlerMethod = handlerMethod;
 	}
@@ -217,6 +225,15 @@ public class HandlerMethod {
 		return this.bridgedMethod;
 	}
 
+	/**
+	 * Return the invoker for the {@link #getBridgedMethod() bridged method},
+	 * resolved once and shared with copies of this handler method.
+	 * @since 5.2
+	 */
+	protected CompiledMethodInvoker getMethodInvoker() {
+		return this.methodInvoker;
+	}
+
 	/**
 	 * Return the method parameters for this handler method.
 	 */
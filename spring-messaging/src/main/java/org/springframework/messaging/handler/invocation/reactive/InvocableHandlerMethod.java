@@ -129,12 +129,12 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			Object value;
 			try {
 				Method method = getBridgedMethod();
-				ReflectionUtils.makeAccessible(method);
 				if (KotlinDetector.isKotlinReflectPresent() && KotlinDetector.isKotlinType(method.getDeclaringClass())) {
+					ReflectionUtils.makeAccessible(method);
 					value = CoroutinesUtils.invokeHandlerMethod(method, getBean(), args);
 				}
 				else {
-					value = method.invoke(getBean(), args);
+					value = getMethodInvoker().invoke(getBean(), args);
 				}
 			}
 			catch (IllegalArgumentException ex) {
@@ -21,6 +21,7 @@ import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.fasterxml.jackson.core.JsonEncoding;
@@ -32,6 +33,7 @@ import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -51,6 +53,8 @@ import org.springframework.http.converter.HttpMessageNotWritableException;
 import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.TypeUtils;
 
 /**
@@ -59,6 +63,14 @@ import org.springframework.util.TypeUtils;
  *
  * <p>Compatible with Jackson 2.9 and higher, as of Spring 5.0.
  *
+ * <p>As of Spring 5.2, the {@link ObjectReader} and {@link ObjectWriter} for each
+ * target type and serialization view are created once and cached. They capture
+ * the configuration of the {@code ObjectMapper} at the time of their creation:
+ * the caches are cleared when the {@code ObjectMapper} is replaced through
+ * {@link #setObjectMapper} or reconfigured through {@link #setPrettyPrint}, but
+ * changes made on the {@code ObjectMapper} directly after the converter has been
+ * used only take effect after a call to {@link #clearCaches()}.
+ *
  * @author Arjen Poutsma
  * @author Keith Donald
  * @author Rossen Stoyanchev
@@ -85,6 +97,10 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 	@Nullable
 	private PrettyPrinter ssePrettyPrinter;
 
+	private final Map<TypeViewKey, ObjectReader> objectReaderCache = new ConcurrentReferenceHashMap<>(64);
+
+	private final Map<TypeViewKey, ObjectWriter> objectWriterCache = new ConcurrentReferenceHashMap<>(64);
+
 
 	protected AbstractJackson2HttpMessageConverter(ObjectMapper objectMapper) {
 		this.objectMapper = objectMapper;
@@ -119,6 +135,7 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 		Assert.notNull(objectMapper, "ObjectMapper must not be null");
 		this.objectMapper = objectMapper;
 		configurePrettyPrint();
+		clearCaches();
 	}
 
 	/**
@@ -145,9 +162,25 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 	private void configurePrettyPrint() {
 		if (this.prettyPrint != null) {
 			this.objectMapper.configure(SerializationFeature.INDENT_OUTPUT, this.prettyPrint);
+			clearCaches();
 		}
 	}
 
+	/**
+	 * Clear the cached {@link ObjectReader} and {@link ObjectWriter} instances,
+	 * which capture the configuration of the {@code ObjectMapper} at the time
+	 * of their creation.
+	 * <p>This is done automatically when the {@code ObjectMapper} is replaced
+	 * or reconfigured through this converter, but needs to be invoked after
+	 * reconfiguring the {@code ObjectMapper} directly once the converter has
+	 * been used.
+	 * @since 5.2
+	 */
+	public void clearCaches() {
+		this.objectReaderCache.clear();
+		this.objectWriterCache.clear();
+	}
+
 
 	@Override
 	public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
@@ -233,11 +266,10 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 			if (inputMessage instanceof MappingJacksonInputMessage) {
 				Class<?> deserializationView = ((MappingJacksonInputMessage) inputMessage).getDeserializationView();
 				if (deserializationView != null) {
-					return this.objectMapper.readerWithView(deserializationView).forType(javaType).
-							readValue(inputMessage.getBody());
+					return getObjectReader(javaType, deserializationView).readValue(inputMessage.getBody());
 				}
 			}
-			return this.objectMapper.readValue(inputMessage.getBody(), javaType);
+			return getObjectReader(javaType, null).readValue(inputMessage.getBody());
 		}
 		catch (InvalidDefinitionException ex) {
 			throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
@@ -275,14 +307,11 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 				javaType = getJavaType(type, null);
 			}
 
-			ObjectWriter objectWriter = (serializationView != null ?
-					this.objectMapper.writerWithView(serializationView) : this.objectMapper.writer());
+			ObjectWriter objectWriter = getObjectWriter(
+					(javaType != null && javaType.isContainerType() ? javaType : null), serializationView);
 			if (filters != null) {
 				objectWriter = objectWriter.with(filters);
 			}
-			if (javaType != null && javaType.isContainerType()) {
-				objectWriter = objectWriter.forType(javaType);
-			}
 			SerializationConfig config = objectWriter.getConfig();
 			if (contentType != null && contentType.isCompatibleWith(MediaType.TEXT_EVENT_STREAM) &&
 					config.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
@@ -301,6 +330,38 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 		}
 	}
 
+	/**
+	 * Return the cached {@link ObjectReader} for the given type and view.
+	 */
+	private ObjectReader getObjectReader(JavaType javaType, @Nullable Class<?> view) {
+		TypeViewKey key = new TypeViewKey(javaType, view);
+		ObjectReader objectReader = this.objectReaderCache.get(key);
+		if (objectReader == null) {
+			objectReader = (view != null ? this.objectMapper.readerWithView(view).forType(javaType) :
+					this.objectMapper.readerFor(javaType));
+			this.objectReaderCache.put(key, objectReader);
+		}
+		return objectReader;
+	}
+
+	/**
+	 * Return the cached {@link ObjectWriter} for the given type and view, with
+	 * the root serializer for the type pre-fetched if a type is given.
+	 */
+	private ObjectWriter getObjectWriter(@Nullable JavaType javaType, @Nullable Class<?> view) {
+		TypeViewKey key = new TypeViewKey(javaType, view);
+		ObjectWriter objectWriter = this.objectWriterCache.get(key);
+		if (objectWriter == null) {
+			objectWriter = (view != null ?
+					this.objectMapper.writerWithView(view) : this.objectMapper.writer());
+			if (javaType != null) {
+				objectWriter = objectWriter.forType(javaType);
+			}
+			this.objectWriterCache.put(key, objectWriter);
+		}
+		return objectWriter;
+	}
+
 	/**
 	 * Write a prefix before the main content.
 	 * @param generator the generator to use for writing content.
@@ -363,4 +424,39 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 		return super.getContentLength(object, contentType);
 	}
 
+
+	/**
+	 * Cache key for readers and writers: a type, if any, and a view, if any.
+	 */
+	private static final class TypeViewKey {
+
+		@Nullable
+		private final JavaType javaType;
+
+		@Nullable
+		private final Class<?> view;
+
+		TypeViewKey(@Nullable JavaType javaType, @Nullable Class<?> view) {
+			this.javaType = javaType;
+			this.view = view;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof TypeViewKey)) {
+				return false;
+			}
+			TypeViewKey otherKey = (TypeViewKey) other;
+			return (ObjectUtils.nullSafeEquals(this.javaType, otherKey.javaType) && this.view == otherKey.view);
+		}
+
+		@Override
+		public int hashCode() {
+			return ObjectUtils.nullSafeHashCode(this.javaType) * 31 + ObjectUtils.nullSafeHashCode(this.view);
+		}
+	}
+
 }
@@ -48,12 +48,16 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 	private final Map<MethodParameter, HandlerMethodArgumentResolver> argumentResolverCache =
 			new ConcurrentHashMap<>(256);
 
+	private final Map<MethodParameter, HandlerMethodArgumentResolver[]> argumentResolversCache =
+			new ConcurrentHashMap<>(256);
+
 
 	/**
 	 * Add the given {@link HandlerMethodArgumentResolver}.
 	 */
 	public HandlerMethodArgumentResolverComposite addResolver(HandlerMethodArgumentResolver resolver) {
 		this.argumentResolvers.add(resolver);
+		this.argumentResolversCache.clear();
 		return this;
 	}
 
@@ -64,6 +68,7 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 	public HandlerMethodArgumentResolverComposite addResolvers(@Nullable HandlerMethodArgumentResolver... resolvers) {
 		if (resolvers != null) {
 			Collections.addAll(this.argumentResolvers, resolvers);
+			this.argumentResolversCache.clear();
 		}
 		return this;
 	}
@@ -76,6 +81,7 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 
 		if (resolvers != null) {
 			this.argumentResolvers.addAll(resolvers);
+			this.argumentResolversCache.clear();
 		}
 		return this;
 	}
@@ -93,6 +99,7 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 	 */
 	public void clear() {
 		this.argumentResolvers.clear();
+		this.argumentResolversCache.clear();
 	}
 
 
@@ -126,6 +133,32 @@ public class HandlerMethodArgumentResolverComposite implements HandlerMethodArgu
 		return resolver.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
 	}
 
+	/**
+	 * Return the registered {@link HandlerMethodArgumentResolver} for each of the
+	 * given parameters of a method, with a {@code null} element for parameters
+	 * not supported by any resolver.
+	 * <p>The result is cached per method, so that invoking a handler method does
+	 * not need to look up the resolver for each of its parameters.
+	 * @param parameters all parameters of a method or constructor
+	 * @return the resolvers, in the order of the parameters (not to be modified)
+	 * @since 5.2
+	 */
+	public HandlerMethodArgumentResolver[] getArgumentResolvers(MethodParameter[] parameters) {
+		if (parameters.length == 0) {
+			return new HandlerMethodArgumentResolver[0];
+		}
+		// Parameters are equal for the same index and method
+		HandlerMethodArgumentResolver[] result = this.argumentResolversCache.get(parameters[0]);
+		if (result == null || result.length != parameters.length) {
+			result = new HandlerMethodArgumentResolver[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				result[i] = getArgumentResolver(parameters[i]);
+			}
+			this.argumentResolversCache.put(parameters[0], result);
+		}
+		return result;
+	}
+
 	/**
 	 * Find a registered {@link HandlerMethodArgumentResolver} that supports
 	 * the given method parameter.
@@ -18,6 +18,7 @@ package org.springframework.web.util;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
@@ -34,6 +35,10 @@ import org.springframework.util.FastByteArrayOutputStream;
  * the {@linkplain #getOutputStream() output stream} and {@linkplain #getWriter() writer},
  * and allows this content to be retrieved via a {@link #getContentAsByteArray() byte array}.
  *
+ * <p>A limit may be set for the amount of content to cache, beyond which the
+ * cached content is copied to the response and any further content is written
+ * through to it directly.
+ *
  * <p>Used e.g. by {@link org.springframework.web.filter.ShallowEtagHeaderFilter}.
  * Note: As of Spring Framework 5.0, this wrapper is built on the Servlet 3.1 API.
  *
@@ -56,6 +61,11 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 	@Nullable
 	private Integer contentLength;
 
+	@Nullable
+	private final Integer contentCacheLimit;
+
+	private boolean contentCacheLimitExceeded;
+
 
 	/**
 	 * Create a new ContentCachingResponseWrapper for the given servlet response.
@@ -63,6 +73,22 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 	 */
 	public ContentCachingResponseWrapper(HttpServletResponse response) {
 		super(response);
+		this.contentCacheLimit = null;
+	}
+
+	/**
+	 * Create a new ContentCachingResponseWrapper for the given servlet response,
+	 * caching at most the given number of bytes: once more content is written,
+	 * the cached content is copied to the response, followed by all further
+	 * content as it is written.
+	 * @param response the original servlet response
+	 * @param contentCacheLimit the maximum number of bytes to cache per response
+	 * @since 5.2
+	 * @see #isContentCacheLimitExceeded()
+	 */
+	public ContentCachingResponseWrapper(HttpServletResponse response, int contentCacheLimit) {
+		super(response);
+		this.contentCacheLimit = contentCacheLimit;
 	}
 
 
@@ -132,14 +158,19 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 
 	@Override
 	public void flushBuffer() throws IOException {
-		// do not flush the underlying response as the content as not been copied to it yet
+		// do not flush the underlying response unless the content is written through to it
+		if (this.contentCacheLimitExceeded) {
+			super.flushBuffer();
+		}
 	}
 
 	@Override
 	public void setContentLength(int len) {
-		if (len > this.content.size()) {
-			this.content.resize(len);
+		if (this.contentCacheLimitExceeded) {
+			super.setContentLength(len);
+			return;
 		}
+		resizeContent(len);
 		this.contentLength = len;
 	}
 
@@ -150,14 +181,25 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 					Integer.MAX_VALUE + "): " + len);
 		}
 		int lenInt = (int) len;
-		if (lenInt > this.content.size()) {
-			this.content.resize(lenInt);
+		if (this.contentCacheLimitExceeded) {
+			super.setContentLength(lenInt);
+			return;
 		}
+		resizeContent(lenInt);
 		this.contentLength = lenInt;
 	}
 
 	@Override
 	public void setBufferSize(int size) {
+		if (!this.contentCacheLimitExceeded) {
+			resizeContent(size);
+		}
+	}
+
+	private void resizeContent(int size) {
+		if (this.contentCacheLimit != null) {
+			size = Math.min(size, this.contentCacheLimit);
+		}
 		if (size > this.content.size()) {
 			this.content.resize(size);
 		}
@@ -165,6 +207,9 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 
 	@Override
 	public void resetBuffer() {
+		if (this.contentCacheLimitExceeded) {
+			super.resetBuffer();
+		}
 		this.content.reset();
 	}
 
@@ -181,6 +226,17 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 		return this.statusCode;
 	}
 
+	/**
+	 * Return whether more content has been written than the configured
+	 * content cache limit, in which case the content has been written to the
+	 * response and this wrapper does not hold the complete response body.
+	 * @since 5.2
+	 * @see #ContentCachingResponseWrapper(HttpServletResponse, int)
+	 */
+	public boolean isContentCacheLimitExceeded() {
+		return this.contentCacheLimitExceeded;
+	}
+
 	/**
 	 * Return the cached response content as a byte array.
 	 */
@@ -233,6 +289,37 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 		}
 	}
 
+	private void writeContent(int b) throws IOException {
+		if (!this.contentCacheLimitExceeded && this.contentCacheLimit != null &&
+				this.content.size() + 1 > this.contentCacheLimit) {
+			handleContentCacheLimitExceeded();
+		}
+		if (this.contentCacheLimitExceeded) {
+			getResponse().getOutputStream().write(b);
+		}
+		else {
+			this.content.write(b);
+		}
+	}
+
+	private void writeContent(byte[] b, int off, int len) throws IOException {
+		if (!this.contentCacheLimitExceeded && this.contentCacheLimit != null &&
+				this.content.size() + len > this.contentCacheLimit) {
+			handleContentCacheLimitExceeded();
+		}
+		if (this.contentCacheLimitExceeded) {
+			getResponse().getOutputStream().write(b, off, len);
+		}
+		else {
+			this.content.write(b, off, len);
+		}
+	}
+
+	private void handleContentCacheLimitExceeded() throws IOException {
+		copyBodyToResponse(false);
+		this.contentCacheLimitExceeded = true;
+	}
+
 
 	private class ResponseServletOutputStream extends ServletOutputStream {
 
@@ -244,12 +331,12 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 
 		@Override
 		public void write(int b) throws IOException {
-			content.write(b);
+			writeContent(b);
 		}
 
 		@Override
 		public void write(byte[] b, int off, int len) throws IOException {
-			content.write(b, off, len);
+			writeContent(b, off, len);
 		}
 
 		@Override
@@ -267,7 +354,7 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 	private class ResponsePrintWriter extends PrintWriter {
 
 		public ResponsePrintWriter(String characterEncoding) throws UnsupportedEncodingException {
-			super(new OutputStreamWriter(content, characterEncoding));
+			super(new OutputStreamWriter(new ContentOutputStream(), characterEncoding));
 		}
 
 		@Override
@@ -289,4 +376,18 @@ public class ContentCachingResponseWrapper extends HttpServletResponseWrapper {
 		}
 	}
 
+
+	private class ContentOutputStream extends OutputStream {
+
+		@Override
+		public void write(int b) throws IOException {
+			writeContent(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			writeContent(b, off, len);
+		}
+	}
+
 }
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.Comparator;
+import java.util.Map;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link PathMatcher} implementation that matches paths with precompiled
+ * {@link PathPattern PathPatterns}, allowing components built on the
+ * {@code PathMatcher} contract, such as Spring MVC handler mappings, to use
+ * the same pattern syntax and matching algorithm as Spring WebFlux.
+ *
+ * <p>Patterns are parsed once through the given {@link PathPatternParser}
+ * and kept in a bounded cache. Paths vary per request and are therefore not
+ * cached: callers that match the same path against many patterns may
+ * {@linkplain #parsePath(String) parse} it once and obtain a matcher that
+ * reuses the parsed path {@linkplain #withParsedPath(Object) for its matches},
+ * as the Spring MVC handler mappings do for the lookup path of a request
+ * through the {@link #PARSED_PATH_ATTRIBUTE} request attribute. Other paths
+ * are parsed for each match. Paths are matched as given: like
+ * {@link org.springframework.util.AntPathMatcher}, this matcher does not
+ * decode them, relying on the caller (e.g. a {@code UrlPathHelper}) to do so.
+ *
+ * <p>Note that {@code PathPattern} syntax only allows {@code "**"} at the
+ * end of a pattern.
+ *
+ * @since 5.2
+ * @see PathPattern
+ * @see PathPatternParser
+ */
+public class PathPatternMatcher implements PathMatcher {
+
+	/**
+	 * Name of the request attribute that holds the {@link PathContainer}
+	 * {@linkplain #parsePath(String) parsed} from the lookup path of the
+	 * current request, if any.
+	 */
+	public static final String PARSED_PATH_ATTRIBUTE = PathPatternMatcher.class.getName() + ".parsedPath";
+
+	private static final int CACHE_LIMIT = 1024;
+
+	private final PathPatternParser parser;
+
+	private final ConcurrentLruCache<String, PathPattern> patternCache;
+
+	/** The path that {@link #parsedPath} was parsed from, if any. */
+	@Nullable
+	private final String path;
+
+	@Nullable
+	private final PathContainer parsedPath;
+
+
+	/**
+	 * Create a new {@code PathPatternMatcher} with a default {@link PathPatternParser}.
+	 */
+	public PathPatternMatcher() {
+		this(new PathPatternParser());
+	}
+
+	/**
+	 * Create a new {@code PathPatternMatcher} with the given parser.
+	 * @param parser the parser to use for patterns
+	 */
+	public PathPatternMatcher(PathPatternParser parser) {
+		Assert.notNull(parser, "PathPatternParser must not be null");
+		this.parser = parser;
+		this.patternCache = new ConcurrentLruCache<>(CACHE_LIMIT, parser::parse);
+		this.path = null;
+		this.parsedPath = null;
+	}
+
+	private PathPatternMatcher(PathPatternMatcher matcher, PathContainer parsedPath) {
+		this.parser = matcher.parser;
+		this.patternCache = matcher.patternCache;
+		this.path = unescape(parsedPath.value());
+		this.parsedPath = parsedPath;
+	}
+
+
+	/**
+	 * Return the parser used for patterns.
+	 */
+	public PathPatternParser getParser() {
+		return this.parser;
+	}
+
+	/**
+	 * Return the parsed form of the given pattern.
+	 * @param pattern the pattern String
+	 * @throws PatternParseException if the pattern is invalid
+	 */
+	public PathPattern getPathPattern(String pattern) {
+		return this.patternCache.get(pattern);
+	}
+
+	/**
+	 * Return a matcher that shares the patterns of this matcher, and that
+	 * matches the given {@linkplain #parsePath(String) parsed path}, rather
+	 * than parsing it again, whenever asked to match the path it was parsed from.
+	 * @param parsedPath the parsed path, typically the value of the
+	 * {@link #PARSED_PATH_ATTRIBUTE} request attribute
+	 * @return a matcher for the given parsed path, or this matcher if the given
+	 * object is not a {@code PathContainer} or if this matcher is a subclass,
+	 * whose customizations a new instance would not carry over
+	 */
+	public PathPatternMatcher withParsedPath(@Nullable Object parsedPath) {
+		if (!(parsedPath instanceof PathContainer) || parsedPath == this.parsedPath ||
+				getClass() != PathPatternMatcher.class) {
+			return this;
+		}
+		return new PathPatternMatcher(this, (PathContainer) parsedPath);
+	}
+
+
+	@Override
+	public boolean isPattern(String path) {
+		for (int i = 0; i < path.length(); i++) {
+			char c = path.charAt(i);
+			if (c == '*' || c == '?' || c == '{') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean match(String pattern, String path) {
+		return getPathPattern(pattern).matches(getPathContainer(path));
+	}
+
+	@Override
+	public boolean matchStart(String pattern, String path) {
+		return (getPathPattern(pattern).matchStartOfPath(getPathContainer(path)) != null);
+	}
+
+	@Override
+	public String extractPathWithinPattern(String pattern, String path) {
+		String result = getPathPattern(pattern).extractPathWithinPattern(getPathContainer(path)).value();
+		return unescape(result);
+	}
+
+	@Override
+	public Map<String, String> extractUriTemplateVariables(String pattern, String path) {
+		PathPattern.PathMatchInfo info = getPathPattern(pattern).matchAndExtract(getPathContainer(path));
+		if (info == null) {
+			throw new IllegalStateException("Pattern \"" + pattern + "\" is not a match for \"" + path + "\"");
+		}
+		return info.getUriVariables();
+	}
+
+	/**
+	 * Return a comparator that sorts a pattern equal to the given path first,
+	 * followed by the remaining patterns by {@link PathPattern#SPECIFICITY_COMPARATOR
+	 * specificity}, with {@code null} patterns last.
+	 */
+	@Override
+	public Comparator<String> getPatternComparator(String path) {
+		return (pattern1, pattern2) -> {
+			if (pattern1 == null || pattern2 == null) {
+				return (pattern1 == null ? (pattern2 == null ? 0 : 1) : -1);
+			}
+			boolean exact1 = pattern1.equals(path);
+			boolean exact2 = pattern2.equals(path);
+			if (exact1 || exact2) {
+				return (exact1 ? (exact2 ? 0 : -1) : 1);
+			}
+			return PathPattern.SPECIFICITY_COMPARATOR.compare(getPathPattern(pattern1), getPathPattern(pattern2));
+		};
+	}
+
+	@Override
+	public String combine(String pattern1, String pattern2) {
+		if (!StringUtils.hasText(pattern1)) {
+			return (StringUtils.hasText(pattern2) ? pattern2 : "");
+		}
+		if (!StringUtils.hasText(pattern2)) {
+			return pattern1;
+		}
+		return getPathPattern(pattern1).combine(getPathPattern(pattern2)).getPatternString();
+	}
+
+
+	/**
+	 * Parse the given path into the form that patterns are matched against,
+	 * escaping '%' since {@link PathContainer} decodes path segments for
+	 * matching whereas paths are to be matched as given.
+	 * @param path the path to parse
+	 * @return the parsed path
+	 * @see #withParsedPath(Object)
+	 */
+	public static PathContainer parsePath(String path) {
+		return PathContainer.parsePath(path.indexOf('%') != -1 ? StringUtils.replace(path, "%", "%25") : path);
+	}
+
+	private PathContainer getPathContainer(String path) {
+		PathContainer parsedPath = this.parsedPath;
+		return (parsedPath != null && path.equals(this.path) ? parsedPath : parsePath(path));
+	}
+
+	private static String unescape(String value) {
+		return (value.indexOf('%') != -1 ? StringUtils.replace(value, "%25", "%") : value);
+	}
+
+}
@@ -28,6 +28,7 @@ import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonView;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.ser.FilterProvider;
 import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
@@ -313,6 +314,65 @@ public class MappingJackson2HttpMessageConverterTests {
 				"  \"name\" : \"Jason\"" + NEWLINE_SYSTEM_PROPERTY + "}", result);
 	}
 
+	@Test
+	public void prettyPrintAfterWrite() throws Exception {
+		PrettyPrintBean bean = new PrettyPrintBean();
+		bean.setName("Jason");
+
+		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+		this.converter.writeInternal(bean, null, outputMessage);
+		assertEquals("{\"name\":\"Jason\"}", outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+
+		this.converter.setPrettyPrint(true);
+		outputMessage = new MockHttpOutputMessage();
+		this.converter.writeInternal(bean, null, outputMessage);
+		assertEquals("{" + NEWLINE_SYSTEM_PROPERTY +
+				"  \"name\" : \"Jason\"" + NEWLINE_SYSTEM_PROPERTY + "}",
+				outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void objectMapperReplacedAfterWrite() throws Exception {
+		PrettyPrintBean bean = new PrettyPrintBean();
+		bean.setName("Jason");
+
+		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+		this.converter.writeInternal(bean, null, outputMessage);
+		assertEquals("{\"name\":\"Jason\"}", outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+
+		ObjectMapper objectMapper = new ObjectMapper();
+		objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+		this.converter.setObjectMapper(objectMapper);
+		outputMessage = new MockHttpOutputMessage();
+		this.converter.writeInternal(bean, null, outputMessage);
+		assertEquals("{" + NEWLINE_SYSTEM_PROPERTY +
+				"  \"name\" : \"Jason\"" + NEWLINE_SYSTEM_PROPERTY + "}",
+				outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void objectMapperReconfiguredAfterWrite() throws Exception {
+		PrettyPrintBean bean = new PrettyPrintBean();
+		bean.setName("Jason");
+
+		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+		this.converter.writeInternal(bean, null, outputMessage);
+		assertEquals("{\"name\":\"Jason\"}", outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+
+		// Cached writers keep the configuration they were created with
+		this.converter.getObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+		outputMessage = new MockHttpOutputMessage();
+		this.converter.writeInternal(bean, null, outputMessage);
+		assertEquals("{\"name\":\"Jason\"}", outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+
+		this.converter.clearCaches();
+		outputMessage = new MockHttpOutputMessage();
+		this.converter.writeInternal(bean, null, outputMessage);
+		assertEquals("{" + NEWLINE_SYSTEM_PROPERTY +
+				"  \"name\" : \"Jason\"" + NEWLINE_SYSTEM_PROPERTY + "}",
+				outputMessage.getBodyAsString(StandardCharsets.UTF_8));
+	}
+
 	@Test
 	public void prettyPrintWithSse() throws Exception {
 		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link PathPatternMatcher}.
+ */
+public class PathPatternMatcherTests {
+
+	private final PathPatternMatcher matcher = new PathPatternMatcher();
+
+
+	@Test
+	public void match() {
+		assertTrue(this.matcher.match("/api/{id}/orders", "/api/42/orders"));
+		assertTrue(this.matcher.match("/resources/**", "/resources/css/site.css"));
+		assertTrue(this.matcher.match("/users.*", "/users.json"));
+		assertFalse(this.matcher.match("/api/{id}", "/api/42/orders"));
+	}
+
+	@Test
+	public void matchStart() {
+		assertTrue(this.matcher.matchStart("/api", "/api/42"));
+		assertFalse(this.matcher.matchStart("/other", "/api/42"));
+	}
+
+	@Test
+	public void pathsAreMatchedAsGiven() {
+		Map<String, String> variables = this.matcher.extractUriTemplateVariables("/files/{name}", "/files/100%");
+		assertEquals("100%", variables.get("name"));
+		assertEquals("a%20b/c", this.matcher.extractPathWithinPattern("/docs/**", "/docs/a%20b/c"));
+	}
+
+	@Test
+	public void withParsedPath() {
+		PathPatternMatcher parsedPathMatcher = this.matcher.withParsedPath(PathPatternMatcher.parsePath("/files/100%"));
+		assertTrue(parsedPathMatcher.match("/files/{name}", "/files/100%"));
+		assertEquals("100%", parsedPathMatcher.extractUriTemplateVariables("/files/{name}", "/files/100%").get("name"));
+		assertFalse(parsedPathMatcher.match("/files/{name}", "/other/100%"));
+		assertTrue(parsedPathMatcher.match("/other/{name}", "/other/100%"));
+		assertSame(this.matcher, this.matcher.withParsedPath(null));
+		assertSame(this.matcher.getPathPattern("/files/{name}"), parsedPathMatcher.getPathPattern("/files/{name}"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void extractUriTemplateVariablesWithoutMatch() {
+		this.matcher.extractUriTemplateVariables("/api/{id}", "/other");
+	}
+
+	@Test
+	public void patternComparator() {
+		List<String> patterns = new ArrayList<>(Arrays.asList("/**", "/api/{id}", "/api/orders", "/api/*"));
+		patterns.sort(this.matcher.getPatternComparator("/api/orders"));
+		assertEquals(Arrays.asList("/api/orders", "/api/{id}", "/api/*", "/**"), patterns);
+	}
+
+	@Test
+	public void combine() {
+		assertEquals("/api/{id}", this.matcher.combine("/api", "/{id}"));
+		assertEquals("/api", this.matcher.combine("/api", ""));
+		assertEquals("/{id}", this.matcher.combine("", "/{id}"));
+	}
+
+	@Test
+	public void isPattern() {
+		assertTrue(this.matcher.isPattern("/api/{id}"));
+		assertTrue(this.matcher.isPattern("/api/**"));
+		assertFalse(this.matcher.isPattern("/api/orders"));
+	}
+
+}
@@ -137,13 +137,13 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		return getMethodArgumentValues(exchange, bindingContext, providedArgs).flatMap(args -> {
 			Object value;
 			try {
-				ReflectionUtils.makeAccessible(getBridgedMethod());
 				Method method = getBridgedMethod();
 				if (KotlinDetector.isKotlinReflectPresent() && KotlinDetector.isKotlinType(method.getDeclaringClass())) {
+					ReflectionUtils.makeAccessible(method);
 					value = CoroutinesUtils.invokeHandlerMethod(method, getBean(), args);
 				}
 				else {
-					value = method.invoke(getBean(), args);
+					value = getMethodInvoker().invoke(getBean(), args);
 				}
 			}
 			catch (IllegalArgumentException ex) {
@@ -923,6 +923,9 @@ public class DispatcherServlet extends FrameworkServlet {
 			}
 		}
 
+		// Have handler mappings resolve the lookup path afresh, e.g. after a forward.
+		request.removeAttribute(HandlerMapping.LOOKUP_PATH);
+
 		// Make framework objects available to handlers and view objects.
 		request.setAttribute(WEB_APPLICATION_CONTEXT_ATTRIBUTE, getWebApplicationContext());
 		request.setAttribute(LOCALE_RESOLVER_ATTRIBUTE, this.localeResolver);
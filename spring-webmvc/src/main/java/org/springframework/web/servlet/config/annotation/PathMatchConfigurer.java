@@ -23,6 +23,8 @@ import java.util.function.Predicate;
 import org.springframework.lang.Nullable;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternMatcher;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Helps with configuring HandlerMappings path matching options such as trailing
@@ -117,6 +119,18 @@ public class PathMatchConfigurer {
 		return this;
 	}
 
+	/**
+	 * Match URL paths with precompiled {@link org.springframework.web.util.pattern.PathPattern
+	 * PathPatterns} from the given parser, as used in Spring WebFlux, rather than
+	 * with AntPathMatcher. Note that this replaces any configured PathMatcher.
+	 * @since 5.2
+	 * @see PathPatternMatcher
+	 */
+	public PathMatchConfigurer setPatternParser(PathPatternParser patternParser) {
+		this.pathMatcher = new PathPatternMatcher(patternParser);
+		return this;
+	}
+
 	/**
 	 * Configure a path prefix to apply to matching controller methods.
 	 * <p>Prefixes are used to enrich the mappings of every {@code @RequestMapping}
@@ -32,6 +32,7 @@ import org.springframework.core.Ordered;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.HttpRequestHandler;
 import org.springframework.web.context.request.WebRequestInterceptor;
@@ -46,6 +47,8 @@ import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternMatcher;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Abstract base class for {@link org.springframework.web.servlet.HandlerMapping}
@@ -70,6 +73,15 @@ import org.springframework.web.util.UrlPathHelper;
 public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		implements HandlerMapping, Ordered, BeanNameAware {
 
+	/** Request attribute holding the UrlPathHelper that resolved the {@link #LOOKUP_PATH}. */
+	private static final String LOOKUP_PATH_HELPER_ATTRIBUTE = AbstractHandlerMapping.class.getName() + ".lookupPathHelper";
+
+	/** Maximum number of handler patterns to cache matching interceptors for. */
+	private static final int CACHE_LIMIT = 1024;
+
+	/** Cache marker for handler patterns for which the matching interceptors depend on the lookup path. */
+	private static final HandlerInterceptor[] PATH_DEPENDENT_INTERCEPTORS = new HandlerInterceptor[0];
+
 	@Nullable
 	private Object defaultHandler;
 
@@ -81,6 +93,14 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 
 	private final List<HandlerInterceptor> adaptedInterceptors = new ArrayList<>();
 
+	/** Interceptors that apply to all lookup paths, if there are no mapped interceptors. */
+	@Nullable
+	private volatile HandlerInterceptor[] pathIndependentInterceptors;
+
+	/** Interceptors per best matching handler pattern, if mapped interceptors use path patterns. */
+	@Nullable
+	private volatile ConcurrentLruCache<String, HandlerInterceptor[]> matchingInterceptorsCache;
+
 	@Nullable
 	private CorsConfigurationSource corsConfigurationSource;
 
@@ -185,6 +205,36 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Return the PathMatcher to match the lookup path of the given request with.
+	 * <p>In case of a {@link PathPatternMatcher}, the returned matcher reuses
+	 * the lookup path parsed by {@link #initLookupPath}, rather than parsing it
+	 * again for every pattern.
+	 * @param request current HTTP request
+	 * @since 5.2
+	 * @see PathPatternMatcher#withParsedPath(Object)
+	 */
+	protected PathMatcher getPathMatcher(HttpServletRequest request) {
+		PathMatcher pathMatcher = getPathMatcher();
+		if (pathMatcher instanceof PathPatternMatcher) {
+			return ((PathPatternMatcher) pathMatcher).withParsedPath(
+					request.getAttribute(PathPatternMatcher.PARSED_PATH_ATTRIBUTE));
+		}
+		return pathMatcher;
+	}
+
+	/**
+	 * Match URL paths with precompiled {@link org.springframework.web.util.pattern.PathPattern
+	 * PathPatterns} from the given parser, as an alternative to {@link #setPathMatcher
+	 * AntPathMatcher} semantics.
+	 * <p>This is a shortcut for setting a {@link PathPatternMatcher}.
+	 * @since 5.2
+	 * @see PathPatternMatcher
+	 */
+	public void setPatternParser(PathPatternParser patternParser) {
+		setPathMatcher(new PathPatternMatcher(patternParser));
+	}
+
 	/**
 	 * Set the interceptors to apply for all handlers mapped by this handler mapping.
 	 * <p>Supported interceptor types are HandlerInterceptor, WebRequestInterceptor, and MappedInterceptor.
@@ -283,6 +333,7 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		extendInterceptors(this.interceptors);
 		detectMappedInterceptors(this.adaptedInterceptors);
 		initInterceptors();
+		initInterceptorCache();
 	}
 
 	/**
@@ -329,6 +380,33 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		}
 	}
 
+	/**
+	 * Reset the cached interceptors for handler patterns, after the interceptors
+	 * have been initialized, and determine whether the interceptors apply
+	 * to all lookup paths in the first place.
+	 * <p>Interceptors are only cached if a mapped interceptor uses path patterns,
+	 * since matching literal paths is cheap, and if a standard {@code PathMatcher}
+	 * is in use, since that is what deciding from the syntax of the patterns
+	 * relies on.
+	 */
+	private void initInterceptorCache() {
+		boolean mappedInterceptors = false;
+		boolean patternInterceptors = false;
+		for (HandlerInterceptor interceptor : this.adaptedInterceptors) {
+			if (interceptor instanceof MappedInterceptor) {
+				mappedInterceptors = true;
+				if (((MappedInterceptor) interceptor).hasPatterns(this.pathMatcher)) {
+					patternInterceptors = true;
+					break;
+				}
+			}
+		}
+		this.matchingInterceptorsCache = (patternInterceptors && MappedInterceptor.isStandardPathMatcher(this.pathMatcher) ?
+				new ConcurrentLruCache<>(CACHE_LIMIT, this::getInterceptorsForPattern) : null);
+		this.pathIndependentInterceptors = (!mappedInterceptors ?
+				this.adaptedInterceptors.toArray(new HandlerInterceptor[0]) : null);
+	}
+
 	/**
 	 * Adapt the given interceptor object to the {@link HandlerInterceptor} interface.
 	 * <p>By default, the supported interceptor types are {@link HandlerInterceptor}
@@ -440,6 +518,43 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 	@Nullable
 	protected abstract Object getHandlerInternal(HttpServletRequest request) throws Exception;
 
+	/**
+	 * Initialize the lookup path for the given request, i.e. the path that
+	 * handler mappings match against, and expose it as the
+	 * {@link #LOOKUP_PATH} request attribute for interceptors and conditions.
+	 * <p>The lookup path that a previous handler mapping determined in the
+	 * same dispatch is reused if it was resolved with the same
+	 * {@link UrlPathHelper} instance, as is the case when sharing one
+	 * across handler mappings like the MVC Java config does.
+	 * <p>If a {@link PathPatternMatcher} is in use, the lookup path is also
+	 * parsed once, and exposed as the {@link PathPatternMatcher#PARSED_PATH_ATTRIBUTE}
+	 * request attribute for {@link #getPathMatcher(HttpServletRequest)}.
+	 * @param request current HTTP request
+	 * @return the lookup path
+	 * @since 5.2
+	 */
+	protected String initLookupPath(HttpServletRequest request) {
+		UrlPathHelper urlPathHelper = getUrlPathHelper();
+		String lookupPath = null;
+		if (request.getAttribute(LOOKUP_PATH_HELPER_ATTRIBUTE) == urlPathHelper) {
+			Object attribute = request.getAttribute(LOOKUP_PATH);
+			if (attribute instanceof String) {
+				lookupPath = (String) attribute;
+			}
+		}
+		if (lookupPath == null) {
+			lookupPath = urlPathHelper.getLookupPathForRequest(request);
+			request.setAttribute(LOOKUP_PATH, lookupPath);
+			request.setAttribute(LOOKUP_PATH_HELPER_ATTRIBUTE, urlPathHelper);
+			request.removeAttribute(PathPatternMatcher.PARSED_PATH_ATTRIBUTE);
+		}
+		if (getPathMatcher() instanceof PathPatternMatcher &&
+				request.getAttribute(PathPatternMatcher.PARSED_PATH_ATTRIBUTE) == null) {
+			request.setAttribute(PathPatternMatcher.PARSED_PATH_ATTRIBUTE, PathPatternMatcher.parsePath(lookupPath));
+		}
+		return lookupPath;
+	}
+
 	/**
 	 * Build a {@link HandlerExecutionChain} for the given handler, including
 	 * applicable interceptors.
@@ -455,28 +570,102 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 	 * <p>For simply adding an interceptor in a custom subclass, consider calling
 	 * {@code super.getHandlerExecutionChain(handler, request)} and invoking
 	 * {@link HandlerExecutionChain#addInterceptor} on the returned chain object.
+	 * <p>As of 5.2, if mapped interceptors use path patterns, the interceptors
+	 * that apply are cached per {@link #BEST_MATCHING_PATTERN_ATTRIBUTE best
+	 * matching pattern} of the handler, as long as no interceptor pattern is more
+	 * specific than that pattern, i.e. as long as the matching interceptors do
+	 * not depend on the lookup path beyond the handler pattern. The chain for
+	 * a raw handler is built from a copy of the matching interceptors directly.
 	 * @param handler the resolved handler instance (never {@code null})
 	 * @param request current HTTP request
 	 * @return the HandlerExecutionChain (never {@code null})
 	 * @see #getAdaptedInterceptors()
 	 */
 	protected HandlerExecutionChain getHandlerExecutionChain(Object handler, HttpServletRequest request) {
-		HandlerExecutionChain chain = (handler instanceof HandlerExecutionChain ?
-				(HandlerExecutionChain) handler : new HandlerExecutionChain(handler));
+		HandlerInterceptor[] interceptors = this.pathIndependentInterceptors;
+		if (interceptors == null) {
+			String lookupPath = this.urlPathHelper.getLookupPathForRequest(request, LOOKUP_PATH);
+			interceptors = getCachedInterceptors(lookupPath, request);
+			if (interceptors == null) {
+				interceptors = getMatchingInterceptors(lookupPath);
+			}
+		}
+
+		if (handler instanceof HandlerExecutionChain) {
+			HandlerExecutionChain chain = (HandlerExecutionChain) handler;
+			chain.addInterceptors(interceptors);
+			return chain;
+		}
+		// Copy the shared array, since the chain exposes it through getInterceptors()
+		return (interceptors.length > 0 ?
+				new HandlerExecutionChain(handler, interceptors.clone()) : new HandlerExecutionChain(handler));
+	}
 
-		String lookupPath = this.urlPathHelper.getLookupPathForRequest(request, LOOKUP_PATH);
+	/**
+	 * Return the cached interceptors for the best matching pattern of the handler
+	 * of the given request, or {@code null} if there is no such pattern or if
+	 * the matching interceptors depend on the lookup path.
+	 */
+	@Nullable
+	private HandlerInterceptor[] getCachedInterceptors(String lookupPath, HttpServletRequest request) {
+		ConcurrentLruCache<String, HandlerInterceptor[]> cache = this.matchingInterceptorsCache;
+		Object bestPattern = request.getAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE);
+		if (cache == null || !(bestPattern instanceof String)) {
+			return null;
+		}
+		String pattern = (String) bestPattern;
+		// The pattern may have been exposed by a previous dispatch or another handler mapping
+		if (!pattern.equals(lookupPath) && !getPathMatcher(request).match(pattern, lookupPath)) {
+			return null;
+		}
+		HandlerInterceptor[] interceptors = cache.get(pattern);
+		return (interceptors != PATH_DEPENDENT_INTERCEPTORS ? interceptors : null);
+	}
+
+	/**
+	 * Determine the interceptors that apply to all lookup paths that the given
+	 * handler pattern matches, or {@link #PATH_DEPENDENT_INTERCEPTORS} if a mapped
+	 * interceptor applies to some of these lookup paths only.
+	 */
+	private HandlerInterceptor[] getInterceptorsForPattern(String pattern) {
+		List<HandlerInterceptor> interceptors = new ArrayList<>(this.adaptedInterceptors.size());
+		for (HandlerInterceptor interceptor : this.adaptedInterceptors) {
+			if (interceptor instanceof MappedInterceptor) {
+				MappedInterceptor mappedInterceptor = (MappedInterceptor) interceptor;
+				Boolean matches = mappedInterceptor.matchesPattern(pattern, this.pathMatcher);
+				if (matches == null) {
+					return PATH_DEPENDENT_INTERCEPTORS;
+				}
+				if (matches) {
+					interceptors.add(mappedInterceptor.getInterceptor());
+				}
+			}
+			else {
+				interceptors.add(interceptor);
+			}
+		}
+		return interceptors.toArray(new HandlerInterceptor[0]);
+	}
+
+	/**
+	 * Determine the interceptors that apply to the given lookup path, i.e. the
+	 * common interceptors and any {@link MappedInterceptor MappedInterceptors}
+	 * matching the lookup path, in the order they were registered.
+	 */
+	private HandlerInterceptor[] getMatchingInterceptors(String lookupPath) {
+		List<HandlerInterceptor> interceptors = new ArrayList<>(this.adaptedInterceptors.size());
 		for (HandlerInterceptor interceptor : this.adaptedInterceptors) {
 			if (interceptor instanceof MappedInterceptor) {
 				MappedInterceptor mappedInterceptor = (MappedInterceptor) interceptor;
 				if (mappedInterceptor.matches(lookupPath, this.pathMatcher)) {
-					chain.addInterceptor(mappedInterceptor.getInterceptor());
+					interceptors.add(mappedInterceptor.getInterceptor());
 				}
 			}
 			else {
-				chain.addInterceptor(interceptor);
+				interceptors.add(interceptor);
 			}
 		}
-		return chain;
+		return interceptors.toArray(new HandlerInterceptor[0]);
 	}
 
 	/**
@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -355,8 +356,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 */
 	@Override
 	protected HandlerMethod getHandlerInternal(HttpServletRequest request) throws Exception {
-		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
-		request.setAttribute(LOOKUP_PATH, lookupPath);
+		String lookupPath = initLookupPath(request);
 		this.mappingRegistry.acquireReadLock();
 		try {
 			HandlerMethod handlerMethod = lookupHandlerMethod(lookupPath, request);
@@ -384,8 +384,14 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			// No choice but to go through all mappings...
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			if (usePathPatternIndex()) {
+				// Only go through mappings with patterns that may match the lookup path
+				addMatchingMappings(this.mappingRegistry.getMappingCandidates(lookupPath), matches, request);
+			}
+			else {
+				// No choice but to go through all mappings...
+				addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			}
 		}
 
 		if (!matches.isEmpty()) {
@@ -509,6 +515,22 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	@Nullable
 	protected abstract T getMatchingMapping(T mapping, HttpServletRequest request);
 
+	/**
+	 * Whether the mappings to try for a lookup path without direct match may be
+	 * pre-selected by the literal leading segments of their
+	 * {@link #getMappingPathPatterns path patterns}, rather than trying all mappings.
+	 * <p>This requires a mapping to only match lookup paths that one of its patterns
+	 * matches with {@link org.springframework.util.AntPathMatcher} or
+	 * {@link org.springframework.web.util.pattern.PathPattern} semantics, possibly
+	 * with a suffix appended to the last segment or a trailing slash, and a mapping
+	 * without patterns to match any lookup path. The default implementation returns
+	 * {@code false}; subclasses for which this holds may override it.
+	 * @since 5.2
+	 */
+	protected boolean usePathPatternIndex() {
+		return false;
+	}
+
 	/**
 	 * Return a comparator for sorting matching mappings.
 	 * The returned comparator should sort 'better' matches higher.
@@ -531,6 +553,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> urlLookup = new LinkedMultiValueMap<>();
 
+		private final PathSegmentIndex<T> pathIndex = new PathSegmentIndex<>();
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -554,6 +578,19 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.urlLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings with patterns that may match the given URL path,
+		 * in no particular order. Not thread-safe.
+		 * @since 5.2
+		 * @see #acquireReadLock()
+		 * @see #usePathPatternIndex()
+		 */
+		public Collection<T> getMappingCandidates(String urlPath) {
+			Collection<T> candidates = new LinkedHashSet<>();
+			this.pathIndex.collectCandidates(urlPath, candidates);
+			return candidates;
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -595,6 +632,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				for (String url : directUrls) {
 					this.urlLookup.add(url, mapping);
 				}
+				addToPathIndex(mapping);
 
 				String name = null;
 				if (getNamingStrategy() != null) {
@@ -635,6 +673,26 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return urls;
 		}
 
+		private void addToPathIndex(T mapping) {
+			Set<String> patterns = getMappingPathPatterns(mapping);
+			if (patterns.isEmpty()) {
+				this.pathIndex.addUnrestricted(mapping);
+			}
+			for (String pattern : patterns) {
+				this.pathIndex.add(pattern, mapping);
+			}
+		}
+
+		private void removeFromPathIndex(T mapping) {
+			Set<String> patterns = getMappingPathPatterns(mapping);
+			if (patterns.isEmpty()) {
+				this.pathIndex.removeUnrestricted(mapping);
+			}
+			for (String pattern : patterns) {
+				this.pathIndex.remove(pattern, mapping);
+			}
+		}
+
 		private void addMappingName(String name, HandlerMethod handlerMethod) {
 			List<HandlerMethod> oldList = this.nameLookup.get(name);
 			if (oldList == null) {
@@ -672,6 +730,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 						}
 					}
 				}
+				removeFromPathIndex(definition.getMapping());
 
 				removeMappingName(definition);
 
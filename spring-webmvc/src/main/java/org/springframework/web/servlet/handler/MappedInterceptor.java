@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,11 +20,14 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
 import org.springframework.web.context.request.WebRequestInterceptor;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.pattern.PathPatternMatcher;
 
 /**
  * Contains and delegates calls to a {@link HandlerInterceptor} along with
@@ -44,6 +47,8 @@ import org.springframework.web.servlet.ModelAndView;
  */
 public final class MappedInterceptor implements HandlerInterceptor {
 
+	private static final String PATH_SEPARATOR = "/";
+
 	@Nullable
 	private final String[] includePatterns;
 
@@ -163,6 +168,187 @@ public final class MappedInterceptor implements HandlerInterceptor {
 		return false;
 	}
 
+	/**
+	 * Determine whether any of the include or exclude patterns is an actual
+	 * pattern rather than a literal path, according to the given path matcher
+	 * or the configured one.
+	 * @since 5.2
+	 */
+	boolean hasPatterns(PathMatcher pathMatcher) {
+		PathMatcher pathMatcherToUse = (this.pathMatcher != null ? this.pathMatcher : pathMatcher);
+		return (hasPatterns(this.includePatterns, pathMatcherToUse) ||
+				hasPatterns(this.excludePatterns, pathMatcherToUse));
+	}
+
+	private static boolean hasPatterns(@Nullable String[] patterns, PathMatcher pathMatcher) {
+		if (patterns != null) {
+			for (String pattern : patterns) {
+				if (pathMatcher.isPattern(pattern)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determine whether the interceptor applies to all or to none of the lookup
+	 * paths that the given handler pattern matches, judging from the syntax of
+	 * the patterns. This is only supported for a standard {@link AntPathMatcher}
+	 * or {@link PathPatternMatcher}, given or configured on this interceptor.
+	 * @param pattern the pattern that the handler was matched with
+	 * @param pathMatcher the path matcher that the handler was matched with
+	 * @return {@code true} or {@code false} if the interceptor applies to all or
+	 * to none of the lookup paths that the pattern matches, or {@code null}
+	 * if that depends on the lookup path
+	 * @since 5.2
+	 */
+	@Nullable
+	Boolean matchesPattern(String pattern, PathMatcher pathMatcher) {
+		if (this.pathMatcher != null && this.pathMatcher != pathMatcher) {
+			return null;
+		}
+		if (!isStandardPathMatcher(pathMatcher)) {
+			return null;
+		}
+		boolean pathPatterns = (pathMatcher instanceof PathPatternMatcher);
+		if (isLiteral(pattern)) {
+			boolean matches = matches(pattern, pathMatcher);
+			// A PathPattern also matches the path with a trailing separator
+			if (pathPatterns && !pattern.endsWith(PATH_SEPARATOR) &&
+					matches != matches(pattern + PATH_SEPARATOR, pathMatcher)) {
+				return null;
+			}
+			return matches;
+		}
+		boolean undecided = false;
+		if (!ObjectUtils.isEmpty(this.excludePatterns)) {
+			for (String exclude : this.excludePatterns) {
+				if (covers(exclude, pattern, pathPatterns)) {
+					return false;
+				}
+				undecided |= !isDisjoint(exclude, pattern, pathPatterns);
+			}
+		}
+		if (undecided) {
+			return null;
+		}
+		if (ObjectUtils.isEmpty(this.includePatterns)) {
+			return true;
+		}
+		for (String include : this.includePatterns) {
+			if (covers(include, pattern, pathPatterns)) {
+				return true;
+			}
+			undecided |= !isDisjoint(include, pattern, pathPatterns);
+		}
+		return (undecided ? null : Boolean.FALSE);
+	}
+
+	/**
+	 * Whether the given matcher is an {@link AntPathMatcher} with the default
+	 * path separator or a {@link PathPatternMatcher}, the syntax of which
+	 * {@link #matchesPattern} relies on.
+	 */
+	static boolean isStandardPathMatcher(PathMatcher pathMatcher) {
+		// AntPathMatcher does not expose its separator: check how it joins two segments
+		return (pathMatcher.getClass() == PathPatternMatcher.class ||
+				(pathMatcher.getClass() == AntPathMatcher.class && "/a/b".equals(pathMatcher.combine("/a", "b"))));
+	}
+
+	/**
+	 * Whether the given interceptor pattern matches every path that the given
+	 * handler pattern matches, i.e. whether it is at most as specific.
+	 */
+	private static boolean covers(String pattern, String handlerPattern, boolean pathPatterns) {
+		if (pattern.equals(handlerPattern)) {
+			return true;
+		}
+		if (pattern.startsWith(PATH_SEPARATOR) != handlerPattern.startsWith(PATH_SEPARATOR)) {
+			return false;
+		}
+		String[] segments = tokenize(pattern);
+		String[] handlerSegments = tokenize(handlerPattern);
+		for (int i = 0; i < segments.length; i++) {
+			String segment = segments[i];
+			if (isMultiSegmentWildcard(segment, pathPatterns)) {
+				// Matches the rest of any path, unless followed by further segments
+				return (i == segments.length - 1);
+			}
+			if (i == handlerSegments.length) {
+				return false;
+			}
+			String handlerSegment = handlerSegments[i];
+			if (isMultiSegmentWildcard(handlerSegment, pathPatterns) ||
+					!(segment.equals(handlerSegment) || isSingleSegmentWildcard(segment))) {
+				return false;
+			}
+		}
+		return (segments.length == handlerSegments.length &&
+				pattern.endsWith(PATH_SEPARATOR) == handlerPattern.endsWith(PATH_SEPARATOR));
+	}
+
+	/**
+	 * Whether the given patterns cannot match the same path, since they
+	 * differ in a literal segment before any wildcard, or since the
+	 * interceptor pattern is a literal path with fewer segments than
+	 * the handler pattern requires.
+	 */
+	private static boolean isDisjoint(String pattern, String handlerPattern, boolean pathPatterns) {
+		String[] segments = tokenize(pattern);
+		String[] handlerSegments = tokenize(handlerPattern);
+		boolean literal = true;
+		for (int i = 0; i < segments.length && i < handlerSegments.length; i++) {
+			String segment = segments[i];
+			String handlerSegment = handlerSegments[i];
+			if (!isLiteral(segment) || !isLiteral(handlerSegment)) {
+				literal = false;
+				break;
+			}
+			// Allow for case-insensitive and token-trimming matchers
+			if (!segment.trim().equalsIgnoreCase(handlerSegment.trim())) {
+				return true;
+			}
+		}
+		if (!literal || segments.length >= handlerSegments.length || !isLiteral(pattern)) {
+			return false;
+		}
+		for (String handlerSegment : handlerSegments) {
+			if (isMultiSegmentWildcard(handlerSegment, pathPatterns)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String[] tokenize(String pattern) {
+		return StringUtils.tokenizeToStringArray(pattern, PATH_SEPARATOR, false, true);
+	}
+
+	private static boolean isMultiSegmentWildcard(String segment, boolean pathPatterns) {
+		return (segment.equals("**") || (pathPatterns && segment.startsWith("{*")));
+	}
+
+	/**
+	 * Whether the given segment matches any single path segment, i.e. is
+	 * {@code "*"} or a URI variable without regular expression.
+	 */
+	private static boolean isSingleSegmentWildcard(String segment) {
+		return (segment.equals("*") || (segment.length() > 2 && segment.charAt(0) == '{' &&
+				segment.indexOf('}') == segment.length() - 1 && segment.indexOf(':') == -1 &&
+				segment.indexOf('*') == -1));
+	}
+
+	private static boolean isLiteral(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			if (c == '*' || c == '?' || c == '{') {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
 			throws Exception {
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.handler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * A tree of path segments that indexes mappings by the leading segments
+ * of their {@link org.springframework.util.AntPathMatcher AntPathMatcher}-style
+ * or {@link org.springframework.web.util.pattern.PathPattern PathPattern}
+ * patterns, selecting the candidate mappings for a lookup path without
+ * trying each registered pattern.
+ *
+ * <p>A pattern such as {@code "/api/{id}/orders/{orderId}"} is registered under
+ * the node for {@code "api"}, its wildcard child, and the child {@code "orders"}
+ * of that, so it is only considered for lookup paths with those literal segments
+ * in those positions. A segment with wildcards or URI variables matches exactly
+ * one path segment and is indexed through the wildcard child of its node that
+ * any lookup segment may descend into. A {@code "**"} or {@code "{*var}"} segment
+ * ends the indexed prefix, and so does the last segment of each pattern since
+ * suffix pattern matching (e.g. {@code ".json"}) may extend it. Segments are
+ * compared after trimming and case folding, so the candidates always include
+ * every mapping that a case-insensitive or token-trimming {@code AntPathMatcher}
+ * could match. A lookup segment with matrix variables (e.g. {@code "a;b=c"})
+ * is also looked up without them, as {@code PathPattern} matches it to {@code "a"}.
+ *
+ * <p>Not thread-safe: access is guarded by the lock of the mapping registry.
+ *
+ * @since 5.2
+ * @param <T> the mapping type
+ */
+final class PathSegmentIndex<T> {
+
+	private static final String PATH_SEPARATOR = "/";
+
+	/** Key of the child node for single-segment wildcards, never a literal key. */
+	private static final String WILDCARD_KEY = "*";
+
+	private final Node<T> root = new Node<>();
+
+
+	/**
+	 * Register the given mapping under the leading segments of the pattern.
+	 */
+	public void add(String pattern, T mapping) {
+		Node<T> node = this.root;
+		for (String key : getPrefixKeys(pattern)) {
+			node = node.getOrCreateChild(key);
+		}
+		node.mappings.add(mapping);
+	}
+
+	/**
+	 * Register a mapping without path patterns, matching all lookup paths.
+	 */
+	public void addUnrestricted(T mapping) {
+		this.root.mappings.add(mapping);
+	}
+
+	/**
+	 * Remove the given mapping as registered for the given pattern.
+	 */
+	public void remove(String pattern, T mapping) {
+		List<String> keys = getPrefixKeys(pattern);
+		List<Node<T>> path = new ArrayList<>(keys.size() + 1);
+		Node<T> node = this.root;
+		path.add(node);
+		for (String key : keys) {
+			node = node.getChild(key);
+			if (node == null) {
+				return;
+			}
+			path.add(node);
+		}
+		node.mappings.remove(mapping);
+		for (int i = keys.size(); i > 0; i--) {
+			Node<T> current = path.get(i);
+			if (!current.isEmpty()) {
+				break;
+			}
+			path.get(i - 1).removeChild(keys.get(i - 1));
+		}
+	}
+
+	/**
+	 * Remove a mapping registered without path patterns.
+	 */
+	public void removeUnrestricted(T mapping) {
+		this.root.mappings.remove(mapping);
+	}
+
+	/**
+	 * Add all mappings whose patterns may match the given lookup path
+	 * to the given collection.
+	 */
+	public void collectCandidates(String lookupPath, Collection<T> candidates) {
+		collectCandidates(this.root, tokenize(lookupPath), 0, candidates);
+	}
+
+	private static <T> void collectCandidates(Node<T> node, String[] segments, int index, Collection<T> candidates) {
+		candidates.addAll(node.mappings);
+		if (index < segments.length) {
+			String segment = segments[index];
+			Node<T> child = node.getChild(toKey(segment));
+			if (child != null) {
+				collectCandidates(child, segments, index + 1, candidates);
+			}
+			int paramsIndex = segment.indexOf(';');
+			if (paramsIndex != -1) {
+				child = node.getChild(toKey(segment.substring(0, paramsIndex)));
+				if (child != null) {
+					collectCandidates(child, segments, index + 1, candidates);
+				}
+			}
+			child = node.getChild(WILDCARD_KEY);
+			if (child != null) {
+				collectCandidates(child, segments, index + 1, candidates);
+			}
+		}
+	}
+
+
+	private static List<String> getPrefixKeys(String pattern) {
+		String[] segments = tokenize(pattern);
+		List<String> keys = new ArrayList<>(segments.length);
+		for (int i = 0; i < segments.length - 1; i++) {
+			String segment = segments[i];
+			if (segment.equals("**") || segment.startsWith("{*")) {
+				break;
+			}
+			keys.add(isWildcardSegment(segment) ? WILDCARD_KEY : toKey(segment));
+		}
+		return keys;
+	}
+
+	private static String[] tokenize(String path) {
+		return StringUtils.tokenizeToStringArray(path, PATH_SEPARATOR, true, true);
+	}
+
+	private static boolean isWildcardSegment(String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			if (c == '*' || c == '?' || c == '{') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Fold the case of each character the way {@link String#equalsIgnoreCase} compares them.
+	 */
+	private static String toKey(String segment) {
+		char[] chars = null;
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			char folded = Character.toLowerCase(Character.toUpperCase(c));
+			if (folded != c) {
+				if (chars == null) {
+					chars = segment.toCharArray();
+				}
+				chars[i] = folded;
+			}
+		}
+		return (chars != null ? new String(chars) : segment);
+	}
+
+
+	private static final class Node<T> {
+
+		final List<T> mappings = new ArrayList<>(1);
+
+		@Nullable
+		private Map<String, Node<T>> children;
+
+		@Nullable
+		Node<T> getChild(String key) {
+			return (this.children != null ? this.children.get(key) : null);
+		}
+
+		Node<T> getOrCreateChild(String key) {
+			if (this.children == null) {
+				this.children = new HashMap<>(4);
+			}
+			return this.children.computeIfAbsent(key, k -> new Node<>());
+		}
+
+		void removeChild(String key) {
+			if (this.children != null) {
+				this.children.remove(key);
+				if (this.children.isEmpty()) {
+					this.children = null;
+				}
+			}
+		}
+
+		boolean isEmpty() {
+			return (this.mappings.isEmpty() && this.children == null);
+		}
+	}
+
+}
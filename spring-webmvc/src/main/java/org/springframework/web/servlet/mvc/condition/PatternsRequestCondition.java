@@ -33,6 +33,7 @@ import org.springframework.util.PathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternMatcher;
 
 /**
  * A logical disjunction (' || ') request condition that matches a request
@@ -217,7 +218,13 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 			return this;
 		}
 		String lookupPath = this.pathHelper.getLookupPathForRequest(request, HandlerMapping.LOOKUP_PATH);
-		List<String> matches = getMatchingPatterns(lookupPath);
+		PathMatcher pathMatcher = this.pathMatcher;
+		if (pathMatcher instanceof PathPatternMatcher) {
+			// Reuse the lookup path as parsed by the handler mapping
+			pathMatcher = ((PathPatternMatcher) pathMatcher).withParsedPath(
+					request.getAttribute(PathPatternMatcher.PARSED_PATH_ATTRIBUTE));
+		}
+		List<String> matches = getMatchingPatterns(lookupPath, pathMatcher);
 		return !matches.isEmpty() ? new PatternsRequestCondition(new LinkedHashSet<>(matches), this) : null;
 	}
 
@@ -230,9 +237,13 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 * @return a collection of matching patterns sorted with the closest match at the top
 	 */
 	public List<String> getMatchingPatterns(String lookupPath) {
+		return getMatchingPatterns(lookupPath, this.pathMatcher);
+	}
+
+	private List<String> getMatchingPatterns(String lookupPath, PathMatcher pathMatcher) {
 		List<String> matches = null;
 		for (String pattern : this.patterns) {
-			String match = getMatchingPattern(pattern, lookupPath);
+			String match = getMatchingPattern(pattern, lookupPath, pathMatcher);
 			if (match != null) {
 				matches = matches != null ? matches : new ArrayList<>();
 				matches.add(match);
@@ -242,36 +253,36 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 			return Collections.emptyList();
 		}
 		if (matches.size() > 1) {
-			matches.sort(this.pathMatcher.getPatternComparator(lookupPath));
+			matches.sort(pathMatcher.getPatternComparator(lookupPath));
 		}
 		return matches;
 	}
 
 	@Nullable
-	private String getMatchingPattern(String pattern, String lookupPath) {
+	private String getMatchingPattern(String pattern, String lookupPath, PathMatcher pathMatcher) {
 		if (pattern.equals(lookupPath)) {
 			return pattern;
 		}
 		if (this.useSuffixPatternMatch) {
 			if (!this.fileExtensions.isEmpty() && lookupPath.indexOf('.') != -1) {
 				for (String extension : this.fileExtensions) {
-					if (this.pathMatcher.match(pattern + extension, lookupPath)) {
+					if (pathMatcher.match(pattern + extension, lookupPath)) {
 						return pattern + extension;
 					}
 				}
 			}
 			else {
 				boolean hasSuffix = pattern.indexOf('.') != -1;
-				if (!hasSuffix && this.pathMatcher.match(pattern + ".*", lookupPath)) {
+				if (!hasSuffix && pathMatcher.match(pattern + ".*", lookupPath)) {
 					return pattern + ".*";
 				}
 			}
 		}
-		if (this.pathMatcher.match(pattern, lookupPath)) {
+		if (pathMatcher.match(pattern, lookupPath)) {
 			return pattern;
 		}
 		if (this.useTrailingSlashMatch) {
-			if (!pattern.endsWith("/") && this.pathMatcher.match(pattern + "/", lookupPath)) {
+			if (!pattern.endsWith("/") && pathMatcher.match(pattern + "/", lookupPath)) {
 				return pattern + "/";
 			}
 		}
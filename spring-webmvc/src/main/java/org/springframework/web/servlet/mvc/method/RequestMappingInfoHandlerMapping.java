@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,8 +32,10 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
@@ -45,6 +47,7 @@ import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.handler.AbstractHandlerMethodMapping;
 import org.springframework.web.servlet.mvc.condition.NameValueExpression;
 import org.springframework.web.util.WebUtils;
+import org.springframework.web.util.pattern.PathPatternMatcher;
 
 /**
  * Abstract base class for classes for which {@link RequestMappingInfo} defines
@@ -93,6 +96,23 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		return info.getMatchingCondition(request);
 	}
 
+	/**
+	 * Pre-select mappings by their URL patterns if the standard
+	 * {@link AntPathMatcher} is in use with the default path separator,
+	 * or a {@link PathPatternMatcher}.
+	 * @since 5.2
+	 */
+	@Override
+	protected boolean usePathPatternIndex() {
+		PathMatcher pathMatcher = getPathMatcher();
+		if (pathMatcher.getClass() == PathPatternMatcher.class) {
+			return true;
+		}
+		// AntPathMatcher does not expose its separator: check how it joins two segments
+		return (pathMatcher.getClass() == AntPathMatcher.class &&
+				"/a/b".equals(pathMatcher.combine("/a", "b")));
+	}
+
 	/**
 	 * Provide a Comparator to sort RequestMappingInfos matched to a request.
 	 */
@@ -121,7 +141,7 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		}
 		else {
 			bestPattern = patterns.iterator().next();
-			uriVariables = getPathMatcher().extractUriTemplateVariables(bestPattern, lookupPath);
+			uriVariables = getPathMatcher(request).extractUriTemplateVariables(bestPattern, lookupPath);
 		}
 
 		request.setAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE, bestPattern);
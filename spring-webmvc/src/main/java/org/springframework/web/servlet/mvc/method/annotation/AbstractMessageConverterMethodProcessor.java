@@ -17,9 +17,11 @@
 package org.springframework.web.servlet.mvc.method.annotation;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -50,6 +52,9 @@ import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.accept.ContentNegotiationManager;
@@ -88,6 +93,8 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 	private static final Type RESOURCE_REGION_LIST_TYPE =
 			new ParameterizedTypeReference<List<ResourceRegion>>() { }.getType();
 
+	private static final int SELECTION_CACHE_LIMIT = 1024;
+
 
 	private static final UrlPathHelper decodingUrlPathHelper = new UrlPathHelper();
 
@@ -105,6 +112,9 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 
 	private final Set<String> safeExtensions = new HashSet<>();
 
+	@Nullable
+	private final ConcurrentLruCache<SelectionKey, ConverterSelection> selectionCache;
+
 
 	/**
 	 * Constructor with list of converters only.
@@ -135,6 +145,8 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 		this.pathStrategy = initPathStrategy(this.contentNegotiationManager);
 		this.safeExtensions.addAll(this.contentNegotiationManager.getAllFileExtensions());
 		this.safeExtensions.addAll(WHITELISTED_EXTENSIONS);
+		this.selectionCache = (isSelectionCacheable() ?
+				new ConcurrentLruCache<>(SELECTION_CACHE_LIMIT, this::selectConverter) : null);
 	}
 
 	private static PathExtensionContentNegotiationStrategy initPathStrategy(ContentNegotiationManager manager) {
@@ -143,6 +155,17 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 		return (strategy != null ? strategy : new PathExtensionContentNegotiationStrategy());
 	}
 
+	/**
+	 * Whether the selection of the media type and converter only depends on the
+	 * arguments of {@link #getProducibleMediaTypes(HttpServletRequest, Class, Type)},
+	 * i.e. unless a subclass overrides that method.
+	 */
+	private boolean isSelectionCacheable() {
+		Method method = ReflectionUtils.findMethod(getClass(), "getProducibleMediaTypes",
+				HttpServletRequest.class, Class.class, Type.class);
+		return (method != null && method.getDeclaringClass() == AbstractMessageConverterMethodProcessor.class);
+	}
+
 
 	/**
 	 * Creates a new {@link HttpOutputMessage} from the given {@link NativeWebRequest}.
@@ -217,12 +240,35 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 		}
 
 		MediaType selectedMediaType = null;
+		HttpMessageConverter<?> selectedConverter = null;
 		MediaType contentType = outputMessage.getHeaders().getContentType();
 		if (contentType != null && contentType.isConcrete()) {
 			if (logger.isDebugEnabled()) {
 				logger.debug("Found 'Content-Type:" + contentType + "' in response");
 			}
-			selectedMediaType = contentType;
+			selectedMediaType = contentType.removeQualityValue();
+			selectedConverter = findConverter(valueType, targetType, selectedMediaType);
+		}
+		else if (body != null && this.selectionCache != null) {
+			HttpServletRequest request = inputMessage.getServletRequest();
+			List<MediaType> acceptableTypes = getAcceptableMediaTypes(request);
+			Set<MediaType> mappedTypes =
+					(Set<MediaType>) request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+			ConverterSelection selection = this.selectionCache.get(
+					new SelectionKey(valueType, targetType, acceptableTypes, mappedTypes));
+			if (selection.producibleTypes.isEmpty()) {
+				throw new HttpMessageNotWritableException(
+						"No converter found for return value of type: " + valueType);
+			}
+			if (selection.notAcceptable) {
+				throw new HttpMediaTypeNotAcceptableException(selection.producibleTypes);
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Using '" + selection.mediaType + "', given " +
+						acceptableTypes + " and supported " + selection.producibleTypes);
+			}
+			selectedMediaType = selection.mediaType;
+			selectedConverter = selection.converter;
 		}
 		else {
 			HttpServletRequest request = inputMessage.getServletRequest();
@@ -233,14 +279,7 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 				throw new HttpMessageNotWritableException(
 						"No converter found for return value of type: " + valueType);
 			}
-			List<MediaType> mediaTypesToUse = new ArrayList<>();
-			for (MediaType requestedType : acceptableTypes) {
-				for (MediaType producibleType : producibleTypes) {
-					if (requestedType.isCompatibleWith(producibleType)) {
-						mediaTypesToUse.add(getMostSpecificMediaType(requestedType, producibleType));
-					}
-				}
-			}
+			List<MediaType> mediaTypesToUse = getMediaTypesToUse(acceptableTypes, producibleTypes);
 			if (mediaTypesToUse.isEmpty()) {
 				if (body != null) {
 					throw new HttpMediaTypeNotAcceptableException(producibleTypes);
@@ -251,56 +290,42 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 				return;
 			}
 
-			MediaType.sortBySpecificityAndQuality(mediaTypesToUse);
-
-			for (MediaType mediaType : mediaTypesToUse) {
-				if (mediaType.isConcrete()) {
-					selectedMediaType = mediaType;
-					break;
-				}
-				else if (mediaType.isPresentIn(ALL_APPLICATION_MEDIA_TYPES)) {
-					selectedMediaType = MediaType.APPLICATION_OCTET_STREAM;
-					break;
-				}
-			}
+			selectedMediaType = selectMediaType(mediaTypesToUse);
 
 			if (logger.isDebugEnabled()) {
 				logger.debug("Using '" + selectedMediaType + "', given " +
 						acceptableTypes + " and supported " + producibleTypes);
 			}
+
+			if (selectedMediaType != null) {
+				selectedMediaType = selectedMediaType.removeQualityValue();
+				selectedConverter = findConverter(valueType, targetType, selectedMediaType);
+			}
 		}
 
-		if (selectedMediaType != null) {
-			selectedMediaType = selectedMediaType.removeQualityValue();
-			for (HttpMessageConverter<?> converter : this.messageConverters) {
-				GenericHttpMessageConverter genericConverter = (converter instanceof GenericHttpMessageConverter ?
-						(GenericHttpMessageConverter<?>) converter : null);
-				if (genericConverter != null ?
-						((GenericHttpMessageConverter) converter).canWrite(targetType, valueType, selectedMediaType) :
-						converter.canWrite(valueType, selectedMediaType)) {
-					body = getAdvice().beforeBodyWrite(body, returnType, selectedMediaType,
-							(Class<? extends HttpMessageConverter<?>>) converter.getClass(),
-							inputMessage, outputMessage);
-					if (body != null) {
-						Object theBody = body;
-						LogFormatUtils.traceDebug(logger, traceOn ->
-								"Writing [" + LogFormatUtils.formatValue(theBody, !traceOn) + "]");
-						addContentDispositionHeader(inputMessage, outputMessage);
-						if (genericConverter != null) {
-							genericConverter.write(body, targetType, selectedMediaType, outputMessage);
-						}
-						else {
-							((HttpMessageConverter) converter).write(body, selectedMediaType, outputMessage);
-						}
-					}
-					else {
-						if (logger.isDebugEnabled()) {
-							logger.debug("Nothing to write: null body");
-						}
-					}
-					return;
+		if (selectedMediaType != null && selectedConverter != null) {
+			HttpMessageConverter<?> converter = selectedConverter;
+			body = getAdvice().beforeBodyWrite(body, returnType, selectedMediaType,
+					(Class<? extends HttpMessageConverter<?>>) converter.getClass(),
+					inputMessage, outputMessage);
+			if (body != null) {
+				Object theBody = body;
+				LogFormatUtils.traceDebug(logger, traceOn ->
+						"Writing [" + LogFormatUtils.formatValue(theBody, !traceOn) + "]");
+				addContentDispositionHeader(inputMessage, outputMessage);
+				if (converter instanceof GenericHttpMessageConverter) {
+					((GenericHttpMessageConverter) converter).write(body, targetType, selectedMediaType, outputMessage);
+				}
+				else {
+					((HttpMessageConverter) converter).write(body, selectedMediaType, outputMessage);
+				}
+			}
+			else {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Nothing to write: null body");
 				}
 			}
+			return;
 		}
 
 		if (body != null) {
@@ -308,6 +333,74 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 		}
 	}
 
+	/**
+	 * Select the media type and the converter to write a value with, for the
+	 * given value types, acceptable media types and mapped producible media types.
+	 */
+	private ConverterSelection selectConverter(SelectionKey key) {
+		List<MediaType> producibleTypes = getProducibleMediaTypes(key.mappedTypes, key.valueType, key.targetType);
+		if (producibleTypes.isEmpty()) {
+			return new ConverterSelection(producibleTypes, false, null, null);
+		}
+		List<MediaType> mediaTypesToUse = getMediaTypesToUse(key.acceptableTypes, producibleTypes);
+		if (mediaTypesToUse.isEmpty()) {
+			return new ConverterSelection(producibleTypes, true, null, null);
+		}
+		MediaType selectedMediaType = selectMediaType(mediaTypesToUse);
+		if (selectedMediaType == null) {
+			return new ConverterSelection(producibleTypes, false, null, null);
+		}
+		selectedMediaType = selectedMediaType.removeQualityValue();
+		HttpMessageConverter<?> converter = findConverter(key.valueType, key.targetType, selectedMediaType);
+		return new ConverterSelection(producibleTypes, false, selectedMediaType, converter);
+	}
+
+	/**
+	 * Return the compatible combinations of the acceptable and the producible
+	 * media types, sorted by specificity and quality.
+	 */
+	private List<MediaType> getMediaTypesToUse(List<MediaType> acceptableTypes, List<MediaType> producibleTypes) {
+		List<MediaType> mediaTypesToUse = new ArrayList<>();
+		for (MediaType requestedType : acceptableTypes) {
+			for (MediaType producibleType : producibleTypes) {
+				if (requestedType.isCompatibleWith(producibleType)) {
+					mediaTypesToUse.add(getMostSpecificMediaType(requestedType, producibleType));
+				}
+			}
+		}
+		MediaType.sortBySpecificityAndQuality(mediaTypesToUse);
+		return mediaTypesToUse;
+	}
+
+	@Nullable
+	private MediaType selectMediaType(List<MediaType> mediaTypesToUse) {
+		for (MediaType mediaType : mediaTypesToUse) {
+			if (mediaType.isConcrete()) {
+				return mediaType;
+			}
+			else if (mediaType.isPresentIn(ALL_APPLICATION_MEDIA_TYPES)) {
+				return MediaType.APPLICATION_OCTET_STREAM;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Find the first configured converter that can write the given value type
+	 * with the given media type.
+	 */
+	@Nullable
+	private HttpMessageConverter<?> findConverter(Class<?> valueType, Type targetType, MediaType mediaType) {
+		for (HttpMessageConverter<?> converter : this.messageConverters) {
+			if (converter instanceof GenericHttpMessageConverter ?
+					((GenericHttpMessageConverter<?>) converter).canWrite(targetType, valueType, mediaType) :
+					converter.canWrite(valueType, mediaType)) {
+				return converter;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Return the type of the value to be written to the response. Typically this is
 	 * a simple check via getClass on the value but if the value is null, then the
@@ -363,6 +456,12 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 
 		Set<MediaType> mediaTypes =
 				(Set<MediaType>) request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+		return getProducibleMediaTypes(mediaTypes, valueClass, targetType);
+	}
+
+	private List<MediaType> getProducibleMediaTypes(
+			@Nullable Collection<MediaType> mediaTypes, Class<?> valueClass, @Nullable Type targetType) {
+
 		if (!CollectionUtils.isEmpty(mediaTypes)) {
 			return new ArrayList<>(mediaTypes);
 		}
@@ -495,4 +594,81 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 				mediaType.getSubtype().endsWith("+xml"));
 	}
 
+
+	/**
+	 * Cache key for the selection of a media type and converter: the types of
+	 * the value to write, the acceptable media types of the request and the
+	 * producible media types mapped for the handler.
+	 */
+	private static final class SelectionKey {
+
+		private final Class<?> valueType;
+
+		private final Type targetType;
+
+		private final List<MediaType> acceptableTypes;
+
+		private final List<MediaType> mappedTypes;
+
+		private final int hashCode;
+
+		SelectionKey(Class<?> valueType, Type targetType, List<MediaType> acceptableTypes,
+				@Nullable Set<MediaType> mappedTypes) {
+
+			this.valueType = valueType;
+			this.targetType = targetType;
+			this.acceptableTypes = acceptableTypes;
+			this.mappedTypes = (!CollectionUtils.isEmpty(mappedTypes) ?
+					new ArrayList<>(mappedTypes) : Collections.emptyList());
+			this.hashCode = ((valueType.hashCode() * 31 + ObjectUtils.nullSafeHashCode(targetType)) * 31 +
+					acceptableTypes.hashCode()) * 31 + this.mappedTypes.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof SelectionKey)) {
+				return false;
+			}
+			SelectionKey otherKey = (SelectionKey) other;
+			return (this.valueType == otherKey.valueType &&
+					ObjectUtils.nullSafeEquals(this.targetType, otherKey.targetType) &&
+					this.acceptableTypes.equals(otherKey.acceptableTypes) &&
+					this.mappedTypes.equals(otherKey.mappedTypes));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+
+	/**
+	 * The outcome of content negotiation for a {@link SelectionKey}.
+	 */
+	private static final class ConverterSelection {
+
+		final List<MediaType> producibleTypes;
+
+		final boolean notAcceptable;
+
+		@Nullable
+		final MediaType mediaType;
+
+		@Nullable
+		final HttpMessageConverter<?> converter;
+
+		ConverterSelection(List<MediaType> producibleTypes, boolean notAcceptable,
+				@Nullable MediaType mediaType, @Nullable HttpMessageConverter<?> converter) {
+
+			this.producibleTypes = producibleTypes;
+			this.notAcceptable = notAcceptable;
+			this.mediaType = mediaType;
+			this.converter = converter;
+		}
+	}
+
 }
@@ -161,6 +161,11 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 	@Nullable
 	private Long asyncRequestTimeout;
 
+	private boolean nonBlockingStreamingWrites = false;
+
+	@Nullable
+	private Integer maxPendingWriteSize;
+
 	private CallableProcessingInterceptor[] callableInterceptors = new CallableProcessingInterceptor[0];
 
 	private DeferredResultProcessingInterceptor[] deferredResultInterceptors = new DeferredResultProcessingInterceptor[0];
@@ -421,6 +426,28 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		this.asyncRequestTimeout = timeout;
 	}
 
+	/**
+	 * Whether to write the content streamed through a {@link ResponseBodyEmitter},
+	 * such as an {@link SseEmitter} or a reactive type, with Servlet 3.1
+	 * non-blocking I/O rather than blocking the threads that emit it.
+	 * <p>The default is "false".
+	 * @since 5.2
+	 * @see ResponseBodyEmitterReturnValueHandler#setNonBlockingStreamingWrites
+	 */
+	public void setNonBlockingStreamingWrites(boolean nonBlockingStreamingWrites) {
+		this.nonBlockingStreamingWrites = nonBlockingStreamingWrites;
+	}
+
+	/**
+	 * Set the maximum number of bytes per response to hold in memory with
+	 * {@link #setNonBlockingStreamingWrites non-blocking writes}.
+	 * @since 5.2
+	 * @see ResponseBodyEmitterReturnValueHandler#setMaxPendingWriteSize
+	 */
+	public void setMaxPendingWriteSize(int maxPendingWriteSize) {
+		this.maxPendingWriteSize = maxPendingWriteSize;
+	}
+
 	/**
 	 * Configure {@code CallableProcessingInterceptor}'s to register on async requests.
 	 * @param interceptors the interceptors to register
@@ -719,8 +746,13 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		handlers.add(new ModelAndViewMethodReturnValueHandler());
 		handlers.add(new ModelMethodProcessor());
 		handlers.add(new ViewMethodReturnValueHandler());
-		handlers.add(new ResponseBodyEmitterReturnValueHandler(getMessageConverters(),
-				this.reactiveAdapterRegistry, this.taskExecutor, this.contentNegotiationManager));
+		ResponseBodyEmitterReturnValueHandler emitterHandler = new ResponseBodyEmitterReturnValueHandler(
+				getMessageConverters(), this.reactiveAdapterRegistry, this.taskExecutor, this.contentNegotiationManager);
+		emitterHandler.setNonBlockingStreamingWrites(this.nonBlockingStreamingWrites);
+		if (this.maxPendingWriteSize != null) {
+			emitterHandler.setMaxPendingWriteSize(this.maxPendingWriteSize);
+		}
+		handlers.add(emitterHandler);
 		handlers.add(new StreamingResponseBodyReturnValueHandler());
 		handlers.add(new HttpEntityMethodProcessor(getMessageConverters(),
 				this.contentNegotiationManager, this.requestResponseBodyAdvice));
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.List;
 import java.util.function.Consumer;
+import javax.servlet.ServletOutputStream;
 import javax.servlet.ServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
@@ -61,6 +62,10 @@ public class ResponseBodyEmitterReturnValueHandler implements HandlerMethodRetur
 
 	private final ReactiveTypeHandler reactiveHandler;
 
+	private boolean nonBlockingStreamingWrites = false;
+
+	private int maxPendingWriteSize = 1024 * 1024;
+
 
 	/**
 	 * Simple constructor with reactive type support based on a default instance of
@@ -91,6 +96,53 @@ public class ResponseBodyEmitterReturnValueHandler implements HandlerMethodRetur
 	}
 
 
+	/**
+	 * Whether to write streamed content with Servlet 3.1 non-blocking I/O.
+	 * <p>By default, emitted objects are written to the response on the
+	 * thread that emits them, blocking it for as long as the client takes to
+	 * receive the content. With non-blocking writes, emitted content is queued
+	 * and written by container threads as the client becomes ready, at the
+	 * cost of holding the content that a slow client has not received yet
+	 * in memory.
+	 * <p>The default is "false".
+	 * @since 5.2
+	 */
+	public void setNonBlockingStreamingWrites(boolean nonBlockingStreamingWrites) {
+		this.nonBlockingStreamingWrites = nonBlockingStreamingWrites;
+	}
+
+	/**
+	 * Whether streamed content is written with Servlet 3.1 non-blocking I/O.
+	 * @since 5.2
+	 */
+	public boolean isNonBlockingStreamingWrites() {
+		return this.nonBlockingStreamingWrites;
+	}
+
+	/**
+	 * Set the maximum number of bytes per response to hold in memory with
+	 * {@link #setNonBlockingStreamingWrites non-blocking writes}, for content
+	 * that has been emitted but not yet received by the client. Once exceeded,
+	 * sending more content fails with an {@code IOException} and the response
+	 * is completed with that error.
+	 * <p>By default this is set to 1MB.
+	 * @since 5.2
+	 */
+	public void setMaxPendingWriteSize(int maxPendingWriteSize) {
+		Assert.isTrue(maxPendingWriteSize > 0, "'maxPendingWriteSize' must be greater than 0");
+		this.maxPendingWriteSize = maxPendingWriteSize;
+	}
+
+	/**
+	 * Return the configured maximum number of bytes per response to hold in
+	 * memory with non-blocking writes.
+	 * @since 5.2
+	 */
+	public int getMaxPendingWriteSize() {
+		return this.maxPendingWriteSize;
+	}
+
+
 	@Override
 	public boolean supportsReturnType(MethodParameter returnType) {
 		Class<?> bodyType = ResponseEntity.class.isAssignableFrom(returnType.getParameterType()) ?
@@ -152,13 +204,16 @@ public class ResponseBodyEmitterReturnValueHandler implements HandlerMethodRetur
 		// At this point we know we're streaming..
 		ShallowEtagHeaderFilter.disableContentCaching(request);
 
-		// Wrap the response to ignore further header changes
-		// Headers will be flushed at the first write
-		outputMessage = new StreamingServletServerHttpResponse(outputMessage);
-
 		DeferredResult<?> deferredResult = new DeferredResult<>(emitter.getTimeout());
 		WebAsyncUtils.getAsyncManager(webRequest).startDeferredResultProcessing(deferredResult, mavContainer);
 
+		// Wrap the response to ignore further header changes
+		// Headers will be flushed at the first write
+		outputMessage = (this.nonBlockingStreamingWrites ?
+				new NonBlockingServletServerHttpResponse(
+						outputMessage, deferredResult::setErrorResult, this.maxPendingWriteSize) :
+				new StreamingServletServerHttpResponse(outputMessage));
+
 		HttpMessageConvertingHandler handler = new HttpMessageConvertingHandler(outputMessage, deferredResult);
 		emitter.initialize(handler);
 	}
@@ -198,6 +253,12 @@ public class ResponseBodyEmitterReturnValueHandler implements HandlerMethodRetur
 		@Override
 		public void complete() {
 			try {
+				if (this.outputMessage instanceof NonBlockingServletServerHttpResponse) {
+					// Complete once all content has been written
+					((NonBlockingServletServerHttpResponse) this.outputMessage).complete(
+							() -> this.deferredResult.setResult(null));
+					return;
+				}
 				this.outputMessage.flush();
 				this.deferredResult.setResult(null);
 			}
@@ -269,4 +330,48 @@ public class ResponseBodyEmitterReturnValueHandler implements HandlerMethodRetur
 		}
 	}
 
+
+	/**
+	 * Variant of {@link StreamingServletServerHttpResponse} that writes the body
+	 * with Servlet 3.1 non-blocking I/O through a {@link WriteListenerOutputStream}.
+	 */
+	private static class NonBlockingServletServerHttpResponse extends StreamingServletServerHttpResponse {
+
+		private final Consumer<Throwable> errorHandler;
+
+		private final int maxPendingBytes;
+
+		@Nullable
+		private WriteListenerOutputStream body;
+
+		public NonBlockingServletServerHttpResponse(ServerHttpResponse delegate,
+				Consumer<Throwable> errorHandler, int maxPendingBytes) {
+
+			super(delegate);
+			this.errorHandler = errorHandler;
+			this.maxPendingBytes = maxPendingBytes;
+		}
+
+		@Override
+		public synchronized OutputStream getBody() throws IOException {
+			if (this.body == null) {
+				// Writes the headers of the delegate
+				OutputStream outputStream = super.getBody();
+				Assert.state(outputStream instanceof ServletOutputStream, "No ServletOutputStream");
+				this.body = new WriteListenerOutputStream(
+						(ServletOutputStream) outputStream, this.errorHandler, this.maxPendingBytes);
+			}
+			return this.body;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			getBody().flush();
+		}
+
+		public void complete(Runnable callback) throws IOException {
+			((WriteListenerOutputStream) getBody()).complete(callback);
+		}
+	}
+
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.Consumer;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.FastByteArrayOutputStream;
+
+/**
+ * {@link OutputStream} that writes to a {@link ServletOutputStream} with
+ * Servlet 3.1 non-blocking I/O, so that threads writing to a slow client
+ * never block on it.
+ *
+ * <p>Content is buffered until flushed. Flushed content is queued and written
+ * to the Servlet output stream whenever the container reports it as ready,
+ * either right away on the writing thread or later from
+ * {@link WriteListener#onWritePossible()} on a container thread.
+ *
+ * <p>The content held in memory for a client that does not keep up is limited
+ * to a maximum number of bytes: once exceeded, the stream fails, as it does
+ * on a write error, rather than buffering without bounds.
+ *
+ * @since 5.2
+ */
+final class WriteListenerOutputStream extends OutputStream implements WriteListener {
+
+	private final ServletOutputStream outputStream;
+
+	private final Consumer<Throwable> errorHandler;
+
+	private final int maxPendingBytes;
+
+	private final FastByteArrayOutputStream buffer = new FastByteArrayOutputStream(1024);
+
+	private final Queue<byte[]> pendingWrites = new ArrayDeque<>();
+
+	private int pendingBytes;
+
+	private boolean flushPending;
+
+	@Nullable
+	private Runnable completionCallback;
+
+	@Nullable
+	private Throwable error;
+
+
+	/**
+	 * Create a new instance, registering it as the {@code WriteListener} of
+	 * the given output stream, which puts the stream in non-blocking mode.
+	 * @param outputStream the output stream of an asynchronous request
+	 * @param errorHandler to be notified of write errors
+	 * @param maxPendingBytes the maximum number of bytes to hold in memory,
+	 * buffered or waiting to be written
+	 */
+	WriteListenerOutputStream(ServletOutputStream outputStream, Consumer<Throwable> errorHandler,
+			int maxPendingBytes) {
+
+		this.outputStream = outputStream;
+		this.errorHandler = errorHandler;
+		this.maxPendingBytes = maxPendingBytes;
+		synchronized (this) {
+			outputStream.setWriteListener(this);
+		}
+	}
+
+
+	@Override
+	public void write(int b) throws IOException {
+		IOException limitExceeded;
+		synchronized (this) {
+			assertNoError();
+			this.buffer.write(b);
+			limitExceeded = checkLimit();
+		}
+		if (limitExceeded != null) {
+			handleLimitExceeded(limitExceeded);
+		}
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		IOException limitExceeded;
+		synchronized (this) {
+			assertNoError();
+			this.buffer.write(b, off, len);
+			limitExceeded = checkLimit();
+		}
+		if (limitExceeded != null) {
+			handleLimitExceeded(limitExceeded);
+		}
+	}
+
+	/**
+	 * Queue the buffered content and a flush of the Servlet output stream,
+	 * writing as much as possible without blocking.
+	 */
+	@Override
+	public void flush() throws IOException {
+		Runnable callback;
+		synchronized (this) {
+			callback = flushInternal();
+		}
+		if (callback != null) {
+			callback.run();
+		}
+	}
+
+	/**
+	 * Flush any remaining content and invoke the given callback once it has
+	 * been written to the Servlet output stream.
+	 * @param callback the callback to invoke, e.g. to complete the request
+	 */
+	public void complete(Runnable callback) throws IOException {
+		Runnable callbackToRun;
+		synchronized (this) {
+			this.completionCallback = callback;
+			callbackToRun = flushInternal();
+		}
+		if (callbackToRun != null) {
+			callbackToRun.run();
+		}
+	}
+
+	@Override
+	public void onWritePossible() throws IOException {
+		Runnable callback;
+		synchronized (this) {
+			callback = writePending();
+		}
+		if (callback != null) {
+			callback.run();
+		}
+	}
+
+	@Override
+	public void onError(Throwable ex) {
+		synchronized (this) {
+			this.error = ex;
+			this.pendingWrites.clear();
+			this.pendingBytes = 0;
+			this.completionCallback = null;
+		}
+		this.errorHandler.accept(ex);
+	}
+
+	@Nullable
+	private Runnable flushInternal() throws IOException {
+		assertNoError();
+		if (this.buffer.size() > 0) {
+			this.pendingWrites.add(this.buffer.toByteArray());
+			this.pendingBytes += this.buffer.size();
+			this.buffer.reset();
+		}
+		this.flushPending = true;
+		return writePending();
+	}
+
+	/**
+	 * Write queued content while the Servlet output stream is ready.
+	 * <p>{@code isReady()} returning {@code false} makes the container call
+	 * {@link #onWritePossible()} once writing is possible again.
+	 * @return the completion callback to invoke once the monitor is released,
+	 * if all content has been written
+	 */
+	@Nullable
+	private Runnable writePending() throws IOException {
+		while (this.error == null && this.outputStream.isReady()) {
+			byte[] bytes = this.pendingWrites.poll();
+			if (bytes != null) {
+				this.pendingBytes -= bytes.length;
+				this.outputStream.write(bytes);
+			}
+			else if (this.flushPending) {
+				this.flushPending = false;
+				this.outputStream.flush();
+			}
+			else {
+				Runnable callback = this.completionCallback;
+				this.completionCallback = null;
+				return callback;
+			}
+		}
+		return null;
+	}
+
+	@Nullable
+	private IOException checkLimit() {
+		if (this.pendingBytes + this.buffer.size() <= this.maxPendingBytes) {
+			return null;
+		}
+		IOException ex = new IOException("Content not yet written to the client exceeds the limit of " +
+				this.maxPendingBytes + " bytes");
+		this.error = ex;
+		this.pendingWrites.clear();
+		this.pendingBytes = 0;
+		this.buffer.reset();
+		this.completionCallback = null;
+		return ex;
+	}
+
+	private void handleLimitExceeded(IOException ex) throws IOException {
+		this.errorHandler.accept(ex);
+		throw ex;
+	}
+
+	private void assertNoError() throws IOException {
+		if (this.error != null) {
+			throw new IOException("Failed to write to the response", this.error);
+		}
+	}
+
+}
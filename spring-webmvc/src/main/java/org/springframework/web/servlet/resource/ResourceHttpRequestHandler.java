@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -87,6 +87,13 @@ import org.springframework.web.util.UrlPathHelper;
  * (if present) so that a {@code 304} status code will be returned as appropriate,
  * avoiding unnecessary overhead for resources that are already cached by the client.
  *
+ * <p>The path of the requested resource is taken from the
+ * {@link HandlerMapping#PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE} request attribute,
+ * which the handler mapping extracts from the shared lookup path with its configured
+ * {@code PathMatcher}, so a
+ * {@link org.springframework.web.util.pattern.PathPatternMatcher PathPatternMatcher}
+ * configured on the resource handler mapping applies to resource requests as well.
+ *
  * @author Keith Donald
  * @author Jeremy Grelle
  * @author Juergen Hoeller
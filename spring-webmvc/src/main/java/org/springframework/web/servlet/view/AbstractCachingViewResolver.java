@@ -68,7 +68,7 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
 	/** Fast access cache for Views, returning already cached instances without a global lock. */
 	private final Map<Object, View> viewAccessCache = new ConcurrentHashMap<>(DEFAULT_CACHE_LIMIT);
 
-	/** Map from view key to View instance, synchronized for View creation. */
+	/** Map from view key to View instance, synchronized for adding created Views. */
 	@SuppressWarnings("serial")
 	private final Map<Object, View> viewCreationCache =
 			new LinkedHashMap<Object, View>(DEFAULT_CACHE_LIMIT, 0.75f, true) {
@@ -152,15 +152,20 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
 			Object cacheKey = getCacheKey(viewName, locale);
 			View view = this.viewAccessCache.get(cacheKey);
 			if (view == null) {
-				synchronized (this.viewCreationCache) {
-					view = this.viewCreationCache.get(cacheKey);
-					if (view == null) {
-						// Ask the subclass to create the View object.
-						view = createView(viewName, locale);
-						if (view == null && this.cacheUnresolved) {
-							view = UNRESOLVED_VIEW;
+				// Ask the subclass to create the View object, outside of the global lock
+				// so that view creation for other keys does not have to wait for it.
+				view = createView(viewName, locale);
+				if (view == null && this.cacheUnresolved) {
+					view = UNRESOLVED_VIEW;
+				}
+				if (view != null) {
+					synchronized (this.viewCreationCache) {
+						View cachedView = this.viewCreationCache.get(cacheKey);
+						if (cachedView != null) {
+							// Created concurrently: keep the View instance that was cached first.
+							view = cachedView;
 						}
-						if (view != null) {
+						else {
 							this.viewAccessCache.put(cacheKey, view);
 							this.viewCreationCache.put(cacheKey, view);
 						}
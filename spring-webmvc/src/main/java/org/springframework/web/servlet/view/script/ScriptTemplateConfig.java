@@ -45,12 +45,22 @@ public interface ScriptTemplateConfig {
 	String getEngineName();
 
 	/**
-	 * Return whether to use a shared engine for all threads or whether to create
-	 * thread-local engine instances for each thread.
+	 * Return whether to use a shared engine for all threads or whether to use
+	 * pooled engine instances, each used by one thread at a time.
 	 */
 	@Nullable
 	Boolean isSharedEngine();
 
+	/**
+	 * Return the maximum number of engine instances to create and reuse
+	 * if the engine is not shared.
+	 * @since 5.2
+	 */
+	@Nullable
+	default Integer getEnginePoolSize() {
+		return null;
+	}
+
 	/**
 	 * Return the scripts to be loaded by the script engine (library or user provided).
 	 */
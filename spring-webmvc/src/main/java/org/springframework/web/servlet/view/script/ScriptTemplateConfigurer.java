@@ -58,6 +58,9 @@ public class ScriptTemplateConfigurer implements ScriptTemplateConfig {
 	@Nullable
 	private Boolean sharedEngine;
 
+	@Nullable
+	private Integer enginePoolSize;
+
 	@Nullable
 	private String[] scripts;
 
@@ -127,8 +130,9 @@ public class ScriptTemplateConfigurer implements ScriptTemplateConfig {
 	}
 
 	/**
-	 * When set to {@code false}, use thread-local {@link ScriptEngine} instances instead
-	 * of one single shared instance. This flag should be set to {@code false} for those
+	 * When set to {@code false}, use pooled {@link ScriptEngine} instances, each used
+	 * by one rendering thread at a time, instead of one single shared instance.
+	 * This flag should be set to {@code false} for those
 	 * using non thread-safe script engines with templating libraries not designed for
 	 * concurrency, like Handlebars or React running on Nashorn for example.
 	 * In this case, Java 8u60 or greater is required due to
@@ -136,7 +140,8 @@ public class ScriptTemplateConfigurer implements ScriptTemplateConfig {
 	 * <p>When this flag is set to {@code false}, the script engine must be specified using
 	 * {@link #setEngineName(String)}. Using {@link #setEngine(ScriptEngine)} is not
 	 * possible because multiple instances of the script engine need to be created lazily
-	 * (one per thread).
+	 * (one per concurrent rendering).
+	 * @see #setEnginePoolSize
 	 * @see <a href="https://docs.oracle.com/javase/8/docs/api/javax/script/ScriptEngineFactory.html#getParameter-java.lang.String-">THREADING ScriptEngine parameter</a>
 	 */
 	public void setSharedEngine(@Nullable Boolean sharedEngine) {
@@ -149,6 +154,27 @@ public class ScriptTemplateConfigurer implements ScriptTemplateConfig {
 		return this.sharedEngine;
 	}
 
+	/**
+	 * Set the maximum number of {@link ScriptEngine} instances to create and
+	 * reuse when the {@code sharedEngine} flag is set to {@code false}.
+	 * Rendering waits for an engine to be released once that many engines
+	 * are in use, up to {@link ScriptTemplateView#setEngineAcquireTimeout(long)
+	 * the engine acquire timeout}. Views of the same application context with
+	 * the same engine name, scripts and pool size share a pool.
+	 * <p>Default is the number of available processors.
+	 * @since 5.2
+	 * @see #setSharedEngine
+	 */
+	public void setEnginePoolSize(@Nullable Integer enginePoolSize) {
+		this.enginePoolSize = enginePoolSize;
+	}
+
+	@Override
+	@Nullable
+	public Integer getEnginePoolSize() {
+		return this.enginePoolSize;
+	}
+
 	/**
 	 * Set the scripts to be loaded by the script engine (library or user provided).
 	 * Since {@code resourceLoaderPath} default value is "classpath:", you can load easily
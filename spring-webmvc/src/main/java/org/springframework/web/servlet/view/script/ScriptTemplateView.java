@@ -21,10 +21,17 @@ import java.io.InputStreamReader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import javax.script.Invocable;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
@@ -81,8 +88,17 @@ public class ScriptTemplateView extends AbstractUrlBasedView {
 	private static final String DEFAULT_RESOURCE_LOADER_PATH = "classpath:";
 
 
-	private static final ThreadLocal<Map<Object, ScriptEngine>> enginesHolder =
-			new NamedThreadLocal<>("ScriptTemplateView engines");
+	private static final int DEFAULT_ENGINE_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+	private static final long DEFAULT_ENGINE_ACQUIRE_TIMEOUT = 30000;
+
+	/**
+	 * Pools of non-shared engines per application context, keyed by engine name,
+	 * scripts and pool size. Pools are held strongly as long as their application
+	 * context is in use, so that a pool is never recreated beyond its size.
+	 */
+	private static final Map<ApplicationContext, Map<EngineKey, EnginePool>> enginePools =
+			Collections.synchronizedMap(new WeakHashMap<>());
 
 
 	@Nullable
@@ -94,6 +110,11 @@ public class ScriptTemplateView extends AbstractUrlBasedView {
 	@Nullable
 	private Boolean sharedEngine;
 
+	@Nullable
+	private Integer enginePoolSize;
+
+	private long engineAcquireTimeout = DEFAULT_ENGINE_ACQUIRE_TIMEOUT;
+
 	@Nullable
 	private String[] scripts;
 
@@ -112,6 +133,14 @@ public class ScriptTemplateView extends AbstractUrlBasedView {
 	@Nullable
 	private volatile ScriptEngineManager scriptEngineManager;
 
+	@Nullable
+	private volatile EnginePool enginePool;
+
+	private final ThreadLocal<ScriptEngine> renderingEngine =
+			new NamedThreadLocal<>("ScriptTemplateView rendering engine");
+
+	private final Map<String, CachedTemplate> templateCache = new ConcurrentHashMap<>();
+
 
 	/**
 	 * Constructor for use as a bean.
@@ -152,6 +181,29 @@ public class ScriptTemplateView extends AbstractUrlBasedView {
 		this.sharedEngine = sharedEngine;
 	}
 
+	/**
+	 * See {@link ScriptTemplateConfigurer#setEnginePoolSize(Integer)} documentation.
+	 * @since 5.2
+	 */
+	public void setEnginePoolSize(int enginePoolSize) {
+		Assert.isTrue(enginePoolSize > 0, "'enginePoolSize' must be greater than 0");
+		this.enginePoolSize = enginePoolSize;
+	}
+
+	/**
+	 * Set the maximum time in milliseconds to wait for a pooled engine when
+	 * the {@code sharedEngine} flag is set to {@code false} and all engines
+	 * of the pool are in use. Rendering fails with an
+	 * {@link IllegalStateException} once that time has elapsed.
+	 * <p>Default is 30 seconds.
+	 * @since 5.2
+	 * @see #setEnginePoolSize
+	 */
+	public void setEngineAcquireTimeout(long engineAcquireTimeout) {
+		Assert.isTrue(engineAcquireTimeout >= 0, "'engineAcquireTimeout' must not be negative");
+		this.engineAcquireTimeout = engineAcquireTimeout;
+	}
+
 	/**
 	 * See {@link ScriptTemplateConfigurer#setScripts(String...)} documentation.
 	 */
@@ -230,6 +282,9 @@ public class ScriptTemplateView extends AbstractUrlBasedView {
 		if (this.sharedEngine == null && viewConfig.isSharedEngine() != null) {
 			this.sharedEngine = viewConfig.isSharedEngine();
 		}
+		if (this.enginePoolSize == null && viewConfig.getEnginePoolSize() != null) {
+			setEnginePoolSize(viewConfig.getEnginePoolSize());
+		}
 
 		Assert.isTrue(!(this.engine != null && this.engineName != null),
 				"You should define either 'engine' or 'engineName', not both.");
@@ -254,22 +309,20 @@ public class ScriptTemplateView extends AbstractUrlBasedView {
 		}
 	}
 
+	/**
+	 * Return the engine to render with.
+	 * <p>If the {@code sharedEngine} flag is set to {@code false}, this is the
+	 * engine taken from the engine pool for the current rendering on this thread,
+	 * or a newly created engine if called outside of rendering.
+	 */
 	protected ScriptEngine getEngine() {
 		if (Boolean.FALSE.equals(this.sharedEngine)) {
-			Map<Object, ScriptEngine> engines = enginesHolder.get();
-			if (engines == null) {
-				engines = new HashMap<>(4);
-				enginesHolder.set(engines);
+			ScriptEngine engine = this.renderingEngine.get();
+			if (engine != null) {
+				return engine;
 			}
 			Assert.state(this.engineName != null, "No engine name specified");
-			Object engineKey = (!ObjectUtils.isEmpty(this.scripts) ?
-					new EngineKey(this.engineName, this.scripts) : this.engineName);
-			ScriptEngine engine = engines.get(engineKey);
-			if (engine == null) {
-				engine = createEngineFromName(this.engineName);
-				engines.put(engineKey, engine);
-			}
-			return engine;
+			return createEngineFromName(this.engineName);
 		}
 		else {
 			// Simply return the configured ScriptEngine...
@@ -278,6 +331,57 @@ public class ScriptTemplateView extends AbstractUrlBasedView {
 		}
 	}
 
+	/**
+	 * Take an engine from the engine pool for rendering on the current thread,
+	 * if the {@code sharedEngine} flag is set to {@code false}.
+	 * @return the pooled engine, or {@code null} if the engine is shared
+	 * @throws IllegalStateException if no engine became available within the
+	 * {@link #setEngineAcquireTimeout engine acquire timeout}
+	 * @see #releaseEngine(ScriptEngine)
+	 */
+	@Nullable
+	ScriptEngine acquireEngine() {
+		if (!Boolean.FALSE.equals(this.sharedEngine)) {
+			return null;
+		}
+		Assert.state(this.engineName != null, "No engine name specified");
+		String engineName = this.engineName;
+		ScriptEngine engine = getEnginePool().acquire(
+				() -> createEngineFromName(engineName), this.engineAcquireTimeout);
+		this.renderingEngine.set(engine);
+		return engine;
+	}
+
+	/**
+	 * Return an engine obtained from {@link #acquireEngine()} to the engine pool.
+	 * @param engine the pooled engine, or {@code null} if the engine is shared
+	 */
+	void releaseEngine(@Nullable ScriptEngine engine) {
+		if (engine != null) {
+			this.renderingEngine.remove();
+			getEnginePool().release(engine);
+		}
+	}
+
+	/**
+	 * Return the pool of engines shared by all views of the application context
+	 * with the same engine name, scripts and engine pool size.
+	 */
+	private EnginePool getEnginePool() {
+		EnginePool enginePool = this.enginePool;
+		if (enginePool == null) {
+			Assert.state(this.engineName != null, "No engine name specified");
+			int poolSize = (this.enginePoolSize != null ? this.enginePoolSize : DEFAULT_ENGINE_POOL_SIZE);
+			EngineKey engineKey = new EngineKey(this.engineName,
+					(this.scripts != null ? this.scripts : new String[0]), poolSize);
+			Map<EngineKey, EnginePool> pools =
+					enginePools.computeIfAbsent(obtainApplicationContext(), context -> new ConcurrentHashMap<>());
+			enginePool = pools.computeIfAbsent(engineKey, key -> new EnginePool(poolSize));
+			this.enginePool = enginePool;
+		}
+		return enginePool;
+	}
+
 	protected ScriptEngine createEngineFromName(String engineName) {
 		ScriptEngineManager scriptEngineManager = this.scriptEngineManager;
 		if (scriptEngineManager == null) {
@@ -354,6 +458,7 @@ public class ScriptTemplateView extends AbstractUrlBasedView {
 	protected void renderMergedOutputModel(Map<String, Object> model, HttpServletRequest request,
 			HttpServletResponse response) throws Exception {
 
+		ScriptEngine pooledEngine = acquireEngine();
 		try {
 			ScriptEngine engine = getEngine();
 			String url = getUrl();
@@ -392,24 +497,76 @@ public class ScriptTemplateView extends AbstractUrlBasedView {
 		catch (ScriptException ex) {
 			throw new ServletException("Failed to render script template", new StandardScriptEvalException(ex));
 		}
+		finally {
+			releaseEngine(pooledEngine);
+		}
 	}
 
+	/**
+	 * Return the content of the template at the given path.
+	 * <p>As of 5.2, the content is cached per path, and only read again if
+	 * the last-modified timestamp of the template resource has changed.
+	 */
 	protected String getTemplate(String path) throws IOException {
+		CachedTemplate cachedTemplate = this.templateCache.get(path);
+		if (cachedTemplate != null) {
+			try {
+				if (cachedTemplate.resource.lastModified() == cachedTemplate.lastModified) {
+					return cachedTemplate.content;
+				}
+			}
+			catch (IOException ex) {
+				// Template resource no longer available: look it up again.
+			}
+		}
+
 		Resource resource = getResource(path);
 		if (resource == null) {
 			throw new IllegalStateException("Template resource [" + path + "] not found");
 		}
+		long lastModified = lastModified(resource);
 		InputStreamReader reader = (this.charset != null ?
 				new InputStreamReader(resource.getInputStream(), this.charset) :
 				new InputStreamReader(resource.getInputStream()));
-		return FileCopyUtils.copyToString(reader);
+		String content = FileCopyUtils.copyToString(reader);
+		if (lastModified != -1) {
+			this.templateCache.put(path, new CachedTemplate(resource, lastModified, content));
+		}
+		return content;
+	}
+
+	private static long lastModified(Resource resource) {
+		try {
+			return resource.lastModified();
+		}
+		catch (IOException ex) {
+			return -1;
+		}
 	}
 
 
 	/**
-	 * Key class for the {@code enginesHolder ThreadLocal}.
-	 * Only used if scripts have been specified; otherwise, the
-	 * {@code engineName String} will be used as cache key directly.
+	 * Template content along with the resource and its last-modified
+	 * timestamp at the time it was read.
+	 */
+	private static class CachedTemplate {
+
+		private final Resource resource;
+
+		private final long lastModified;
+
+		private final String content;
+
+		public CachedTemplate(Resource resource, long lastModified, String content) {
+			this.resource = resource;
+			this.lastModified = lastModified;
+			this.content = content;
+		}
+	}
+
+
+	/**
+	 * Key class for the engine pools of an application context.
 	 */
 	private static class EngineKey {
 
@@ -417,9 +574,12 @@ public class ScriptTemplateView extends AbstractUrlBasedView {
 
 		private final String[] scripts;
 
-		public EngineKey(String engineName, String[] scripts) {
+		private final int poolSize;
+
+		public EngineKey(String engineName, String[] scripts, int poolSize) {
 			this.engineName = engineName;
 			this.scripts = scripts;
+			this.poolSize = poolSize;
 		}
 
 		@Override
@@ -431,12 +591,61 @@ public class ScriptTemplateView extends AbstractUrlBasedView {
 				return false;
 			}
 			EngineKey otherKey = (EngineKey) other;
-			return (this.engineName.equals(otherKey.engineName) && Arrays.equals(this.scripts, otherKey.scripts));
+			return (this.engineName.equals(otherKey.engineName) && Arrays.equals(this.scripts, otherKey.scripts) &&
+					this.poolSize == otherKey.poolSize);
 		}
 
 		@Override
 		public int hashCode() {
-			return (this.engineName.hashCode() * 29 + Arrays.hashCode(this.scripts));
+			return ((this.engineName.hashCode() * 29 + Arrays.hashCode(this.scripts)) * 29 + this.poolSize);
+		}
+	}
+
+
+	/**
+	 * A pool of non-shared engines that creates engines on demand, up to its
+	 * size, and makes callers wait while all of them are in use.
+	 */
+	private static class EnginePool {
+
+		private final int size;
+
+		private final Semaphore permits;
+
+		private final Queue<ScriptEngine> idleEngines = new ConcurrentLinkedQueue<>();
+
+		public EnginePool(int size) {
+			this.size = size;
+			this.permits = new Semaphore(size);
+		}
+
+		public ScriptEngine acquire(Supplier<ScriptEngine> engineFactory, long timeout) {
+			try {
+				if (!this.permits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+					throw new IllegalStateException("No script engine available within " + timeout +
+							" ms: all " + this.size + " engines of the pool are in use");
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for a script engine", ex);
+			}
+			ScriptEngine engine = this.idleEngines.poll();
+			if (engine == null) {
+				try {
+					engine = engineFactory.get();
+				}
+				catch (RuntimeException | Error ex) {
+					this.permits.release();
+					throw ex;
+				}
+			}
+			return engine;
+		}
+
+		public void release(ScriptEngine engine) {
+			this.idleEngines.offer(engine);
+			this.permits.release();
 		}
 	}
 
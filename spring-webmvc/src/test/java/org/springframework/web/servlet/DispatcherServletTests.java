@@ -41,6 +41,7 @@ import org.springframework.mock.web.test.MockHttpServletResponse;
 import org.springframework.mock.web.test.MockServletConfig;
 import org.springframework.mock.web.test.MockServletContext;
 import org.springframework.tests.sample.beans.TestBean;
+import org.springframework.web.HttpRequestHandler;
 import org.springframework.web.context.ConfigurableWebApplicationContext;
 import org.springframework.web.context.ConfigurableWebEnvironment;
 import org.springframework.web.context.ContextLoader;
@@ -884,6 +885,32 @@ public class DispatcherServletTests {
 		assertEquals("true", getServletContext().getAttribute("otherInitialized"));
 	}
 
+	@Test
+	public void lookupPathResolvedForEachRequest() throws Exception {
+		StaticWebApplicationContext wac = new StaticWebApplicationContext();
+		wac.setServletContext(getServletContext());
+		wac.registerSingleton("fooHandler", NamedHandler.class,
+				new MutablePropertyValues().add("name", "foo"));
+		wac.registerSingleton("barHandler", NamedHandler.class,
+				new MutablePropertyValues().add("name", "bar"));
+		wac.registerSingleton("handlerMapping", SimpleUrlHandlerMapping.class,
+				new MutablePropertyValues().add("mappings", "/foo=fooHandler\n/bar=barHandler"));
+		wac.refresh();
+		DispatcherServlet servlet = new DispatcherServlet(wac);
+		servlet.init(new MockServletConfig(getServletContext()));
+
+		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "GET", "/foo");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		servlet.service(request, response);
+		assertEquals("foo", response.getHeader("handler"));
+
+		request.setRequestURI("/bar");
+		response = new MockHttpServletResponse();
+		servlet.service(request, response);
+		assertEquals("bar", response.getHeader("handler"));
+		assertEquals("/bar", request.getAttribute(HandlerMapping.LOOKUP_PATH));
+	}
+
 
 	public static class ControllerFromParent implements Controller {
 
@@ -894,6 +921,21 @@ public class DispatcherServletTests {
 	}
 
 
+	public static class NamedHandler implements HttpRequestHandler {
+
+		private String name;
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public void handleRequest(HttpServletRequest request, HttpServletResponse response) {
+			response.setHeader("handler", this.name);
+		}
+	}
+
+
 	private static class TestWebContextInitializer
 			implements ApplicationContextInitializer<ConfigurableWebApplicationContext> {
 
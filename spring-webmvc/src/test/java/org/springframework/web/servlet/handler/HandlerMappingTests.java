@@ -27,14 +27,27 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
 import org.springframework.mock.web.test.MockHttpServletRequest;
+import org.springframework.tests.Assume;
+import org.springframework.tests.TestGroup;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StopWatch;
 import org.springframework.web.HttpRequestHandler;
 import org.springframework.web.context.support.StaticWebApplicationContext;
 import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.support.WebContentGenerator;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternMatcher;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Unit tests for
@@ -70,6 +83,194 @@ public class HandlerMappingTests {
 				mappedInterceptor1.getInterceptor(), i2, mappedInterceptor3.getInterceptor(), i4));
 	}
 
+	@Test
+	public void mappedInterceptorsPerLookupPath() throws Exception {
+		HandlerInterceptor i1 = Mockito.mock(HandlerInterceptor.class);
+		MappedInterceptor mappedInterceptor1 = new MappedInterceptor(new String[]{"/foo/**"}, i1);
+		HandlerInterceptor i2 = Mockito.mock(HandlerInterceptor.class);
+
+		this.handlerMapping.setInterceptors(mappedInterceptor1, i2);
+		this.handlerMapping.setApplicationContext(this.context);
+
+		this.request.setRequestURI("/foo/bar");
+		HandlerExecutionChain chain = this.handlerMapping.getHandlerExecutionChain(new SimpleHandler(), this.request);
+		assertThat(chain.getInterceptors(), Matchers.arrayContaining(i1, i2));
+		chain.addInterceptor(Mockito.mock(HandlerInterceptor.class));
+
+		chain = this.handlerMapping.getHandlerExecutionChain(new SimpleHandler(), this.request);
+		assertThat(chain.getInterceptors(), Matchers.arrayContaining(i1, i2));
+
+		MockHttpServletRequest otherRequest = new MockHttpServletRequest("GET", "/bar");
+		chain = this.handlerMapping.getHandlerExecutionChain(new SimpleHandler(), otherRequest);
+		assertThat(chain.getInterceptors(), Matchers.arrayContaining(i2));
+	}
+
+	@Test
+	public void mappedInterceptorsWithLiteralPaths() throws Exception {
+		HandlerInterceptor i1 = Mockito.mock(HandlerInterceptor.class);
+		MappedInterceptor mappedInterceptor1 = new MappedInterceptor(new String[]{"/foo"}, i1);
+		HandlerInterceptor i2 = Mockito.mock(HandlerInterceptor.class);
+
+		this.handlerMapping.setInterceptors(mappedInterceptor1, i2);
+		this.handlerMapping.setApplicationContext(this.context);
+
+		this.request.setRequestURI("/foo");
+		HandlerExecutionChain chain = this.handlerMapping.getHandlerExecutionChain(new SimpleHandler(), this.request);
+		assertThat(chain.getInterceptors(), Matchers.arrayContaining(i1, i2));
+
+		MockHttpServletRequest otherRequest = new MockHttpServletRequest("GET", "/bar");
+		chain = this.handlerMapping.getHandlerExecutionChain(new SimpleHandler(), otherRequest);
+		assertThat(chain.getInterceptors(), Matchers.arrayContaining(i2));
+	}
+
+	@Test
+	public void mappedInterceptorsPerHandlerPattern() throws Exception {
+		HandlerInterceptor i1 = Mockito.mock(HandlerInterceptor.class);
+		MappedInterceptor mappedInterceptor1 = new MappedInterceptor(new String[]{"/foo/**"}, i1);
+		HandlerInterceptor i2 = Mockito.mock(HandlerInterceptor.class);
+		MappedInterceptor mappedInterceptor2 = new MappedInterceptor(new String[]{"/bar/**"}, i2);
+		HandlerInterceptor i3 = Mockito.mock(HandlerInterceptor.class);
+
+		this.handlerMapping.setInterceptors(mappedInterceptor1, mappedInterceptor2, i3);
+		this.handlerMapping.setApplicationContext(this.context);
+
+		for (String path : new String[] {"/foo/1", "/foo/2"}) {
+			MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+			request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/foo/{id}");
+			HandlerExecutionChain chain = this.handlerMapping.getHandlerExecutionChain(new SimpleHandler(), request);
+			assertThat(chain.getInterceptors(), Matchers.arrayContaining(i1, i3));
+		}
+
+		// Pattern exposed for another request path, e.g. by a previous dispatch
+		MockHttpServletRequest otherRequest = new MockHttpServletRequest("GET", "/bar/1");
+		otherRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/foo/{id}");
+		HandlerExecutionChain chain = this.handlerMapping.getHandlerExecutionChain(new SimpleHandler(), otherRequest);
+		assertThat(chain.getInterceptors(), Matchers.arrayContaining(i2, i3));
+	}
+
+	@Test
+	public void mappedInterceptorsMoreSpecificThanHandlerPattern() throws Exception {
+		HandlerInterceptor i1 = Mockito.mock(HandlerInterceptor.class);
+		MappedInterceptor mappedInterceptor1 = new MappedInterceptor(new String[]{"/foo/1"}, i1);
+		HandlerInterceptor i2 = Mockito.mock(HandlerInterceptor.class);
+		MappedInterceptor mappedInterceptor2 = new MappedInterceptor(new String[]{"/foo/*"}, i2);
+
+		this.handlerMapping.setInterceptors(mappedInterceptor1, mappedInterceptor2);
+		this.handlerMapping.setApplicationContext(this.context);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo/1");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/foo/{id}");
+		HandlerExecutionChain chain = this.handlerMapping.getHandlerExecutionChain(new SimpleHandler(), request);
+		assertThat(chain.getInterceptors(), Matchers.arrayContaining(i1, i2));
+
+		MockHttpServletRequest otherRequest = new MockHttpServletRequest("GET", "/foo/2");
+		otherRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/foo/{id}");
+		chain = this.handlerMapping.getHandlerExecutionChain(new SimpleHandler(), otherRequest);
+		assertThat(chain.getInterceptors(), Matchers.arrayContaining(i2));
+	}
+
+	@Test
+	public void mappedInterceptorsPerHandlerPatternAreFastEnough() throws Exception {
+		Assume.group(TestGroup.PERFORMANCE);
+		MappedInterceptor[] interceptors = new MappedInterceptor[10];
+		for (int i = 0; i < interceptors.length; i++) {
+			interceptors[i] = new MappedInterceptor(new String[]{"/api" + i + "/**"},
+					new String[]{"/api" + i + "/admin/**"}, Mockito.mock(HandlerInterceptor.class));
+		}
+		this.handlerMapping.setInterceptors((Object[]) interceptors);
+		this.handlerMapping.setApplicationContext(this.context);
+
+		MockHttpServletRequest[] requests = new MockHttpServletRequest[1000];
+		for (int i = 0; i < requests.length; i++) {
+			requests[i] = new MockHttpServletRequest("GET", "/api5/orders/" + i);
+		}
+		Object handler = new SimpleHandler();
+		for (MockHttpServletRequest request : requests) {
+			this.handlerMapping.getHandlerExecutionChain(handler, request);
+		}
+
+		StopWatch sw = new StopWatch();
+		sw.start("lookup path");
+		for (int i = 0; i < 200; i++) {
+			for (MockHttpServletRequest request : requests) {
+				this.handlerMapping.getHandlerExecutionChain(handler, request);
+			}
+		}
+		sw.stop();
+		for (MockHttpServletRequest request : requests) {
+			request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api5/orders/{id}");
+		}
+		sw.start("handler pattern");
+		for (int i = 0; i < 200; i++) {
+			for (MockHttpServletRequest request : requests) {
+				this.handlerMapping.getHandlerExecutionChain(handler, request);
+			}
+		}
+		sw.stop();
+		System.out.println(sw.prettyPrint());
+		long loopTime = sw.getTaskInfo()[0].getTimeMillis();
+		long cacheTime = sw.getTaskInfo()[1].getTimeMillis();
+		assertTrue("Cached interceptors took too long: " + cacheTime + " vs " + loopTime, cacheTime < loopTime);
+	}
+
+	@Test
+	public void cachedInterceptorsNotExposed() throws Exception {
+		HandlerInterceptor i1 = Mockito.mock(HandlerInterceptor.class);
+		MappedInterceptor mappedInterceptor1 = new MappedInterceptor(new String[]{"/foo/**"}, i1);
+		HandlerInterceptor i2 = Mockito.mock(HandlerInterceptor.class);
+
+		this.handlerMapping.setInterceptors(mappedInterceptor1, i2);
+		this.handlerMapping.setApplicationContext(this.context);
+
+		this.request.setRequestURI("/foo/bar");
+		this.request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/foo/{name}");
+		HandlerExecutionChain chain = this.handlerMapping.getHandlerExecutionChain(new SimpleHandler(), this.request);
+		chain.getInterceptors()[0] = Mockito.mock(HandlerInterceptor.class);
+
+		chain = this.handlerMapping.getHandlerExecutionChain(new SimpleHandler(), this.request);
+		assertThat(chain.getInterceptors(), Matchers.arrayContaining(i1, i2));
+	}
+
+	@Test
+	public void lookupPathReusedForSameUrlPathHelper() throws Exception {
+		CountingUrlPathHelper urlPathHelper = new CountingUrlPathHelper();
+		TestHandlerMapping mapping1 = new TestHandlerMapping();
+		mapping1.setUrlPathHelper(urlPathHelper);
+		TestHandlerMapping mapping2 = new TestHandlerMapping();
+		mapping2.setUrlPathHelper(urlPathHelper);
+
+		this.request.setRequestURI("/foo");
+		assertEquals("/foo", mapping1.initLookupPath(this.request));
+		assertEquals("/foo", mapping2.initLookupPath(this.request));
+		assertEquals(1, urlPathHelper.count);
+		assertEquals("/foo", this.request.getAttribute(HandlerMapping.LOOKUP_PATH));
+
+		CountingUrlPathHelper otherUrlPathHelper = new CountingUrlPathHelper();
+		TestHandlerMapping mapping3 = new TestHandlerMapping();
+		mapping3.setUrlPathHelper(otherUrlPathHelper);
+		assertEquals("/foo", mapping3.initLookupPath(this.request));
+		assertEquals(1, otherUrlPathHelper.count);
+	}
+
+	@Test
+	public void lookupPathParsedOnceForPathPatternMatcher() throws Exception {
+		TestHandlerMapping mapping1 = new TestHandlerMapping();
+		mapping1.setPatternParser(new PathPatternParser());
+		TestHandlerMapping mapping2 = new TestHandlerMapping();
+		mapping2.setPatternParser(new PathPatternParser());
+
+		this.request.setRequestURI("/foo/42");
+		assertEquals("/foo/42", mapping1.initLookupPath(this.request));
+		Object parsedPath = this.request.getAttribute(PathPatternMatcher.PARSED_PATH_ATTRIBUTE);
+		assertEquals("/foo/42", ((PathContainer) parsedPath).value());
+		assertEquals("/foo/42", mapping2.initLookupPath(this.request));
+		assertSame(parsedPath, this.request.getAttribute(PathPatternMatcher.PARSED_PATH_ATTRIBUTE));
+
+		PathMatcher pathMatcher = mapping2.getPathMatcher(this.request);
+		assertNotSame(mapping2.getPathMatcher(), pathMatcher);
+		assertEquals("42", pathMatcher.extractUriTemplateVariables("/foo/{id}", "/foo/42").get("id"));
+	}
+
 	class TestHandlerMapping extends AbstractHandlerMapping {
 
 		@Override
@@ -78,6 +279,17 @@ public class HandlerMappingTests {
 		}
 	}
 
+	static class CountingUrlPathHelper extends UrlPathHelper {
+
+		int count;
+
+		@Override
+		public String getLookupPathForRequest(HttpServletRequest request) {
+			this.count++;
+			return super.getLookupPathForRequest(request);
+		}
+	}
+
 	class SimpleHandler extends WebContentGenerator implements HttpRequestHandler {
 
 		public SimpleHandler() {
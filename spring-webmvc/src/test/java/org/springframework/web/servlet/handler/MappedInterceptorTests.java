@@ -28,8 +28,10 @@ import org.springframework.util.PathMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
+import org.springframework.web.util.pattern.PathPatternMatcher;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.then;
@@ -88,6 +90,15 @@ public class MappedInterceptorTests {
 		assertFalse(mappedInterceptor.matches("/admin/foo", pathMatcher));
 	}
 
+	@Test
+	public void hasPatterns() {
+		assertFalse(new MappedInterceptor(null, null, this.interceptor).hasPatterns(pathMatcher));
+		assertFalse(new MappedInterceptor(new String[] { "/foo" }, this.interceptor).hasPatterns(pathMatcher));
+		assertTrue(new MappedInterceptor(new String[] { "/foo/*" }, this.interceptor).hasPatterns(pathMatcher));
+		assertTrue(new MappedInterceptor(
+				new String[] { "/foo" }, new String[] { "/admin/**" }, this.interceptor).hasPatterns(pathMatcher));
+	}
+
 	@Test
 	public void customPathMatcher() {
 		MappedInterceptor mappedInterceptor = new MappedInterceptor(new String[] { "/foo/[0-9]*" }, this.interceptor);
@@ -97,6 +108,60 @@ public class MappedInterceptorTests {
 		assertFalse(mappedInterceptor.matches("/foo/bar", pathMatcher));
 	}
 
+	@Test
+	public void matchesPattern() {
+		assertTrue(new MappedInterceptor(new String[] { "/**" }, this.interceptor)
+				.matchesPattern("/foo/{id}", pathMatcher));
+		assertTrue(new MappedInterceptor(new String[] { "/foo/*" }, this.interceptor)
+				.matchesPattern("/foo/{id}", pathMatcher));
+		assertFalse(new MappedInterceptor(new String[] { "/bar/**" }, this.interceptor)
+				.matchesPattern("/foo/{id}", pathMatcher));
+		assertFalse(new MappedInterceptor(new String[] { "/foo" }, this.interceptor)
+				.matchesPattern("/foo/{id}", pathMatcher));
+		assertTrue(new MappedInterceptor(new String[] { "/foo/*" }, this.interceptor)
+				.matchesPattern("/foo/bar", pathMatcher));
+	}
+
+	@Test
+	public void matchesPatternDependingOnLookupPath() {
+		assertNull(new MappedInterceptor(new String[] { "/foo/1" }, this.interceptor)
+				.matchesPattern("/foo/{id}", pathMatcher));
+		assertNull(new MappedInterceptor(new String[] { "/foo/{id:[0-9]+}" }, this.interceptor)
+				.matchesPattern("/foo/{id}", pathMatcher));
+		assertNull(new MappedInterceptor(new String[] { "/foo/*" }, this.interceptor)
+				.matchesPattern("/foo/**", pathMatcher));
+		assertNull(new MappedInterceptor(new String[] { "/**" }, new String[] { "/foo/1" }, this.interceptor)
+				.matchesPattern("/foo/{id}", pathMatcher));
+	}
+
+	@Test
+	public void matchesPatternWithExcludePatterns() {
+		assertFalse(new MappedInterceptor(new String[] { "/**" }, new String[] { "/foo/**" }, this.interceptor)
+				.matchesPattern("/foo/{id}", pathMatcher));
+		assertTrue(new MappedInterceptor(new String[] { "/**" }, new String[] { "/admin/**" }, this.interceptor)
+				.matchesPattern("/foo/{id}", pathMatcher));
+	}
+
+	@Test
+	public void matchesPatternWithPathPatternMatcher() {
+		PathPatternMatcher pathPatternMatcher = new PathPatternMatcher();
+		assertTrue(new MappedInterceptor(new String[] { "/foo/{*path}" }, this.interceptor)
+				.matchesPattern("/foo/{id}", pathPatternMatcher));
+		assertTrue(new MappedInterceptor(new String[] { "/foo/**" }, this.interceptor)
+				.matchesPattern("/foo/{id}", pathPatternMatcher));
+		assertNull(new MappedInterceptor(new String[] { "/foo/*" }, this.interceptor)
+				.matchesPattern("/foo/{*path}", pathPatternMatcher));
+	}
+
+	@Test
+	public void matchesPatternWithCustomPathMatcher() {
+		MappedInterceptor mappedInterceptor = new MappedInterceptor(new String[] { "/**" }, this.interceptor);
+		assertNull(mappedInterceptor.matchesPattern("/foo/{id}", new TestPathMatcher()));
+
+		mappedInterceptor.setPathMatcher(new AntPathMatcher());
+		assertNull(mappedInterceptor.matchesPattern("/foo/{id}", pathMatcher));
+	}
+
 	@Test
 	public void preHandle() throws Exception {
 		HandlerInterceptor interceptor = mock(HandlerInterceptor.class);
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.handler;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link PathSegmentIndex}.
+ */
+public class PathSegmentIndexTests {
+
+	private final PathSegmentIndex<String> index = new PathSegmentIndex<>();
+
+
+	@Test
+	public void candidatesByLiteralPrefix() {
+		register("/api/{id}/orders", "/api/users/{id}", "/admin/**", "/{page}");
+		assertEquals(patterns("/api/{id}/orders", "/api/users/{id}", "/{page}"), candidates("/api/users/42"));
+		assertEquals(patterns("/admin/**", "/{page}"), candidates("/admin/x/y"));
+		assertEquals(patterns("/{page}"), candidates("/other"));
+	}
+
+	@Test
+	public void literalSegmentsAfterWildcards() {
+		register("/api/{id}/orders/{orderId}", "/api/*/items/{itemId}", "/api/v?/orders/{id}", "/api/**/orders/{id}");
+		assertEquals(patterns("/api/{id}/orders/{orderId}", "/api/v?/orders/{id}", "/api/**/orders/{id}"),
+				candidates("/api/v1/orders/2"));
+		assertEquals(patterns("/api/*/items/{itemId}", "/api/**/orders/{id}"), candidates("/api/v1/items/2"));
+		assertEquals(patterns("/api/**/orders/{id}"), candidates("/api/v1/other/2"));
+	}
+
+	@Test
+	public void literalAndWildcardChildrenBothMatch() {
+		register("/api/users/{id}", "/api/{type}/{id}", "/api/{type}/x/{id}");
+		assertEquals(patterns("/api/users/{id}", "/api/{type}/{id}"), candidates("/api/users/1"));
+		assertEquals(patterns("/api/{type}/{id}", "/api/{type}/x/{id}"), candidates("/api/other/x/1"));
+	}
+
+	@Test
+	public void lastSegmentIsNotIndexed() {
+		// Suffix pattern matching may extend the last segment, e.g. "/api/users.json"
+		register("/api/users");
+		assertEquals(patterns("/api/users"), candidates("/api/users.json"));
+		assertEquals(patterns("/api/users"), candidates("/api/users/"));
+	}
+
+	@Test
+	public void segmentsAreComparedIgnoringCase() {
+		register("/API/Users/{id}");
+		assertEquals(patterns("/API/Users/{id}"), candidates("/api/users/1"));
+	}
+
+	@Test
+	public void captureTheRestEndsPrefix() {
+		register("/api/{*path}", "/api/{id}/orders/{orderId}");
+		assertEquals(patterns("/api/{*path}"), candidates("/api/a/b/c/d"));
+		assertEquals(patterns("/api/{*path}", "/api/{id}/orders/{orderId}"), candidates("/api/1/orders/2"));
+	}
+
+	@Test
+	public void lookupSegmentsWithMatrixVariables() {
+		register("/cars/{id}/owners/{ownerId}", "/cars;color=red/{id}");
+		assertEquals(patterns("/cars/{id}/owners/{ownerId}"), candidates("/cars;color=blue/1/owners/2"));
+		assertEquals(patterns("/cars/{id}/owners/{ownerId}", "/cars;color=red/{id}"), candidates("/cars;color=red/1/owners/2"));
+	}
+
+	@Test
+	public void unrestrictedMappingsMatchAllPaths() {
+		this.index.addUnrestricted("any");
+		assertEquals(Collections.singleton("any"), candidates("/a/b/c"));
+		this.index.removeUnrestricted("any");
+		assertTrue(candidates("/a/b/c").isEmpty());
+	}
+
+	@Test
+	public void remove() {
+		register("/api/{id}/orders", "/api/v1/{id}");
+		this.index.remove("/api/v1/{id}", "/api/v1/{id}");
+		assertEquals(patterns("/api/{id}/orders"), candidates("/api/v1/1"));
+		this.index.remove("/api/{id}/orders", "/api/{id}/orders");
+		assertTrue(candidates("/api/v1/1").isEmpty());
+		register("/api/{id}/orders/{orderId}");
+		this.index.remove("/api/{id}/orders/{orderId}", "/api/{id}/orders/{orderId}");
+		assertTrue(candidates("/api/1/orders/2").isEmpty());
+	}
+
+
+	private void register(String... patterns) {
+		for (String pattern : patterns) {
+			this.index.add(pattern, pattern);
+		}
+	}
+
+	private Set<String> candidates(String lookupPath) {
+		Set<String> result = new LinkedHashSet<>();
+		this.index.collectCandidates(lookupPath, result);
+		return result;
+	}
+
+	private static Set<String> patterns(String... patterns) {
+		return new LinkedHashSet<>(Arrays.asList(patterns));
+	}
+
+}
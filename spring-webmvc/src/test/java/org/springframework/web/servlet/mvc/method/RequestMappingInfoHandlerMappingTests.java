@@ -33,6 +33,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.test.MockHttpServletRequest;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
@@ -63,9 +64,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -111,6 +114,17 @@ public class RequestMappingInfoHandlerMappingTests {
 		assertEquals(new HashSet<>(Arrays.asList(patterns)), actual);
 	}
 
+	@Test
+	public void usePathPatternIndex() {
+		assertTrue(this.handlerMapping.usePathPatternIndex());
+
+		this.handlerMapping.setPathMatcher(new AntPathMatcher("."));
+		assertFalse(this.handlerMapping.usePathPatternIndex());
+
+		this.handlerMapping.setPathMatcher(new AntPathMatcher() {});
+		assertFalse(this.handlerMapping.usePathPatternIndex());
+	}
+
 	@Test
 	public void getHandlerDirectMatch() throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo");
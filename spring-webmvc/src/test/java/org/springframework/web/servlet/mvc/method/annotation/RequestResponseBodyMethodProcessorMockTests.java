@@ -319,6 +319,24 @@ public class RequestResponseBodyMethodProcessorMockTests {
 		verify(stringMessageConverter).write(eq(body), eq(accepted), isA(HttpOutputMessage.class));
 	}
 
+	@Test
+	public void handleReturnValueWithCachedConverterSelection() throws Exception {
+		MediaType accepted = MediaType.TEXT_PLAIN;
+		String body = "Foo";
+		given(stringMessageConverter.canWrite(String.class, null)).willReturn(true);
+		given(stringMessageConverter.canWrite(String.class, accepted)).willReturn(true);
+
+		for (int i = 0; i < 2; i++) {
+			MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+			request.addHeader("Accept", accepted.toString());
+			NativeWebRequest webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
+			processor.handleReturnValue(body, returnTypeString, new ModelAndViewContainer(), webRequest);
+		}
+
+		verify(stringMessageConverter, times(1)).canWrite(String.class, accepted);
+		verify(stringMessageConverter, times(2)).write(eq(body), eq(accepted), isA(HttpOutputMessage.class));
+	}
+
 	@Test
 	public void handleReturnValueProduces() throws Exception {
 		String body = "Foo";
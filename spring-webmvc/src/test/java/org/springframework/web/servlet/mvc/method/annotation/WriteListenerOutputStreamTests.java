@@ -0,0 +1,176 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link WriteListenerOutputStream}.
+ */
+public class WriteListenerOutputStreamTests {
+
+	private final TestServletOutputStream servletOutputStream = new TestServletOutputStream();
+
+	private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+	private final WriteListenerOutputStream outputStream =
+			new WriteListenerOutputStream(this.servletOutputStream, this.error::set, 8);
+
+
+	@Test
+	public void writeWhenReady() throws Exception {
+		assertSame(this.outputStream, this.servletOutputStream.listener);
+
+		this.outputStream.write("foo".getBytes(StandardCharsets.UTF_8));
+		assertEquals("", this.servletOutputStream.getContent());
+
+		this.outputStream.flush();
+		assertEquals("foo", this.servletOutputStream.getContent());
+		assertEquals(1, this.servletOutputStream.flushCount);
+	}
+
+	@Test
+	public void writeWhenWritePossible() throws Exception {
+		this.servletOutputStream.ready = false;
+		this.outputStream.write("foo".getBytes(StandardCharsets.UTF_8));
+		this.outputStream.flush();
+		this.outputStream.write("bar".getBytes(StandardCharsets.UTF_8));
+		this.outputStream.flush();
+		assertEquals("", this.servletOutputStream.getContent());
+
+		this.servletOutputStream.ready = true;
+		this.outputStream.onWritePossible();
+		assertEquals("foobar", this.servletOutputStream.getContent());
+	}
+
+	@Test
+	public void completeAfterPendingWrites() throws Exception {
+		AtomicBoolean completed = new AtomicBoolean();
+		this.servletOutputStream.ready = false;
+		this.outputStream.write("foo".getBytes(StandardCharsets.UTF_8));
+		this.outputStream.complete(() -> completed.set(true));
+		assertFalse(completed.get());
+
+		this.servletOutputStream.ready = true;
+		this.outputStream.onWritePossible();
+		assertEquals("foo", this.servletOutputStream.getContent());
+		assertTrue(completed.get());
+	}
+
+	@Test
+	public void completionCallbackInvokedWithoutLock() throws Exception {
+		AtomicBoolean lockHeld = new AtomicBoolean(true);
+		this.outputStream.write("foo".getBytes(StandardCharsets.UTF_8));
+		this.outputStream.complete(() -> lockHeld.set(Thread.holdsLock(this.outputStream)));
+		assertEquals("foo", this.servletOutputStream.getContent());
+		assertFalse(lockHeld.get());
+	}
+
+	@Test
+	public void pendingContentLimited() throws Exception {
+		this.servletOutputStream.ready = false;
+		this.outputStream.write("foo".getBytes(StandardCharsets.UTF_8));
+		this.outputStream.flush();
+		this.outputStream.write("bar".getBytes(StandardCharsets.UTF_8));
+		this.outputStream.flush();
+		try {
+			this.outputStream.write("baz".getBytes(StandardCharsets.UTF_8));
+			fail("Expected IOException");
+		}
+		catch (IOException ex) {
+			assertSame(ex, this.error.get());
+		}
+
+		this.servletOutputStream.ready = true;
+		this.outputStream.onWritePossible();
+		assertEquals("", this.servletOutputStream.getContent());
+		try {
+			this.outputStream.flush();
+			fail("Expected IOException");
+		}
+		catch (IOException ex) {
+			assertSame(this.error.get(), ex.getCause());
+		}
+	}
+
+	@Test
+	public void writeAfterError() throws Exception {
+		IOException failure = new IOException("Broken pipe");
+		this.outputStream.onError(failure);
+		assertSame(failure, this.error.get());
+
+		try {
+			this.outputStream.write(1);
+			fail("Expected IOException");
+		}
+		catch (IOException ex) {
+			assertNotNull(ex.getCause());
+		}
+	}
+
+
+	private static class TestServletOutputStream extends ServletOutputStream {
+
+		private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+		boolean ready = true;
+
+		int flushCount;
+
+		WriteListener listener;
+
+		@Override
+		public boolean isReady() {
+			return this.ready;
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			this.listener = writeListener;
+		}
+
+		@Override
+		public void write(int b) {
+			this.content.write(b);
+		}
+
+		@Override
+		public void flush() {
+			this.flushCount++;
+		}
+
+		String getContent() {
+			return new String(this.content.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+
+}
@@ -22,9 +22,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import javax.script.Invocable;
 import javax.script.ScriptEngine;
 
@@ -47,7 +49,9 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
@@ -167,6 +171,131 @@ public class ScriptTemplateViewTests {
 		executor.shutdown();
 	}
 
+	@Test
+	public void nonSharedEngineReusedFromPool() throws Exception {
+		this.configurer.setEnginePoolSize(2);
+		this.view.setEngineName("nashorn");
+		this.view.setResourceLoaderPath("classpath:org/springframework/web/servlet/view/script/");
+		this.view.setScripts("empty.txt");
+		this.view.setSharedEngine(false);
+		this.view.setApplicationContext(this.wac);
+
+		ScriptEngine engine = this.view.acquireEngine();
+		assertSame(engine, this.view.getEngine());
+		this.view.releaseEngine(engine);
+		assertNotSame(engine, this.view.getEngine());
+		assertSame(engine, this.view.acquireEngine());
+
+		ScriptEngine otherEngine = this.view.acquireEngine();
+		assertNotSame(engine, otherEngine);
+		this.view.releaseEngine(engine);
+		this.view.releaseEngine(otherEngine);
+		assertSame(engine, this.view.acquireEngine());
+		assertSame(otherEngine, this.view.acquireEngine());
+	}
+
+	@Test
+	public void nonSharedEngineWaitsForRelease() throws Exception {
+		this.configurer.setEnginePoolSize(1);
+		this.view.setEngineName("nashorn");
+		this.view.setResourceLoaderPath("classpath:org/springframework/web/servlet/view/script/");
+		this.view.setScripts("empty.txt");
+		this.view.setSharedEngine(false);
+		this.view.setApplicationContext(this.wac);
+
+		ScriptEngine engine = this.view.acquireEngine();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<ScriptEngine> result = executor.submit(() -> this.view.acquireEngine());
+			Thread.sleep(100);
+			assertFalse(result.isDone());
+			this.view.releaseEngine(engine);
+			assertSame(engine, result.get(5, TimeUnit.SECONDS));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void nonSharedEnginePoolPerPoolSize() throws Exception {
+		this.configurer.setEnginePoolSize(1);
+		this.view.setEngineName("nashorn");
+		this.view.setResourceLoaderPath("classpath:org/springframework/web/servlet/view/script/");
+		this.view.setScripts("empty.txt");
+		this.view.setSharedEngine(false);
+		this.view.setApplicationContext(this.wac);
+
+		ScriptTemplateView otherView = new ScriptTemplateView();
+		otherView.setEnginePoolSize(2);
+		otherView.setEngineName("nashorn");
+		otherView.setResourceLoaderPath("classpath:org/springframework/web/servlet/view/script/");
+		otherView.setScripts("empty.txt");
+		otherView.setSharedEngine(false);
+		otherView.setApplicationContext(this.wac);
+
+		ScriptEngine engine = this.view.acquireEngine();
+		ScriptEngine otherEngine = otherView.acquireEngine();
+		ScriptEngine anotherEngine = otherView.acquireEngine();
+		assertNotSame(engine, otherEngine);
+		assertNotSame(otherEngine, anotherEngine);
+		this.view.releaseEngine(engine);
+		otherView.releaseEngine(otherEngine);
+		otherView.releaseEngine(anotherEngine);
+		assertSame(engine, this.view.acquireEngine());
+	}
+
+	@Test
+	public void nonSharedEngineAcquireTimeout() throws Exception {
+		this.configurer.setEnginePoolSize(1);
+		this.view.setEngineName("nashorn");
+		this.view.setResourceLoaderPath("classpath:org/springframework/web/servlet/view/script/");
+		this.view.setScripts("empty.txt");
+		this.view.setSharedEngine(false);
+		this.view.setEngineAcquireTimeout(100);
+		this.view.setApplicationContext(this.wac);
+
+		ScriptEngine engine = this.view.acquireEngine();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<ScriptEngine> result = executor.submit(() -> this.view.acquireEngine());
+			assertThatExceptionOfType(ExecutionException.class).isThrownBy(() ->
+					result.get(5, TimeUnit.SECONDS))
+				.withCauseInstanceOf(IllegalStateException.class);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		this.view.releaseEngine(engine);
+		assertSame(engine, this.view.acquireEngine());
+	}
+
+	@Test
+	public void nonSharedEnginePoolPerApplicationContext() throws Exception {
+		this.configurer.setEnginePoolSize(1);
+		this.view.setEngineName("nashorn");
+		this.view.setResourceLoaderPath("classpath:org/springframework/web/servlet/view/script/");
+		this.view.setScripts("empty.txt");
+		this.view.setSharedEngine(false);
+		this.view.setApplicationContext(this.wac);
+
+		StaticWebApplicationContext otherContext = new StaticWebApplicationContext();
+		otherContext.getBeanFactory().registerSingleton("scriptTemplateConfigurer", this.configurer);
+		ScriptTemplateView otherView = new ScriptTemplateView();
+		otherView.setEngineName("nashorn");
+		otherView.setResourceLoaderPath("classpath:org/springframework/web/servlet/view/script/");
+		otherView.setScripts("empty.txt");
+		otherView.setSharedEngine(false);
+		otherView.setEngineAcquireTimeout(0);
+		otherView.setApplicationContext(otherContext);
+
+		ScriptEngine engine = this.view.acquireEngine();
+		ScriptEngine otherEngine = otherView.acquireEngine();
+		assertNotSame(engine, otherEngine);
+		this.view.releaseEngine(engine);
+		otherView.releaseEngine(otherEngine);
+	}
+
 	@Test
 	public void nonInvocableScriptEngine() throws Exception {
 		this.view.setEngine(mock(ScriptEngine.class));